@@ -417,6 +417,15 @@ public void reuse() {
         }
     }
 
+    /**
+     * Returns whether the command was closed after the last execution.
+     *
+     * @return whether the command was closed
+     */
+    final boolean isClosed() {
+        return canReuse;
+    }
+
     public void setCanReuse(boolean canReuse) {
         this.canReuse = canReuse;
     }
@@ -12,6 +12,7 @@
 import org.h2.api.DatabaseEventListener;
 import org.h2.api.ErrorCode;
 import org.h2.command.dml.DataChangeStatement;
+import org.h2.command.query.Query;
 import org.h2.engine.Database;
 import org.h2.engine.DbObject;
 import org.h2.engine.DbSettings;
@@ -79,6 +80,12 @@ public void addRow(Value... values) {
     private boolean readOnlyKnown;
     private boolean readOnly;
 
+    /**
+     * The number of trailing parameters that replace literals of the original
+     * statement.
+     */
+    private int literalCount;
+
     public CommandContainer(SessionLocal session, String sql, Prepared prepared) {
         super(session, sql);
         prepared.setCommand(this);
@@ -88,12 +95,55 @@ public CommandContainer(SessionLocal session, String sql, Prepared prepared) {
     @Override
     public ArrayList<? extends ParameterInterface> getParameters() {
         ArrayList<Parameter> parameters = prepared.getParameters();
-        if (!parameters.isEmpty() && prepared.isWithParamValues()) {
-            parameters = new ArrayList<>();
+        if (!parameters.isEmpty()) {
+            if (prepared.isWithParamValues()) {
+                parameters = new ArrayList<>();
+            } else if (literalCount > 0) {
+                parameters = new ArrayList<>(parameters.subList(0, parameters.size() - literalCount));
+            }
         }
         return parameters;
     }
 
+    /**
+     * Marks the specified number of trailing parameters as replacements of
+     * literals. These parameters aren't visible to the client.
+     *
+     * @param literalCount
+     *            the number of literals
+     */
+    void setLiteralCount(int literalCount) {
+        this.literalCount = literalCount;
+    }
+
+    /**
+     * Returns the number of trailing parameters that replace literals.
+     *
+     * @return the number of literals
+     */
+    public int getLiteralCount() {
+        return literalCount;
+    }
+
+    /**
+     * Sets the values of parameters that replace literals.
+     *
+     * @param literals
+     *            the values of literals
+     */
+    public void setLiterals(Value[] literals) {
+        ArrayList<Parameter> parameters = prepared.getParameters();
+        for (int i = 0, offset = parameters.size() - literalCount; i < literalCount; i++) {
+            parameters.get(offset + i).setValue(literals[i]);
+        }
+    }
+
+    @Override
+    public boolean canReuse() {
+        // only commands from auto-parameterized statements are shared
+        return literalCount > 0 && isClosed();
+    }
+
     @Override
     public boolean isTransactional() {
         return prepared.isTransactional();
@@ -219,7 +269,8 @@ public ResultInterface query(long maxrows) {
         setProgress(database, DatabaseEventListener.STATE_STATEMENT_START);
         start();
         prepared.checkParameters();
-        ResultInterface result = prepared.query(maxrows);
+        ResultInterface result = prepared instanceof Query ? ((Query) prepared).queryWithSharedCache(maxrows)
+                : prepared.query(maxrows);
         prepared.trace(database, startTimeNanos, result.isLazy() ? 0 : result.getRowCount());
         setProgress(database, DatabaseEventListener.STATE_STATEMENT_END);
         return result;
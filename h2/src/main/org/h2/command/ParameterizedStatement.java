@@ -0,0 +1,349 @@
+/*
+ * Copyright 2004-2025 H2 Group. Multiple-Licensed under the MPL 2.0,
+ * and the EPL 1.0 (https://h2database.com/html/license.html).
+ * Initial Developer: H2 Group
+ */
+package org.h2.command;
+
+import static org.h2.command.Token.BIGGER;
+import static org.h2.command.Token.BIGGER_EQUAL;
+import static org.h2.command.Token.CLOSE_PAREN;
+import static org.h2.command.Token.COMMA;
+import static org.h2.command.Token.END_OF_INPUT;
+import static org.h2.command.Token.EQUAL;
+import static org.h2.command.Token.LITERAL;
+import static org.h2.command.Token.NOT_EQUAL;
+import static org.h2.command.Token.OPEN_PAREN;
+import static org.h2.command.Token.SEMICOLON;
+import static org.h2.command.Token.SMALLER;
+import static org.h2.command.Token.SMALLER_EQUAL;
+import static org.h2.util.ParserUtil.AND;
+import static org.h2.util.ParserUtil.BETWEEN;
+import static org.h2.util.ParserUtil.CROSS;
+import static org.h2.util.ParserUtil.EXCEPT;
+import static org.h2.util.ParserUtil.FETCH;
+import static org.h2.util.ParserUtil.FOR;
+import static org.h2.util.ParserUtil.FROM;
+import static org.h2.util.ParserUtil.FULL;
+import static org.h2.util.ParserUtil.GROUP;
+import static org.h2.util.ParserUtil.HAVING;
+import static org.h2.util.ParserUtil.IDENTIFIER;
+import static org.h2.util.ParserUtil.INNER;
+import static org.h2.util.ParserUtil.INTERSECT;
+import static org.h2.util.ParserUtil.JOIN;
+import static org.h2.util.ParserUtil.LEFT;
+import static org.h2.util.ParserUtil.LIKE;
+import static org.h2.util.ParserUtil.LIMIT;
+import static org.h2.util.ParserUtil.MINUS;
+import static org.h2.util.ParserUtil.NATURAL;
+import static org.h2.util.ParserUtil.OFFSET;
+import static org.h2.util.ParserUtil.OR;
+import static org.h2.util.ParserUtil.ORDER;
+import static org.h2.util.ParserUtil.QUALIFY;
+import static org.h2.util.ParserUtil.RIGHT;
+import static org.h2.util.ParserUtil.SELECT;
+import static org.h2.util.ParserUtil.UNION;
+import static org.h2.util.ParserUtil.VALUES;
+import static org.h2.util.ParserUtil.WHERE;
+import static org.h2.util.ParserUtil.WINDOW;
+import static org.h2.util.ParserUtil.WITH;
+
+import java.util.ArrayList;
+
+import org.h2.engine.Constants;
+import org.h2.engine.SessionLocal;
+import org.h2.value.Value;
+
+/**
+ * A SQL statement with literals replaced by parameters. Statements that differ
+ * only in these literals have the same SQL and share one prepared command.
+ *
+ * <p>
+ * Only literals whose replacement doesn't change names and data types of
+ * result columns are replaced: right operands of comparison and LIKE
+ * predicates and bounds of BETWEEN predicates outside of select lists,
+ * GROUP BY and ORDER BY clauses, and values of rows in INSERT and MERGE
+ * statements.
+ * </p>
+ */
+public final class ParameterizedStatement {
+
+    /**
+     * The clause of a select list.
+     */
+    private static final int SELECT_LIST = 1;
+
+    /**
+     * The clause of GROUP BY or ORDER BY.
+     */
+    private static final int GROUP_OR_ORDER = 2;
+
+    /**
+     * Other clauses.
+     */
+    private static final int OTHER = 0;
+
+    private final String sql;
+
+    private final ArrayList<Token> tokens;
+
+    private final int parameterCount;
+
+    private final Value[] literals;
+
+    private ParameterizedStatement(String sql, ArrayList<Token> tokens, int parameterCount, Value[] literals) {
+        this.sql = sql;
+        this.tokens = tokens;
+        this.parameterCount = parameterCount;
+        this.literals = literals;
+    }
+
+    /**
+     * Replaces literals in the specified statement with parameters.
+     *
+     * @param session
+     *            the session
+     * @param sql
+     *            the SQL statement
+     * @param tokens
+     *            the tokens of the SQL statement
+     * @param parameterCount
+     *            the number of parameters in the SQL statement
+     * @return the statement with replaced literals, or {@code null} if the
+     *         statement doesn't have literals that can be replaced
+     */
+    static ParameterizedStatement get(SessionLocal session, String sql, ArrayList<Token> tokens,
+            int parameterCount) {
+        int size = tokens.size();
+        if (size < 2 || !isSupported(tokens.get(0))) {
+            return null;
+        }
+        boolean[] replace = null;
+        int count = 0;
+        // clause and whether literals are allowed for each nesting level
+        int[] clauses = new int[8];
+        boolean[] allowed = new boolean[8];
+        allowed[0] = true;
+        int depth = 0;
+        boolean insert = isInsert(tokens.get(0)), rows = false;
+        for (int i = 0; i < size; i++) {
+            Token token = tokens.get(i);
+            int type = token.tokenType();
+            switch (type) {
+            case OPEN_PAREN:
+                if (++depth == clauses.length) {
+                    return null;
+                }
+                clauses[depth] = OTHER;
+                allowed[depth] = allowed[depth - 1] && clauses[depth - 1] == OTHER;
+                break;
+            case CLOSE_PAREN:
+                if (--depth < 0) {
+                    return null;
+                }
+                break;
+            case SEMICOLON:
+                if (tokens.get(i + 1).tokenType() != END_OF_INPUT) {
+                    return null;
+                }
+                break;
+            case SELECT:
+                clauses[depth] = SELECT_LIST;
+                break;
+            case GROUP:
+            case ORDER:
+                clauses[depth] = GROUP_OR_ORDER;
+                break;
+            case VALUES:
+                rows = insert && depth == 0;
+                //$FALL-THROUGH$
+            case FROM:
+            case WHERE:
+            case HAVING:
+            case WINDOW:
+            case QUALIFY:
+            case UNION:
+            case EXCEPT:
+            case INTERSECT:
+            case MINUS:
+            case LIMIT:
+            case OFFSET:
+            case FETCH:
+                clauses[depth] = OTHER;
+                break;
+            case LITERAL:
+                if (allowed[depth] && clauses[depth] == OTHER
+                        && (isReplaceable(tokens, i) || rows && isRowValue(tokens, i, depth))) {
+                    if (replace == null) {
+                        replace = new boolean[size];
+                    }
+                    replace[i] = true;
+                    count++;
+                }
+                break;
+            default:
+                if (depth == 0 && type != COMMA) {
+                    rows = false;
+                }
+            }
+        }
+        if (count == 0 || parameterCount + count > Constants.MAX_PARAMETER_INDEX) {
+            return null;
+        }
+        ArrayList<Token> newTokens = new ArrayList<>(size);
+        Value[] literals = new Value[count];
+        StringBuilder builder = new StringBuilder(sql.length());
+        for (int i = 0, index = parameterCount; i < size; i++) {
+            Token token = tokens.get(i);
+            int start = builder.length();
+            if (i + 1 == size) {
+                token = token.clone();
+            } else if (replace[i]) {
+                literals[index - parameterCount] = token.value(session);
+                token = new Token.ParameterToken(start, ++index);
+                builder.append('?').append(index).append(' ');
+            } else {
+                builder.append(sql, token.start(), tokens.get(i + 1).start());
+                token = token.clone();
+            }
+            token.setStart(start);
+            newTokens.add(token);
+        }
+        return new ParameterizedStatement(builder.toString(), newTokens, parameterCount, literals);
+    }
+
+    private static boolean isSupported(Token token) {
+        switch (token.tokenType()) {
+        case SELECT:
+        case WITH:
+        case OPEN_PAREN:
+            return true;
+        case IDENTIFIER:
+            if (!token.isQuoted()) {
+                String s = token.asIdentifier();
+                return "UPDATE".equalsIgnoreCase(s) || "DELETE".equalsIgnoreCase(s) || isInsert(token);
+            }
+        }
+        return false;
+    }
+
+    private static boolean isInsert(Token token) {
+        if (token.tokenType() == IDENTIFIER && !token.isQuoted()) {
+            String s = token.asIdentifier();
+            return "INSERT".equalsIgnoreCase(s) || "MERGE".equalsIgnoreCase(s);
+        }
+        return false;
+    }
+
+    private static boolean isReplaceable(ArrayList<Token> tokens, int i) {
+        Token previous = tokens.get(i - 1);
+        switch (previous.tokenType()) {
+        case EQUAL:
+        case NOT_EQUAL:
+        case BIGGER:
+        case BIGGER_EQUAL:
+        case SMALLER:
+        case SMALLER_EQUAL:
+        case LIKE:
+            break;
+        case BETWEEN:
+            return tokens.get(i + 1).tokenType() == AND;
+        case AND:
+            // upper bound of BETWEEN
+            if (i < 3 || tokens.get(i - 2).tokenType() != LITERAL || tokens.get(i - 3).tokenType() != BETWEEN) {
+                return false;
+            }
+            break;
+        case IDENTIFIER:
+            if (!previous.isQuoted() && "ILIKE".equalsIgnoreCase(previous.asIdentifier())) {
+                break;
+            }
+            //$FALL-THROUGH$
+        default:
+            return false;
+        }
+        return isEndOfOperand(tokens.get(i + 1));
+    }
+
+    private static boolean isRowValue(ArrayList<Token> tokens, int i, int depth) {
+        if (depth != 1) {
+            return false;
+        }
+        int previous = tokens.get(i - 1).tokenType(), next = tokens.get(i + 1).tokenType();
+        return (previous == OPEN_PAREN || previous == COMMA) && (next == CLOSE_PAREN || next == COMMA);
+    }
+
+    private static boolean isEndOfOperand(Token token) {
+        switch (token.tokenType()) {
+        case END_OF_INPUT:
+        case SEMICOLON:
+        case CLOSE_PAREN:
+        case COMMA:
+        case AND:
+        case OR:
+        case WHERE:
+        case GROUP:
+        case ORDER:
+        case HAVING:
+        case WINDOW:
+        case QUALIFY:
+        case UNION:
+        case EXCEPT:
+        case INTERSECT:
+        case MINUS:
+        case LIMIT:
+        case OFFSET:
+        case FETCH:
+        case FOR:
+        case JOIN:
+        case INNER:
+        case LEFT:
+        case RIGHT:
+        case FULL:
+        case CROSS:
+        case NATURAL:
+            return true;
+        default:
+            return false;
+        }
+    }
+
+    /**
+     * Returns the SQL statement with parameters instead of literals.
+     *
+     * @return the SQL statement
+     */
+    public String getSQL() {
+        return sql;
+    }
+
+    /**
+     * Returns the tokens of the SQL statement with parameters instead of
+     * literals.
+     *
+     * @return the tokens
+     */
+    ArrayList<Token> getTokens() {
+        return tokens;
+    }
+
+    /**
+     * Returns the number of parameters in the original SQL statement. The
+     * parameters that replace literals follow them.
+     *
+     * @return the number of parameters in the original SQL statement
+     */
+    int getParameterCount() {
+        return parameterCount;
+    }
+
+    /**
+     * Returns the values of the replaced literals.
+     *
+     * @return the values of the replaced literals
+     */
+    public Value[] getLiterals() {
+        return literals;
+    }
+
+}
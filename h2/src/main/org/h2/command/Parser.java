@@ -37,6 +37,7 @@
 import static org.h2.command.Token.SLASH;
 import static org.h2.command.Token.SMALLER;
 import static org.h2.command.Token.SMALLER_EQUAL;
+import static org.h2.command.Token.SPATIAL_DISTANCE;
 import static org.h2.command.Token.SPATIAL_INTERSECTS;
 import static org.h2.command.Token.TILDE;
 import static org.h2.util.HasSQL.DEFAULT_SQL_FLAGS;
@@ -268,6 +269,7 @@
 import org.h2.expression.SearchedCase;
 import org.h2.expression.SequenceValue;
 import org.h2.expression.SimpleCase;
+import org.h2.expression.SpatialDistanceOperation;
 import org.h2.expression.Subquery;
 import org.h2.expression.TimeZoneOperation;
 import org.h2.expression.TypedValueExpression;
@@ -302,6 +304,7 @@
 import org.h2.expression.condition.ConditionLocalAndGlobal;
 import org.h2.expression.condition.ConditionNot;
 import org.h2.expression.condition.ExistsPredicate;
+import org.h2.expression.condition.FullTextPredicate;
 import org.h2.expression.condition.IsJsonPredicate;
 import org.h2.expression.condition.NullPredicate;
 import org.h2.expression.condition.TypePredicate;
@@ -436,6 +439,12 @@ public final class Parser extends ParserBase {
     private QueryScope queryScope;
     private boolean parsingRecursiveWithList;
 
+    /**
+     * Common table expressions defined in the parsed SQL, references to them
+     * are counted.
+     */
+    private HashSet<CTE> parsedCommonTableExpressions;
+
     /**
      * Creates a new instance of parser.
      *
@@ -508,6 +517,38 @@ public Command prepareCommand(String sql) {
         }
     }
 
+    /**
+     * Parse a statement with replaced literals and prepare it for execution.
+     * Values of literals are not set.
+     *
+     * @param statement the statement with replaced literals
+     * @return the command object
+     */
+    public CommandContainer prepareCommand(ParameterizedStatement statement) {
+        String sql = statement.getSQL();
+        try {
+            int count = statement.getParameterCount(), literalCount = statement.getLiterals().length;
+            ArrayList<Parameter> parameters = new ArrayList<>(count + literalCount);
+            for (int i = 0, l = count + literalCount; i < l; i++) {
+                parameters.add(new Parameter(i));
+            }
+            setSuppliedParameters(parameters);
+            Prepared p = parse(sql, statement.getTokens());
+            if (currentTokenType == SEMICOLON) {
+                read();
+            }
+            if (currentTokenType != END_OF_INPUT) {
+                throw getSyntaxError();
+            }
+            p.prepare();
+            CommandContainer c = new CommandContainer(session, sql, p);
+            c.setLiteralCount(literalCount);
+            return c;
+        } catch (DbException e) {
+            throw e.addSQL(sql);
+        }
+    }
+
     private CommandList prepareCommandList(CommandContainer command, Prepared p, String sql, String remainingSql,
             ArrayList<Token> remainingTokens) {
         ArrayList<Prepared> list = Utils.newSmallArrayList();
@@ -1373,6 +1414,25 @@ private boolean isQuery() {
         return query;
     }
 
+    /**
+     * Checks whether the current token starts a MATCH(...) AGAINST(...)
+     * predicate. Other MATCH(...) expressions are calls of user-defined
+     * functions.
+     *
+     * @return whether the current token starts a full-text predicate
+     */
+    private boolean isFullTextPredicate() {
+        if (!isTokenCompat("MATCH") || tokens.get(tokenIndex + 1).tokenType() != OPEN_PAREN) {
+            return false;
+        }
+        int offset = scanToCloseParen(tokenIndex + 2);
+        if (offset < 0) {
+            return false;
+        }
+        Token t = tokens.get(offset);
+        return t.tokenType() == IDENTIFIER && !t.isQuoted() && "AGAINST".equalsIgnoreCase(t.asIdentifier());
+    }
+
     private int scanToCloseParen(int offset) {
         for (int level = 0;;) {
             switch (tokens.get(offset).tokenType()) {
@@ -1668,6 +1728,9 @@ private RefreshMaterializedView parseRefresh(int start) {
         RefreshMaterializedView command = new RefreshMaterializedView(session, getSchema());
         currentPrepared = command;
         command.setView((MaterializedView) table);
+        if (readIf("INCREMENTAL")) {
+            command.setIncremental(true);
+        }
         setSQL(command, start);
         return command;
     }
@@ -3060,9 +3123,21 @@ private Expression readCondition() {
                 read(CLOSE_PAREN);
                 return new Comparison(Comparison.SPATIAL_INTERSECTS, r1, r2, false);
             }
+            if (isFullTextPredicate()) {
+                read();
+                read(OPEN_PAREN);
+                Expression r1 = readConcat();
+                read(CLOSE_PAREN);
+                read("AGAINST");
+                read(OPEN_PAREN);
+                Expression r2 = readConcat();
+                read(CLOSE_PAREN);
+                return new FullTextPredicate(r1, r2);
+            }
             if (expectedList != null) {
                 addMultipleExpected(NOT, EXISTS, UNIQUE);
                 addExpected("INTERSECTS");
+                addExpected("MATCH");
             }
         }
         Expression l, c = readConcat();
@@ -3295,6 +3370,10 @@ private Expression readConcat() {
                 }
                 break;
             }
+            case SPATIAL_DISTANCE:
+                read();
+                op1 = new SpatialDistanceOperation(op1, readSum());
+                break;
             case TILDE: // PostgreSQL compatibility
                 op1 = readTildeCondition(op1, false);
                 break;
@@ -3378,10 +3457,12 @@ private Expression readAggregate(AggregateType aggregateType, String aggregateNa
         case REGR_SXX:
         case REGR_SYY:
         case REGR_SXY:
+        case APPROX_PERCENTILE:
             r = new Aggregate(aggregateType, new Expression[] { readExpression(), readNextArgument() },
                     currentSelect, false);
             break;
         case HISTOGRAM:
+        case APPROX_COUNT_DISTINCT:
             r = new Aggregate(aggregateType, new Expression[] { readExpression() }, currentSelect, false);
             break;
         case LISTAGG: {
@@ -3622,8 +3703,10 @@ private void readFilterAndOver(AbstractAggregate aggregate) {
 
     private void readOver(DataAnalysisOperation operation) {
         if (readIf("OVER")) {
-            operation.setOverCondition(readWindowNameOrSpecification());
+            Window over = readWindowNameOrSpecification();
+            operation.setOverCondition(over);
             currentSelect.setWindowQuery();
+            currentSelect.addOverCondition(over);
         } else if (operation.isAggregate()) {
             currentSelect.setGroupQuery();
         } else {
@@ -6461,7 +6544,7 @@ private Prepared parseCreate() {
         } else {
             boolean hash = false, primaryKey = false;
             NullsDistinct nullsDistinct = null;
-            boolean spatial = false;
+            boolean spatial = false, fullText = false;
             String indexName = null;
             Schema oldSchema = null;
             boolean ifNotExists = false;
@@ -6483,6 +6566,8 @@ private Prepared parseCreate() {
                     hash = true;
                 } else if (nullsDistinct == null && readIf("SPATIAL")) {
                     spatial = true;
+                } else if (nullsDistinct == null && readIf("FULLTEXT")) {
+                    fullText = true;
                 }
                 read("INDEX");
                 if (!isToken(ON)) {
@@ -6497,7 +6582,7 @@ private Prepared parseCreate() {
             String comment = readCommentIf();
             if (!readIf(OPEN_PAREN)) {
                 // PostgreSQL compatibility
-                if (hash || spatial) {
+                if (hash || spatial || fullText) {
                     throw getSyntaxError();
                 }
                 readCompat(USING);
@@ -6517,11 +6602,12 @@ private Prepared parseCreate() {
             command.setTableName(tableName);
             command.setHash(hash);
             command.setSpatial(spatial);
+            command.setFullText(fullText);
             command.setIndexName(indexName);
             command.setComment(comment);
             IndexColumn[] columns;
             int uniqueColumnCount = 0;
-            if (spatial) {
+            if (spatial || fullText) {
                 columns = new IndexColumn[] { new IndexColumn(readIdentifier()) };
                 if (nullsDistinct != null) {
                     uniqueColumnCount = 1;
@@ -6529,17 +6615,24 @@ private Prepared parseCreate() {
                 read(CLOSE_PAREN);
             } else {
                 columns = parseIndexColumnList();
-                if (nullsDistinct != null) {
+                if (primaryKey) {
                     uniqueColumnCount = columns.length;
+                } else {
+                    int keyColumnCount = columns.length;
+                    if (nullsDistinct != null) {
+                        uniqueColumnCount = keyColumnCount;
+                    }
                     if (readIf("INCLUDE")) {
                         read(OPEN_PAREN);
                         IndexColumn[] columnsToInclude = parseIndexColumnList();
-                        int nonUniqueCount = columnsToInclude.length;
-                        columns = Arrays.copyOf(columns, uniqueColumnCount + nonUniqueCount);
-                        System.arraycopy(columnsToInclude, 0, columns, uniqueColumnCount, nonUniqueCount);
+                        int includedCount = columnsToInclude.length;
+                        columns = Arrays.copyOf(columns, keyColumnCount + includedCount);
+                        System.arraycopy(columnsToInclude, 0, columns, keyColumnCount, includedCount);
+                        command.setKeyColumnCount(keyColumnCount);
+                    }
+                    if (readIf(WHERE)) {
+                        command.setCondition(readExpression());
                     }
-                } else if (primaryKey) {
-                    uniqueColumnCount = columns.length;
                 }
             }
             command.setIndexColumns(columns);
@@ -7008,6 +7101,13 @@ private void parseSingleCommonTableExpression(boolean isPotentiallyRecursive) {
             throw DbException.get(ErrorCode.TABLE_OR_VIEW_ALREADY_EXISTS_1, cteName);
         }
         read(AS);
+        Boolean materialized = null;
+        if (readIf("MATERIALIZED")) {
+            materialized = true;
+        } else if (readIf(NOT)) {
+            read("MATERIALIZED");
+            materialized = false;
+        }
         read(OPEN_PAREN);
         int index = tokenIndex;
         setTokenIndex(index);
@@ -7052,9 +7152,13 @@ private void parseSingleCommonTableExpression(boolean isPotentiallyRecursive) {
             sql = withQuery.getPlanSQL(DEFAULT_SQL_FLAGS);
         }
         read(CLOSE_PAREN);
-        queryScope.tableSubqueries.put(cteName, new CTE(cteName, withQuery, StringUtils.cache(sql),
-                queryParameters, columnTemplateList.toArray(new Column[0]), session, isPotentiallyRecursive,
-                queryScope));
+        CTE cte = new CTE(cteName, withQuery, StringUtils.cache(sql), queryParameters,
+                columnTemplateList.toArray(new Column[0]), session, isPotentiallyRecursive, materialized, queryScope);
+        if (parsedCommonTableExpressions == null) {
+            parsedCommonTableExpressions = new HashSet<>();
+        }
+        parsedCommonTableExpressions.add(cte);
+        queryScope.tableSubqueries.put(cteName, cte);
     }
 
     private CreateView parseCreateView(boolean force, boolean orReplace) {
@@ -7954,6 +8058,9 @@ private Table readTableOrView(String tableName, boolean resolveMaterializedView)
             }
             table = getWithSubquery(tableName);
             if (table != null) {
+                if (parsedCommonTableExpressions != null && parsedCommonTableExpressions.contains(table)) {
+                    ((CTE) table).addReference();
+                }
                 return table;
             }
             String[] schemaNames = session.getSchemaSearchPath();
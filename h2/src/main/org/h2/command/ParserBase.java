@@ -282,6 +282,20 @@ public Object parseColumnList(String sql, int offset) {
         }
     }
 
+    /**
+     * Replaces literals in the specified statement with parameters.
+     *
+     * @param sql the SQL statement
+     * @return the statement with replaced literals, or {@code null} if it
+     *         doesn't have literals that can be replaced
+     */
+    public final ParameterizedStatement parameterize(String sql) {
+        BitSet usedParameters = new BitSet();
+        ArrayList<Token> tokens = new Tokenizer(database, identifiersToUpper, identifiersToLower, nonKeywords)
+                .tokenize(sql, false, usedParameters);
+        return ParameterizedStatement.get(session, sql, tokens, usedParameters.length());
+    }
+
     final void initialize(String sql, ArrayList<Token> tokens, boolean stopOnCloseParen) {
         if (sql == null) {
             sql = "";
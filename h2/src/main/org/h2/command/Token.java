@@ -177,6 +177,11 @@ public abstract class Token implements Cloneable {
      */
     static final int NOT_TILDE = COLON_EQ + 1;
 
+    /**
+     * The token "&lt;-&gt;".
+     */
+    static final int SPATIAL_DISTANCE = NOT_TILDE + 1;
+
     static final String[] TOKENS = {
             // Unused
             null,
@@ -424,6 +429,8 @@ public abstract class Token implements Cloneable {
             ":=",
             // NOT_TILDE
             "!~",
+            // SPATIAL_DISTANCE
+            "<->",
             // End
     };
 
@@ -31,6 +31,7 @@
 import static org.h2.command.Token.SLASH;
 import static org.h2.command.Token.SMALLER;
 import static org.h2.command.Token.SMALLER_EQUAL;
+import static org.h2.command.Token.SPATIAL_DISTANCE;
 import static org.h2.command.Token.SPATIAL_INTERSECTS;
 import static org.h2.command.Token.TILDE;
 import static org.h2.util.ParserUtil.ALL;
@@ -331,6 +332,11 @@ ArrayList<Token> tokenize(String sql, boolean stopOnCloseParen, BitSet parameter
                         token = new Token.KeywordToken(i++, NOT_EQUAL);
                         break;
                     }
+                    if (c2 == '-' && i + 1 < end && sql.charAt(i + 2) == '>') {
+                        token = new Token.KeywordToken(i, SPATIAL_DISTANCE);
+                        i += 2;
+                        break;
+                    }
                 }
                 token = new Token.KeywordToken(i, SMALLER);
                 break;
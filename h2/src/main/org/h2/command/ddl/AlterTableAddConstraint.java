@@ -400,7 +400,7 @@ private static Index getIndex(Table t, IndexColumn[] cols, NullsDistinct nullsDi
     }
 
     private static boolean canUseIndex(Index index, Table table, IndexColumn[] cols, NullsDistinct nullsDistinct) {
-        if (index.getTable() != table) {
+        if (index.getTable() != table || index.getIndexType().getPredicate() != null) {
             return false;
         }
         int allowedColumns;
@@ -413,7 +413,8 @@ private static boolean canUseIndex(Index index, Table table, IndexColumn[] cols,
                 return false;
             }
         } else {
-            if (index.getCreateSQL() == null || (allowedColumns = index.getColumns().length) != cols.length) {
+            if (index.getCreateSQL() == null || index.getIndexType().isFullText()
+                    || (allowedColumns = index.getColumns().length) != cols.length) {
                 return false;
             }
         }
@@ -12,6 +12,8 @@
 import org.h2.engine.Right;
 import org.h2.engine.SessionLocal;
 import org.h2.engine.NullsDistinct;
+import org.h2.expression.Expression;
+import org.h2.index.IndexPredicate;
 import org.h2.index.IndexType;
 import org.h2.message.DbException;
 import org.h2.schema.Schema;
@@ -29,7 +31,9 @@ public class CreateIndex extends SchemaCommand {
     private IndexColumn[] indexColumns;
     private NullsDistinct nullsDistinct;
     private int uniqueColumnCount;
-    private boolean primaryKey, hash, spatial;
+    private int keyColumnCount;
+    private Expression condition;
+    private boolean primaryKey, hash, spatial, fullText;
     private boolean ifTableExists;
     private boolean ifNotExists;
     private String comment;
@@ -98,10 +102,16 @@ public long update() {
             indexType = IndexType.createPrimaryKey(persistent, hash);
         } else if (uniqueColumnCount > 0) {
             indexType = IndexType.createUnique(persistent, hash, uniqueColumnCount, nullsDistinct);
+        } else if (fullText) {
+            indexType = IndexType.createFullText(persistent);
         } else {
             indexType = IndexType.createNonUnique(persistent, hash, spatial);
+            indexType.setKeyColumnCount(keyColumnCount);
         }
         IndexColumn.mapColumns(indexColumns, table);
+        if (condition != null) {
+            indexType.setPredicate(new IndexPredicate(session, table, condition));
+        }
         table.addIndex(session, indexName, id, indexColumns, uniqueColumnCount, indexType, create, comment);
         return 0;
     }
@@ -115,6 +125,25 @@ public void setUnique(NullsDistinct nullsDistinct, int uniqueColumnCount) {
         this.uniqueColumnCount = uniqueColumnCount;
     }
 
+    /**
+     * Sets the count of key columns of a non-unique index with included
+     * columns.
+     *
+     * @param keyColumnCount the count of key columns
+     */
+    public void setKeyColumnCount(int keyColumnCount) {
+        this.keyColumnCount = keyColumnCount;
+    }
+
+    /**
+     * Sets the condition of a partial index.
+     *
+     * @param condition the condition from the WHERE clause
+     */
+    public void setCondition(Expression condition) {
+        this.condition = condition;
+    }
+
     public void setHash(boolean b) {
         this.hash = b;
     }
@@ -123,6 +152,10 @@ public void setSpatial(boolean b) {
         this.spatial = b;
     }
 
+    public void setFullText(boolean b) {
+        this.fullText = b;
+    }
+
     public void setComment(String comment) {
         this.comment = comment;
     }
@@ -77,6 +77,16 @@ long update(Schema schema) {
             view = (MaterializedView) old;
         }
         final int id = getObjectId();
+        // Changes in the base table are tracked only after creation of the
+        // view, so concurrent uncommitted changes should be excluded.
+        Table baseTable = null;
+        if (!db.isStarting()) {
+            select.prepare();
+            baseTable = MaterializedView.getIncrementalRefreshBaseTable(select);
+        }
+        if (baseTable != null) {
+            baseTable.lock(session, Table.EXCLUSIVE_LOCK);
+        }
         // Re-use the CREATE TABLE functionality to avoid duplicating a bunch of logic.
         createTable.update();
         // Look up the freshly created table.
@@ -93,6 +103,9 @@ long update(Schema schema) {
         for (Table table : select.getTables()) {
             table.addDependentMaterializedView(view);
         }
+        if (baseTable != null) {
+            view.resetChanges();
+        }
         if (old == null) {
             db.addSchemaObject(session, view);
             db.unlockMeta(session);
@@ -5,10 +5,33 @@
  */
 package org.h2.command.ddl;
 
+import java.util.ArrayList;
+import java.util.Set;
+
 import org.h2.command.CommandInterface;
+import org.h2.command.dml.Delete;
+import org.h2.command.dml.Insert;
+import org.h2.command.query.Query;
+import org.h2.command.query.Select;
+import org.h2.engine.Database;
 import org.h2.engine.SessionLocal;
+import org.h2.expression.Expression;
+import org.h2.expression.ExpressionColumn;
+import org.h2.expression.ExpressionList;
+import org.h2.expression.ValueExpression;
+import org.h2.expression.condition.Comparison;
+import org.h2.expression.condition.ConditionAndOr;
+import org.h2.expression.condition.ConditionAndOrN;
+import org.h2.expression.condition.ConditionInList;
+import org.h2.message.DbException;
 import org.h2.schema.Schema;
+import org.h2.table.Column;
 import org.h2.table.MaterializedView;
+import org.h2.table.Table;
+import org.h2.table.TableFilter;
+import org.h2.util.HasSQL;
+import org.h2.value.Value;
+import org.h2.value.ValueRow;
 
 /**
  * This class represents the statement REFRESH MATERIALIZED VIEW
@@ -17,6 +40,8 @@ public class RefreshMaterializedView extends SchemaOwnerCommand {
 
     private MaterializedView view;
 
+    private boolean incremental;
+
     public RefreshMaterializedView(SessionLocal session, Schema schema) {
         super(session, schema);
     }
@@ -25,21 +50,133 @@ public void setView(MaterializedView view) {
         this.view = view;
     }
 
+    /**
+     * Sets the INCREMENTAL flag. Incremental refresh recomputes only rows of
+     * the view affected by changes in the base table since the last refresh.
+     * If these changes aren't known, a full refresh is performed.
+     *
+     * @param incremental whether refresh should be incremental
+     */
+    public void setIncremental(boolean incremental) {
+        this.incremental = incremental;
+    }
+
     @Override
     long update(Schema schema) {
-        // Re-use logic from the existing code for TRUNCATE and CREATE TABLE
+        view.recompileIfRequired(session);
+        Query select = view.getSelect();
+        select.prepare();
+        Table baseTable = MaterializedView.getIncrementalRefreshBaseTable(select);
+        if (baseTable != null) {
+            // Tracked changes should include all changes visible to this
+            // session, uncommitted changes of other sessions must be excluded
+            baseTable.lock(session, Table.EXCLUSIVE_LOCK);
+        }
+        try {
+            Set<ValueRow> keys = incremental ? view.takeChangedKeys(session) : null;
+            if (keys != null) {
+                if (!keys.isEmpty()) {
+                    refreshRows(keys);
+                }
+            } else {
+                // Re-use logic from the existing code for TRUNCATE and CREATE TABLE
 
-        TruncateTable truncate = new TruncateTable(session);
-        truncate.setTable(view.getUnderlyingTable());
-        truncate.update();
+                TruncateTable truncate = new TruncateTable(session);
+                truncate.setTable(view.getUnderlyingTable());
+                truncate.update();
 
-        CreateTable createTable = new CreateTable(session, schema);
-        createTable.setQuery(view.getSelect());
-        createTable.insertAsData(view.getUnderlyingTable());
+                CreateTable createTable = new CreateTable(session, schema);
+                createTable.setQuery(select);
+                createTable.insertAsData(view.getUnderlyingTable());
+                view.resetChanges();
+            }
+        } catch (DbException e) {
+            view.invalidateChanges();
+            throw e;
+        }
         view.setModified();
         return 0;
     }
 
+    /**
+     * Deletes rows with the specified keys from the underlying table of the
+     * view and inserts them again from the query of the view.
+     *
+     * @param keys the keys of the rows
+     */
+    private void refreshRows(Set<ValueRow> keys) {
+        Table table = view.getUnderlyingTable();
+        Column[] keyColumns = view.getKeyColumns();
+        Delete delete = new Delete(session);
+        delete.setTableFilter(new TableFilter(session, table, null, true, null, 0, null));
+        delete.setCondition(getKeyCondition(keyColumns, keys));
+        delete.prepare();
+        delete.update();
+        Select select = (Select) session.prepareQueryExpression(
+                view.getSelect().getPlanSQL(HasSQL.DEFAULT_SQL_FLAGS), null);
+        // Key columns are selected without modifications, so the condition
+        // may be applied to the rows of the base table
+        ArrayList<Expression> expressions = select.getExpressions();
+        int length = keyColumns.length;
+        Column[] baseKeyColumns = new Column[length];
+        TableFilter filter = null;
+        for (int i = 0; i < length; i++) {
+            ExpressionColumn column = (ExpressionColumn) expressions.get(keyColumns[i].getColumnId())
+                    .getNonAliasExpression();
+            baseKeyColumns[i] = column.getColumn();
+            filter = column.getTableFilter();
+        }
+        Expression condition = getKeyCondition(baseKeyColumns, keys);
+        condition.mapColumns(filter, 0, Expression.MAP_INITIAL);
+        select.addCondition(condition.optimize(session));
+        select.preparePlan();
+        Insert insert = new Insert(session);
+        insert.setQuery(select);
+        insert.setTable(table);
+        insert.setInsertFromSelect(true);
+        insert.prepare();
+        insert.update();
+    }
+
+    /**
+     * Creates a condition that selects rows with the specified keys.
+     *
+     * @param columns the key columns
+     * @param keys the keys
+     * @return the condition
+     */
+    private Expression getKeyCondition(Column[] columns, Set<ValueRow> keys) {
+        ArrayList<Expression> conditions = new ArrayList<>();
+        ArrayList<Expression> values = new ArrayList<>(keys.size());
+        for (ValueRow key : keys) {
+            Value value = columns.length == 1 ? key.getList()[0] : key;
+            if (value.containsNull()) {
+                // IN predicate doesn't select rows with NULL in keys
+                conditions.add(new Comparison(Comparison.EQUAL_NULL_SAFE, getKeyExpression(columns),
+                        ValueExpression.get(value), false));
+            } else {
+                values.add(ValueExpression.get(value));
+            }
+        }
+        if (!values.isEmpty()) {
+            conditions.add(new ConditionInList(getKeyExpression(columns), false, false, values));
+        }
+        return conditions.size() == 1 ? conditions.get(0) : new ConditionAndOrN(ConditionAndOr.OR, conditions);
+    }
+
+    private Expression getKeyExpression(Column[] columns) {
+        Database db = getDatabase();
+        int length = columns.length;
+        if (length == 1) {
+            return new ExpressionColumn(db, null, null, columns[0].getName());
+        }
+        Expression[] list = new Expression[length];
+        for (int i = 0; i < length; i++) {
+            list[i] = new ExpressionColumn(db, null, null, columns[i].getName());
+        }
+        return new ExpressionList(list, false);
+    }
+
     @Override
     public int getType() {
         return CommandInterface.REFRESH_MATERIALIZED_VIEW;
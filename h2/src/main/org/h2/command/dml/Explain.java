@@ -133,6 +133,11 @@ public boolean isQuery() {
         return true;
     }
 
+    @Override
+    public boolean needRecompile() {
+        return super.needRecompile() || command.needRecompile();
+    }
+
     @Override
     public boolean isTransactional() {
         return true;
@@ -7,6 +7,7 @@
 
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Map.Entry;
 
 import org.h2.api.ErrorCode;
@@ -68,6 +69,12 @@ public final class Insert extends CommandWithValues implements ResultTarget {
 
     private ResultOption deltaChangeCollectionMode;
 
+    /**
+     * Rows to insert instead of the VALUES clause and the query, or
+     * {@code null}.
+     */
+    private Iterator<Value[]> rows;
+
     public Insert(SessionLocal session) {
         super(session);
     }
@@ -107,6 +114,17 @@ public void setQuery(Query query) {
         this.query = query;
     }
 
+    /**
+     * Sets the rows to insert instead of the VALUES clause and the query.
+     * Rows can be read only once, so such command is not re-executed on
+     * concurrent updates.
+     *
+     * @param rows the values of rows
+     */
+    public void setRows(Iterator<Value[]> rows) {
+        this.rows = rows;
+    }
+
     public void setOverridingSystem(Boolean overridingSystem) {
         this.overridingSystem = overridingSystem;
     }
@@ -193,7 +211,20 @@ private long insertRows() {
             }
         } else {
             table.lock(session, Table.WRITE_LOCK);
-            if (insertFromSelect) {
+            if (rows != null) {
+                if (!table.isValid()) {
+                    // the table was altered or dropped after preparation
+                    throw DbException.get(ErrorCode.TABLE_OR_VIEW_NOT_FOUND_1, table.getTraceSQL());
+                }
+                int columnCount = columns.length;
+                while (rows.hasNext()) {
+                    Value[] r = rows.next();
+                    if (r.length != columnCount) {
+                        throw DbException.get(ErrorCode.COLUMN_COUNT_DOES_NOT_MATCH);
+                    }
+                    addRow(r);
+                }
+            } else if (insertFromSelect) {
                 query.query(0, this);
             } else {
                 try (ResultInterface rows = query.query(0)) {
@@ -272,6 +303,8 @@ public StringBuilder getPlanSQL(StringBuilder builder, int sqlFlags) {
                 }
                 Expression.writeExpressions(builder.append('('), expr, sqlFlags).append(')');
             }
+        } else if (rows != null) {
+            builder.append("VALUES /* bulk */");
         } else {
             query.getPlanSQL(builder, sqlFlags);
         }
@@ -305,7 +338,7 @@ void doPrepare() {
                     }
                 }
             }
-        } else {
+        } else if (rows == null) {
             query.prepare();
             if (query.getColumnCount() != columns.length) {
                 throw DbException.get(ErrorCode.COLUMN_COUNT_DOES_NOT_MATCH);
@@ -323,6 +356,16 @@ public String getStatementName() {
         return "INSERT";
     }
 
+    @Override
+    public boolean needRecompile() {
+        return rows == null && super.needRecompile();
+    }
+
+    @Override
+    public boolean isRetryable() {
+        return rows == null;
+    }
+
     public void setInsertFromSelect(boolean value) {
         this.insertFromSelect = value;
     }
@@ -447,7 +490,7 @@ public void collectDependencies(HashSet<DbObject> dependencies) {
                     e.isEverything(visitor);
                 }
             }
-        } else {
+        } else if (query != null) {
             query.isEverything(visitor);
         }
     }
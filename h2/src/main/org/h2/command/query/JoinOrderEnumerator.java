@@ -0,0 +1,249 @@
+/*
+ * Copyright 2004-2025 H2 Group. Multiple-Licensed under the MPL 2.0,
+ * and the EPL 1.0 (https://h2database.com/html/license.html).
+ * Initial Developer: H2 Group
+ */
+package org.h2.command.query;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+
+import org.h2.engine.SessionLocal;
+import org.h2.expression.Expression;
+import org.h2.expression.ExpressionVisitor;
+import org.h2.table.PlanItem;
+import org.h2.table.TableFilter;
+
+/**
+ * Dynamic programming join order enumerator. The cheapest left-deep join
+ * orders are built for growing sets of top-level table filters, only the
+ * cheapest order is kept for each set. A set is extended only with filters
+ * connected with its filters by some condition, unless there are no such
+ * filters. Costs are calculated in the same way as in
+ * {@link org.h2.table.Plan}, but incrementally.
+ *
+ * <p>
+ * When the planning time limit is exceeded, only the cheapest order of each
+ * size is extended further, this becomes a greedy search.
+ * </p>
+ */
+final class JoinOrderEnumerator {
+
+    /**
+     * The cheapest known join order of a set of top-level table filters.
+     */
+    private static final class SubPlan {
+
+        /**
+         * Indexes of top-level filters in this plan.
+         */
+        final BitSet set;
+
+        /**
+         * The filters in join order including filters joined to top-level
+         * filters.
+         */
+        final TableFilter[] list;
+
+        /**
+         * The top-level filters in join order.
+         */
+        final TableFilter[] order;
+
+        final double cost;
+
+        SubPlan(BitSet set, TableFilter[] list, TableFilter[] order, double cost) {
+            this.set = set;
+            this.list = list;
+            this.order = order;
+            this.cost = cost;
+        }
+
+    }
+
+    private final SessionLocal session;
+
+    private final TableFilter[] filters;
+
+    /**
+     * Each top-level filter with filters joined to it.
+     */
+    private final TableFilter[][] units;
+
+    /**
+     * The condition and join conditions.
+     */
+    private final Expression[] allConditions;
+
+    /**
+     * Indexes of top-level filters connected with each top-level filter.
+     */
+    private final BitSet[] connections;
+
+    private final AllColumnsForPlan allColumnsSet;
+
+    private final boolean isSelectCommand;
+
+    private final long deadlineNs;
+
+    JoinOrderEnumerator(SessionLocal session, TableFilter[] filters, Expression condition,
+            AllColumnsForPlan allColumnsSet, boolean isSelectCommand, long startNs) {
+        this.session = session;
+        this.filters = filters;
+        this.allColumnsSet = allColumnsSet;
+        this.isSelectCommand = isSelectCommand;
+        deadlineNs = startNs + session.getDatabase().getSettings().maxJoinOrderTime * 1_000_000L;
+        int count = filters.length;
+        units = new TableFilter[count][];
+        ArrayList<Expression> conditions = new ArrayList<>();
+        if (condition != null) {
+            conditions.add(condition);
+        }
+        for (int i = 0; i < count; i++) {
+            ArrayList<TableFilter> unit = new ArrayList<>();
+            filters[i].visit(f -> {
+                unit.add(f);
+                Expression on = f.getJoinCondition();
+                if (on != null) {
+                    conditions.add(on);
+                }
+            });
+            units[i] = unit.toArray(new TableFilter[0]);
+        }
+        allConditions = conditions.toArray(new Expression[0]);
+        connections = new BitSet[count];
+        for (int i = 0; i < count; i++) {
+            connections[i] = new BitSet();
+        }
+        ArrayList<Expression> conjuncts = new ArrayList<>();
+        for (Expression e : allConditions) {
+            Select.addConjuncts(e, conjuncts);
+        }
+        for (Expression e : conjuncts) {
+            BitSet referenced = new BitSet();
+            for (int i = 0; i < count; i++) {
+                for (TableFilter f : units[i]) {
+                    if (!e.isEverything(ExpressionVisitor.getNotFromResolverVisitor(f))) {
+                        referenced.set(i);
+                        break;
+                    }
+                }
+            }
+            if (referenced.cardinality() > 1) {
+                for (int i = referenced.nextSetBit(0); i >= 0; i = referenced.nextSetBit(i + 1)) {
+                    connections[i].or(referenced);
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds the cheapest join order.
+     *
+     * @return the top-level filters in the cheapest join order
+     */
+    TableFilter[] bestOrder() {
+        int count = filters.length;
+        ArrayList<SubPlan> level = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            level.add(extend(null, i));
+        }
+        for (int size = 1; size < count; size++) {
+            boolean greedy = System.nanoTime() - deadlineNs > 0;
+            if (greedy) {
+                SubPlan cheapest = getCheapest(level);
+                level.clear();
+                level.add(cheapest);
+            }
+            LinkedHashMap<BitSet, SubPlan> next = new LinkedHashMap<>();
+            for (SubPlan plan : level) {
+                BitSet candidates = new BitSet();
+                for (int i = plan.set.nextSetBit(0); i >= 0; i = plan.set.nextSetBit(i + 1)) {
+                    candidates.or(connections[i]);
+                }
+                candidates.andNot(plan.set);
+                if (candidates.isEmpty()) {
+                    // a cross product is needed
+                    candidates.set(0, count);
+                    candidates.andNot(plan.set);
+                }
+                for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+                    SubPlan p = extend(plan, i);
+                    SubPlan old = next.get(p.set);
+                    if (old == null || p.cost < old.cost) {
+                        next.put(p.set, p);
+                    }
+                }
+                if (!greedy && !next.isEmpty() && System.nanoTime() - deadlineNs > 0) {
+                    break;
+                }
+            }
+            level = new ArrayList<>(next.values());
+        }
+        return getCheapest(level).order;
+    }
+
+    private static SubPlan getCheapest(ArrayList<SubPlan> plans) {
+        SubPlan cheapest = null;
+        for (SubPlan p : plans) {
+            if (cheapest == null || p.cost < cheapest.cost) {
+                cheapest = p;
+            }
+        }
+        return cheapest;
+    }
+
+    private SubPlan extend(SubPlan plan, int index) {
+        TableFilter[] unit = units[index];
+        int prefix;
+        TableFilter[] list, order;
+        BitSet set;
+        double cost;
+        if (plan == null) {
+            prefix = 0;
+            list = unit.clone();
+            order = new TableFilter[] { filters[index] };
+            set = new BitSet();
+            cost = 1d;
+        } else {
+            prefix = plan.list.length;
+            list = new TableFilter[prefix + unit.length];
+            System.arraycopy(plan.list, 0, list, 0, prefix);
+            System.arraycopy(unit, 0, list, prefix, unit.length);
+            int orderLength = plan.order.length;
+            order = new TableFilter[orderLength + 1];
+            System.arraycopy(plan.order, 0, order, 0, orderLength);
+            order[orderLength] = filters[index];
+            set = (BitSet) plan.set.clone();
+            cost = plan.cost;
+        }
+        set.set(index);
+        for (int i = 0; i < prefix; i++) {
+            setEvaluatable(list[i], true);
+        }
+        for (int i = prefix, l = list.length; i < l; i++) {
+            TableFilter f = list[i];
+            PlanItem item = f.getBestPlanItem(session, list, i, allColumnsSet, isSelectCommand);
+            cost += cost * item.getCost();
+            setEvaluatable(f, true);
+            Expression on = f.getJoinCondition();
+            if (on != null && !on.isEverything(ExpressionVisitor.EVALUATABLE_VISITOR)) {
+                cost = Double.POSITIVE_INFINITY;
+                break;
+            }
+        }
+        for (TableFilter f : list) {
+            setEvaluatable(f, false);
+        }
+        return new SubPlan(set, list, order, cost);
+    }
+
+    private void setEvaluatable(TableFilter filter, boolean b) {
+        filter.setEvaluatable(filter, b);
+        for (Expression e : allConditions) {
+            e.setEvaluatable(filter, b);
+        }
+    }
+
+}
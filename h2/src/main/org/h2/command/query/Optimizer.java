@@ -5,8 +5,6 @@
  */
 package org.h2.command.query;
 
-import java.util.BitSet;
-import java.util.Random;
 import org.h2.engine.SessionLocal;
 import org.h2.expression.Expression;
 import org.h2.table.Plan;
@@ -21,10 +19,6 @@
 class Optimizer {
 
     private static final int MAX_BRUTE_FORCE_FILTERS = 7;
-    private static final int MAX_BRUTE_FORCE = 2000;
-    private static final int MAX_GENETIC = 500;
-    private long startNs;
-    private BitSet switched;
 
     //  possible plans for filters, if using brute force:
     //  1 filter 1 plan
@@ -45,7 +39,6 @@ class Optimizer {
     private Plan bestPlan;
     private TableFilter topFilter;
     private double cost;
-    private Random random;
     private final AllColumnsForPlan allColumnsSet;
 
     Optimizer(TableFilter[] filters, Expression condition, SessionLocal session) {
@@ -55,41 +48,22 @@ class Optimizer {
         allColumnsSet = new AllColumnsForPlan(filters);
     }
 
-    /**
-     * How many filter to calculate using brute force. The remaining filters are
-     * selected using a greedy algorithm which has a runtime of (1 + 2 + ... +
-     * n) = (n * (n-1) / 2) for n filters. The brute force algorithm has a
-     * runtime of n * (n-1) * ... * (n-m) when calculating m brute force of n
-     * total. The combined runtime is (brute force) * (greedy).
-     *
-     * @param filterCount the number of filters total
-     * @return the number of filters to calculate using brute force
-     */
-    private static int getMaxBruteForceFilters(int filterCount) {
-        int i = 0, j = filterCount, total = filterCount;
-        while (j > 0 && total * (j * (j - 1) / 2) < MAX_BRUTE_FORCE) {
-            j--;
-            total *= j;
-            i++;
-        }
-        return i;
-    }
-
     private void calculateBestPlan(boolean isSelectCommand) {
         cost = -1;
         if (filters.length == 1) {
             testPlan(filters, isSelectCommand);
         } else {
-            startNs = System.nanoTime();
+            long startNs = System.nanoTime();
+            TableFilter[] order = null;
             if (filters.length <= MAX_BRUTE_FORCE_FILTERS) {
                 RuleBasedJoinOrderPicker ruleBasedJoinOrderPicker = new RuleBasedJoinOrderPicker(session, filters);
-                TableFilter[] ruleBasedResult = ruleBasedJoinOrderPicker.bestOrder();
-                testPlan(ruleBasedResult, isSelectCommand);
-            } else {
-                calculateBruteForceSome(isSelectCommand);
-                random = new Random(0);
-                calculateGenetic(isSelectCommand);
+                order = ruleBasedJoinOrderPicker.bestOrder();
+            }
+            if (order == null) {
+                order = new JoinOrderEnumerator(session, filters, condition, allColumnsSet, isSelectCommand, startNs)
+                        .bestOrder();
             }
+            testPlan(order, isSelectCommand);
         }
     }
 
@@ -98,14 +72,6 @@ private void calculateFakePlan() {
         bestPlan = new Plan(filters, filters.length, condition);
     }
 
-    private boolean canStop(int x) {
-        return (x & 127) == 0
-                // don't calculate for simple queries (no rows or so)
-                && cost >= 0
-                // 100 microseconds * cost
-                && System.nanoTime() - startNs > cost * 100_000L;
-    }
-
     private void calculateBruteForceAll(boolean isSelectCommand) {
         TableFilter[] list = new TableFilter[filters.length];
         Permutations<TableFilter> p = Permutations.create(filters, list);
@@ -118,71 +84,6 @@ private void calculateBruteForceAll(boolean isSelectCommand) {
 //        }
     }
 
-    private void calculateBruteForceSome(boolean isSelectCommand) {
-        int bruteForce = getMaxBruteForceFilters(filters.length);
-        TableFilter[] list = new TableFilter[filters.length];
-        Permutations<TableFilter> p = Permutations.create(filters, list, bruteForce);
-        for (int x = 0; !canStop(x) && p.next(); x++) {
-            // find out what filters are not used yet
-            for (TableFilter f : filters) {
-                f.setUsed(false);
-            }
-            for (int i = 0; i < bruteForce; i++) {
-                list[i].setUsed(true);
-            }
-            // fill the remaining elements with the unused elements (greedy)
-            for (int i = bruteForce; i < filters.length; i++) {
-                double costPart = -1.0;
-                int bestPart = -1;
-                for (int j = 0; j < filters.length; j++) {
-                    if (!filters[j].isUsed()) {
-                        if (i == filters.length - 1) {
-                            bestPart = j;
-                            break;
-                        }
-                        list[i] = filters[j];
-                        Plan part = new Plan(list, i+1, condition);
-                        double costNow = part.calculateCost(session, allColumnsSet, isSelectCommand);
-                        if (costPart < 0 || costNow < costPart) {
-                            costPart = costNow;
-                            bestPart = j;
-                        }
-                    }
-                }
-                filters[bestPart].setUsed(true);
-                list[i] = filters[bestPart];
-            }
-            testPlan(list, isSelectCommand);
-        }
-    }
-
-    private void calculateGenetic(boolean isSelectCommand) {
-        TableFilter[] best = new TableFilter[filters.length];
-        TableFilter[] list = new TableFilter[filters.length];
-        for (int x = 0; x < MAX_GENETIC; x++) {
-            if (canStop(x)) {
-                break;
-            }
-            boolean generateRandom = (x & 127) == 0;
-            if (!generateRandom) {
-                System.arraycopy(best, 0, list, 0, filters.length);
-                if (!shuffleTwo(list)) {
-                    generateRandom = true;
-                }
-            }
-            if (generateRandom) {
-                switched = new BitSet();
-                System.arraycopy(filters, 0, best, 0, filters.length);
-                shuffleAll(best);
-                System.arraycopy(best, 0, list, 0, filters.length);
-            }
-            if (testPlan(list, isSelectCommand)) {
-                switched = new BitSet();
-                System.arraycopy(list, 0, best, 0, filters.length);
-            }
-        }
-    }
-
     private boolean testPlan(TableFilter[] list, boolean isSelectCommand) {
         Plan p = new Plan(list, list.length, condition);
         double costNow = p.calculateCost(session, allColumnsSet, isSelectCommand);
@@ -194,46 +95,6 @@ private boolean testPlan(TableFilter[] list, boolean isSelectCommand) {
         return false;
     }
 
-    private void shuffleAll(TableFilter[] f) {
-        for (int i = 0; i < f.length - 1; i++) {
-            int j = i + random.nextInt(f.length - i);
-            if (j != i) {
-                TableFilter temp = f[i];
-                f[i] = f[j];
-                f[j] = temp;
-            }
-        }
-    }
-
-    private boolean shuffleTwo(TableFilter[] f) {
-        int a = 0, b = 0, i = 0;
-        for (; i < 20; i++) {
-            a = random.nextInt(f.length);
-            b = random.nextInt(f.length);
-            if (a == b) {
-                continue;
-            }
-            if (a < b) {
-                int temp = a;
-                a = b;
-                b = temp;
-            }
-            int s = a * f.length + b;
-            if (switched.get(s)) {
-                continue;
-            }
-            switched.set(s);
-            break;
-        }
-        if (i == 20) {
-            return false;
-        }
-        TableFilter temp = f[a];
-        f[a] = f[b];
-        f[b] = temp;
-        return true;
-    }
-
     /**
      * Calculate the best query plan to use.
      *
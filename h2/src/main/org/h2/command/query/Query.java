@@ -20,6 +20,7 @@
 import org.h2.command.QueryScope;
 import org.h2.engine.Database;
 import org.h2.engine.DbObject;
+import org.h2.engine.IsolationLevel;
 import org.h2.engine.SessionLocal;
 import org.h2.expression.Alias;
 import org.h2.expression.Expression;
@@ -36,8 +37,14 @@
 import org.h2.table.Column;
 import org.h2.table.ColumnResolver;
 import org.h2.table.DerivedTable;
+import org.h2.table.DualTable;
+import org.h2.table.MaterializedView;
+import org.h2.table.QueryExpressionTable;
+import org.h2.table.RangeTable;
 import org.h2.table.Table;
 import org.h2.table.TableFilter;
+import org.h2.table.TableType;
+import org.h2.table.TableValueConstructorTable;
 import org.h2.util.StringUtils;
 import org.h2.util.Utils;
 import org.h2.value.ExtTypeInfoRow;
@@ -153,6 +160,13 @@ static final class OffsetFetch {
     private boolean cacheableChecked;
     private boolean neverLazy;
 
+    /**
+     * The SQL used as a key in the query result cache of the database, or
+     * {@code null} if results of this query may not be shared.
+     */
+    private String sharedCacheSQL;
+    private boolean sharedCacheChecked;
+
     boolean checkInit;
 
     boolean isPrepared;
@@ -205,6 +219,11 @@ public ResultInterface queryMeta() {
     protected abstract ResultInterface queryWithoutCache(long limit, ResultTarget target);
 
     private ResultInterface queryWithoutCacheLazyCheck(long limit, ResultTarget target) {
+        if (withClause != null) {
+            for (Table t : withClause.values()) {
+                ((CTE) t).resetMaterialized();
+            }
+        }
         boolean disableLazy = neverLazy && session.isLazyQueryExecution();
         if (disableLazy) {
             session.setLazyQueryExecution(false);
@@ -269,6 +288,25 @@ public int getCostAsExpression() {
         return (int) Math.min(1_000_000d, 10d + 10d * getCost());
     }
 
+    @Override
+    public boolean needRecompile() {
+        if (super.needRecompile()) {
+            return true;
+        }
+        int ratio = getDatabase().getSettings().replanRatio;
+        return ratio > 0 && isPlanOutdated(ratio);
+    }
+
+    /**
+     * Checks whether the last execution of this query has read from some
+     * table much more rows than the table had when the plan was selected.
+     *
+     * @param ratio
+     *            the minimal ratio between read and planned rows
+     * @return whether the plan may be outdated
+     */
+    abstract boolean isPlanOutdated(int ratio);
+
     /**
      * Get all tables that are involved in this query.
      *
@@ -556,6 +594,82 @@ public final ResultInterface query(long limit, ResultTarget target) {
         return r;
     }
 
+    /**
+     * Execute the query of a command. If the database has a query result
+     * cache, results of deterministic queries may be shared with other
+     * sessions until data in the used tables is changed.
+     *
+     * @param limit the maximum number of rows to return
+     * @return the result set
+     */
+    public final ResultInterface queryWithSharedCache(long limit) {
+        Database db = getDatabase();
+        QueryResultCache cache = db.getQueryResultCache();
+        if (cache == null || inPredicateSortTypes != null || getSharedCacheSQL() == null
+                || session.isLazyQueryExecution() && !neverLazy
+                || session.getIsolationLevel() != IsolationLevel.READ_COMMITTED || session.containsUncommitted()
+                || session.isParsingCreateView()) {
+            return query(limit);
+        }
+        long metaId = db.getModificationMetaId();
+        long now = session.getStatementModificationDataId(), maxDataModificationId = getMaxDataModificationId();
+        QueryResultCache.Key key = new QueryResultCache.Key(sharedCacheSQL, getParameterValues(), limit,
+                session.currentTimeZone().getId());
+        LocalResult cached = cache.get(key, session, maxDataModificationId, metaId);
+        if (cached != null) {
+            fireBeforeSelectTriggers();
+            return cached;
+        }
+        ResultInterface r = query(limit);
+        if (r instanceof LocalResult && maxDataModificationId <= now && metaId == db.getModificationMetaId()) {
+            cache.put(key, session, (LocalResult) r, now, metaId);
+        }
+        return r;
+    }
+
+    private String getSharedCacheSQL() {
+        if (!sharedCacheChecked) {
+            if (!getNoCache() && getForUpdate() == null && isShareable(this, new HashSet<>())) {
+                sharedCacheSQL = getPlanSQL(DEFAULT_SQL_FLAGS);
+            }
+            sharedCacheChecked = true;
+        }
+        return sharedCacheSQL;
+    }
+
+    /**
+     * Checks whether the specified query reads only data which is visible to
+     * all sessions in the same way.
+     *
+     * @param query the query
+     * @param visited already checked tables
+     * @return whether results of the query may be shared between sessions
+     */
+    private static boolean isShareable(Query query, HashSet<Table> visited) {
+        HashSet<DbObject> dependencies = new HashSet<>();
+        query.isEverything(ExpressionVisitor.getDependenciesVisitor(dependencies));
+        for (DbObject object : dependencies) {
+            if (!(object instanceof Table)) {
+                continue;
+            }
+            Table table = (Table) object;
+            if (!visited.add(table)) {
+                continue;
+            }
+            if (table instanceof QueryExpressionTable) {
+                if (!isShareable(((QueryExpressionTable) table).getQuery(), visited)) {
+                    return false;
+                }
+            } else if (table instanceof MaterializedView || table instanceof DualTable
+                    || table instanceof RangeTable || table instanceof TableValueConstructorTable) {
+                continue;
+            } else if (table.getTableType() != TableType.TABLE || table.isTemporary() && !table.isGlobalTemporary()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private void closeLastResult() {
         if (lastResult != null) {
             lastResult.close();
@@ -940,7 +1054,12 @@ protected void writeWithList(StringBuilder builder, int sqlFlags) {
                     builder.append(",\n");
                 }
                 table.getSQL(builder, sqlFlags).append('(');
-                Column.writeColumns(builder, table.getColumns(), sqlFlags).append(") AS (\n");
+                Column.writeColumns(builder, table.getColumns(), sqlFlags).append(") AS ");
+                Boolean materialized = ((CTE) table).getMaterialized();
+                if (materialized != null) {
+                    builder.append(materialized ? "MATERIALIZED " : "NOT MATERIALIZED ");
+                }
+                builder.append("(\n");
                 StringUtils.indent(builder, ((CTE) table).getQuerySQL(), 4, true).append(')');
             }
             builder.append('\n');
@@ -1024,6 +1143,24 @@ OffsetFetch getOffsetFetch(long maxRows) {
         return new OffsetFetch(offset, fetch, fetchPercent);
     }
 
+    /**
+     * Enables top-N sorting in the specified sorted result if only a limited
+     * number of first rows is needed, so other rows aren't kept in memory.
+     *
+     * @param result the sorted result
+     * @param offset OFFSET value, if it will be applied by the result
+     * @param fetch FETCH value
+     * @param fetchPercent whether FETCH value is a PERCENT value
+     */
+    void initTopRows(LocalResult result, long offset, long fetch, boolean fetchPercent) {
+        if (fetch > 0 && !fetchPercent) {
+            long count = offset + fetch;
+            if (count > 0 && count <= getDatabase().getMaxMemoryRows()) {
+                result.setTopRowCount((int) count, withTies);
+            }
+        }
+    }
+
     /**
      * Applies limits, if any, to a result and makes it ready for value
      * retrieval.
@@ -0,0 +1,248 @@
+/*
+ * Copyright 2004-2025 H2 Group. Multiple-Licensed under the MPL 2.0,
+ * and the EPL 1.0 (https://h2database.com/html/license.html).
+ * Initial Developer: H2 Group
+ */
+package org.h2.command.query;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+import org.h2.engine.Constants;
+import org.h2.engine.SessionLocal;
+import org.h2.result.LocalResult;
+import org.h2.value.DataType;
+import org.h2.value.Value;
+
+/**
+ * A database-wide cache of query results. Results of deterministic queries
+ * are shared between sessions until the data or the schema of the used tables
+ * is changed.
+ */
+public final class QueryResultCache {
+
+    /**
+     * The key of a cached result.
+     */
+    static final class Key {
+
+        private final String sql;
+
+        private final Value[] parameters;
+
+        private final long limit;
+
+        private final String timeZone;
+
+        private final int hash;
+
+        Key(String sql, Value[] parameters, long limit, String timeZone) {
+            this.sql = sql;
+            this.parameters = parameters;
+            this.limit = limit;
+            this.timeZone = timeZone;
+            hash = ((sql.hashCode() * 31 + Arrays.hashCode(parameters)) * 31 + Long.hashCode(limit)) * 31
+                    + timeZone.hashCode();
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return hash == other.hash && limit == other.limit && sql.equals(other.sql)
+                    && timeZone.equals(other.timeZone) && Arrays.equals(parameters, other.parameters);
+        }
+
+    }
+
+    private static final class Entry {
+
+        final LocalResult result;
+
+        final long evaluated;
+
+        final long metaId;
+
+        final long memory;
+
+        Entry(LocalResult result, long evaluated, long metaId, long memory) {
+            this.result = result;
+            this.evaluated = evaluated;
+            this.metaId = metaId;
+            this.memory = memory;
+        }
+
+    }
+
+    private final LinkedHashMap<Key, Entry> map = new LinkedHashMap<>(64, .75f, true);
+
+    private final long maxMemory;
+
+    private long memory;
+
+    private long hits, misses;
+
+    /**
+     * Creates a new cache.
+     *
+     * @param maxMemoryKb the maximum estimated memory used by cached results,
+     *            in KB
+     */
+    public QueryResultCache(int maxMemoryKb) {
+        maxMemory = maxMemoryKb * 1024L;
+    }
+
+    /**
+     * Returns a copy of the cached result if it is still valid.
+     *
+     * @param key the key
+     * @param session the session
+     * @param maxDataModificationId the current maximum data modification id
+     *            of the tables used by the query
+     * @param metaId the current meta modification id of the database
+     * @return the copy of the result, or {@code null}
+     */
+    synchronized LocalResult get(Key key, SessionLocal session, long maxDataModificationId, long metaId) {
+        Entry entry = map.get(key);
+        if (entry != null) {
+            if (maxDataModificationId <= entry.evaluated && metaId == entry.metaId) {
+                LocalResult result = entry.result.createShallowCopy(session);
+                if (result != null) {
+                    hits++;
+                    return result;
+                }
+            }
+            remove(key, entry);
+        }
+        misses++;
+        return null;
+    }
+
+    /**
+     * Adds a result to the cache. Results with LOBs and results stored on the
+     * disk are not cached.
+     *
+     * @param key the key
+     * @param session the session
+     * @param result the result
+     * @param evaluated the data modification id of the evaluation
+     * @param metaId the meta modification id of the evaluation
+     */
+    void put(Key key, SessionLocal session, LocalResult result, long evaluated, long metaId) {
+        if (result.needToClose()) {
+            return;
+        }
+        int columnCount = result.getVisibleColumnCount();
+        long rowCount = result.getRowCount();
+        // memory of values with fixed size is known from the row count,
+        // values of other columns need to be examined
+        int rowMemory = Constants.MEMORY_ARRAY + columnCount * Constants.MEMORY_POINTER;
+        int[] variableColumns = new int[columnCount];
+        int variableColumnCount = 0;
+        for (int i = 0; i < columnCount; i++) {
+            int memory = getFixedMemory(result.getColumnType(i).getValueType());
+            if (memory >= 0) {
+                rowMemory += memory;
+            } else {
+                variableColumns[variableColumnCount++] = i;
+            }
+        }
+        long m = Constants.MEMORY_OBJECT * 4 + (key.sql.length() << 1) + rowCount * rowMemory;
+        if (m > maxMemory) {
+            return;
+        }
+        LocalResult copy = result.createShallowCopy(session);
+        if (copy == null) {
+            return;
+        }
+        if (variableColumnCount > 0) {
+            while (copy.next()) {
+                Value[] row = copy.currentRow();
+                for (int i = 0; i < variableColumnCount; i++) {
+                    m += row[variableColumns[i]].getMemory();
+                }
+                if (m > maxMemory) {
+                    return;
+                }
+            }
+            copy.reset();
+        }
+        synchronized (this) {
+            Entry old = map.put(key, new Entry(copy, evaluated, metaId, m));
+            if (old != null) {
+                memory -= old.memory;
+            }
+            memory += m;
+            for (Iterator<Map.Entry<Key, Entry>> i = map.entrySet().iterator(); memory > maxMemory && i.hasNext();) {
+                Map.Entry<Key, Entry> e = i.next();
+                if (e.getKey() != key) {
+                    memory -= e.getValue().memory;
+                    i.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the memory used by each value of the specified data type, if it
+     * doesn't depend on the value.
+     *
+     * @param valueType the value type
+     * @return the memory used by each value, or -1 if it depends on the value
+     */
+    private static int getFixedMemory(int valueType) {
+        switch (valueType) {
+        case Value.NULL:
+        case Value.BOOLEAN:
+        case Value.TINYINT:
+            return 0;
+        case Value.SMALLINT:
+        case Value.INTEGER:
+        case Value.BIGINT:
+        case Value.REAL:
+        case Value.DOUBLE:
+        case Value.DATE:
+        case Value.TIME:
+            return 24;
+        case Value.TIME_TZ:
+        case Value.TIMESTAMP:
+        case Value.UUID:
+            return 32;
+        case Value.TIMESTAMP_TZ:
+            return 40;
+        default:
+            return DataType.isIntervalType(valueType) ? 48 : -1;
+        }
+    }
+
+    private void remove(Key key, Entry entry) {
+        map.remove(key);
+        memory -= entry.memory;
+    }
+
+    /**
+     * Adds statistics of this cache to the INFORMATION_SCHEMA.SETTINGS.
+     *
+     * @param consumer the consumer of names and values
+     */
+    public synchronized void populateInfo(BiConsumer<String, String> consumer) {
+        consumer.accept("info.QUERY_RESULT_CACHE_ENTRIES", Integer.toString(map.size()));
+        consumer.accept("info.QUERY_RESULT_CACHE_MEMORY", Long.toString(memory >>> 10));
+        consumer.accept("info.QUERY_RESULT_CACHE_HITS", Long.toString(hits));
+        consumer.accept("info.QUERY_RESULT_CACHE_MISSES", Long.toString(misses));
+    }
+
+}
@@ -31,7 +31,8 @@ public TableFilter[] bestOrder() {
         while (!remaining.isEmpty()) {
             TableFilter next = selectNextConnectedTable(ordered, remaining);
             if (next == null) {
-                throw new IllegalStateException("No remaining table is connected; refusing to create cartesian product.");
+                // No remaining table is connected, a cartesian product is needed
+                return null;
             }
             ordered.add(next);
             remaining.remove(next);
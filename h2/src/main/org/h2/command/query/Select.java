@@ -5,6 +5,7 @@
  */
 package org.h2.command.query;
 
+import static org.h2.expression.Expression.AUTO_PARENTHESES;
 import static org.h2.expression.Expression.WITHOUT_PARENTHESES;
 import static org.h2.util.HasSQL.ADD_PLAN_INFORMATION;
 import static org.h2.util.HasSQL.DEFAULT_SQL_FLAGS;
@@ -27,20 +28,26 @@
 import org.h2.expression.Alias;
 import org.h2.expression.Expression;
 import org.h2.expression.ExpressionColumn;
+import org.h2.expression.ExpressionCompiler;
+import org.h2.expression.ExpressionCompiler.CompiledCondition;
+import org.h2.expression.ExpressionCompiler.CompiledExpression;
 import org.h2.expression.ExpressionList;
 import org.h2.expression.ExpressionVisitor;
 import org.h2.expression.Parameter;
+import org.h2.expression.SpatialDistanceOperation;
 import org.h2.expression.Wildcard;
 import org.h2.expression.analysis.DataAnalysisOperation;
 import org.h2.expression.analysis.Window;
 import org.h2.expression.condition.Comparison;
 import org.h2.expression.condition.ConditionAndOr;
+import org.h2.expression.condition.ConditionAndOrN;
 import org.h2.expression.condition.ConditionLocalAndGlobal;
 import org.h2.expression.function.CoalesceFunction;
 import org.h2.index.Cursor;
 import org.h2.index.Index;
 import org.h2.index.IndexSort;
 import org.h2.index.IndexType;
+import org.h2.index.NearestNeighborIndex;
 import org.h2.index.QueryExpressionIndex;
 import org.h2.message.DbException;
 import org.h2.mode.DefaultNullOrdering;
@@ -54,6 +61,7 @@
 import org.h2.table.Column;
 import org.h2.table.ColumnResolver;
 import org.h2.table.IndexColumn;
+import org.h2.table.IndexHints;
 import org.h2.table.Table;
 import org.h2.table.TableFilter;
 import org.h2.table.TableType;
@@ -151,15 +159,38 @@ private enum QuickOffset { NO, YES, PARTIAL }
     boolean isGroupQuery;
     private boolean isGroupSortedQuery;
     private boolean isWindowQuery;
+
+    /**
+     * Columns of the top table filter from PARTITION BY clauses of all window
+     * functions when rows of each partition are returned together by the used
+     * index, or {@code null}.
+     */
+    private Column[] windowPartitionColumns;
     private ForUpdate forUpdate;
     private double cost;
     private boolean isQuickAggregateQuery, isDistinctQuery;
+
+    /**
+     * The compiled condition, or {@code null}.
+     */
+    private CompiledCondition compiledCondition;
+
+    /**
+     * The compiled expressions with {@code null} elements for expressions
+     * without compiled form, or {@code null}.
+     */
+    private CompiledExpression[] compiledExpressions;
     private int indexSortedColumns;
 
     private boolean isGroupWindowStage2;
 
     private HashMap<String, Window> windows;
 
+    /**
+     * OVER clauses of all window functions and window aggregates.
+     */
+    private final ArrayList<Window> overConditions = Utils.newSmallArrayList();
+
     public Select(SessionLocal session, Select parentSelect) {
         super(session);
         this.parentSelect = parentSelect;
@@ -225,6 +256,15 @@ public void setWindowQuery() {
         isWindowQuery = true;
     }
 
+    /**
+     * Adds an OVER clause of a window function or a window aggregate.
+     *
+     * @param over the OVER clause
+     */
+    public void addOverCondition(Window over) {
+        overConditions.add(over);
+    }
+
     public void setGroupBy(ArrayList<Expression> group) {
         this.group = group;
     }
@@ -233,6 +273,16 @@ public ArrayList<Expression> getGroupBy() {
         return group;
     }
 
+    /**
+     * Returns the indexes of the group-by columns in the expression list.
+     *
+     * @return the indexes, or {@code null} if there is no GROUP BY clause or
+     *         query is not prepared yet
+     */
+    public int[] getGroupIndex() {
+        return groupIndex;
+    }
+
     /**
      * Get the group data if there is currently a group-by active.
      *
@@ -364,7 +414,9 @@ private Index getGroupSortedIndex() {
         }
         for (Index index : topTableFilter.getTable().getIndexes()) {
             IndexType indexType = index.getIndexType();
-            if (!indexType.isScan() && !indexType.isHash() && isGroupSortedIndex(topTableFilter, index)) {
+            if (!indexType.isScan() && !indexType.isHash() && !indexType.isFullText()
+                    && (indexType.getPredicate() == null || index == topTableFilter.getIndex())
+                    && isGroupSortedIndex(topTableFilter, index)) {
                 return index;
             }
         }
@@ -435,7 +487,11 @@ boolean isConditionMetForUpdate() {
     }
 
     boolean isConditionMet() {
-        return condition == null || condition.getBooleanValue(session);
+        if (condition == null) {
+            return true;
+        }
+        CompiledCondition c = compiledCondition;
+        return c != null ? c.test(session) == ExpressionCompiler.TRUE : condition.getBooleanValue(session);
     }
 
     private void queryWindow(int columnCount, LocalResult result, long offset, boolean quickOffset) {
@@ -471,6 +527,30 @@ private void queryGroupWindow(int columnCount, LocalResult result, long offset,
         }
     }
 
+    private LazyResult queryWindowSorted(int columnCount, ResultTarget result, long offset, long limitRows,
+            boolean quickOffset) {
+        LazyResultWindowSorted lazyResult = new LazyResultWindowSorted(expressionArray, columnCount);
+        skipOffset(lazyResult, offset, quickOffset);
+        if (result == null) {
+            return lazyResult;
+        }
+        if (limitRows > 0 && !quickOffset) {
+            limitRows += offset;
+            if (limitRows < 0) {
+                // Overflow
+                limitRows = Long.MAX_VALUE;
+            }
+        }
+        if (limitRows < 0 || withTies || sort != null && indexSortedColumns != IndexSort.FULLY_SORTED) {
+            limitRows = Long.MAX_VALUE;
+        }
+        // Remaining partitions aren't read when enough rows are collected
+        while (result.getRowCount() < limitRows && lazyResult.next()) {
+            result.addRow(lazyResult.currentRow());
+        }
+        return null;
+    }
+
     private void queryGroup(int columnCount, LocalResult result, long offset, boolean quickOffset) {
         initGroupData(columnCount);
         try {
@@ -635,8 +715,13 @@ private List<IndexSort> getIndexSorts() {
         DefaultNullOrdering defaultNullOrdering = getDatabase().getDefaultNullOrdering();
         ArrayList<IndexSort> indexSorts = Utils.newSmallArrayList();
         loop: for (Index index : topTableFilter.getTable().getIndexes()) {
-            if (index.getCreateSQL() == null || index.getIndexType().isHash()) {
-                // can't use scan or hash indexes
+            if (index.getCreateSQL() == null || index.getIndexType().isHash()
+                    || index.getIndexType().isFullText()) {
+                // can't use scan, hash, or full text indexes
+                continue;
+            }
+            if (index.getIndexType().getPredicate() != null && index != topTableFilter.getIndex()) {
+                // partial index is only usable if it was chosen by the optimizer
                 continue;
             }
             IndexColumn[] indexCols = index.getIndexColumns();
@@ -825,6 +910,9 @@ protected ResultInterface queryWithoutCache(long maxRows, ResultTarget target) {
             result.setSortOrder(sort);
             if (indexSortedColumns != IndexSort.FULLY_SORTED) {
                 quickOffset = indexSortedColumns > 0 ? QuickOffset.PARTIAL : QuickOffset.NO;
+                if (!isAnyDistinct()) {
+                    initTopRows(result, offset, fetch, fetchPercent);
+                }
             }
         }
         if (distinct) {
@@ -838,7 +926,8 @@ protected ResultInterface queryWithoutCache(long maxRows, ResultTarget target) {
             result = createLocalResult(result);
             result.setDistinct(distinctIndexes);
         }
-        if (isWindowQuery || isGroupQuery && !isGroupSortedQuery) {
+        if (isWindowQuery && (isGroupQuery || windowPartitionColumns == null)
+                || isGroupQuery && !isGroupSortedQuery) {
             result = createLocalResult(result);
         }
         if (!lazy && (fetch >= 0 || offset > 0)) {
@@ -858,6 +947,8 @@ protected ResultInterface queryWithoutCache(long maxRows, ResultTarget target) {
             } else if (isWindowQuery) {
                 if (isGroupQuery) {
                     queryGroupWindow(columnCount, result, offset, quickOffset == QuickOffset.YES);
+                } else if (windowPartitionColumns != null) {
+                    lazyResult = queryWindowSorted(columnCount, to, offset, limit, quickOffset == QuickOffset.YES);
                 } else {
                     queryWindow(columnCount, result, offset, quickOffset == QuickOffset.YES);
                 }
@@ -1289,6 +1380,9 @@ public void preparePlan() {
                     }
                 }
             }
+            if (indexSortedColumns == 0 && current != null) {
+                prepareNearestNeighborSort(current);
+            }
             if (indexSortedColumns > 0 && forUpdate != null && !topTableFilter.getIndex().isRowIdIndex()) {
                 indexSortedColumns = 0;
             }
@@ -1303,9 +1397,159 @@ public void preparePlan() {
                 }
             }
         }
+        if (isWindowQuery && !isGroupQuery && forUpdate == null) {
+            prepareWindowPartitionSortedIndex();
+        }
+        if (!isGroupQuery && !isWindowQuery && getDatabase().getSettings().compileExpressions) {
+            compileExpressions();
+        }
         isPrepared = true;
     }
 
+    /**
+     * Checks whether all window functions are partitioned by the same columns
+     * of the top table filter and the used index returns rows of each
+     * partition together. An index with these columns is used instead of a
+     * table scan if possible. With such index partitions can be evaluated one
+     * by one.
+     */
+    private void prepareWindowPartitionSortedIndex() {
+        if (topTableFilter.getTable().getTableType() != TableType.TABLE) {
+            return;
+        }
+        HashSet<Column> columns = null;
+        for (Window window : overConditions) {
+            ArrayList<Expression> partitionBy = window.getPartitionBy();
+            if (partitionBy == null) {
+                return;
+            }
+            HashSet<Column> set = new HashSet<>();
+            for (Expression e : partitionBy) {
+                if (!(e instanceof ExpressionColumn) || ((ExpressionColumn) e).getTableFilter() != topTableFilter) {
+                    return;
+                }
+                set.add(((ExpressionColumn) e).getColumn());
+            }
+            if (columns == null) {
+                columns = set;
+            } else if (!columns.equals(set)) {
+                return;
+            }
+        }
+        if (columns == null) {
+            return;
+        }
+        Index current = topTableFilter.getIndex();
+        if (current == null) {
+            return;
+        }
+        if (!isWindowPartitionSortedIndex(current, columns)) {
+            if (!current.getIndexType().isScan() || indexSortedColumns != 0) {
+                return;
+            }
+            IndexHints indexHints = topTableFilter.getIndexHints();
+            Index found = null;
+            for (Index index : topTableFilter.getTable().getIndexes()) {
+                if (index.getIndexType().getPredicate() == null && isWindowPartitionSortedIndex(index, columns)
+                        && (indexHints == null || indexHints.allowIndex(index))) {
+                    found = index;
+                    break;
+                }
+            }
+            if (found == null) {
+                return;
+            }
+            topTableFilter.setIndex(found, false);
+        }
+        windowPartitionColumns = columns.toArray(new Column[0]);
+    }
+
+    private static boolean isWindowPartitionSortedIndex(Index index, HashSet<Column> columns) {
+        IndexType indexType = index.getIndexType();
+        if (indexType.isScan() || indexType.isHash() || indexType.isFullText() || indexType.isSpatial()) {
+            return false;
+        }
+        IndexColumn[] indexColumns = index.getIndexColumns();
+        int count = columns.size();
+        if (indexColumns == null || indexColumns.length < count) {
+            return false;
+        }
+        // good: index(a, b, c); partition by b, a
+        // bad: index(a, b, c); partition by a, c
+        for (int i = 0; i < count; i++) {
+            if (!columns.contains(indexColumns[i].column)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void compileExpressions() {
+        if (condition != null) {
+            compiledCondition = ExpressionCompiler.compileCondition(this, condition);
+        }
+        CompiledExpression[] compiled = null;
+        for (int i = 0; i < visibleColumnCount; i++) {
+            CompiledExpression c = ExpressionCompiler.compileExpression(this, expressionArray[i]);
+            if (c != null) {
+                if (compiled == null) {
+                    compiled = new CompiledExpression[visibleColumnCount];
+                }
+                compiled[i] = c;
+            }
+        }
+        compiledExpressions = compiled;
+    }
+
+    /**
+     * Use a spatial index for k-nearest-neighbor search if the first sort
+     * expression is {@code column <-> point} in ascending order, where the
+     * point does not depend on the tables of this query.
+     *
+     * @param current the currently selected index of the top table filter
+     */
+    private void prepareNearestNeighborSort(Index current) {
+        int sortType = sort.getSortTypesWithNullOrdering()[0];
+        if ((sortType & SortOrder.DESCENDING) != 0) {
+            return;
+        }
+        int[] queryColumnIndexes = sort.getQueryColumnIndexes();
+        Expression expr = expressions.get(queryColumnIndexes[0]).getNonAliasExpression();
+        if (!(expr instanceof SpatialDistanceOperation)) {
+            return;
+        }
+        for (int i = 0; i < 2; i++) {
+            Expression e = expr.getSubexpression(i), point = expr.getSubexpression(1 - i);
+            if (!(e instanceof ExpressionColumn) || ((ExpressionColumn) e).getTableFilter() != topTableFilter
+                    || !isIndependentOfFilters(point)) {
+                continue;
+            }
+            Column column = ((ExpressionColumn) e).getColumn();
+            for (Index index : topTableFilter.getTable().getIndexes()) {
+                if (index instanceof NearestNeighborIndex && index.getIndexColumns()[0].column == column
+                        && (current.getIndexType().isScan() || current == index)) {
+                    topTableFilter.setIndex(index, false);
+                    topTableFilter.setNearestNeighborSearch(column, point,
+                            (sortType & SortOrder.NULLS_FIRST) != 0);
+                    indexSortedColumns = queryColumnIndexes.length == 1 ? IndexSort.FULLY_SORTED : 1;
+                    return;
+                }
+            }
+        }
+    }
+
+    private boolean isIndependentOfFilters(Expression e) {
+        if (!e.isEverything(ExpressionVisitor.DETERMINISTIC_VISITOR)) {
+            return false;
+        }
+        for (TableFilter f : filters) {
+            if (!e.isEverything(ExpressionVisitor.getNotFromResolverVisitor(f))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private void optimizeExpressionsAndPreserveAliases() {
         for (int i = 0; i < expressions.size(); i++) {
             Expression original = expressions.get(i);
@@ -1333,6 +1577,11 @@ public double getCost() {
         return cost;
     }
 
+    @Override
+    boolean isPlanOutdated(int ratio) {
+        return topTableFilter != null && topTableFilter.isRowCountEstimateExceeded(ratio);
+    }
+
     @Override
     public HashSet<Table> getTables() {
         HashSet<Table> set = new HashSet<>();
@@ -1494,6 +1743,8 @@ public StringBuilder getPlanSQL(StringBuilder builder, int sqlFlags) {
                 if (isGroupSortedQuery) {
                     builder.append("\n/* group sorted */");
                 }
+            } else if (windowPartitionColumns != null) {
+                builder.append("\n/* window partition sorted */");
             }
             // builder.append("\n/* cost: " + cost + " */");
         }
@@ -1524,6 +1775,113 @@ private static void getFilterSQL(StringBuilder builder, String sql, Expression c
         condition.getNonAliasExpression().getUnenclosedSQL(builder.append(sql), sqlFlags);
     }
 
+    /**
+     * Returns SQL of this query without equality conditions between its own
+     * expressions and expressions of outer queries in the WHERE clause. Inner
+     * sides of these conditions are selected by the returned query after the
+     * optional first column of the original select list. Such query doesn't
+     * depend on the outer query and can be evaluated only once for a hash
+     * semi-join or anti-join.
+     *
+     * @param withFirstColumn
+     *            whether the first column of the select list should be kept
+     * @param conditions
+     *            the list to add the removed conditions to
+     * @param outerKeys
+     *            the list to add outer sides of the removed conditions to
+     * @return SQL of the decorrelated query, or {@code null} if this query
+     *         can't be decorrelated
+     */
+    public String getDecorrelatedSQL(boolean withFirstColumn, ArrayList<Expression> conditions,
+            ArrayList<Expression> outerKeys) {
+        if (condition == null || isExplicitTable || isGroupQuery || isWindowQuery
+                || distinctExpressions != null || offsetExpr != null || fetchExpr != null || forUpdate != null
+                || !isEverything(ExpressionVisitor.DETERMINISTIC_VISITOR)) {
+            return null;
+        }
+        ExpressionVisitor local = ExpressionVisitor.INDEPENDENT_VISITOR.incrementQueryLevel(1);
+        StringBuilder builder = new StringBuilder();
+        writeWithList(builder, DEFAULT_SQL_FLAGS);
+        builder.append("SELECT ");
+        if (withFirstColumn) {
+            Expression e = expressions.get(0);
+            if (!e.isEverything(local)) {
+                return null;
+            }
+            e.getNonAliasExpression().getSQL(builder, DEFAULT_SQL_FLAGS, WITHOUT_PARENTHESES).append(", ");
+        }
+        ArrayList<Expression> conjuncts = Utils.newSmallArrayList();
+        addConjuncts(condition, conjuncts);
+        StringBuilder where = new StringBuilder();
+        for (Expression e : conjuncts) {
+            if (e.isEverything(local)) {
+                if (where.length() > 0) {
+                    where.append(" AND ");
+                }
+                e.getSQL(where, DEFAULT_SQL_FLAGS, AUTO_PARENTHESES);
+                continue;
+            }
+            if (!(e instanceof Comparison) || ((Comparison) e).getCompareType() != Comparison.EQUAL) {
+                return null;
+            }
+            Expression inner = e.getSubexpression(0), outer = e.getSubexpression(1);
+            if (!inner.isEverything(local)) {
+                Expression t = inner;
+                inner = outer;
+                outer = t;
+                if (!inner.isEverything(local)) {
+                    return null;
+                }
+            }
+            for (TableFilter f : filters) {
+                if (!outer.isEverything(ExpressionVisitor.getNotFromResolverVisitor(f))) {
+                    return null;
+                }
+            }
+            if (!outerKeys.isEmpty()) {
+                builder.append(", ");
+            }
+            inner.getSQL(builder, DEFAULT_SQL_FLAGS, WITHOUT_PARENTHESES);
+            conditions.add(e);
+            outerKeys.add(outer);
+        }
+        if (outerKeys.isEmpty()) {
+            return null;
+        }
+        int count = topFilters.size();
+        if (count != 1 || topFilters.get(0).hasFromClause()) {
+            builder.append(" FROM ");
+            boolean isJoin = false;
+            for (int i = 0; i < count; i++) {
+                isJoin = getPlanFromFilter(builder, DEFAULT_SQL_FLAGS, topFilters.get(i), isJoin);
+            }
+        }
+        if (where.length() > 0) {
+            builder.append(" WHERE ").append(where);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Splits the specified condition into conjuncts.
+     *
+     * @param condition
+     *            the condition
+     * @param conjuncts
+     *            the list to add conjuncts to
+     */
+    static void addConjuncts(Expression condition, ArrayList<Expression> conjuncts) {
+        if (condition instanceof ConditionAndOr && ((ConditionAndOr) condition).getAndOrType() == ConditionAndOr.AND
+                || condition instanceof ConditionAndOrN
+                        && ((ConditionAndOrN) condition).getAndOrType() == ConditionAndOr.AND) {
+            for (int i = 0, l = condition.getSubexpressionCount(); i < l; i++) {
+                addConjuncts(condition.getSubexpression(i), conjuncts);
+            }
+        } else {
+            conjuncts.add(condition);
+        }
+    }
+
     private static boolean containsAggregate(Expression expression) {
         if (expression instanceof DataAnalysisOperation) {
             if (((DataAnalysisOperation) expression).isAggregate()) {
@@ -1868,9 +2226,15 @@ protected Value[] fetchNextRow() {
                 if (forUpdate ? isConditionMetForUpdate() : isConditionMet()) {
                     ++rowNumber;
                     Value[] row = new Value[columnCount];
+                    CompiledExpression[] compiled = compiledExpressions;
                     for (int i = 0; i < columnCount; i++) {
-                        Expression expr = expressions.get(i);
-                        row[i] = expr.getValue(getSession());
+                        CompiledExpression c;
+                        if (compiled != null && i < compiled.length && (c = compiled[i]) != null) {
+                            row[i] = c.getValue(getSession());
+                        } else {
+                            Expression expr = expressions.get(i);
+                            row[i] = expr.getValue(getSession());
+                        }
                     }
                     return row;
                 }
@@ -1964,4 +2328,116 @@ protected Value[] fetchNextRow() {
         }
     }
 
+    /**
+     * Lazy execution for a window query with partitions sorted by index.
+     */
+    private final class LazyResultWindowSorted extends LazyResultSelect {
+
+        /**
+         * Partition key of the current row of the top table filter, this row
+         * belongs to the next partition and isn't gathered yet.
+         */
+        private Value[] nextKey;
+
+        /**
+         * Whether the rows of the gathered partition are being returned.
+         */
+        private boolean partitionReady;
+
+        private boolean afterLastRow;
+
+        LazyResultWindowSorted(Expression[] expressions, int columnCount) {
+            super(expressions, columnCount);
+            initGroupData(columnCount);
+        }
+
+        @Override
+        public void reset() {
+            super.reset();
+            resetPartition();
+            nextKey = null;
+            partitionReady = false;
+            afterLastRow = false;
+        }
+
+        @Override
+        protected Value[] fetchNextRow() {
+            do {
+                if (partitionReady) {
+                    for (ValueRow key; (key = groupData.next()) != null;) {
+                        Value[] row = constructGroupResultRow(key.getList(), columnCount);
+                        if (qualifyIndex < 0 || row[qualifyIndex].isTrue()) {
+                            return rowForResult(row, columnCount);
+                        }
+                    }
+                    partitionReady = false;
+                    resetPartition();
+                }
+            } while (gatherPartition());
+            return null;
+        }
+
+        private void resetPartition() {
+            updateAgg(columnCount, DataAnalysisOperation.STAGE_RESET);
+            groupData.reset();
+        }
+
+        private boolean gatherPartition() {
+            if (afterLastRow) {
+                return false;
+            }
+            Value[] key = nextKey;
+            if (key != null) {
+                groupData.nextSource();
+                updateAgg(columnCount, DataAnalysisOperation.STAGE_WINDOW);
+            }
+            while (topTableFilter.next()) {
+                setCurrentRowNumber(rowNumber + 1);
+                if (isConditionMet()) {
+                    rowNumber++;
+                    Value[] k = getWindowPartitionKey();
+                    if (key == null) {
+                        key = k;
+                    } else if (!isSamePartition(key, k)) {
+                        nextKey = k;
+                        groupData.done();
+                        partitionReady = true;
+                        return true;
+                    }
+                    groupData.nextSource();
+                    updateAgg(columnCount, DataAnalysisOperation.STAGE_WINDOW);
+                }
+            }
+            afterLastRow = true;
+            nextKey = null;
+            if (key == null) {
+                return false;
+            }
+            groupData.done();
+            partitionReady = true;
+            return true;
+        }
+
+        private Value[] getWindowPartitionKey() {
+            Column[] columns = windowPartitionColumns;
+            int length = columns.length;
+            Value[] key = new Value[length];
+            for (int i = 0; i < length; i++) {
+                key[i] = topTableFilter.getValue(columns[i]);
+            }
+            return key;
+        }
+
+        private boolean isSamePartition(Value[] key1, Value[] key2) {
+            SessionLocal session = getSession();
+            for (int i = 0, l = key1.length; i < l; i++) {
+                if (session.compare(key1[i], key2[i]) != 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+    }
+
 }
@@ -146,6 +146,9 @@ protected ResultInterface queryWithoutCache(long maxRows, ResultTarget target) {
         LocalResult result = createLocalResult(columnCount);
         if (sort != null) {
             result.setSortOrder(sort);
+            if (unionType == UnionType.UNION_ALL && !distinct) {
+                initTopRows(result, offset, fetch, fetchPercent);
+            }
         }
         if (distinct) {
             left.setDistinctIfPossible();
@@ -283,6 +286,11 @@ public double getCost() {
         return left.getCost() + right.getCost();
     }
 
+    @Override
+    boolean isPlanOutdated(int ratio) {
+        return left.isPlanOutdated(ratio) || right.isPlanOutdated(ratio);
+    }
+
     @Override
     public HashSet<Table> getTables() {
         HashSet<Table> set = left.getTables();
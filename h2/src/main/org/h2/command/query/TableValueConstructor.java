@@ -249,6 +249,11 @@ public double getCost() {
         return cost;
     }
 
+    @Override
+    boolean isPlanOutdated(int ratio) {
+        return false;
+    }
+
     @Override
     public HashSet<Table> getTables() {
         HashSet<Table> tables = new HashSet<>(1, 1f);
@@ -29,9 +29,11 @@
 import org.h2.command.Prepared;
 import org.h2.command.ddl.CreateTableData;
 import org.h2.command.dml.SetTypes;
+import org.h2.command.query.QueryResultCache;
 import org.h2.constraint.Constraint;
 import org.h2.constraint.Constraint.Type;
 import org.h2.engine.Mode.ModeEnum;
+import org.h2.expression.condition.PatternCache;
 import org.h2.index.Cursor;
 import org.h2.index.Index;
 import org.h2.index.IndexType;
@@ -213,6 +215,8 @@ public final class Database implements DataHandler, CastDataProvider {
     private volatile boolean queryStatistics;
     private int queryStatisticsMaxEntries = Constants.QUERY_STATISTICS_MAX_ENTRIES;
     private final AtomicReference<QueryStatisticsData> queryStatisticsData = new AtomicReference<>();
+    private final QueryResultCache queryResultCache;
+    private final PatternCache patternCache;
     private RowFactory rowFactory = RowFactory.getRowFactory();
     private boolean ignoreCatalogs;
 
@@ -226,6 +230,9 @@ public Database(ConnectionInfo ci, String cipher) {
         }
         String databaseName = ci.getName();
         this.dbSettings = ci.getDbSettings();
+        this.queryResultCache = dbSettings.queryResultCacheSize > 0
+                ? new QueryResultCache(dbSettings.queryResultCacheSize) : null;
+        this.patternCache = dbSettings.patternCacheSize > 0 ? new PatternCache(dbSettings.patternCacheSize) : null;
         this.compareMode = CompareMode.getInstance(null, 0);
         this.persistent = ci.isPersistent();
         this.filePasswordHash = ci.getFilePasswordHash();
@@ -536,6 +543,12 @@ public void populateInfo(BiConsumer<String, String> consumer) {
         for (Map.Entry<String, String> entry : getSettings().getSortedSettings()) {
             consumer.accept(entry.getKey(), entry.getValue());
         }
+        if (queryResultCache != null) {
+            queryResultCache.populateInfo(consumer);
+        }
+        if (patternCache != null) {
+            patternCache.populateInfo(consumer);
+        }
         getStore().getMvStore().populateInfo(consumer);
     }
 
@@ -2061,6 +2074,24 @@ public void setQueryStatisticsMaxEntries(int n) {
         }
     }
 
+    /**
+     * Returns the query result cache shared by all sessions.
+     *
+     * @return the query result cache, or {@code null} if it is disabled
+     */
+    public QueryResultCache getQueryResultCache() {
+        return queryResultCache;
+    }
+
+    /**
+     * Returns the cache of compiled patterns shared by all sessions.
+     *
+     * @return the pattern cache, or {@code null} if it is disabled
+     */
+    public PatternCache getPatternCache() {
+        return patternCache;
+    }
+
     public QueryStatisticsData getQueryStatisticsData() {
         if (!queryStatistics) {
             return null;
@@ -65,6 +65,37 @@ public class DbSettings extends SettingsBase {
      */
     public final int autoCompactFillRate = get("AUTO_COMPACT_FILL_RATE", 90);
 
+    /**
+     * Database setting <code>AUTO_PARAMETERIZE</code> (default: false).
+     * Replace literals in comparison, LIKE, and BETWEEN predicates and in
+     * rows of INSERT and MERGE statements with parameters, so statements that
+     * differ only in these literals share one prepared command in the query
+     * cache of the session. As with parameters of prepared statements, values
+     * of these literals are converted to data types of compared columns only
+     * during execution, and query statistics are collected for the statement
+     * with parameters. This setting has no effect if
+     * <code>QUERY_CACHE_SIZE</code> is 0.
+     */
+    public final boolean autoParameterize = get("AUTO_PARAMETERIZE", false);
+
+    /**
+     * Database setting <code>COMPILE_EXPRESSIONS</code> (default: true).
+     * Compile conditions and expressions of queries without grouping into
+     * evaluators specialized for data types of their operands.
+     */
+    public final boolean compileExpressions = get("COMPILE_EXPRESSIONS", true);
+
+    /**
+     * Database setting <code>CREATE_INDEX_THREADS</code>
+     * (default: number of available processors, but not more than 4).
+     * The number of threads used to sort blocks of rows when an index is
+     * created on a large table. The table is still read by the thread that
+     * executes the command. 1 disables background sorting.
+     * This setting only affects MVStore engine.
+     */
+    public final int createIndexThreads = get("CREATE_INDEX_THREADS",
+            Math.min(Runtime.getRuntime().availableProcessors(), 4));
+
     /**
      * Database setting <code>DATABASE_TO_LOWER</code> (default: false).
      * When set to true unquoted identifiers and short name of database are
@@ -129,6 +160,14 @@ public class DbSettings extends SettingsBase {
     public final int estimatedFunctionTableRows = get(
             "ESTIMATED_FUNCTION_TABLE_ROWS", 1000);
 
+    /**
+     * Database setting <code>LAZY_LEAF_PAGES</code> (default: false).
+     * Whether rows of leaf pages read from the database file are deserialized
+     * only when they are accessed. Point lookups in pages that are not cached
+     * yet read only the rows up to the requested one.
+     */
+    public final boolean lazyLeafPages = get("LAZY_LEAF_PAGES", false);
+
     /**
      * Database setting <code>LOB_TIMEOUT</code> (default: 300000,
      * which means 5 minutes).
@@ -144,6 +183,15 @@ public class DbSettings extends SettingsBase {
      */
     public final int maxCompactTime = get("MAX_COMPACT_TIME", 200);
 
+    /**
+     * Database setting <code>MAX_JOIN_ORDER_TIME</code> (default: 100).
+     * The maximum time in milliseconds spent by the optimizer on the search
+     * of the best join order of a query with more than 7 tables or with
+     * tables that need a cross join. After that time the remaining tables are
+     * added in a greedy way.
+     */
+    public final int maxJoinOrderTime = get("MAX_JOIN_ORDER_TIME", 100);
+
     /**
      * Database setting <code>MAX_QUERY_TIMEOUT</code> (default: 0).
      * The maximum timeout of a query in milliseconds. The default is 0, meaning
@@ -216,6 +264,15 @@ public class DbSettings extends SettingsBase {
      */
     public final boolean optimizeSimpleSingleRowSubqueries = get("OPTIMIZE_SIMPLE_SINGLE_ROW_SUBQUERIES", true);
 
+    /**
+     * Database setting <code>PATTERN_CACHE_SIZE</code> (default: 256).
+     * The number of compiled LIKE patterns and regular expressions cached by
+     * the database. The cache is shared by all sessions and is used for
+     * patterns that aren't constant, such as parameters. 0 disables this
+     * cache.
+     */
+    public final int patternCacheSize = get("PATTERN_CACHE_SIZE", 256);
+
     /**
      * Database setting <code>QUERY_CACHE_SIZE</code> (default: 8).
      * The size of the query cache, in number of cached statements. Each session
@@ -229,12 +286,31 @@ public class DbSettings extends SettingsBase {
      */
     public final int queryCacheSize = get("QUERY_CACHE_SIZE", 8);
 
+    /**
+     * Database setting <code>QUERY_RESULT_CACHE_SIZE</code> (default: 0).
+     * The maximum estimated size of the query result cache, in KB. This cache
+     * is shared by all sessions, results of deterministic queries are reused
+     * by sessions with READ COMMITTED isolation level without uncommitted
+     * changes until data or schema of the used tables is changed. 0 disables
+     * this cache.
+     */
+    public final int queryResultCacheSize = get("QUERY_RESULT_CACHE_SIZE", 0);
+
     /**
      * Database setting <code>RECOMPILE_ALWAYS</code> (default: false).
      * Always recompile prepared statements.
      */
     public final boolean recompileAlways = get("RECOMPILE_ALWAYS", false);
 
+    /**
+     * Database setting <code>REPLAN_RATIO</code> (default: 10).
+     * Prepared queries are re-compiled before the next execution when the
+     * previous execution has read from some table more than this number of
+     * times more rows per lookup than the table had when the plan was
+     * selected (and more than 1000 rows). 0 disables the re-planning.
+     */
+    public final int replanRatio = get("REPLAN_RATIO", 10);
+
     /**
      * Database setting <code>REUSE_SPACE</code> (default: true).
      * If disabled, all changes are appended to the database file, and existing
@@ -6,6 +6,7 @@
 package org.h2.engine;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.concurrent.locks.ReentrantLock;
 
 import org.h2.command.CommandInterface;
@@ -16,6 +17,7 @@
 import org.h2.util.NetworkConnectionInfo;
 import org.h2.util.TimeZoneProvider;
 import org.h2.util.Utils;
+import org.h2.value.Value;
 import org.h2.value.ValueLob;
 
 /**
@@ -291,6 +293,20 @@ public final boolean isLockedByCurrentThread() {
      */
     public abstract boolean isOldInformationSchema();
 
+    /**
+     * Inserts rows into the specified table with one command.
+     *
+     * @param schemaName the schema name, or {@code null} for the current
+     *            schema
+     * @param tableName the table name
+     * @param columnNames the column names, or {@code null} for all visible
+     *            columns
+     * @param rows the values of rows
+     * @return the number of inserted rows
+     */
+    public abstract long insertRows(String schemaName, String tableName, String[] columnNames,
+            Iterator<Value[]> rows);
+
     /**
      * Re-create the session state using the stored sessionState list.
      */
@@ -23,12 +23,15 @@
 import org.h2.api.ErrorCode;
 import org.h2.api.JavaObjectSerializer;
 import org.h2.command.Command;
+import org.h2.command.CommandContainer;
 import org.h2.command.CommandInterface;
+import org.h2.command.ParameterizedStatement;
 import org.h2.command.Parser;
 import org.h2.command.ParserBase;
 import org.h2.command.Prepared;
 import org.h2.command.QueryScope;
 import org.h2.command.ddl.Analyze;
+import org.h2.command.dml.Insert;
 import org.h2.command.query.Query;
 import org.h2.constraint.Constraint;
 import org.h2.index.Index;
@@ -51,6 +54,7 @@
 import org.h2.store.DataHandler;
 import org.h2.store.InDoubtTransaction;
 import org.h2.store.LobStorageFrontend;
+import org.h2.table.Column;
 import org.h2.table.Table;
 import org.h2.util.DateTimeUtils;
 import org.h2.util.HasSQL;
@@ -187,6 +191,7 @@ static Session getThreadLocalSession() {
     private int objectId;
     private final int queryCacheSize;
     private SmallLRUCache<String, Command> queryCache;
+    private SmallLRUCache<String, CommandContainer> parameterizedQueryCache;
     private long modificationMetaID = -1;
     private int createViewLevel;
     private volatile SmallLRUCache<Object, QueryExpressionIndex> viewIndexCache;
@@ -631,7 +636,7 @@ public Command prepareLocal(String sql) {
             } else {
                 long newModificationMetaID = getDatabase().getModificationMetaId();
                 if (newModificationMetaID != modificationMetaID) {
-                    queryCache.clear();
+                    clearQueryCache();
                     modificationMetaID = newModificationMetaID;
                 }
                 command = queryCache.get(sql);
@@ -640,6 +645,13 @@ public Command prepareLocal(String sql) {
                     return command;
                 }
             }
+            if (database.getSettings().autoParameterize && (allowLiterals
+                    || database.getAllowLiterals() == Constants.ALLOW_LITERALS_ALL)) {
+                command = prepareParameterized(sql);
+                if (command != null) {
+                    return command;
+                }
+            }
         }
         Parser parser = new Parser(this);
         try {
@@ -656,6 +668,98 @@ public Command prepareLocal(String sql) {
         return command;
     }
 
+    /**
+     * Replaces literals in the given SQL statement with parameters and returns
+     * a shared command for the resulting statement.
+     *
+     * @param sql the SQL statement
+     * @return the command with values of literals set, or {@code null} if
+     *         the statement can't be parameterized
+     */
+    private Command prepareParameterized(String sql) {
+        Parser parser = new Parser(this);
+        ParameterizedStatement statement;
+        try {
+            statement = parser.parameterize(sql);
+        } catch (DbException e) {
+            // report syntax errors for the original statement
+            return null;
+        }
+        if (statement == null) {
+            return null;
+        }
+        String key = statement.getSQL();
+        Value[] literals = statement.getLiterals();
+        if (parameterizedQueryCache == null) {
+            parameterizedQueryCache = SmallLRUCache.newInstance(queryCacheSize);
+        } else {
+            CommandContainer command = parameterizedQueryCache.get(key);
+            if (command != null && command.getLiteralCount() == literals.length && command.canReuse()) {
+                command.reuse();
+                command.setLiterals(literals);
+                return command;
+            }
+        }
+        CommandContainer command;
+        try {
+            command = parser.prepareCommand(statement);
+        } catch (DbException e) {
+            // some literals can't be replaced in this statement
+            return null;
+        } finally {
+            derivedTableIndexCache = null;
+        }
+        command.setLiterals(literals);
+        if (command.isCacheable()) {
+            parameterizedQueryCache.put(key, command);
+        }
+        return command;
+    }
+
+    @Override
+    public long insertRows(String schemaName, String tableName, String[] columnNames, Iterator<Value[]> rows) {
+        lock();
+        try {
+            if (isClosed()) {
+                throw DbException.get(ErrorCode.CONNECTION_BROKEN_1, "session closed");
+            }
+            Schema schema = database.getSchema(schemaName != null ? schemaName : currentSchemaName);
+            Table table = schema.getTableOrView(this, tableName);
+            Insert insert = new Insert(this);
+            insert.setTable(table);
+            if (columnNames != null) {
+                int count = columnNames.length;
+                Column[] columns = new Column[count];
+                HashSet<Column> set = new HashSet<>();
+                for (int i = 0; i < count; i++) {
+                    Column column = table.getColumn(columnNames[i]);
+                    if (!set.add(column)) {
+                        throw DbException.get(ErrorCode.DUPLICATE_COLUMN_NAME_1, column.getTraceSQL());
+                    }
+                    columns[i] = column;
+                }
+                insert.setColumns(columns);
+            }
+            insert.setRows(rows);
+            insert.setParameterList(new ArrayList<>());
+            insert.prepare();
+            String sql = insert.getPlanSQL(new StringBuilder(), HasSQL.DEFAULT_SQL_FLAGS).toString();
+            insert.setSQL(sql, null);
+            return new CommandContainer(this, sql, insert).executeUpdate(null).getUpdateCount();
+        } finally {
+            unlock();
+        }
+    }
+
+    private void clearQueryCache() {
+        if (queryCache != null) {
+            queryCache.clear();
+        }
+        if (parameterizedQueryCache != null) {
+            parameterizedQueryCache.clear();
+        }
+    }
+
     /**
      * Arranges for the specified database object id to be released
      * at the end of the current transaction.
@@ -844,9 +948,7 @@ public void rollbackTo(Savepoint savepoint) {
         // Because cache may have captured query result (in Query.lastResult),
         // which is based on data from uncommitted transaction.,
         // It is not valid after rollback, therefore cache has to be cleared.
-        if (queryCache != null) {
-            queryCache.clear();
-        }
+        clearQueryCache();
     }
 
     @Override
@@ -890,9 +992,7 @@ public void close() {
         // so, we should prevent double-closure
         if (state.getAndSet(State.CLOSED) != State.CLOSED) {
             try {
-                if (queryCache != null) {
-                    queryCache.clear();
-                }
+                clearQueryCache();
                 database.throwLastBackgroundException();
 
                 database.checkPowerOff();
@@ -1307,9 +1407,7 @@ public void setAllowLiterals(boolean b) {
 
     public void setCurrentSchema(Schema schema) {
         modificationId++;
-        if (queryCache != null) {
-            queryCache.clear();
-        }
+        clearQueryCache();
         this.currentSchemaName = schema.getName();
     }
 
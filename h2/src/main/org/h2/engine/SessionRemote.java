@@ -9,6 +9,7 @@
 import java.net.Socket;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Iterator;
 import org.h2.api.DatabaseEventListener;
 import org.h2.api.ErrorCode;
 import org.h2.api.JavaObjectSerializer;
@@ -1017,6 +1018,11 @@ public boolean isOldInformationSchema() {
         return oldInformationSchema || clientVersion < Constants.TCP_PROTOCOL_VERSION_20;
     }
 
+    @Override
+    public long insertRows(String schemaName, String tableName, String[] columnNames, Iterator<Value[]> rows) {
+        throw DbException.getUnsupportedException("bulk insert in remote sessions");
+    }
+
     @Override
     public boolean zeroBasedEnums() {
         return false;
@@ -0,0 +1,623 @@
+/*
+ * Copyright 2004-2025 H2 Group. Multiple-Licensed under the MPL 2.0,
+ * and the EPL 1.0 (https://h2database.com/html/license.html).
+ * Initial Developer: H2 Group
+ */
+package org.h2.expression;
+
+import org.h2.command.query.Select;
+import org.h2.engine.SessionLocal;
+import org.h2.expression.condition.Comparison;
+import org.h2.expression.condition.ConditionAndOr;
+import org.h2.expression.condition.ConditionAndOrN;
+import org.h2.expression.condition.ConditionNot;
+import org.h2.message.DbException;
+import org.h2.table.Column;
+import org.h2.table.TableFilter;
+import org.h2.value.TypeInfo;
+import org.h2.value.Value;
+import org.h2.value.ValueBigint;
+import org.h2.value.ValueInteger;
+import org.h2.value.ValueNull;
+import org.h2.value.ValueSmallint;
+import org.h2.value.ValueTinyint;
+
+/**
+ * Compiles conditions and expressions of a query into trees of evaluators
+ * specialized for their operations and data types. Comparisons and
+ * arithmetic operations with integer operands are evaluated on primitive
+ * values without intermediate values and virtual calls of the original
+ * expressions. Other expressions are evaluated by the original expressions.
+ *
+ * <p>
+ * Compiled evaluators are not thread-safe, they may be used only by the query
+ * that owns the compiled expressions. When a compiled evaluator meets a value
+ * it can't handle, or when an operation fails, the original expression is
+ * evaluated instead, so results and errors are always the same.
+ * </p>
+ */
+public final class ExpressionCompiler {
+
+    /**
+     * The result of a condition that is false.
+     */
+    public static final int FALSE = 0;
+
+    /**
+     * The result of a condition that is true.
+     */
+    public static final int TRUE = 1;
+
+    /**
+     * The result of a condition that is unknown (NULL).
+     */
+    public static final int UNKNOWN = 2;
+
+    /**
+     * The state of an integer evaluator with a valid value.
+     */
+    private static final int VALUE = 0;
+
+    /**
+     * The state of an integer evaluator with NULL value.
+     */
+    private static final int NULL = 1;
+
+    /**
+     * The state of an integer evaluator that needs the original expression.
+     */
+    private static final int UNSUPPORTED = 2;
+
+    /**
+     * A compiled condition.
+     */
+    public abstract static class CompiledCondition {
+
+        CompiledCondition() {
+        }
+
+        /**
+         * Evaluates the condition.
+         *
+         * @param session
+         *            the session
+         * @return {@link ExpressionCompiler#TRUE},
+         *         {@link ExpressionCompiler#FALSE}, or
+         *         {@link ExpressionCompiler#UNKNOWN}
+         */
+        public abstract int test(SessionLocal session);
+
+    }
+
+    /**
+     * A compiled expression.
+     */
+    public abstract static class CompiledExpression {
+
+        CompiledExpression() {
+        }
+
+        /**
+         * Evaluates the expression.
+         *
+         * @param session
+         *            the session
+         * @return the value
+         */
+        public abstract Value getValue(SessionLocal session);
+
+    }
+
+    /**
+     * Compiles the specified condition.
+     *
+     * @param select
+     *            the query, only its columns are read by compiled evaluators
+     * @param condition
+     *            the optimized condition
+     * @return the compiled condition, or {@code null} if compilation isn't
+     *         useful
+     */
+    public static CompiledCondition compileCondition(Select select, Expression condition) {
+        ExpressionCompiler compiler = new ExpressionCompiler(select);
+        CompiledCondition c = compiler.condition(condition);
+        return compiler.specialized ? c : null;
+    }
+
+    /**
+     * Compiles the specified expression.
+     *
+     * @param select
+     *            the query, only its columns are read by compiled evaluators
+     * @param expression
+     *            the optimized expression
+     * @return the compiled expression, or {@code null} if compilation isn't
+     *         useful
+     */
+    public static CompiledExpression compileExpression(Select select, Expression expression) {
+        Expression e = expression.getNonAliasExpression();
+        if (!(e instanceof BinaryOperation)) {
+            return null;
+        }
+        ExpressionCompiler compiler = new ExpressionCompiler(select);
+        IntegerEvaluator evaluator = compiler.integer(e);
+        return evaluator != null ? compiler.new IntegerExpression((ArithmeticEvaluator) evaluator) : null;
+    }
+
+    private final Select select;
+
+    /**
+     * Whether at least one specialized evaluator was created.
+     */
+    private boolean specialized;
+
+    /**
+     * The state of the last evaluated integer evaluator.
+     */
+    int state;
+
+    private ExpressionCompiler(Select select) {
+        this.select = select;
+    }
+
+    private CompiledCondition condition(Expression e) {
+        if (e instanceof ConditionAndOr) {
+            CompiledCondition left = condition(e.getSubexpression(0)), right = condition(e.getSubexpression(1));
+            return ((ConditionAndOr) e).getAndOrType() == ConditionAndOr.AND ? new And(left, right)
+                    : new Or(left, right);
+        } else if (e instanceof ConditionAndOrN) {
+            int count = e.getSubexpressionCount();
+            CompiledCondition[] conditions = new CompiledCondition[count];
+            for (int i = 0; i < count; i++) {
+                conditions[i] = condition(e.getSubexpression(i));
+            }
+            return ((ConditionAndOrN) e).getAndOrType() == ConditionAndOr.AND ? new AndN(conditions)
+                    : new OrN(conditions);
+        } else if (e instanceof ConditionNot) {
+            return new Not(condition(e.getSubexpression(0)));
+        } else if (e instanceof Comparison) {
+            int compareType = ((Comparison) e).getCompareType();
+            if (compareType <= Comparison.BIGGER_EQUAL) {
+                IntegerEvaluator left = integer(e.getSubexpression(0));
+                if (left != null) {
+                    IntegerEvaluator right = integer(e.getSubexpression(1));
+                    if (right != null) {
+                        specialized = true;
+                        return new IntegerComparison(e, compareType, left, right);
+                    }
+                }
+            }
+        }
+        return new Interpreted(e);
+    }
+
+    private IntegerEvaluator integer(Expression e) {
+        if (!isInteger(e.getType().getValueType())) {
+            return null;
+        }
+        if (e instanceof ExpressionColumn) {
+            TableFilter filter = ((ExpressionColumn) e).getTableFilter();
+            if (filter != null && filter.getSelect() == select) {
+                return new ColumnEvaluator(filter, ((ExpressionColumn) e).getColumn());
+            }
+        } else if (e instanceof ValueExpression) {
+            Value v = e.getValue(null);
+            return v == ValueNull.INSTANCE ? null : new ConstantEvaluator(v.getLong());
+        } else if (e instanceof Parameter) {
+            return new ParameterEvaluator((Parameter) e);
+        } else if (e instanceof BinaryOperation) {
+            IntegerEvaluator left = integer(e.getSubexpression(0));
+            if (left != null) {
+                IntegerEvaluator right = integer(e.getSubexpression(1));
+                if (right != null) {
+                    specialized = true;
+                    return new ArithmeticEvaluator(e, ((BinaryOperation) e).getOperationType(), left, right);
+                }
+            }
+        }
+        return null;
+    }
+
+    static boolean isInteger(int valueType) {
+        return valueType >= Value.TINYINT && valueType <= Value.BIGINT;
+    }
+
+    static int toResult(Value v) {
+        return v == ValueNull.INSTANCE ? UNKNOWN : v.getBoolean() ? TRUE : FALSE;
+    }
+
+    /**
+     * A condition evaluated by the original expression.
+     */
+    private static final class Interpreted extends CompiledCondition {
+
+        private final Expression expression;
+
+        Interpreted(Expression expression) {
+            this.expression = expression;
+        }
+
+        @Override
+        public int test(SessionLocal session) {
+            return toResult(expression.getValue(session));
+        }
+
+    }
+
+    private static final class And extends CompiledCondition {
+
+        private final CompiledCondition left, right;
+
+        And(CompiledCondition left, CompiledCondition right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        public int test(SessionLocal session) {
+            int l = left.test(session);
+            if (l == FALSE) {
+                return FALSE;
+            }
+            int r = right.test(session);
+            return r == FALSE ? FALSE : l == UNKNOWN || r == UNKNOWN ? UNKNOWN : TRUE;
+        }
+
+    }
+
+    private static final class Or extends CompiledCondition {
+
+        private final CompiledCondition left, right;
+
+        Or(CompiledCondition left, CompiledCondition right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        public int test(SessionLocal session) {
+            int l = left.test(session);
+            if (l == TRUE) {
+                return TRUE;
+            }
+            int r = right.test(session);
+            return r == TRUE ? TRUE : l == UNKNOWN || r == UNKNOWN ? UNKNOWN : FALSE;
+        }
+
+    }
+
+    private static final class AndN extends CompiledCondition {
+
+        private final CompiledCondition[] conditions;
+
+        AndN(CompiledCondition[] conditions) {
+            this.conditions = conditions;
+        }
+
+        @Override
+        public int test(SessionLocal session) {
+            int result = TRUE;
+            for (CompiledCondition c : conditions) {
+                int r = c.test(session);
+                if (r == FALSE) {
+                    return FALSE;
+                } else if (r == UNKNOWN) {
+                    result = UNKNOWN;
+                }
+            }
+            return result;
+        }
+
+    }
+
+    private static final class OrN extends CompiledCondition {
+
+        private final CompiledCondition[] conditions;
+
+        OrN(CompiledCondition[] conditions) {
+            this.conditions = conditions;
+        }
+
+        @Override
+        public int test(SessionLocal session) {
+            int result = FALSE;
+            for (CompiledCondition c : conditions) {
+                int r = c.test(session);
+                if (r == TRUE) {
+                    return TRUE;
+                } else if (r == UNKNOWN) {
+                    result = UNKNOWN;
+                }
+            }
+            return result;
+        }
+
+    }
+
+    private static final class Not extends CompiledCondition {
+
+        private final CompiledCondition condition;
+
+        Not(CompiledCondition condition) {
+            this.condition = condition;
+        }
+
+        @Override
+        public int test(SessionLocal session) {
+            int r = condition.test(session);
+            return r == UNKNOWN ? UNKNOWN : r ^ 1;
+        }
+
+    }
+
+    /**
+     * A comparison of two integer values.
+     */
+    private final class IntegerComparison extends CompiledCondition {
+
+        private final Expression expression;
+
+        private final int compareType;
+
+        private final IntegerEvaluator left, right;
+
+        IntegerComparison(Expression expression, int compareType, IntegerEvaluator left, IntegerEvaluator right) {
+            this.expression = expression;
+            this.compareType = compareType;
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        public int test(SessionLocal session) {
+            long l = left.get(session);
+            if (state != VALUE) {
+                if (state == NULL) {
+                    return UNKNOWN;
+                }
+                return toResult(expression.getValue(session));
+            }
+            long r = right.get(session);
+            if (state != VALUE) {
+                if (state == NULL) {
+                    return UNKNOWN;
+                }
+                return toResult(expression.getValue(session));
+            }
+            boolean result;
+            switch (compareType) {
+            case Comparison.EQUAL:
+                result = l == r;
+                break;
+            case Comparison.NOT_EQUAL:
+                result = l != r;
+                break;
+            case Comparison.SMALLER:
+                result = l < r;
+                break;
+            case Comparison.BIGGER:
+                result = l > r;
+                break;
+            case Comparison.SMALLER_EQUAL:
+                result = l <= r;
+                break;
+            case Comparison.BIGGER_EQUAL:
+                result = l >= r;
+                break;
+            default:
+                throw DbException.getInternalError("type=" + compareType);
+            }
+            return result ? TRUE : FALSE;
+        }
+
+    }
+
+    /**
+     * An integer expression with the compiled evaluator.
+     */
+    private final class IntegerExpression extends CompiledExpression {
+
+        private final ArithmeticEvaluator evaluator;
+
+        IntegerExpression(ArithmeticEvaluator evaluator) {
+            this.evaluator = evaluator;
+        }
+
+        @Override
+        public Value getValue(SessionLocal session) {
+            long v = evaluator.get(session);
+            switch (state) {
+            case VALUE:
+                break;
+            case NULL:
+                return ValueNull.INSTANCE;
+            default:
+                return evaluator.expression.getValue(session);
+            }
+            switch (evaluator.valueType) {
+            case Value.TINYINT:
+                return ValueTinyint.get((byte) v);
+            case Value.SMALLINT:
+                return ValueSmallint.get((short) v);
+            case Value.INTEGER:
+                return ValueInteger.get((int) v);
+            default:
+                return ValueBigint.get(v);
+            }
+        }
+
+    }
+
+    /**
+     * An evaluator of an integer value. The evaluated value is valid only if
+     * the state of the compiler is {@link #VALUE}.
+     */
+    private abstract class IntegerEvaluator {
+
+        IntegerEvaluator() {
+        }
+
+        /**
+         * Evaluates the value and sets the state of the compiler.
+         *
+         * @param session
+         *            the session
+         * @return the value
+         */
+        abstract long get(SessionLocal session);
+
+    }
+
+    private final class ColumnEvaluator extends IntegerEvaluator {
+
+        private final TableFilter filter;
+
+        private final Column column;
+
+        ColumnEvaluator(TableFilter filter, Column column) {
+            this.filter = filter;
+            this.column = column;
+        }
+
+        @Override
+        long get(SessionLocal session) {
+            Value v = filter.getValue(column);
+            if (v == null) {
+                state = UNSUPPORTED;
+                return 0L;
+            } else if (v == ValueNull.INSTANCE) {
+                state = NULL;
+                return 0L;
+            }
+            state = VALUE;
+            return v.getLong();
+        }
+
+    }
+
+    private final class ConstantEvaluator extends IntegerEvaluator {
+
+        private final long value;
+
+        ConstantEvaluator(long value) {
+            this.value = value;
+        }
+
+        @Override
+        long get(SessionLocal session) {
+            state = VALUE;
+            return value;
+        }
+
+    }
+
+    private final class ParameterEvaluator extends IntegerEvaluator {
+
+        private final Parameter parameter;
+
+        ParameterEvaluator(Parameter parameter) {
+            this.parameter = parameter;
+        }
+
+        @Override
+        long get(SessionLocal session) {
+            Value v = parameter.getParamValue();
+            if (v == ValueNull.INSTANCE) {
+                state = NULL;
+                return 0L;
+            } else if (!isInteger(v.getValueType())) {
+                state = UNSUPPORTED;
+                return 0L;
+            }
+            state = VALUE;
+            return v.getLong();
+        }
+
+    }
+
+    private final class ArithmeticEvaluator extends IntegerEvaluator {
+
+        final Expression expression;
+
+        private final BinaryOperation.OpType opType;
+
+        private final IntegerEvaluator left, right;
+
+        final int valueType;
+
+        private final long min, max;
+
+        ArithmeticEvaluator(Expression expression, BinaryOperation.OpType opType, IntegerEvaluator left,
+                IntegerEvaluator right) {
+            this.expression = expression;
+            this.opType = opType;
+            this.left = left;
+            this.right = right;
+            TypeInfo type = expression.getType();
+            valueType = type.getValueType();
+            switch (valueType) {
+            case Value.TINYINT:
+                min = Byte.MIN_VALUE;
+                max = Byte.MAX_VALUE;
+                break;
+            case Value.SMALLINT:
+                min = Short.MIN_VALUE;
+                max = Short.MAX_VALUE;
+                break;
+            case Value.INTEGER:
+                min = Integer.MIN_VALUE;
+                max = Integer.MAX_VALUE;
+                break;
+            default:
+                min = Long.MIN_VALUE;
+                max = Long.MAX_VALUE;
+            }
+        }
+
+        @Override
+        long get(SessionLocal session) {
+            // both operands are evaluated, as in the original expression
+            long l = left.get(session);
+            int leftState = state;
+            long r = right.get(session);
+            if (leftState != VALUE || state != VALUE) {
+                state = leftState == UNSUPPORTED || state == UNSUPPORTED ? UNSUPPORTED : NULL;
+                return 0L;
+            }
+            long result;
+            try {
+                switch (opType) {
+                case PLUS:
+                    result = Math.addExact(l, r);
+                    break;
+                case MINUS:
+                    result = Math.subtractExact(l, r);
+                    break;
+                case MULTIPLY:
+                    result = Math.multiplyExact(l, r);
+                    break;
+                case DIVIDE:
+                    if (r == 0L || l == Long.MIN_VALUE && r == -1L) {
+                        // the original expression throws an exception
+                        state = UNSUPPORTED;
+                        return 0L;
+                    }
+                    result = l / r;
+                    break;
+                default:
+                    throw DbException.getInternalError("type=" + opType);
+                }
+            } catch (ArithmeticException e) {
+                state = UNSUPPORTED;
+                return 0L;
+            }
+            if (result < min || result > max) {
+                state = UNSUPPORTED;
+                return 0L;
+            }
+            return result;
+        }
+
+    }
+
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2004-2025 H2 Group. Multiple-Licensed under the MPL 2.0,
+ * and the EPL 1.0 (https://h2database.com/html/license.html).
+ * Initial Developer: H2 Group
+ */
+package org.h2.expression;
+
+import org.h2.engine.SessionLocal;
+import org.h2.value.TypeInfo;
+import org.h2.value.Value;
+import org.h2.value.ValueDouble;
+import org.h2.value.ValueNull;
+
+/**
+ * A distance between bounding boxes of two geometries as in
+ * {@code GEOM <-> POINT}. Ordering by this operation may use a spatial index
+ * for k-nearest-neighbor search.
+ */
+public final class SpatialDistanceOperation extends Operation2 {
+
+    public SpatialDistanceOperation(Expression left, Expression right) {
+        super(left, right);
+    }
+
+    @Override
+    public boolean needParentheses() {
+        return true;
+    }
+
+    @Override
+    public StringBuilder getUnenclosedSQL(StringBuilder builder, int sqlFlags) {
+        left.getSQL(builder, sqlFlags, AUTO_PARENTHESES).append(" <-> ");
+        return right.getSQL(builder, sqlFlags, AUTO_PARENTHESES);
+    }
+
+    @Override
+    public Value getValue(SessionLocal session) {
+        Value l = left.getValue(session);
+        if (l == ValueNull.INSTANCE) {
+            return ValueNull.INSTANCE;
+        }
+        Value r = right.getValue(session);
+        if (r == ValueNull.INSTANCE) {
+            return ValueNull.INSTANCE;
+        }
+        double distance = l.convertToGeometry(null).getEnvelopeDistance(r.convertToGeometry(null));
+        return Double.isNaN(distance) ? ValueNull.INSTANCE : ValueDouble.get(distance);
+    }
+
+    @Override
+    public Expression optimize(SessionLocal session) {
+        left = toGeometry(session, left.optimize(session));
+        right = toGeometry(session, right.optimize(session));
+        type = TypeInfo.TYPE_DOUBLE;
+        if (left.isConstant() && right.isConstant()) {
+            return ValueExpression.get(getValue(session));
+        }
+        return this;
+    }
+
+    private static Expression toGeometry(SessionLocal session, Expression e) {
+        if (e.isConstant() && e.getType().getValueType() != Value.GEOMETRY) {
+            Value v = e.getValue(session);
+            if (v != ValueNull.INSTANCE) {
+                return ValueExpression.get(v.convertToGeometry(null));
+            }
+        }
+        return e;
+    }
+
+}
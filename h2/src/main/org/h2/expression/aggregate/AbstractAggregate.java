@@ -19,6 +19,8 @@
 import org.h2.expression.analysis.WindowFrameBoundType;
 import org.h2.expression.analysis.WindowFrameExclusion;
 import org.h2.expression.analysis.WindowFrameUnits;
+import org.h2.message.DbException;
+import org.h2.result.SortOrder;
 import org.h2.table.ColumnResolver;
 import org.h2.table.TableFilter;
 import org.h2.value.TypeInfo;
@@ -155,6 +157,13 @@ protected void getOrderedResultLoop(SessionLocal session, HashMap<Integer, Value
                 return;
             }
         }
+        if (frame.getExclusion() == WindowFrameExclusion.EXCLUDE_NO_OTHERS) {
+            Object aggregateData = createSlidingAggregateData();
+            if (aggregateData != null) {
+                aggregateSlidingFrames(session, result, ordered, rowIdColumn, grouped, aggregateData);
+                return;
+            }
+        }
         // All other types of frames (slow)
         int size = ordered.size();
         for (int i = 0; i < size;) {
@@ -240,6 +249,48 @@ private void aggregateFastPartitionInReverse(SessionLocal session, HashMap<Integ
         }
     }
 
+    private void aggregateSlidingFrames(SessionLocal session, HashMap<Integer, Value> result,
+            ArrayList<Value[]> ordered, int rowIdColumn, boolean grouped, Object aggregateData) {
+        WindowFrame frame = over.getWindowFrame();
+        SortOrder sortOrder = getOverOrderBySort();
+        int size = ordered.size();
+        // Rows from firstIncludedRow to lastIncludedRow are in aggregateData
+        int firstIncludedRow = 0, lastIncludedRow = -1;
+        for (int i = 0; i < size;) {
+            int start = frame.getStartIndex(session, ordered, sortOrder, i);
+            int end = WindowFrame.getEndIndex(over, session, ordered, sortOrder, i);
+            if (start > end) {
+                if (lastIncludedRow >= firstIncludedRow) {
+                    aggregateData = createSlidingAggregateData();
+                    firstIncludedRow = 0;
+                    lastIncludedRow = -1;
+                }
+            } else {
+                /*
+                 * Bounds of frames usually move forward only, but they can move
+                 * backward with variable offsets. Also there is no need to
+                 * remove rows one by one when new frame doesn't intersect with
+                 * the previous one.
+                 */
+                if (start < firstIncludedRow || end < lastIncludedRow || start > lastIncludedRow) {
+                    if (lastIncludedRow >= firstIncludedRow) {
+                        aggregateData = createSlidingAggregateData();
+                    }
+                    firstIncludedRow = start;
+                    lastIncludedRow = start - 1;
+                }
+                for (; firstIncludedRow < start; firstIncludedRow++) {
+                    removeFromExpressions(session, aggregateData, ordered.get(firstIncludedRow));
+                }
+                while (lastIncludedRow < end) {
+                    updateFromExpressions(session, aggregateData, ordered.get(++lastIncludedRow));
+                }
+            }
+            i = processGroup(result, getAggregatedValue(session, aggregateData), ordered, rowIdColumn, i, size,
+                    grouped);
+        }
+    }
+
     private int processGroup(HashMap<Integer, Value> result, Value r, ArrayList<Value[]> ordered,
             int rowIdColumn, int i, int size, boolean grouped) {
         Value[] firstRowInGroup = ordered.get(i), currentRowInGroup = firstRowInGroup;
@@ -276,6 +327,33 @@ private void aggregateWholePartition(SessionLocal session, HashMap<Integer, Valu
      */
     protected abstract void updateFromExpressions(SessionLocal session, Object aggregateData, Value[] array);
 
+    /**
+     * Creates aggregate data for sliding window frames. Such data supports
+     * removal of values in the same order as they were added.
+     *
+     * @return aggregate data, or {@code null} if this aggregate doesn't support
+     *         sliding window frames
+     */
+    protected Object createSlidingAggregateData() {
+        return null;
+    }
+
+    /**
+     * Removes values previously passed to
+     * {@link #updateFromExpressions(SessionLocal, Object, Value[])} from the
+     * aggregate data created by {@link #createSlidingAggregateData()}.
+     *
+     * @param session
+     *            the session
+     * @param aggregateData
+     *            aggregate data
+     * @param array
+     *            values of expressions
+     */
+    protected void removeFromExpressions(SessionLocal session, Object aggregateData, Value[] array) {
+        throw DbException.getInternalError();
+    }
+
     @Override
     protected void updateAggregate(SessionLocal session, SelectGroups groupData, int groupRowId) {
         if (filterCondition == null || filterCondition.getBooleanValue(session)) {
@@ -183,6 +183,9 @@ public Aggregate(AggregateType aggregateType, Expression[] args, Select select,
 
         addAggregate("GCD_AGG", AggregateType.GCD_AGG);
         addAggregate("LCM_AGG", AggregateType.LCM_AGG);
+
+        addAggregate("APPROX_COUNT_DISTINCT", AggregateType.APPROX_COUNT_DISTINCT);
+        addAggregate("APPROX_PERCENTILE", AggregateType.APPROX_PERCENTILE);
     }
 
     private static void addAggregate(String name, AggregateType type) {
@@ -327,6 +330,9 @@ private void updateData(SessionLocal session, AggregateData data, Value v, Value
         case MODE:
             v = remembered != null ? remembered[0] : orderByList.get(0).expression.getValue(session);
             break;
+        case APPROX_PERCENTILE:
+            ((AggregateDataApproxPercentile) data).setFraction(getSecondValue(session, remembered));
+            break;
         case JSON_ARRAYAGG:
             v = updateCollecting(session, v, remembered);
             break;
@@ -505,12 +511,72 @@ protected Object createAggregateData() {
             return new AggregateDataGCD(false);
         case LCM_AGG:
             return new AggregateDataGCD(true);
+        case APPROX_COUNT_DISTINCT:
+            return new AggregateDataApproxCountDistinct();
+        case APPROX_PERCENTILE:
+            return new AggregateDataApproxPercentile();
         default:
             throw DbException.getInternalError("type=" + aggregateType);
         }
         return new AggregateDataCollecting(distinct, false, NullCollectionMode.IGNORED);
     }
 
+    @Override
+    protected void removeFromExpressions(SessionLocal session, Object aggregateData, Value[] array) {
+        if (filterCondition == null || array[getNumExpressions() - 1].isTrue()) {
+            ((AggregateData) aggregateData).remove(session, args.length == 0 ? null : array[0]);
+        }
+    }
+
+    @Override
+    protected Object createSlidingAggregateData() {
+        if (distinct) {
+            return null;
+        }
+        switch (aggregateType) {
+        case COUNT_ALL:
+            return new AggregateDataCount(true);
+        case COUNT:
+            return new AggregateDataCount(false);
+        case SUM:
+            // Approximate and special values can't be subtracted
+            switch (type.getValueType()) {
+            case Value.BIGINT:
+            case Value.NUMERIC:
+                return new AggregateDataSlidingSum(type);
+            default:
+                if (DataType.isIntervalType(type.getValueType())) {
+                    return new AggregateDataSlidingSum(type);
+                }
+            }
+            break;
+        case AVG:
+            switch (type.getValueType()) {
+            case Value.DOUBLE:
+                // Sums of integer values are exact
+                switch (args[0].getType().getValueType()) {
+                case Value.TINYINT:
+                case Value.SMALLINT:
+                case Value.INTEGER:
+                    return new AggregateDataAvg(type);
+                }
+                break;
+            case Value.NUMERIC:
+                return new AggregateDataAvg(type);
+            default:
+                if (DataType.isIntervalType(type.getValueType())) {
+                    return new AggregateDataAvg(type);
+                }
+            }
+            break;
+        case MIN:
+        case MAX:
+            return new AggregateDataSlidingMinMax(aggregateType == AggregateType.MAX, type);
+        default:
+        }
+        return null;
+    }
+
     @Override
     public Value getValue(SessionLocal session) {
         return select.isQuickAggregateQuery() ? getValueQuick(session) : super.getValue(session);
@@ -1004,6 +1070,7 @@ public Expression optimize(SessionLocal session) {
             //$FALL-THROUGH$
         case COUNT_ALL:
         case REGR_COUNT:
+        case APPROX_COUNT_DISTINCT:
             type = TypeInfo.TYPE_BIGINT;
             break;
         case HISTOGRAM: {
@@ -1082,6 +1149,9 @@ public Expression optimize(SessionLocal session) {
         case MODE:
             type = orderByList.get(0).expression.getType();
             break;
+        case APPROX_PERCENTILE:
+            type = args[0].getType();
+            break;
         case EVERY:
         case ANY:
             type = TypeInfo.TYPE_BOOLEAN;
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2004-2025 H2 Group. Multiple-Licensed under the MPL 2.0,
+ * and the EPL 1.0 (https://h2database.com/html/license.html).
+ * Initial Developer: H2 Group
+ */
+package org.h2.expression.aggregate;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+import org.h2.engine.SessionLocal;
+import org.h2.message.DbException;
+import org.h2.value.Value;
+import org.h2.value.ValueNull;
+
+/**
+ * Data stored while calculating an APPROX_PERCENTILE aggregate.
+ *
+ * <p>
+ * Values are stored in a KLL sketch. Its level {@code h} contains values with
+ * weight 2<sup>h</sup>. When the sketch becomes full, the lowest level that
+ * exceeds its capacity is sorted and every other its value is moved to the
+ * next level. Capacities of levels decrease geometrically from the top level,
+ * so the sketch contains O(k log(n / k)) values. Results are exact when there
+ * are no more than {@link #K} values. The smallest and the largest values are
+ * tracked separately and are always exact.
+ * </p>
+ */
+final class AggregateDataApproxPercentile extends AggregateData {
+
+    /**
+     * The capacity of the top level.
+     */
+    private static final int K = 200;
+
+    private Value[][] levels = new Value[1][];
+
+    private int[] sizes = new int[1];
+
+    /**
+     * Whether values with odd indexes should be promoted by the next
+     * compaction of each level.
+     */
+    private boolean[] odd = new boolean[1];
+
+    private int size, capacity = K;
+
+    private long count;
+
+    private Value min, max;
+
+    private Value fraction;
+
+    /**
+     * Sets the fraction argument.
+     *
+     * @param fraction
+     *            the fraction
+     */
+    void setFraction(Value fraction) {
+        this.fraction = fraction;
+    }
+
+    @Override
+    void add(SessionLocal session, Value v) {
+        if (v == ValueNull.INSTANCE) {
+            return;
+        }
+        if (count++ == 0L) {
+            min = max = v;
+        } else if (session.compare(v, min) < 0) {
+            min = v;
+        } else if (session.compare(v, max) > 0) {
+            max = v;
+        }
+        append(0, v);
+        if (++size > capacity) {
+            compact(session);
+        }
+    }
+
+    private void append(int level, Value v) {
+        Value[] values = levels[level];
+        int s = sizes[level];
+        if (values == null) {
+            levels[level] = values = new Value[Math.max(8, getCapacity(level))];
+        } else if (s == values.length) {
+            levels[level] = values = Arrays.copyOf(values, s << 1);
+        }
+        values[s] = v;
+        sizes[level] = s + 1;
+    }
+
+    private int getCapacity(int level) {
+        return Math.max(2, (int) Math.ceil(K * Math.pow(2d / 3d, levels.length - 1 - level)));
+    }
+
+    private void compact(SessionLocal session) {
+        int levelCount = levels.length;
+        for (int h = 0; h < levelCount; h++) {
+            int s = sizes[h];
+            if (s >= getCapacity(h)) {
+                if (h == levelCount - 1) {
+                    levels = Arrays.copyOf(levels, levelCount + 1);
+                    sizes = Arrays.copyOf(sizes, levelCount + 1);
+                    odd = Arrays.copyOf(odd, levelCount + 1);
+                }
+                Value[] values = levels[h];
+                Arrays.sort(values, 0, s, session);
+                // with odd number of values the smallest one stays
+                int keep = s & 1;
+                for (int i = keep + (odd[h] ? 1 : 0); i < s; i += 2) {
+                    append(h + 1, values[i]);
+                }
+                odd[h] = !odd[h];
+                Arrays.fill(values, keep, s, null);
+                sizes[h] = keep;
+                break;
+            }
+        }
+        int newSize = 0, newCapacity = 0;
+        for (int h = 0, l = levels.length; h < l; h++) {
+            newSize += sizes[h];
+            newCapacity += getCapacity(h);
+        }
+        size = newSize;
+        capacity = newCapacity;
+    }
+
+    @Override
+    Value getValue(SessionLocal session) {
+        if (count == 0L) {
+            return ValueNull.INSTANCE;
+        }
+        Value f = fraction;
+        if (f == ValueNull.INSTANCE) {
+            return ValueNull.INSTANCE;
+        }
+        BigDecimal arg = f.getBigDecimal();
+        if (arg.signum() < 0 || arg.compareTo(BigDecimal.ONE) > 0) {
+            throw DbException.getInvalidValueException("APPROX_PERCENTILE argument", arg);
+        }
+        // the same rank as in PERCENTILE_DISC
+        BigDecimal fpRank = BigDecimal.valueOf(count - 1).multiply(arg);
+        long rank = fpRank.longValue();
+        if (fpRank.subtract(BigDecimal.valueOf(rank)).compareTo(Percentile.HALF) > 0) {
+            rank++;
+        }
+        if (rank == 0L) {
+            return min;
+        } else if (rank == count - 1) {
+            return max;
+        }
+        int levelCount = levels.length;
+        Value[] values = new Value[size];
+        long[] weights = new long[size];
+        Integer[] order = new Integer[size];
+        for (int h = 0, i = 0; h < levelCount; h++) {
+            for (int j = 0, s = sizes[h]; j < s; j++, i++) {
+                values[i] = levels[h][j];
+                weights[i] = 1L << h;
+                order[i] = i;
+            }
+        }
+        Arrays.sort(order, (a, b) -> session.compare(values[a], values[b]));
+        long cumulative = 0L;
+        for (Integer i : order) {
+            cumulative += weights[i];
+            if (cumulative > rank) {
+                return values[i];
+            }
+        }
+        return values[order[size - 1]];
+    }
+
+}
@@ -30,6 +30,13 @@ void add(SessionLocal session, Value v) {
         }
     }
 
+    @Override
+    void remove(SessionLocal session, Value v) {
+        if (all || v != ValueNull.INSTANCE) {
+            count--;
+        }
+    }
+
     @Override
     Value getValue(SessionLocal session) {
         return ValueBigint.get(count);
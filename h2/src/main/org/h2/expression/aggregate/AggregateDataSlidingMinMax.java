@@ -0,0 +1,88 @@
+/*
+ * Copyright 2004-2025 H2 Group. Multiple-Licensed under the MPL 2.0,
+ * and the EPL 1.0 (https://h2database.com/html/license.html).
+ * Initial Developer: H2 Group
+ */
+package org.h2.expression.aggregate;
+
+import java.util.ArrayDeque;
+
+import org.h2.engine.SessionLocal;
+import org.h2.value.TypeInfo;
+import org.h2.value.Value;
+import org.h2.value.ValueNull;
+
+/**
+ * Data stored while calculating a MIN or MAX aggregate over a sliding window
+ * frame.
+ *
+ * <p>
+ * Values are kept in a monotonic deque: a new value discards all preceding
+ * values that can't be a result any more, because the new value is better and
+ * will stay in the frame longer. The first value in the deque is the result.
+ * Each value is added and discarded only once, so amortized cost of both
+ * operations is O(1).
+ * </p>
+ */
+final class AggregateDataSlidingMinMax extends AggregateData {
+
+    private final boolean max;
+
+    private final TypeInfo dataType;
+
+    private final ArrayDeque<Value> values = new ArrayDeque<>();
+
+    /**
+     * @param max
+     *            {@code true} for MAX, {@code false} for MIN
+     * @param dataType
+     *            the data type of the computed result
+     */
+    AggregateDataSlidingMinMax(boolean max, TypeInfo dataType) {
+        this.max = max;
+        this.dataType = dataType;
+    }
+
+    @Override
+    void add(SessionLocal session, Value v) {
+        if (v == ValueNull.INSTANCE) {
+            return;
+        }
+        Value last;
+        // equal values are kept, the oldest one is the result
+        while ((last = values.peekLast()) != null && isBetter(session, v, last)) {
+            values.pollLast();
+        }
+        values.addLast(v);
+    }
+
+    @Override
+    void remove(SessionLocal session, Value v) {
+        if (v == ValueNull.INSTANCE) {
+            return;
+        }
+        /*
+         * If the removed value was discarded, the first value is better than
+         * it, otherwise the removed value is the first one.
+         */
+        Value first = values.peekFirst();
+        if (first != null && session.compare(first, v) == 0) {
+            values.pollFirst();
+        }
+    }
+
+    private boolean isBetter(SessionLocal session, Value v, Value other) {
+        int c = session.compare(v, other);
+        return max ? c > 0 : c < 0;
+    }
+
+    @Override
+    Value getValue(SessionLocal session) {
+        Value v = values.peekFirst();
+        if (v == null) {
+            return ValueNull.INSTANCE;
+        }
+        return v.convertTo(dataType);
+    }
+
+}
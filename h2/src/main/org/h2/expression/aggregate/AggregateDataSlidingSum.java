@@ -0,0 +1,95 @@
+/*
+ * Copyright 2004-2025 H2 Group. Multiple-Licensed under the MPL 2.0,
+ * and the EPL 1.0 (https://h2database.com/html/license.html).
+ * Initial Developer: H2 Group
+ */
+package org.h2.expression.aggregate;
+
+import java.util.TreeMap;
+
+import org.h2.engine.SessionLocal;
+import org.h2.value.TypeInfo;
+import org.h2.value.Value;
+import org.h2.value.ValueNull;
+import org.h2.value.ValueNumeric;
+
+/**
+ * Data stored while calculating a SUM aggregate over a sliding window frame.
+ * Values leaving the frame are subtracted from the sum, so it may be used only
+ * with data types with exact arithmetic.
+ */
+final class AggregateDataSlidingSum extends AggregateData {
+
+    private final TypeInfo dataType;
+
+    private long count;
+
+    private Value value;
+
+    /**
+     * Numbers of NUMERIC values in the frame with each scale. Scale of their
+     * sum is the largest scale of values in the frame, but subtraction can't
+     * reduce it.
+     */
+    private TreeMap<Integer, Long> scales;
+
+    /**
+     * @param dataType
+     *            the data type of the computed result
+     */
+    AggregateDataSlidingSum(TypeInfo dataType) {
+        this.dataType = dataType;
+    }
+
+    @Override
+    void add(SessionLocal session, Value v) {
+        if (v == ValueNull.INSTANCE) {
+            return;
+        }
+        count++;
+        v = v.convertTo(dataType.getValueType());
+        if (value == null) {
+            value = v;
+        } else {
+            value = value.add(v);
+        }
+        if (v.getValueType() == Value.NUMERIC) {
+            if (scales == null) {
+                scales = new TreeMap<>();
+            }
+            scales.merge(v.getBigDecimal().scale(), 1L, Long::sum);
+        }
+    }
+
+    @Override
+    void remove(SessionLocal session, Value v) {
+        if (v == ValueNull.INSTANCE) {
+            return;
+        }
+        v = v.convertTo(dataType.getValueType());
+        if (--count == 0L) {
+            value = null;
+        } else {
+            value = value.subtract(v);
+        }
+        if (v.getValueType() == Value.NUMERIC) {
+            scales.computeIfPresent(v.getBigDecimal().scale(), (k, c) -> c > 1L ? c - 1L : null);
+        }
+    }
+
+    @Override
+    Value getValue(SessionLocal session) {
+        Value v = value;
+        if (v == null) {
+            return ValueNull.INSTANCE;
+        }
+        if (scales != null) {
+            int scale = scales.lastKey();
+            if (v.getBigDecimal().scale() > scale) {
+                v = ValueNumeric.get(v.getBigDecimal().setScale(scale));
+            }
+        }
+        return v.convertTo(dataType);
+    }
+
+}
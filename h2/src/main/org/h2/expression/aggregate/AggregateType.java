@@ -245,4 +245,14 @@ public enum AggregateType {
      */
     LCM_AGG,
 
+    /**
+     * The aggregate type for APPROX_COUNT_DISTINCT(expression).
+     */
+    APPROX_COUNT_DISTINCT,
+
+    /**
+     * The aggregate type for APPROX_PERCENTILE(expression, expression).
+     */
+    APPROX_PERCENTILE,
+
 }
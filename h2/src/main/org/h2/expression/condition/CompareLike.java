@@ -6,7 +6,6 @@
 package org.h2.expression.condition;
 
 import java.util.regex.Pattern;
-import java.util.regex.PatternSyntaxException;
 import org.h2.api.ErrorCode;
 import org.h2.engine.Database;
 import org.h2.engine.SessionLocal;
@@ -54,10 +53,9 @@ public enum LikeType {
         REGEXP
     }
 
-    private static final int MATCH = 0, ONE = 1, ANY = 2;
-
     private final CompareMode compareMode;
     private final String defaultEscape;
+    private final PatternCache patternCache;
 
     private final LikeType likeType;
     private Expression left;
@@ -71,33 +69,29 @@ public enum LikeType {
 
     private boolean isInit;
 
-    private char[] patternChars;
-    private String patternString;
-    /** one of MATCH / ONE / ANY */
-    private int[] patternTypes;
-    private int patternLength;
+    private LikePattern likePattern;
 
     private Pattern patternRegexp;
+    private String regexpString;
 
     private boolean ignoreCase;
-    private boolean fastCompare;
-    private boolean invalidPattern;
-    /** indicates that we can shortcut the comparison and use startsWith */
-    private boolean shortcutToStartsWith;
-    /** indicates that we can shortcut the comparison and use endsWith */
-    private boolean shortcutToEndsWith;
-    /** indicates that we can shortcut the comparison and use contains */
-    private boolean shortcutToContains;
 
     public CompareLike(Database db, Expression left, boolean not, boolean whenOperand, Expression right,
             Expression escape, LikeType likeType) {
-        this(db.getCompareMode(), db.getSettings().defaultEscape, left, not, whenOperand, right, escape, likeType);
+        this(db.getCompareMode(), db.getSettings().defaultEscape, db.getPatternCache(), left, not, whenOperand,
+                right, escape, likeType);
     }
 
     public CompareLike(CompareMode compareMode, String defaultEscape, Expression left, boolean not,
             boolean whenOperand, Expression right, Expression escape, LikeType likeType) {
+        this(compareMode, defaultEscape, null, left, not, whenOperand, right, escape, likeType);
+    }
+
+    private CompareLike(CompareMode compareMode, String defaultEscape, PatternCache patternCache, Expression left,
+            boolean not, boolean whenOperand, Expression right, Expression escape, LikeType likeType) {
         this.compareMode = compareMode;
         this.defaultEscape = defaultEscape;
+        this.patternCache = patternCache;
         this.likeType = likeType;
         this.left = left;
         this.not = not;
@@ -179,7 +173,7 @@ public Expression optimize(SessionLocal session) {
             }
             String p = r.getString();
             initPattern(p, getEscapeChar(e));
-            if (invalidPattern) {
+            if (isInvalidPattern()) {
                 return TypedValueExpression.UNKNOWN;
             }
             if (likeType != LikeType.REGEXP && "%".equals(p)) {
@@ -187,8 +181,9 @@ public Expression optimize(SessionLocal session) {
                 return new SearchedCase(new Expression[] { new NullPredicate(left, true, false),
                         ValueExpression.getBoolean(!not), TypedValueExpression.UNKNOWN }).optimize(session);
             }
-            if (isFullMatch()) {
+            if (likeType != LikeType.REGEXP && likePattern.isFullMatch()) {
                 // optimization for X LIKE 'Hello': convert to X = 'Hello'
+                String patternString = likePattern.getPatternString();
                 Value value = ignoreCase ? ValueVarcharIgnoreCase.get(patternString) : ValueVarchar.get(patternString);
                 Expression expr = ValueExpression.get(value);
                 return new Comparison(not ? Comparison.NOT_EQUAL : Comparison.EQUAL, left, expr, false)
@@ -227,72 +222,117 @@ public void createIndexConditions(SessionLocal session, TableFilter filter) {
                 ignoreCase ? TypeInfo.TYPE_VARCHAR_IGNORECASE : TypeInfo.TYPE_VARCHAR)) {
             return;
         }
-        // parameters are always evaluatable, but
-        // we need to check if the value is set
-        // (at prepare time)
-        // otherwise we would need to prepare at execute time,
-        // which may be slower (possibly not in this case)
-        if (!right.isEverything(ExpressionVisitor.INDEPENDENT_VISITOR)) {
+        if (!DataType.isStringType(l.getColumn().getType().getValueType())) {
+            // column is not a varchar - can't use the index
             return;
         }
-        if (escape != null && !escape.isEverything(ExpressionVisitor.INDEPENDENT_VISITOR)) {
+        if (!right.isEverything(ExpressionVisitor.INDEPENDENT_VISITOR)
+                || escape != null && !escape.isEverything(ExpressionVisitor.INDEPENDENT_VISITOR)) {
+            // parameters and outer columns: the range is computed from the
+            // prefix of the pattern when the index is looked up
+            ExpressionVisitor visitor = ExpressionVisitor.getNotFromResolverVisitor(filter);
+            if (right.isEverything(visitor) && (escape == null || escape.isEverything(visitor))) {
+                filter.addIndexCondition(IndexCondition.get(Comparison.LIKE_PREFIX, l, this));
+            }
             return;
         }
-        String p = right.getValue(session).getString();
         if (!isInit) {
+            Value r = right.getValue(session);
             Value e = escape == null ? null : escape.getValue(session);
-            if (e == ValueNull.INSTANCE) {
+            if (r == ValueNull.INSTANCE || e == ValueNull.INSTANCE) {
                 // should already be optimized
                 throw DbException.getInternalError();
             }
-            initPattern(p, getEscapeChar(e));
+            initPattern(r.getString(), getEscapeChar(e));
         }
-        if (invalidPattern) {
+        if (likePattern.isInvalid()) {
             return;
         }
-        if (patternLength <= 0 || patternTypes[0] != MATCH) {
+        String begin = likePattern.getPrefix();
+        if (begin.isEmpty()) {
             // can't use an index
             return;
         }
-        if (!DataType.isStringType(l.getColumn().getType().getValueType())) {
-            // column is not a varchar - can't use the index
-            return;
-        }
-        // Get the MATCH prefix and see if we can create an index condition from
-        // that.
-        int maxMatch = 0;
-        StringBuilder buff = new StringBuilder();
-        while (maxMatch < patternLength && patternTypes[maxMatch] == MATCH) {
-            buff.append(patternChars[maxMatch++]);
-        }
-        String begin = buff.toString();
-        if (maxMatch == patternLength) {
+        if (likePattern.isFullMatch()) {
             filter.addIndexCondition(IndexCondition.get(Comparison.EQUAL, l,
                     ValueExpression.get(ValueVarchar.get(begin))));
         } else {
-            // TODO check if this is correct according to Unicode rules
-            // (code points)
-            String end;
-            if (begin.length() > 0) {
-                filter.addIndexCondition(IndexCondition.get(
-                        Comparison.BIGGER_EQUAL, l,
-                        ValueExpression.get(ValueVarchar.get(begin))));
-                char next = begin.charAt(begin.length() - 1);
-                // search the 'next' unicode character (or at least a character
-                // that is higher)
-                for (int i = 1; i < 2000; i++) {
-                    end = begin.substring(0, begin.length() - 1) + (char) (next + i);
-                    if (compareMode.compareString(begin, end, ignoreCase) < 0) {
-                        filter.addIndexCondition(IndexCondition.get(
-                                Comparison.SMALLER, l,
-                                ValueExpression.get(ValueVarchar.get(end))));
-                        break;
-                    }
-                }
+            filter.addIndexCondition(IndexCondition.get(Comparison.BIGGER_EQUAL, l,
+                    ValueExpression.get(ValueVarchar.get(begin))));
+            String end = getPrefixEnd(begin);
+            if (end != null) {
+                filter.addIndexCondition(IndexCondition.get(Comparison.SMALLER, l,
+                        ValueExpression.get(ValueVarchar.get(end))));
             }
         }
     }
 
+    /**
+     * Returns a string that is higher than all strings starting with the
+     * specified prefix.
+     *
+     * @param begin the prefix
+     * @return the higher string, or {@code null}
+     */
+    private String getPrefixEnd(String begin) {
+        // TODO check if this is correct according to Unicode rules
+        // (code points)
+        char next = begin.charAt(begin.length() - 1);
+        // search the 'next' unicode character (or at least a character
+        // that is higher)
+        for (int i = 1; i < 2000; i++) {
+            String end = begin.substring(0, begin.length() - 1) + (char) (next + i);
+            if (compareMode.compareString(begin, end, ignoreCase) < 0) {
+                return end;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Checks whether the pattern and the escape character can be evaluated.
+     * This method is used by index conditions created for non-constant
+     * patterns.
+     *
+     * @return whether the pattern can be evaluated
+     */
+    public boolean isPatternEvaluatable() {
+        return right.isEverything(ExpressionVisitor.EVALUATABLE_VISITOR)
+                && (escape == null || escape.isEverything(ExpressionVisitor.EVALUATABLE_VISITOR));
+    }
+
+    /**
+     * Returns the range of values that may match the current value of the
+     * pattern. This method is used by index conditions created for
+     * non-constant patterns.
+     *
+     * @param session the session
+     * @return the inclusive lower bound and the upper bound, each of them may
+     *         be {@code null} if there is no such bound, or {@code null} if
+     *         nothing can match the pattern
+     */
+    public Value[] getPrefixRange(SessionLocal session) {
+        Value r = right.getValue(session);
+        Value e = escape == null ? null : escape.getValue(session);
+        if (r == ValueNull.INSTANCE || e == ValueNull.INSTANCE) {
+            return null;
+        }
+        initPattern(r.getString(), getEscapeChar(e));
+        if (likePattern.isInvalid()) {
+            return null;
+        }
+        String begin = likePattern.getPrefix();
+        if (begin.isEmpty()) {
+            return new Value[2];
+        }
+        Value lower = ValueVarchar.get(begin);
+        if (likePattern.isFullMatch()) {
+            return new Value[] { lower, lower };
+        }
+        String end = getPrefixEnd(begin);
+        return new Value[] { lower, end != null ? ValueVarchar.get(end) : null };
+    }
+
     @Override
     public Value getValue(SessionLocal session) {
         return getValue(session, left.getValue(session));
@@ -322,94 +362,19 @@ private Value getValue(SessionLocal session, Value left) {
             }
             initPattern(p, getEscapeChar(e));
         }
-        if (invalidPattern) {
+        if (isInvalidPattern()) {
             return ValueNull.INSTANCE;
         }
         String value = left.getString();
         boolean result;
         if (likeType == LikeType.REGEXP) {
             result = patternRegexp.matcher(value).find();
-        } else if (shortcutToStartsWith) {
-            result = value.regionMatches(ignoreCase, 0, patternString, 0, patternLength - 1);
-        } else if (shortcutToEndsWith) {
-            result = value.regionMatches(ignoreCase, value.length() -
-                    patternLength + 1, patternString, 1, patternLength - 1);
-        } else if (shortcutToContains) {
-            String p = patternString.substring(1, patternString.length() - 1);
-            if (ignoreCase) {
-                result = containsIgnoreCase(value, p);
-            } else {
-                result = value.contains(p);
-            }
         } else {
-            result = compareAt(value, 0, 0, value.length(), patternChars, patternTypes);
+            result = likePattern.test(value);
         }
         return ValueBoolean.get(not ^ result);
     }
 
-    private static boolean containsIgnoreCase(String src, String what) {
-        final int length = what.length();
-        if (length == 0) {
-            // Empty string is contained
-            return true;
-        }
-
-        final char firstLo = Character.toLowerCase(what.charAt(0));
-        final char firstUp = Character.toUpperCase(what.charAt(0));
-
-        for (int i = src.length() - length; i >= 0; i--) {
-            // Quick check before calling the more expensive regionMatches()
-            final char ch = src.charAt(i);
-            if (ch != firstLo && ch != firstUp) {
-                continue;
-            }
-            if (src.regionMatches(true, i, what, 0, length)) {
-                return true;
-            }
-        }
-
-        return false;
-    }
-
-    private boolean compareAt(String s, int pi, int si, int sLen,
-            char[] pattern, int[] types) {
-        for (; pi < patternLength; pi++) {
-            switch (types[pi]) {
-            case MATCH:
-                if ((si >= sLen) || !compare(pattern, s, pi, si++)) {
-                    return false;
-                }
-                break;
-            case ONE:
-                if (si++ >= sLen) {
-                    return false;
-                }
-                break;
-            case ANY:
-                if (++pi >= patternLength) {
-                    return true;
-                }
-                while (si < sLen) {
-                    if (compare(pattern, s, pi, si) &&
-                            compareAt(s, pi, si, sLen, pattern, types)) {
-                        return true;
-                    }
-                    si++;
-                }
-                return false;
-            default:
-                throw DbException.getInternalError(Integer.toString(types[pi]));
-            }
-        }
-        return si == sLen;
-    }
-
-    private boolean compare(char[] pattern, String s, int pi, int si) {
-        return pattern[pi] == s.charAt(si) ||
-                (!fastCompare && compareMode.equalsChars(patternString, pi, s,
-                        si, ignoreCase));
-    }
-
     @Override
     public boolean isWhenConditionOperand() {
         return whenOperand;
@@ -435,132 +400,34 @@ public boolean test(String testPattern, String value, char escapeChar) {
      * @return true if the value matches
      */
     public boolean test(String value) {
-        if (invalidPattern) {
-            return false;
-        }
-        return compareAt(value, 0, 0, value.length(), patternChars, patternTypes);
+        return likePattern.test(value);
     }
 
     /**
-     * Initializes the pattern.
+     * Initializes the pattern. Compiled patterns are taken from the pattern
+     * cache of the database when possible.
      *
      * @param p the pattern
      * @param escapeChar the escape character
      */
     public void initPattern(String p, Character escapeChar) {
-        if (compareMode.getName().equals(CompareMode.OFF) && !ignoreCase) {
-            fastCompare = true;
-        }
         if (likeType == LikeType.REGEXP) {
-            patternString = p;
-            try {
-                if (ignoreCase) {
-                    patternRegexp = Pattern.compile(p, Pattern.CASE_INSENSITIVE);
-                } else {
-                    patternRegexp = Pattern.compile(p);
-                }
-            } catch (PatternSyntaxException e) {
-                throw DbException.get(ErrorCode.LIKE_ESCAPE_ERROR_1, e, p);
+            if (!p.equals(regexpString)) {
+                patternRegexp = PatternCache.getRegexp(patternCache, p, ignoreCase ? Pattern.CASE_INSENSITIVE : 0);
+                regexpString = p;
             }
             return;
         }
-        patternLength = 0;
         if (p == null) {
-            patternTypes = null;
-            patternChars = null;
-            return;
-        }
-        int len = p.length();
-        patternChars = new char[len];
-        patternTypes = new int[len];
-        boolean lastAny = false;
-        for (int i = 0; i < len; i++) {
-            char c = p.charAt(i);
-            int type;
-            if (escapeChar != null && escapeChar == c) {
-                if (i >= len - 1) {
-                    invalidPattern = true;
-                    return;
-                }
-                c = p.charAt(++i);
-                type = MATCH;
-                lastAny = false;
-            } else if (c == '%') {
-                if (lastAny) {
-                    continue;
-                }
-                type = ANY;
-                lastAny = true;
-            } else if (c == '_') {
-                type = ONE;
-            } else {
-                type = MATCH;
-                lastAny = false;
-            }
-            patternTypes[patternLength] = type;
-            patternChars[patternLength++] = c;
-        }
-        for (int i = 0; i < patternLength - 1; i++) {
-            if ((patternTypes[i] == ANY) && (patternTypes[i + 1] == ONE)) {
-                patternTypes[i] = ONE;
-                patternTypes[i + 1] = ANY;
-            }
-        }
-        patternString = new String(patternChars, 0, patternLength);
-
-        // Clear optimizations
-        shortcutToStartsWith = false;
-        shortcutToEndsWith = false;
-        shortcutToContains = false;
-
-        // optimizes the common case of LIKE 'foo%'
-        if (compareMode.getName().equals(CompareMode.OFF) && patternLength > 1) {
-            int maxMatch = 0;
-            while (maxMatch < patternLength && patternTypes[maxMatch] == MATCH) {
-                maxMatch++;
-            }
-            if (maxMatch == patternLength - 1 && patternTypes[patternLength - 1] == ANY) {
-                shortcutToStartsWith = true;
-                return;
-            }
+            p = "";
         }
-        // optimizes the common case of LIKE '%foo'
-        if (compareMode.getName().equals(CompareMode.OFF) && patternLength > 1) {
-            if (patternTypes[0] == ANY) {
-                int maxMatch = 1;
-                while (maxMatch < patternLength && patternTypes[maxMatch] == MATCH) {
-                    maxMatch++;
-                }
-                if (maxMatch == patternLength) {
-                    shortcutToEndsWith = true;
-                    return;
-                }
-            }
-        }
-        // optimizes the common case of LIKE '%foo%'
-        if (compareMode.getName().equals(CompareMode.OFF) && patternLength > 2) {
-            if (patternTypes[0] == ANY) {
-                int maxMatch = 1;
-                while (maxMatch < patternLength && patternTypes[maxMatch] == MATCH) {
-                    maxMatch++;
-                }
-                if (maxMatch == patternLength - 1 && patternTypes[patternLength - 1] == ANY) {
-                    shortcutToContains = true;
-                }
-            }
+        if (likePattern == null || !likePattern.isCompiledFrom(p, escapeChar)) {
+            likePattern = PatternCache.getLike(patternCache, p, escapeChar, compareMode, ignoreCase);
         }
     }
 
-    private boolean isFullMatch() {
-        if (patternTypes == null) {
-            return false;
-        }
-        for (int type : patternTypes) {
-            if (type != MATCH) {
-                return false;
-            }
-        }
-        return true;
+    private boolean isInvalidPattern() {
+        return likeType != LikeType.REGEXP && likePattern.isInvalid();
     }
 
     @Override
@@ -568,7 +435,8 @@ public Expression getNotIfPossible(SessionLocal session) {
         if (whenOperand) {
             return null;
         }
-        return new CompareLike(compareMode, defaultEscape, left, !not, false, right, escape, likeType);
+        return new CompareLike(compareMode, defaultEscape, patternCache, left, !not, false, right, escape,
+                likeType);
     }
 
     @Override
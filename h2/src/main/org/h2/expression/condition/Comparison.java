@@ -112,6 +112,20 @@ public final class Comparison extends Condition {
      */
     public static final int IN_QUERY = 12;
 
+    /**
+     * This is a pseudo comparison type that is only used for full text index
+     * conditions. Example: MATCH(TEXT) AGAINST('word').
+     */
+    public static final int FULLTEXT_MATCH = 13;
+
+    /**
+     * This is a pseudo comparison type that is only used for index conditions
+     * of LIKE predicates with non-constant patterns. The range is computed
+     * from the literal prefix of the pattern during index lookup. Example:
+     * NAME LIKE ?.
+     */
+    public static final int LIKE_PREFIX = 14;
+
     private int compareType;
     private Expression left;
     private Expression right;
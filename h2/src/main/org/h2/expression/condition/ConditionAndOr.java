@@ -49,7 +49,12 @@ public ConditionAndOr(int andOrType, Expression left, Expression right) {
         this.right = right;
     }
 
-    int getAndOrType() {
+    /**
+     * Returns the type of this condition.
+     *
+     * @return {@link ConditionAndOr#AND} or {@link ConditionAndOr#OR}
+     */
+    public int getAndOrType() {
         return this.andOrType;
     }
 
@@ -82,6 +87,8 @@ public void createIndexConditions(SessionLocal session, TableFilter filter) {
             if (added != null) {
                 added.createIndexConditions(session, filter);
             }
+        } else {
+            filter.addOrCondition(this);
         }
     }
 
@@ -52,7 +52,12 @@ public ConditionAndOrN(int andOrType, List<Expression> expressions) {
         this.expressions = expressions;
     }
 
-    int getAndOrType() {
+    /**
+     * Returns the type of this condition.
+     *
+     * @return {@link ConditionAndOr#AND} or {@link ConditionAndOr#OR}
+     */
+    public int getAndOrType() {
         return andOrType;
     }
 
@@ -101,6 +106,8 @@ public void createIndexConditions(SessionLocal session, TableFilter filter) {
                     e.createIndexConditions(session, filter);
                 }
             }
+        } else {
+            filter.addOrCondition(this);
         }
     }
 
@@ -65,6 +65,12 @@ public boolean getWhenValue(SessionLocal session, Value left) {
 
     private Value getValue(SessionLocal session, Value left) {
         query.setSession(session);
+        if (semiJoin != null) {
+            Value v = semiJoin.getValue(session, query, left);
+            if (v != null) {
+                return v == ValueNull.INSTANCE ? v : ValueBoolean.get(not ^ v.getBoolean());
+            }
+        }
         LocalResult rows = (LocalResult) query.query(0);
         if (!rows.hasNext()) {
             return ValueBoolean.get(not ^ all);
@@ -157,8 +163,12 @@ public void mapColumns(ColumnResolver resolver, int level, int state) {
 
     @Override
     public Expression optimize(SessionLocal session) {
-        super.optimize(session);
         left = left.optimize(session);
+        if (!whenOperand && !all && compareType == Comparison.EQUAL && query.getColumnCount() == 1
+                && left.getType().getValueType() != Value.ROW) {
+            initSemiJoin(session, left, not);
+        }
+        super.optimize(session);
         TypeInfo.checkComparable(left.getType(), query.getRowDataType());
         return this;
     }
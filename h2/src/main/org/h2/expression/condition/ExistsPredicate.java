@@ -7,6 +7,7 @@
 
 import org.h2.command.query.Query;
 import org.h2.engine.SessionLocal;
+import org.h2.expression.Expression;
 import org.h2.value.Value;
 import org.h2.value.ValueBoolean;
 
@@ -15,18 +16,50 @@
  */
 public class ExistsPredicate extends PredicateWithSubquery {
 
+    private final boolean not;
+
     public ExistsPredicate(Query query) {
+        this(query, false);
+    }
+
+    private ExistsPredicate(Query query, boolean not) {
         super(query);
+        this.not = not;
     }
 
     @Override
     public Value getValue(SessionLocal session) {
         query.setSession(session);
-        return ValueBoolean.get(query.exists());
+        if (semiJoin != null) {
+            Value v = semiJoin.getValue(session, query, null);
+            if (v != null) {
+                return ValueBoolean.get(not ^ v.getBoolean());
+            }
+        }
+        return ValueBoolean.get(not ^ query.exists());
+    }
+
+    @Override
+    public Expression optimize(SessionLocal session) {
+        initSemiJoin(session, null, not);
+        return super.optimize(session);
+    }
+
+    @Override
+    public Expression getNotIfPossible(SessionLocal session) {
+        return new ExistsPredicate(query, !not);
+    }
+
+    @Override
+    public boolean needParentheses() {
+        return not;
     }
 
     @Override
     public StringBuilder getUnenclosedSQL(StringBuilder builder, int sqlFlags) {
+        if (not) {
+            builder.append("NOT ");
+        }
         return super.getUnenclosedSQL(builder.append("EXISTS"), sqlFlags);
     }
 
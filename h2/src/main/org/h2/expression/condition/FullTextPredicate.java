@@ -0,0 +1,164 @@
+/*
+ * Copyright 2004-2025 H2 Group. Multiple-Licensed under the MPL 2.0,
+ * and the EPL 1.0 (https://h2database.com/html/license.html).
+ * Initial Developer: H2 Group
+ */
+package org.h2.expression.condition;
+
+import java.util.List;
+
+import org.h2.engine.SessionLocal;
+import org.h2.expression.Expression;
+import org.h2.expression.ExpressionColumn;
+import org.h2.expression.ExpressionVisitor;
+import org.h2.expression.TypedValueExpression;
+import org.h2.expression.ValueExpression;
+import org.h2.fulltext.FullTextQuery;
+import org.h2.index.FullTextIndex;
+import org.h2.index.Index;
+import org.h2.index.IndexCondition;
+import org.h2.table.Column;
+import org.h2.table.ColumnResolver;
+import org.h2.table.TableFilter;
+import org.h2.value.Value;
+import org.h2.value.ValueBoolean;
+import org.h2.value.ValueNull;
+
+/**
+ * Full text search predicate: MATCH(TEXT) AGAINST('word "some phrase"').
+ * The predicate is true if the text contains all words and phrases of the
+ * query. It may use a full text index.
+ */
+public final class FullTextPredicate extends Condition {
+
+    private Expression left;
+
+    private Expression right;
+
+    /**
+     * The parsed query if it is a constant.
+     */
+    private FullTextQuery query;
+
+    public FullTextPredicate(Expression left, Expression right) {
+        this.left = left;
+        this.right = right;
+    }
+
+    @Override
+    public boolean needParentheses() {
+        return false;
+    }
+
+    @Override
+    public StringBuilder getUnenclosedSQL(StringBuilder builder, int sqlFlags) {
+        left.getUnenclosedSQL(builder.append("MATCH("), sqlFlags).append(") AGAINST(");
+        return right.getUnenclosedSQL(builder, sqlFlags).append(')');
+    }
+
+    @Override
+    public Expression optimize(SessionLocal session) {
+        left = left.optimize(session);
+        right = right.optimize(session);
+        if (right.isConstant()) {
+            Value r = right.getValue(session);
+            if (r == ValueNull.INSTANCE) {
+                return TypedValueExpression.UNKNOWN;
+            }
+            query = FullTextQuery.parse(r.getString());
+            if (left.isConstant()) {
+                return ValueExpression.getBoolean(getValue(session));
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public Value getValue(SessionLocal session) {
+        Value l = left.getValue(session);
+        if (l == ValueNull.INSTANCE) {
+            return ValueNull.INSTANCE;
+        }
+        FullTextQuery q = query;
+        if (q == null) {
+            Value r = right.getValue(session);
+            if (r == ValueNull.INSTANCE) {
+                return ValueNull.INSTANCE;
+            }
+            q = FullTextQuery.parse(r.getString());
+        }
+        return ValueBoolean.get(q.matches(FullTextQuery.tokenize(l.getString())));
+    }
+
+    @Override
+    public void createIndexConditions(SessionLocal session, TableFilter filter) {
+        if (!(left instanceof ExpressionColumn)) {
+            return;
+        }
+        ExpressionColumn l = (ExpressionColumn) left;
+        if (filter != l.getTableFilter() || !hasFullTextIndex(filter, l.getColumn())) {
+            return;
+        }
+        if (right.isEverything(ExpressionVisitor.getNotFromResolverVisitor(filter))) {
+            filter.addIndexCondition(IndexCondition.get(Comparison.FULLTEXT_MATCH, l, right));
+        }
+    }
+
+    private static boolean hasFullTextIndex(TableFilter filter, Column column) {
+        List<Index> indexes = filter.getTable().getIndexes();
+        if (indexes != null) {
+            for (Index index : indexes) {
+                if (index instanceof FullTextIndex && index.isFirstColumn(column)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void setEvaluatable(TableFilter tableFilter, boolean b) {
+        left.setEvaluatable(tableFilter, b);
+        right.setEvaluatable(tableFilter, b);
+    }
+
+    @Override
+    public void updateAggregate(SessionLocal session, int stage) {
+        left.updateAggregate(session, stage);
+        right.updateAggregate(session, stage);
+    }
+
+    @Override
+    public void mapColumns(ColumnResolver resolver, int level, int state) {
+        left.mapColumns(resolver, level, state);
+        right.mapColumns(resolver, level, state);
+    }
+
+    @Override
+    public boolean isEverything(ExpressionVisitor visitor) {
+        return left.isEverything(visitor) && right.isEverything(visitor);
+    }
+
+    @Override
+    public int getCost() {
+        return left.getCost() + right.getCost() + 10;
+    }
+
+    @Override
+    public int getSubexpressionCount() {
+        return 2;
+    }
+
+    @Override
+    public Expression getSubexpression(int index) {
+        switch (index) {
+        case 0:
+            return left;
+        case 1:
+            return right;
+        default:
+            throw new IndexOutOfBoundsException();
+        }
+    }
+
+}
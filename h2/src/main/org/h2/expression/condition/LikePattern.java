@@ -0,0 +1,369 @@
+/*
+ * Copyright 2004-2025 H2 Group. Multiple-Licensed under the MPL 2.0,
+ * and the EPL 1.0 (https://h2database.com/html/license.html).
+ * Initial Developer: H2 Group
+ */
+package org.h2.expression.condition;
+
+import java.util.Objects;
+
+import org.h2.message.DbException;
+import org.h2.value.CompareMode;
+
+/**
+ * A compiled LIKE pattern. Instances are immutable and may be shared between
+ * conditions and sessions with {@link PatternCache}.
+ *
+ * <p>
+ * Patterns are matched without backtracking. The pattern is split by
+ * {@code %} into segments of fixed length, the first and the last segments
+ * are anchored to the beginning and to the end of the value, other segments
+ * are searched from left to right, the leftmost occurrence of each segment
+ * leaves the most room for the following ones. Matching takes O(n * m) time
+ * in the worst case for a value of length n and a pattern of length m.
+ * </p>
+ */
+final class LikePattern {
+
+    /**
+     * Pattern character that matches itself.
+     */
+    static final int MATCH = 0;
+
+    /**
+     * Pattern character that matches any single character.
+     */
+    static final int ONE = 1;
+
+    /**
+     * Pattern character that matches any sequence of characters.
+     */
+    static final int ANY = 2;
+
+    private static final int GENERIC = 0, STARTS_WITH = 1, ENDS_WITH = 2, CONTAINS = 3;
+
+    private final String source;
+
+    private final Character escapeChar;
+
+    private final CompareMode compareMode;
+
+    private final boolean ignoreCase;
+
+    private final boolean fastCompare;
+
+    private final boolean invalid;
+
+    private final char[] patternChars;
+
+    /** one of MATCH / ONE / ANY */
+    private final int[] patternTypes;
+
+    private final int patternLength;
+
+    private final String patternString;
+
+    private final int shortcut;
+
+    /**
+     * Start offsets of segments between ANY characters followed by the
+     * offset of the pattern end.
+     */
+    private final int[] segments;
+
+    /**
+     * Whether the segment consists only of MATCH characters.
+     */
+    private final boolean[] literalSegments;
+
+    /**
+     * Compiles a LIKE pattern.
+     *
+     * @param p
+     *            the pattern
+     * @param escapeChar
+     *            the escape character, or {@code null}
+     * @param compareMode
+     *            the compare mode
+     * @param ignoreCase
+     *            whether the pattern is case-insensitive
+     */
+    LikePattern(String p, Character escapeChar, CompareMode compareMode, boolean ignoreCase) {
+        this.source = p;
+        this.escapeChar = escapeChar;
+        this.compareMode = compareMode;
+        this.ignoreCase = ignoreCase;
+        boolean off = compareMode.getName().equals(CompareMode.OFF);
+        fastCompare = off && !ignoreCase;
+        int len = p.length();
+        char[] chars = new char[len];
+        int[] types = new int[len];
+        int length = 0;
+        boolean lastAny = false, invalid = false;
+        for (int i = 0; i < len; i++) {
+            char c = p.charAt(i);
+            int type;
+            if (escapeChar != null && escapeChar == c) {
+                if (i >= len - 1) {
+                    invalid = true;
+                    break;
+                }
+                c = p.charAt(++i);
+                type = MATCH;
+                lastAny = false;
+            } else if (c == '%') {
+                if (lastAny) {
+                    continue;
+                }
+                type = ANY;
+                lastAny = true;
+            } else if (c == '_') {
+                type = ONE;
+            } else {
+                type = MATCH;
+                lastAny = false;
+            }
+            types[length] = type;
+            chars[length++] = c;
+        }
+        for (int i = 0; i < length - 1; i++) {
+            if ((types[i] == ANY) && (types[i + 1] == ONE)) {
+                types[i] = ONE;
+                types[i + 1] = ANY;
+            }
+        }
+        this.invalid = invalid;
+        patternChars = chars;
+        patternTypes = types;
+        patternLength = length;
+        patternString = new String(chars, 0, length);
+        int s = GENERIC;
+        if (off && length > 1) {
+            int firstNonMatch = 0;
+            while (firstNonMatch < length && types[firstNonMatch] == MATCH) {
+                firstNonMatch++;
+            }
+            if (firstNonMatch == length - 1 && types[length - 1] == ANY) {
+                // LIKE 'foo%'
+                s = STARTS_WITH;
+            } else if (types[0] == ANY) {
+                int maxMatch = 1;
+                while (maxMatch < length && types[maxMatch] == MATCH) {
+                    maxMatch++;
+                }
+                if (maxMatch == length) {
+                    // LIKE '%foo'
+                    s = ENDS_WITH;
+                } else if (length > 2 && maxMatch == length - 1 && types[length - 1] == ANY) {
+                    // LIKE '%foo%'
+                    s = CONTAINS;
+                }
+            }
+        }
+        shortcut = s;
+        int segmentCount = 1;
+        for (int i = 0; i < length; i++) {
+            if (types[i] == ANY) {
+                segmentCount++;
+            }
+        }
+        int[] segments = new int[segmentCount + 1];
+        boolean[] literalSegments = new boolean[segmentCount];
+        boolean literal = true;
+        for (int i = 0, segment = 0; i < length; i++) {
+            int type = types[i];
+            if (type == ANY) {
+                literalSegments[segment] = literal;
+                segments[++segment] = i + 1;
+                literal = true;
+            } else if (type == ONE) {
+                literal = false;
+            }
+        }
+        literalSegments[segmentCount - 1] = literal;
+        segments[segmentCount] = length + 1;
+        this.segments = segments;
+        this.literalSegments = literalSegments;
+    }
+
+    /**
+     * Checks whether this pattern was compiled from the specified source.
+     *
+     * @param p
+     *            the pattern
+     * @param escapeChar
+     *            the escape character, or {@code null}
+     * @return whether this pattern was compiled from the specified source
+     */
+    boolean isCompiledFrom(String p, Character escapeChar) {
+        return source.equals(p) && Objects.equals(this.escapeChar, escapeChar);
+    }
+
+    /**
+     * Checks whether this pattern was compiled for the specified compare mode.
+     *
+     * @param compareMode
+     *            the compare mode
+     * @return whether this pattern was compiled for the specified compare mode
+     */
+    boolean hasCompareMode(CompareMode compareMode) {
+        return this.compareMode == compareMode;
+    }
+
+    /**
+     * Returns whether the pattern has an escape character at its end.
+     *
+     * @return whether the pattern is invalid
+     */
+    boolean isInvalid() {
+        return invalid;
+    }
+
+    /**
+     * Returns whether the pattern doesn't have any wildcards.
+     *
+     * @return whether the pattern doesn't have any wildcards
+     */
+    boolean isFullMatch() {
+        return segments.length == 2 && literalSegments[0];
+    }
+
+    /**
+     * Returns the pattern without escape characters.
+     *
+     * @return the pattern without escape characters
+     */
+    String getPatternString() {
+        return patternString;
+    }
+
+    /**
+     * Returns the literal prefix of the pattern.
+     *
+     * @return the literal prefix, may be empty
+     */
+    String getPrefix() {
+        int prefixLength = 0;
+        while (prefixLength < patternLength && patternTypes[prefixLength] == MATCH) {
+            prefixLength++;
+        }
+        return new String(patternChars, 0, prefixLength);
+    }
+
+    /**
+     * Test if the value matches this pattern.
+     *
+     * @param value
+     *            the value
+     * @return true if the value matches
+     */
+    boolean test(String value) {
+        if (invalid) {
+            return false;
+        }
+        switch (shortcut) {
+        case STARTS_WITH:
+            return value.regionMatches(ignoreCase, 0, patternString, 0, patternLength - 1);
+        case ENDS_WITH:
+            return value.regionMatches(ignoreCase, value.length() - patternLength + 1, patternString, 1,
+                    patternLength - 1);
+        case CONTAINS: {
+            String p = patternString.substring(1, patternLength - 1);
+            return ignoreCase ? containsIgnoreCase(value, p) : value.contains(p);
+        }
+        case GENERIC:
+            return matches(value);
+        default:
+            throw DbException.getInternalError(Integer.toString(shortcut));
+        }
+    }
+
+    private boolean matches(String s) {
+        int sLen = s.length();
+        int last = segments.length - 2;
+        int firstLength = segmentLength(0);
+        if (last == 0) {
+            return sLen == firstLength && matchesAt(0, s, 0);
+        }
+        int lastLength = segmentLength(last);
+        int limit = sLen - lastLength;
+        if (limit < firstLength || !matchesAt(0, s, 0) || !matchesAt(last, s, limit)) {
+            return false;
+        }
+        int si = firstLength;
+        for (int segment = 1; segment < last; segment++) {
+            int length = segmentLength(segment);
+            int found = find(segment, s, si, limit - length);
+            if (found < 0) {
+                return false;
+            }
+            si = found + length;
+        }
+        return true;
+    }
+
+    private int segmentLength(int segment) {
+        return segments[segment + 1] - segments[segment] - 1;
+    }
+
+    /**
+     * Finds the leftmost occurrence of the segment.
+     *
+     * @return the found position, or -1
+     */
+    private int find(int segment, String s, int from, int to) {
+        if (from > to) {
+            return -1;
+        }
+        if (fastCompare && literalSegments[segment]) {
+            int start = segments[segment];
+            int found = s.indexOf(patternString.substring(start, segments[segment + 1] - 1), from);
+            return found <= to ? found : -1;
+        }
+        for (int si = from; si <= to; si++) {
+            if (matchesAt(segment, s, si)) {
+                return si;
+            }
+        }
+        return -1;
+    }
+
+    private boolean matchesAt(int segment, String s, int si) {
+        for (int pi = segments[segment], end = segments[segment + 1] - 1; pi < end; pi++, si++) {
+            if (patternTypes[pi] == MATCH && !compare(s, pi, si)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean compare(String s, int pi, int si) {
+        return patternChars[pi] == s.charAt(si)
+                || !fastCompare && compareMode.equalsChars(patternString, pi, s, si, ignoreCase);
+    }
+
+    private static boolean containsIgnoreCase(String src, String what) {
+        final int length = what.length();
+        if (length == 0) {
+            // Empty string is contained
+            return true;
+        }
+
+        final char firstLo = Character.toLowerCase(what.charAt(0));
+        final char firstUp = Character.toUpperCase(what.charAt(0));
+
+        for (int i = src.length() - length; i >= 0; i--) {
+            // Quick check before calling the more expensive regionMatches()
+            final char ch = src.charAt(i);
+            if (ch != firstLo && ch != firstUp) {
+                continue;
+            }
+            if (src.regionMatches(true, i, what, 0, length)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+}
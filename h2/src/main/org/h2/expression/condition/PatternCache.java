@@ -0,0 +1,171 @@
+/*
+ * Copyright 2004-2025 H2 Group. Multiple-Licensed under the MPL 2.0,
+ * and the EPL 1.0 (https://h2database.com/html/license.html).
+ * Initial Developer: H2 Group
+ */
+package org.h2.expression.condition;
+
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import org.h2.api.ErrorCode;
+import org.h2.message.DbException;
+import org.h2.util.SmallLRUCache;
+import org.h2.value.CompareMode;
+
+/**
+ * A database-wide cache of compiled LIKE patterns and regular expressions.
+ * Patterns from parameters and other non-constant expressions are compiled
+ * only once while they stay in the cache.
+ */
+public final class PatternCache {
+
+    /**
+     * The kind of a cached case-sensitive LIKE pattern. Regular expressions
+     * use their non-negative flags as kind.
+     */
+    private static final int LIKE = -1;
+
+    /**
+     * The kind of a cached case-insensitive LIKE pattern.
+     */
+    private static final int ILIKE = -2;
+
+    private static final class Key {
+
+        private final int kind;
+
+        private final Character escapeChar;
+
+        private final String pattern;
+
+        Key(int kind, Character escapeChar, String pattern) {
+            this.kind = kind;
+            this.escapeChar = escapeChar;
+            this.pattern = pattern;
+        }
+
+        @Override
+        public int hashCode() {
+            return (pattern.hashCode() * 31 + kind) * 31 + Objects.hashCode(escapeChar);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return kind == other.kind && pattern.equals(other.pattern)
+                    && Objects.equals(escapeChar, other.escapeChar);
+        }
+
+    }
+
+    private final SmallLRUCache<Key, Object> cache;
+
+    private long hits, misses;
+
+    /**
+     * Creates new instance of a pattern cache.
+     *
+     * @param size
+     *            the maximum number of cached patterns
+     */
+    public PatternCache(int size) {
+        cache = SmallLRUCache.newInstance(size);
+    }
+
+    /**
+     * Compiles a regular expression or returns a cached one.
+     *
+     * @param patternCache
+     *            the pattern cache, or {@code null}
+     * @param regexp
+     *            the regular expression
+     * @param flags
+     *            the flags
+     * @return the compiled regular expression
+     * @throws DbException
+     *             on invalid regular expression
+     */
+    public static Pattern getRegexp(PatternCache patternCache, String regexp, int flags) {
+        if (patternCache == null) {
+            return compileRegexp(regexp, flags);
+        }
+        Key key = new Key(flags, null, regexp);
+        Object pattern = patternCache.get(key);
+        if (pattern == null) {
+            patternCache.put(key, pattern = compileRegexp(regexp, flags));
+        }
+        return (Pattern) pattern;
+    }
+
+    private static Pattern compileRegexp(String regexp, int flags) {
+        try {
+            return Pattern.compile(regexp, flags);
+        } catch (PatternSyntaxException e) {
+            throw DbException.get(ErrorCode.LIKE_ESCAPE_ERROR_1, e, regexp);
+        }
+    }
+
+    /**
+     * Compiles a LIKE pattern or returns a cached one.
+     *
+     * @param patternCache
+     *            the pattern cache, or {@code null}
+     * @param p
+     *            the pattern
+     * @param escapeChar
+     *            the escape character, or {@code null}
+     * @param compareMode
+     *            the compare mode of the database
+     * @param ignoreCase
+     *            whether the pattern is case-insensitive
+     * @return the compiled pattern
+     */
+    static LikePattern getLike(PatternCache patternCache, String p, Character escapeChar, CompareMode compareMode,
+            boolean ignoreCase) {
+        if (patternCache == null) {
+            return new LikePattern(p, escapeChar, compareMode, ignoreCase);
+        }
+        Key key = new Key(ignoreCase ? ILIKE : LIKE, escapeChar, p);
+        Object pattern = patternCache.get(key);
+        if (!(pattern instanceof LikePattern) || !((LikePattern) pattern).hasCompareMode(compareMode)) {
+            patternCache.put(key, pattern = new LikePattern(p, escapeChar, compareMode, ignoreCase));
+        }
+        return (LikePattern) pattern;
+    }
+
+    private synchronized Object get(Key key) {
+        Object pattern = cache.get(key);
+        if (pattern != null) {
+            hits++;
+        } else {
+            misses++;
+        }
+        return pattern;
+    }
+
+    private synchronized void put(Key key, Object pattern) {
+        cache.put(key, pattern);
+    }
+
+    /**
+     * Populates the information about this cache.
+     *
+     * @param consumer
+     *            the consumer of names and values of settings
+     */
+    public synchronized void populateInfo(BiConsumer<String, String> consumer) {
+        consumer.accept("info.PATTERN_CACHE_ENTRIES", Integer.toString(cache.size()));
+        consumer.accept("info.PATTERN_CACHE_HITS", Long.toString(hits));
+        consumer.accept("info.PATTERN_CACHE_MISSES", Long.toString(misses));
+    }
+
+}
@@ -23,10 +23,32 @@ abstract class PredicateWithSubquery extends Condition {
      */
     final Query query;
 
+    /**
+     * The hash semi-join with the decorrelated subquery, or {@code null}.
+     */
+    SemiJoin semiJoin;
+
+    private boolean semiJoinChecked;
+
     PredicateWithSubquery(Query query) {
         this.query = query;
     }
 
+    /**
+     * Tries to decorrelate the subquery for a hash semi-join or anti-join with
+     * the outer query. Must be invoked before the subquery is prepared.
+     *
+     * @param session the session
+     * @param left the optimized left operand of IN predicate, or {@code null}
+     * @param anti whether the predicate is negated
+     */
+    final void initSemiJoin(SessionLocal session, Expression left, boolean anti) {
+        if (!semiJoinChecked) {
+            semiJoinChecked = true;
+            semiJoin = SemiJoin.get(session, query, left, anti);
+        }
+    }
+
     @Override
     public void mapColumns(ColumnResolver resolver, int level, int state) {
         query.mapColumns(resolver, level + 1, true);
@@ -45,7 +67,11 @@ public void setEvaluatable(TableFilter tableFilter, boolean value) {
 
     @Override
     public StringBuilder getUnenclosedSQL(StringBuilder builder, int sqlFlags) {
-        return StringUtils.indent(builder.append('('), query.getPlanSQL(sqlFlags), 4, false).append(')');
+        StringUtils.indent(builder.append('('), query.getPlanSQL(sqlFlags), 4, false).append(')');
+        if (semiJoin != null && (sqlFlags & ADD_PLAN_INFORMATION) != 0) {
+            semiJoin.getPlanSQL(builder);
+        }
+        return builder;
     }
 
     @Override
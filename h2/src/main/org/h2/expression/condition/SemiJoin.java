@@ -0,0 +1,376 @@
+/*
+ * Copyright 2004-2025 H2 Group. Multiple-Licensed under the MPL 2.0,
+ * and the EPL 1.0 (https://h2database.com/html/license.html).
+ * Initial Developer: H2 Group
+ */
+package org.h2.expression.condition;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.h2.command.Prepared;
+import org.h2.command.query.Query;
+import org.h2.command.query.Select;
+import org.h2.engine.SessionLocal;
+import org.h2.expression.Expression;
+import org.h2.expression.Parameter;
+import org.h2.message.DbException;
+import org.h2.result.ResultInterface;
+import org.h2.util.HasSQL;
+import org.h2.util.Utils;
+import org.h2.value.CompareMode;
+import org.h2.value.TypeInfo;
+import org.h2.value.Value;
+import org.h2.value.ValueBoolean;
+import org.h2.value.ValueNull;
+import org.h2.value.ValueRow;
+
+/**
+ * Hash semi-join or anti-join of rows of an outer query with rows of a
+ * correlated subquery. The subquery is rewritten without its equality
+ * conditions with the outer query and evaluated only once. Its rows are
+ * grouped by inner sides of these conditions into a hash table, and the
+ * predicate is evaluated for each outer row with a lookup of values of outer
+ * sides in this table.
+ *
+ * <p>
+ * The correlated subquery is still used for the first outer rows until its
+ * estimated total cost exceeds the cost of the decorrelated subquery, and
+ * when the hash table can't be built or reused.
+ * </p>
+ */
+final class SemiJoin {
+
+    /**
+     * Tries to decorrelate the specified subquery. The subquery must not be
+     * prepared yet.
+     *
+     * @param session
+     *            the session
+     * @param query
+     *            the correlated subquery
+     * @param left
+     *            the optimized left operand of IN predicate, or {@code null}
+     *            for EXISTS predicate
+     * @param anti
+     *            whether this is an anti-join
+     * @return the semi-join, or {@code null} if the subquery can't be
+     *         decorrelated
+     */
+    static SemiJoin get(SessionLocal session, Query query, Expression left, boolean anti) {
+        if (!(query instanceof Select) || session.isParsingCreateView()) {
+            return null;
+        }
+        ArrayList<Expression> conditions = Utils.newSmallArrayList(), outerKeys = Utils.newSmallArrayList();
+        String sql = ((Select) query).getDecorrelatedSQL(left != null, conditions, outerKeys);
+        if (sql == null) {
+            return null;
+        }
+        Query decorrelated;
+        try {
+            Prepared p = session.prepare(sql, true, true, query.getOuterQueryScope());
+            if (!(p instanceof Query)) {
+                return null;
+            }
+            decorrelated = (Query) p;
+        } catch (DbException e) {
+            // the subquery references outer queries in other places
+            return null;
+        }
+        ArrayList<Parameter> innerParameters = decorrelated.getParameters();
+        ArrayList<Parameter> parameters = Utils.newSmallArrayList(), outerParameters = Utils.newSmallArrayList();
+        if (innerParameters != null) {
+            for (Parameter p : innerParameters) {
+                if (p != null) {
+                    Parameter outer = findParameter(query.getParameters(), p.getIndex());
+                    if (outer == null) {
+                        return null;
+                    }
+                    parameters.add(p);
+                    outerParameters.add(outer);
+                }
+            }
+        }
+        ArrayList<Expression> innerExpressions = decorrelated.getExpressions();
+        int offset = left != null ? 1 : 0, keyCount = outerKeys.size();
+        TypeInfo[] types = new TypeInfo[offset + keyCount];
+        boolean hash = true;
+        for (int i = 0; i < types.length; i++) {
+            Expression outer;
+            if (i < offset) {
+                outer = left;
+            } else {
+                outer = outerKeys.get(i - offset).optimize(session);
+                outerKeys.set(i - offset, outer);
+            }
+            TypeInfo outerType = outer.getType(), innerType = innerExpressions.get(i).getType();
+            int outerValueType = outerType.getValueType(), innerValueType = innerType.getValueType();
+            if (isInteger(outerValueType) && isInteger(innerValueType)) {
+                if (outerValueType != innerValueType) {
+                    types[i] = TypeInfo.TYPE_BIGINT;
+                }
+            } else if (outerValueType != innerValueType || outerValueType == Value.NULL
+                    || outerValueType == Value.ROW) {
+                return null;
+            }
+            hash &= isHashable(session, outerValueType);
+        }
+        return new SemiJoin(decorrelated, parameters.toArray(new Parameter[0]),
+                outerParameters.toArray(new Parameter[0]), conditions.toArray(new Expression[0]),
+                outerKeys.toArray(new Expression[0]), types, left != null, hash, anti);
+    }
+
+    private static Parameter findParameter(ArrayList<Parameter> parameters, int index) {
+        if (parameters != null) {
+            for (Parameter p : parameters) {
+                if (p != null && p.getIndex() == index) {
+                    return p;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static boolean isInteger(int valueType) {
+        return valueType >= Value.TINYINT && valueType <= Value.BIGINT;
+    }
+
+    /**
+     * Checks whether equal values of the specified data type are also equal
+     * by {@link Object#equals(Object)} and have the same hash codes.
+     */
+    private static boolean isHashable(SessionLocal session, int valueType) {
+        switch (valueType) {
+        case Value.BOOLEAN:
+        case Value.TINYINT:
+        case Value.SMALLINT:
+        case Value.INTEGER:
+        case Value.BIGINT:
+        case Value.DATE:
+        case Value.TIME:
+        case Value.TIMESTAMP:
+        case Value.VARBINARY:
+        case Value.UUID:
+            return true;
+        case Value.VARCHAR:
+            return CompareMode.OFF.equals(session.getDatabase().getCompareMode().getName());
+        default:
+            return false;
+        }
+    }
+
+    private final Query query;
+
+    private final Parameter[] parameters;
+
+    private final Parameter[] outerParameters;
+
+    private final Expression[] conditions;
+
+    private final Expression[] outerKeys;
+
+    /**
+     * Types to convert values of the left operand and keys to, {@code null}
+     * elements mean that values don't need a conversion.
+     */
+    private final TypeInfo[] types;
+
+    private final boolean withValue;
+
+    private final boolean hash;
+
+    private final boolean anti;
+
+    private boolean disabled;
+
+    private long probes;
+
+    private SessionLocal tableSession;
+
+    private long evaluated;
+
+    private Value[] parameterValues;
+
+    /**
+     * Keys of groups of rows mapped to whether a group has a NULL value in
+     * the first column.
+     */
+    private Map<Value, Boolean> groups;
+
+    /**
+     * Distinct non-NULL values in the first column of rows with their keys.
+     */
+    private Set<Value> values;
+
+    private SemiJoin(Query query, Parameter[] parameters, Parameter[] outerParameters, Expression[] conditions,
+            Expression[] outerKeys, TypeInfo[] types, boolean withValue, boolean hash, boolean anti) {
+        this.query = query;
+        this.parameters = parameters;
+        this.outerParameters = outerParameters;
+        this.conditions = conditions;
+        this.outerKeys = outerKeys;
+        this.types = types;
+        this.withValue = withValue;
+        this.hash = hash;
+        this.anti = anti;
+    }
+
+    /**
+     * Evaluates IN predicate (ignoring its NOT) or EXISTS predicate for the
+     * current row of the outer query.
+     *
+     * @param session
+     *            the session
+     * @param correlated
+     *            the original correlated subquery
+     * @param left
+     *            the value of the left operand of IN predicate, or
+     *            {@code null}
+     * @return the result, or {@code null} if the correlated subquery needs to
+     *         be evaluated instead
+     */
+    Value getValue(SessionLocal session, Query correlated, Value left) {
+        if (disabled) {
+            return null;
+        }
+        int parameterCount = parameters.length;
+        Value[] params = parameterCount > 0 ? new Value[parameterCount] : Value.EMPTY_VALUES;
+        for (int i = 0; i < parameterCount; i++) {
+            params[i] = outerParameters[i].getParamValue();
+        }
+        long now = session.getStatementModificationDataId(), maxDataModificationId = query.getMaxDataModificationId();
+        if (groups == null || tableSession != session || maxDataModificationId > evaluated
+                || !sameParameters(params)) {
+            if (groups != null) {
+                groups = null;
+                values = null;
+                probes = 0L;
+            }
+            if (maxDataModificationId > now || ++probes * correlated.getCost() <= query.getCost()) {
+                return null;
+            }
+            build(session, params, now);
+            if (groups == null) {
+                return null;
+            }
+        }
+        int offset = withValue ? 1 : 0;
+        Value key = getKey(session, outerKeys, offset);
+        Boolean hasNull;
+        if (key == null || (hasNull = groups.get(key)) == null) {
+            return ValueBoolean.FALSE;
+        }
+        if (!withValue) {
+            return ValueBoolean.TRUE;
+        }
+        if (left == ValueNull.INSTANCE) {
+            return ValueNull.INSTANCE;
+        }
+        if (values.contains(ValueRow.get(new Value[] { key, convert(session, left, 0) }))) {
+            return ValueBoolean.TRUE;
+        }
+        return hasNull ? ValueNull.INSTANCE : ValueBoolean.FALSE;
+    }
+
+    private boolean sameParameters(Value[] params) {
+        for (int i = 0; i < params.length; i++) {
+            if (!params[i].equals(parameterValues[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void build(SessionLocal session, Value[] params, long now) {
+        for (int i = 0; i < params.length; i++) {
+            parameters[i].setValue(params[i]);
+        }
+        Map<Value, Boolean> groups = hash ? new HashMap<>() : new TreeMap<>(session);
+        Set<Value> values = withValue ? hash ? new HashSet<>() : new TreeSet<>(session) : null;
+        int maxRows = session.getDatabase().getMaxMemoryRows(), rowCount = 0, offset = withValue ? 1 : 0;
+        query.setSession(session);
+        try (ResultInterface rows = query.query(0)) {
+            while (rows.next()) {
+                if (++rowCount > maxRows) {
+                    // too large for a hash table in memory
+                    disabled = true;
+                    return;
+                }
+                Value[] row = rows.currentRow();
+                Value key = getKey(session, row, offset);
+                if (key == null) {
+                    continue;
+                }
+                if (withValue) {
+                    Value v = row[0];
+                    if (v == ValueNull.INSTANCE) {
+                        groups.put(key, Boolean.TRUE);
+                        continue;
+                    }
+                    values.add(ValueRow.get(new Value[] { key, convert(session, v, 0) }));
+                }
+                groups.putIfAbsent(key, Boolean.FALSE);
+            }
+        }
+        this.groups = groups;
+        this.values = values;
+        tableSession = session;
+        evaluated = now;
+        parameterValues = params;
+    }
+
+    private Value getKey(SessionLocal session, Expression[] expressions, int offset) {
+        int count = expressions.length;
+        Value[] key = new Value[count];
+        for (int i = 0; i < count; i++) {
+            Value v = expressions[i].getValue(session);
+            if (v == ValueNull.INSTANCE) {
+                return null;
+            }
+            key[i] = convert(session, v, offset + i);
+        }
+        return count == 1 ? key[0] : ValueRow.get(key);
+    }
+
+    private Value getKey(SessionLocal session, Value[] row, int offset) {
+        int count = outerKeys.length;
+        Value[] key = new Value[count];
+        for (int i = 0; i < count; i++) {
+            Value v = row[offset + i];
+            if (v == ValueNull.INSTANCE) {
+                return null;
+            }
+            key[i] = convert(session, v, offset + i);
+        }
+        return count == 1 ? key[0] : ValueRow.get(key);
+    }
+
+    private Value convert(SessionLocal session, Value v, int index) {
+        TypeInfo type = types[index];
+        return type != null ? v.convertTo(type, session) : v;
+    }
+
+    /**
+     * Appends the plan of this join to the specified builder.
+     *
+     * @param builder
+     *            the string builder
+     * @return the specified string builder
+     */
+    StringBuilder getPlanSQL(StringBuilder builder) {
+        builder.append(anti ? " /* hash anti join: " : " /* hash semi join: ");
+        for (int i = 0; i < conditions.length; i++) {
+            if (i > 0) {
+                builder.append(" AND ");
+            }
+            conditions[i].getUnenclosedSQL(builder, HasSQL.TRACE_SQL_FLAGS);
+        }
+        return builder.append(" */");
+    }
+
+}
@@ -38,6 +38,15 @@ public abstract class SimplePredicate extends Condition {
         this.whenOperand = whenOperand;
     }
 
+    /**
+     * Returns whether it is a "not" condition (e.g. "is not null").
+     *
+     * @return whether it is a "not" condition
+     */
+    public final boolean isNot() {
+        return not;
+    }
+
     @Override
     public Expression optimize(SessionLocal session) {
         left = left.optimize(session);
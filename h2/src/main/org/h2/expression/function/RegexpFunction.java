@@ -7,7 +7,6 @@
 
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.regex.PatternSyntaxException;
 
 import org.h2.api.ErrorCode;
 import org.h2.engine.Mode;
@@ -15,6 +14,7 @@
 import org.h2.engine.SessionLocal;
 import org.h2.expression.Expression;
 import org.h2.expression.TypedValueExpression;
+import org.h2.expression.condition.PatternCache;
 import org.h2.message.DbException;
 import org.h2.value.TypeInfo;
 import org.h2.value.Value;
@@ -67,11 +67,7 @@ public Value getValue(SessionLocal session) {
             String regexp = v2.getString();
             String regexpMode = v3 != null ? v3.getString() : null;
             int flags = makeRegexpFlags(regexpMode, false);
-            try {
-                v1 = ValueBoolean.get(Pattern.compile(regexp, flags).matcher(v1.getString()).find());
-            } catch (PatternSyntaxException e) {
-                throw DbException.get(ErrorCode.LIKE_ESCAPE_ERROR_1, e, regexp);
-            }
+            v1 = ValueBoolean.get(getPattern(session, regexp, flags).matcher(v1.getString()).find());
             break;
         }
         case REGEXP_REPLACE: {
@@ -142,8 +138,9 @@ private static Value regexpReplace(SessionLocal session, String input, String re
         if (isInPostgreSqlMode && (regexpMode == null || regexpMode.isEmpty() || !regexpMode.contains("g"))) {
             occurrence = 1;
         }
+        Pattern pattern = getPattern(session, regexp, flags);
         try {
-            Matcher matcher = Pattern.compile(regexp, flags).matcher(input).region(position - 1, input.length());
+            Matcher matcher = pattern.matcher(input).region(position - 1, input.length());
             if (occurrence == 0) {
                 return ValueVarchar.get(matcher.replaceAll(replacement), session);
             } else {
@@ -159,8 +156,6 @@ private static Value regexpReplace(SessionLocal session, String input, String re
                 matcher.appendTail(sb);
                 return ValueVarchar.get(sb.toString(), session);
             }
-        } catch (PatternSyntaxException e) {
-            throw DbException.get(ErrorCode.LIKE_ESCAPE_ERROR_1, e, regexp);
         } catch (StringIndexOutOfBoundsException | IllegalArgumentException e) {
             throw DbException.get(ErrorCode.LIKE_ESCAPE_ERROR_1, e, replacement);
         }
@@ -179,8 +174,9 @@ private static Value regexpSubstr(Value inputString, Value regexpArg, Value posi
         String regexpMode = regexpModeArg != null ? regexpModeArg.getString() : null;
         int subexpression = subexpressionArg != null ? subexpressionArg.getInt() : 0;
         int flags = makeRegexpFlags(regexpMode, false);
+        Pattern pattern = getPattern(session, regexp, flags);
         try {
-            Matcher m = Pattern.compile(regexp, flags).matcher(inputString.getString());
+            Matcher m = pattern.matcher(inputString.getString());
 
             boolean found = m.find(position);
             for (int occurrence = 1; occurrence < requestedOccurrence && found; occurrence++) {
@@ -192,13 +188,15 @@ private static Value regexpSubstr(Value inputString, Value regexpArg, Value posi
             } else {
                 return ValueVarchar.get(m.group(subexpression), session);
             }
-        } catch (PatternSyntaxException e) {
-            throw DbException.get(ErrorCode.LIKE_ESCAPE_ERROR_1, e, regexp);
         } catch (IndexOutOfBoundsException e) {
             return ValueNull.INSTANCE;
         }
     }
 
+    private static Pattern getPattern(SessionLocal session, String regexp, int flags) {
+        return PatternCache.getRegexp(session.getDatabase().getPatternCache(), regexp, flags);
+    }
+
     private static int makeRegexpFlags(String stringFlags, boolean ignoreGlobalFlag) {
         int flags = Pattern.UNICODE_CASE;
         if (stringFlags != null) {
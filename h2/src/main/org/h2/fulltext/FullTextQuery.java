@@ -0,0 +1,153 @@
+/*
+ * Copyright 2004-2025 H2 Group. Multiple-Licensed under the MPL 2.0,
+ * and the EPL 1.0 (https://h2database.com/html/license.html).
+ * Initial Developer: H2 Group
+ */
+package org.h2.fulltext;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import org.h2.util.StringUtils;
+
+/**
+ * A parsed query of the built-in full text index and of the
+ * {@code MATCH(column) AGAINST(query)} predicate.
+ *
+ * A query is a list of clauses, all of them are required. A clause is either a
+ * single word or a phrase in double quotes; words of a phrase must appear in
+ * the text one after another.
+ */
+public final class FullTextQuery {
+
+    private final String[][] clauses;
+
+    private final String[] words;
+
+    private FullTextQuery(String[][] clauses) {
+        this.clauses = clauses;
+        LinkedHashSet<String> set = new LinkedHashSet<>();
+        for (String[] clause : clauses) {
+            for (String word : clause) {
+                set.add(word);
+            }
+        }
+        words = set.toArray(new String[0]);
+    }
+
+    /**
+     * Parse the query.
+     *
+     * @param query the query
+     * @return the parsed query
+     */
+    public static FullTextQuery parse(String query) {
+        ArrayList<String[]> clauses = new ArrayList<>();
+        for (int i = 0, l = query.length(); i < l;) {
+            char c = query.charAt(i);
+            if (c == '"') {
+                int end = query.indexOf('"', i + 1);
+                if (end < 0) {
+                    end = l;
+                }
+                ArrayList<String> phrase = tokenize(query.substring(i + 1, end));
+                if (!phrase.isEmpty()) {
+                    clauses.add(phrase.toArray(new String[0]));
+                }
+                i = end + 1;
+            } else if (Character.isLetterOrDigit(c)) {
+                int start = i;
+                while (++i < l && Character.isLetterOrDigit(query.charAt(i))) {
+                    // skip
+                }
+                clauses.add(new String[] { StringUtils.toUpperEnglish(query.substring(start, i)) });
+            } else {
+                i++;
+            }
+        }
+        return new FullTextQuery(clauses.toArray(new String[0][]));
+    }
+
+    /**
+     * Split the text into words. Words are sequences of letters and digits,
+     * they are converted to upper case.
+     *
+     * @param text the text
+     * @return the words in order of their appearance
+     */
+    public static ArrayList<String> tokenize(String text) {
+        ArrayList<String> list = new ArrayList<>();
+        for (int i = 0, l = text.length(); i < l;) {
+            if (Character.isLetterOrDigit(text.charAt(i))) {
+                int start = i;
+                while (++i < l && Character.isLetterOrDigit(text.charAt(i))) {
+                    // skip
+                }
+                list.add(StringUtils.toUpperEnglish(text.substring(start, i)));
+            } else {
+                i++;
+            }
+        }
+        return list;
+    }
+
+    /**
+     * Returns whether this query has no words and therefore matches nothing.
+     *
+     * @return whether this query is empty
+     */
+    public boolean isEmpty() {
+        return clauses.length == 0;
+    }
+
+    /**
+     * Returns the clauses of this query. Each clause is a word or a phrase.
+     *
+     * @return the clauses
+     */
+    public String[][] getClauses() {
+        return clauses;
+    }
+
+    /**
+     * Returns the distinct words of this query.
+     *
+     * @return the distinct words
+     */
+    public String[] getWords() {
+        return words;
+    }
+
+    /**
+     * Check whether the text matches all clauses of this query.
+     *
+     * @param text the words of the text, as returned by {@link #tokenize(String)}
+     * @return whether the text matches
+     */
+    public boolean matches(List<String> text) {
+        if (clauses.length == 0) {
+            return false;
+        }
+        for (String[] clause : clauses) {
+            if (!contains(text, clause)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean contains(List<String> text, String[] phrase) {
+        int length = phrase.length;
+        loop: for (int i = 0, l = text.size() - length; i <= l; i++) {
+            for (int j = 0; j < length; j++) {
+                if (!text.get(i + j).equals(phrase[j])) {
+                    continue loop;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+}
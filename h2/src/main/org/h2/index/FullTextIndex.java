@@ -0,0 +1,28 @@
+/*
+ * Copyright 2004-2025 H2 Group. Multiple-Licensed under the MPL 2.0,
+ * and the EPL 1.0 (https://h2database.com/html/license.html).
+ * Initial Developer: H2 Group
+ */
+package org.h2.index;
+
+import org.h2.engine.SessionLocal;
+import org.h2.fulltext.FullTextQuery;
+
+/**
+ * A full text index. Full text indexes are used to speed up the
+ * {@code MATCH(column) AGAINST(query)} predicate.
+ */
+public interface FullTextIndex {
+
+    /**
+     * Create a cursor to iterate over the rows which indexed text matches the
+     * specified query. Rows are returned in descending order of their
+     * relevance.
+     *
+     * @param session the session
+     * @param query the query
+     * @return the cursor to iterate over the results
+     */
+    Cursor findByText(SessionLocal session, FullTextQuery query);
+
+}
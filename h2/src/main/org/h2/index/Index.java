@@ -157,7 +157,12 @@ public String getCreateSQLForCopy(Table targetTable, String quotedName) {
             builder.append(" COMMENT ");
             StringUtils.quoteStringSQL(builder, comment);
         }
-        return getColumnListSQL(builder, DEFAULT_SQL_FLAGS).toString();
+        getColumnListSQL(builder, DEFAULT_SQL_FLAGS);
+        IndexPredicate predicate = indexType.getPredicate();
+        if (predicate != null) {
+            predicate.getExpression().getUnenclosedSQL(builder.append(" WHERE "), DEFAULT_SQL_FLAGS);
+        }
+        return builder.toString();
     }
 
 
@@ -170,9 +175,10 @@ public String getCreateSQLForCopy(Table targetTable, String quotedName) {
     private StringBuilder getColumnListSQL(StringBuilder builder, int sqlFlags) {
         builder.append('(');
         int length = indexColumns.length;
-        if (uniqueColumnColumn > 0 && uniqueColumnColumn < length) {
-            IndexColumn.writeColumns(builder, indexColumns, 0, uniqueColumnColumn, sqlFlags).append(") INCLUDE(");
-            IndexColumn.writeColumns(builder, indexColumns, uniqueColumnColumn, length, sqlFlags);
+        int keyColumnCount = uniqueColumnColumn > 0 ? uniqueColumnColumn : indexType.getKeyColumnCount();
+        if (keyColumnCount > 0 && keyColumnCount < length) {
+            IndexColumn.writeColumns(builder, indexColumns, 0, keyColumnCount, sqlFlags).append(") INCLUDE(");
+            IndexColumn.writeColumns(builder, indexColumns, keyColumnCount, length, sqlFlags);
         } else {
             IndexColumn.writeColumns(builder, indexColumns, 0, length, sqlFlags);
         }
@@ -315,6 +321,49 @@ public Cursor findNext(SessionLocal session, SearchRow higherThan, SearchRow las
         throw DbException.getInternalError(toString());
     }
 
+    /**
+     * Check if the index can search rows by seeking to each distinct value of
+     * its first column when there are no conditions on the first column, but
+     * there are conditions on the second one (skip scan).
+     *
+     * @return true if it can
+     */
+    public boolean canSkipScan() {
+        return false;
+    }
+
+    /**
+     * Find rows with skip scan and create a cursor to iterate over the result.
+     * The values of the first column of the index in the search rows are
+     * ignored. Rows are returned in the order of the index.
+     *
+     * @param session the session
+     * @param first the first row, or null for no limit
+     * @param last the last row, or null for no limit
+     * @param reverse if true, iterate in reverse (descending) order
+     * @return the cursor
+     */
+    public Cursor findSkipScan(SessionLocal session, SearchRow first, SearchRow last, boolean reverse) {
+        throw DbException.getInternalError(toString());
+    }
+
+    /**
+     * Check whether skip scan is expected to be cheaper than a scan of the
+     * whole index for the specified search masks.
+     *
+     * @param session the session
+     * @param masks the IndexCondition search masks, one for each column in the
+     *            table
+     * @return true if skip scan should be used
+     */
+    public final boolean isSkipScanUseful(SessionLocal session, int[] masks) {
+        if (masks == null || !canSkipScan()) {
+            return false;
+        }
+        long rowCount = getRowCountApproximation(session) + Constants.COST_ROW_OFFSET;
+        return getSkipScanRowsCost(masks, rowCount) < rowCount + columns.length;
+    }
+
     /**
      * Find the first (or last) value of this index. The cursor returned is
      * positioned on the correct row, or on null if no row has been found.
@@ -632,6 +681,10 @@ protected final long getCostRangeIndex(int[] masks, long rowCount, TableFilter[]
             }
             // Increase cost of indexes with additional unused columns
             rowsCost += len - i;
+            if (i == 0) {
+                // The first column is not used, but skip scan may be possible
+                rowsCost = Math.min(rowsCost, getSkipScanRowsCost(masks, rowCount));
+            }
         }
         // If the ORDER BY clause matches the ordering of this index,
         // it will be cheaper than another index, so adjust the cost
@@ -750,6 +803,39 @@ protected final long getCostRangeIndex(int[] masks, long rowCount, TableFilter[]
         return rc;
     }
 
+    /**
+     * Estimate the cost of skip scan. The number of distinct values of the
+     * first column is estimated from its selectivity, as computed by ANALYZE.
+     *
+     * @param masks the IndexCondition search masks, one for each column in the
+     *            table
+     * @param rowCount the number of rows in the index
+     * @return the estimated cost, or {@link Long#MAX_VALUE} if skip scan can't
+     *         be used
+     */
+    private long getSkipScanRowsCost(int[] masks, long rowCount) {
+        if (!canSkipScan() || columns.length < 2 || masks[columns[0].getColumnId()] != 0) {
+            return Long.MAX_VALUE;
+        }
+        long prefixCount = Math.max(rowCount * columns[0].getSelectivity() / 100, 1);
+        long rows = Math.max(rowCount / prefixCount, 1);
+        Column column = columns[1];
+        int mask = masks[column.getColumnId()];
+        if ((mask & IndexCondition.EQUALITY) == IndexCondition.EQUALITY) {
+            long distinctRows = Math.max(rows * column.getSelectivity() / 100, 1);
+            rows = Math.max(rows / distinctRows, 1);
+        } else if ((mask & IndexCondition.RANGE) == IndexCondition.RANGE) {
+            rows /= 4;
+        } else if ((mask & IndexCondition.START) == IndexCondition.START
+                || (mask & IndexCondition.END) == IndexCondition.END) {
+            rows /= 3;
+        } else {
+            return Long.MAX_VALUE;
+        }
+        // Each distinct value of the first column needs an additional lookup
+        return prefixCount * (4 + rows);
+    }
+
 
     /**
      * Check if this row needs to be checked for duplicates.
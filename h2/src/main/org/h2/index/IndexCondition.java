@@ -19,6 +19,7 @@
 import org.h2.expression.ExpressionList;
 import org.h2.expression.ExpressionVisitor;
 import org.h2.expression.ValueExpression;
+import org.h2.expression.condition.CompareLike;
 import org.h2.expression.condition.Comparison;
 import org.h2.message.DbException;
 import org.h2.result.ResultInterface;
@@ -71,6 +72,11 @@ public class IndexCondition {
      */
     public static final int SPATIAL_INTERSECTS = 16;
 
+    /**
+     * A bit of a search mask meaning 'full text match'.
+     */
+    public static final int FULLTEXT_MATCH = 32;
+
     private final Column column;
     private final Column[] columns;
     private final boolean compoundColumns;
@@ -271,6 +277,12 @@ private StringBuilder buildSql(int sqlFlags, StringBuilder builder) {
     }
 
     private StringBuilder buildSql(int sqlFlags, Column column, StringBuilder builder) {
+        if (compareType == Comparison.FULLTEXT_MATCH) {
+            column.getSQL(builder.append("MATCH("), sqlFlags).append(") AGAINST(");
+            return expression.getUnenclosedSQL(builder, sqlFlags).append(')');
+        } else if (compareType == Comparison.LIKE_PREFIX) {
+            return expression.getWhenSQL(column.getSQL(builder, sqlFlags), sqlFlags);
+        }
         column.getSQL(builder, sqlFlags);
         switch (compareType) {
         case Comparison.EQUAL:
@@ -360,8 +372,12 @@ else if (TableType.TABLE != getColumn().getTable().getTableType()) {
         case Comparison.SMALLER_EQUAL:
         case Comparison.SMALLER:
             return END;
+        case Comparison.LIKE_PREFIX:
+            return RANGE;
         case Comparison.SPATIAL_INTERSECTS:
             return SPATIAL_INTERSECTS;
+        case Comparison.FULLTEXT_MATCH:
+            return FULLTEXT_MATCH;
         default:
             throw DbException.getInternalError("type=" + compareType);
         }
@@ -427,6 +443,15 @@ public boolean isSpatialIntersects() {
         }
     }
 
+    /**
+     * Check if this index condition is of the type full text match.
+     *
+     * @return true if this is a full text match condition
+     */
+    public boolean isFullTextMatch() {
+        return compareType == Comparison.FULLTEXT_MATCH;
+    }
+
     public int getCompareType() {
         return compareType;
     }
@@ -499,6 +524,9 @@ public Query getExpressionQuery() {
      * @return true if it can be evaluated
      */
     public boolean isEvaluatable() {
+        if (compareType == Comparison.LIKE_PREFIX) {
+            return ((CompareLike) expression).isPatternEvaluatable();
+        }
         if (expression != null) {
             return expression
                     .isEverything(ExpressionVisitor.EVALUATABLE_VISITOR);
@@ -624,8 +652,15 @@ private static StringBuilder compareTypeToString(StringBuilder builder, int i) {
             if (f) {
                 builder.append(", ");
             }
+            f = true;
             builder.append("SPATIAL_INTERSECTS");
         }
+        if ((i & FULLTEXT_MATCH) == FULLTEXT_MATCH) {
+            if (f) {
+                builder.append(", ");
+            }
+            builder.append("FULLTEXT_MATCH");
+        }
         return builder;
     }
 
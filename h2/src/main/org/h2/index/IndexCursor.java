@@ -8,7 +8,10 @@
 import java.util.ArrayList;
 
 import org.h2.engine.SessionLocal;
+import org.h2.expression.Expression;
+import org.h2.expression.condition.CompareLike;
 import org.h2.expression.condition.Comparison;
+import org.h2.fulltext.FullTextQuery;
 import org.h2.message.DbException;
 import org.h2.result.ResultInterface;
 import org.h2.result.Row;
@@ -49,6 +52,12 @@ public class IndexCursor implements Cursor {
     private int inListIndex;
     private Value[] inList;
     private ResultInterface inResult;
+    private FullTextQuery fullTextQuery;
+    private Column nearestColumn;
+    private Expression nearestPoint;
+    private boolean nearestNullsFirst;
+    private boolean skipScan;
+    private IndexMerge indexMerge;
 
     public IndexCursor() {
     }
@@ -57,6 +66,10 @@ public void setIndex(Index index, boolean reverse) {
         this.index = index;
         this.reverse = reverse;
         this.table = index.getTable();
+        nearestColumn = null;
+        nearestPoint = null;
+        skipScan = false;
+        indexMerge = null;
         Column[] columns = table.getColumns();
         indexColumns = new IndexColumn[columns.length];
         IndexColumn[] idxCols = index.getIndexColumns();
@@ -70,6 +83,41 @@ public void setIndex(Index index, boolean reverse) {
         }
     }
 
+    /**
+     * Use the spatial index to return rows in ascending order of distance from
+     * the specified geometry.
+     *
+     * @param column the indexed geometry column
+     * @param point the expression with the geometry to measure the distance
+     *            from
+     * @param nullsFirst whether rows with NULL or empty geometries should be
+     *            returned first
+     */
+    public void setNearest(Column column, Expression point, boolean nullsFirst) {
+        nearestColumn = column;
+        nearestPoint = point;
+        nearestNullsFirst = nullsFirst;
+    }
+
+    /**
+     * Search rows with skip scan over distinct values of the first column of
+     * the index.
+     *
+     * @param skipScan whether skip scan should be used
+     */
+    public void setSkipScan(boolean skipScan) {
+        this.skipScan = skipScan;
+    }
+
+    /**
+     * Find rows with lookups in several indexes instead of the current index.
+     *
+     * @param indexMerge the plan of lookups, or {@code null}
+     */
+    public void setIndexMerge(IndexMerge indexMerge) {
+        this.indexMerge = indexMerge;
+    }
+
     /**
      * Prepare this index cursor to make a lookup in index.
      *
@@ -84,6 +132,7 @@ public void prepare(SessionLocal s, ArrayList<IndexCondition> indexConditions) {
         inColumn = null;
         inResult = null;
         intersects = null;
+        fullTextQuery = null;
         for (IndexCondition condition : indexConditions) {
             if (condition.isAlwaysFalse()) {
                 alwaysFalse = true;
@@ -129,22 +178,58 @@ public void prepare(SessionLocal s, ArrayList<IndexCondition> indexConditions) {
                     }
                 }
                 break;
+            case Comparison.FULLTEXT_MATCH:
+                if (fullTextQuery == null && index instanceof FullTextIndex && canUseIndexFor(column)) {
+                    Value v = condition.getCurrentValue(s);
+                    if (v == ValueNull.INSTANCE) {
+                        alwaysFalse = true;
+                    } else {
+                        fullTextQuery = FullTextQuery.parse(v.getString());
+                        if (fullTextQuery.isEmpty()) {
+                            alwaysFalse = true;
+                        }
+                    }
+                }
+                break;
+            case Comparison.LIKE_PREFIX: {
+                Value[] range = ((CompareLike) condition.getExpression()).getPrefixRange(s);
+                if (range == null) {
+                    alwaysFalse = true;
+                } else if (range[0] != null) {
+                    int columnId = column.getColumnId();
+                    Value from = range[0], to = range[1];
+                    if (isDescending(columnId)) {
+                        Value temp = from;
+                        from = to;
+                        to = temp;
+                    }
+                    if (from != null) {
+                        start = getSearchRow(start, columnId, from, true);
+                    }
+                    if (to != null) {
+                        end = getSearchRow(end, columnId, to, false);
+                    }
+                    if (!canUseIndexFor((Column) inColumn)) {
+                        inColumn = null;
+                        inList = null;
+                        inResult = null;
+                    }
+                }
+                break;
+            }
             default:
                 Value v = condition.getCurrentValue(s);
                 boolean isStart = condition.isStart();
                 boolean isEnd = condition.isEnd();
                 boolean isIntersects = condition.isSpatialIntersects();
                 int columnId = column.getColumnId();
-                if (columnId != SearchRow.ROWID_INDEX) {
-                    IndexColumn idxCol = indexColumns[columnId];
-                    if (idxCol != null && (idxCol.sortType & SortOrder.DESCENDING) != 0) {
-                        // if the index column is sorted the other way, we swap
-                        // end and start NULLS_FIRST / NULLS_LAST is not a
-                        // problem, as nulls never match anyway
-                        boolean temp = isStart;
-                        isStart = isEnd;
-                        isEnd = temp;
-                    }
+                if (isDescending(columnId)) {
+                    // if the index column is sorted the other way, we swap
+                    // end and start NULLS_FIRST / NULLS_LAST is not a
+                    // problem, as nulls never match anyway
+                    boolean temp = isStart;
+                    isStart = isEnd;
+                    isEnd = temp;
                 }
                 if (isStart) {
                     start = getSearchRow(start, columnId, v, true);
@@ -170,6 +255,14 @@ public void prepare(SessionLocal s, ArrayList<IndexCondition> indexConditions) {
         }
     }
 
+    private boolean isDescending(int columnId) {
+        if (columnId != SearchRow.ROWID_INDEX) {
+            IndexColumn idxCol = indexColumns[columnId];
+            return idxCol != null && (idxCol.sortType & SortOrder.DESCENDING) != 0;
+        }
+        return false;
+    }
+
     private int[] buildSortTypes(Column[] columns) {
         IndexColumn[] idxColumns = index.getIndexColumns();
         int l = Math.max(idxColumns.length, columns.length);
@@ -189,6 +282,15 @@ private int[] buildSortTypes(Column[] columns) {
      */
     public void find(SessionLocal s, ArrayList<IndexCondition> indexConditions) {
         prepare(s, indexConditions);
+        if (indexMerge != null) {
+            inColumn = null;
+            inList = null;
+            inResult = null;
+            if (!alwaysFalse) {
+                cursor = indexMerge.find(session, table);
+            }
+            return;
+        }
         if (inColumn != null) {
             return;
         }
@@ -201,8 +303,16 @@ public void find(SessionLocal s, ArrayList<IndexCondition> indexConditions) {
                 first = start;
                 last = end;
             }
-            if (intersects != null && index instanceof SpatialIndex) {
+            if (nearestPoint != null && index instanceof NearestNeighborIndex) {
+                SearchRow point = table.getTemplateRow();
+                point.setValue(nearestColumn.getColumnId(), nearestPoint.getValue(session));
+                cursor = ((NearestNeighborIndex) index).findNearest(session, point, intersects, nearestNullsFirst);
+            } else if (fullTextQuery != null) {
+                cursor = ((FullTextIndex) index).findByText(session, fullTextQuery);
+            } else if (intersects != null && index instanceof SpatialIndex) {
                 cursor = ((SpatialIndex) index).findByGeometry(session, first, last, reverse, intersects);
+            } else if (skipScan) {
+                cursor = index.findSkipScan(session, first, last, reverse);
             } else if (index != null) {
                 cursor = index.find(session, first, last, reverse);
             }
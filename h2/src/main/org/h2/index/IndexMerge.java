@@ -0,0 +1,283 @@
+/*
+ * Copyright 2004-2025 H2 Group. Multiple-Licensed under the MPL 2.0,
+ * and the EPL 1.0 (https://h2database.com/html/license.html).
+ * Initial Developer: H2 Group
+ */
+package org.h2.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.h2.engine.SessionLocal;
+import org.h2.message.DbException;
+import org.h2.result.Row;
+import org.h2.result.SearchRow;
+import org.h2.table.Table;
+import org.h2.util.HasSQL;
+
+/**
+ * A plan to find rows of a table with lookups in several indexes. Keys of
+ * rows found by each lookup are collected into sorted sets, these sets are
+ * united (for OR conditions) or intersected (for AND conditions), and rows
+ * are then read from the table in order of their keys.
+ */
+public abstract class IndexMerge {
+
+    private static final long[] EMPTY = new long[0];
+
+    /**
+     * Creates a lookup in the specified index.
+     *
+     * @param index the index
+     * @param conditions the index conditions
+     * @return the lookup
+     */
+    public static IndexMerge lookup(Index index, ArrayList<IndexCondition> conditions) {
+        return new Lookup(index, conditions);
+    }
+
+    /**
+     * Creates a union of keys found by the specified plans.
+     *
+     * @param plans the plans
+     * @return the union
+     */
+    public static IndexMerge union(IndexMerge... plans) {
+        return new Merge(plans, false);
+    }
+
+    /**
+     * Creates an intersection of keys found by the specified plans.
+     *
+     * @param plans the plans
+     * @return the intersection
+     */
+    public static IndexMerge intersection(IndexMerge... plans) {
+        return new Merge(plans, true);
+    }
+
+    IndexMerge() {
+    }
+
+    /**
+     * Create a cursor to iterate over rows found by this plan in order of
+     * their keys.
+     *
+     * @param session the session
+     * @param table the table
+     * @return the cursor
+     */
+    public final Cursor find(SessionLocal session, Table table) {
+        return new KeyCursor(session, table, findKeys(session));
+    }
+
+    /**
+     * Find sorted distinct keys of rows.
+     *
+     * @param session the session
+     * @return the sorted keys
+     */
+    abstract long[] findKeys(SessionLocal session);
+
+    /**
+     * Appends the plan to the specified builder.
+     *
+     * @param builder the string builder
+     * @return the specified string builder
+     */
+    public abstract StringBuilder getPlanSQL(StringBuilder builder);
+
+    /**
+     * Lookup in one index.
+     */
+    private static final class Lookup extends IndexMerge {
+
+        private final Index index;
+
+        private final ArrayList<IndexCondition> conditions;
+
+        Lookup(Index index, ArrayList<IndexCondition> conditions) {
+            this.index = index;
+            this.conditions = conditions;
+        }
+
+        @Override
+        long[] findKeys(SessionLocal session) {
+            IndexCursor cursor = new IndexCursor();
+            cursor.setIndex(index, false);
+            cursor.find(session, conditions);
+            if (cursor.isAlwaysFalse()) {
+                return EMPTY;
+            }
+            long[] keys = new long[16];
+            int size = 0;
+            while (cursor.next()) {
+                if (size == keys.length) {
+                    keys = Arrays.copyOf(keys, size << 1);
+                }
+                keys[size++] = cursor.getSearchRow().getKey();
+            }
+            Arrays.sort(keys, 0, size);
+            int count = 0;
+            for (int i = 0; i < size; i++) {
+                long key = keys[i];
+                if (count == 0 || keys[count - 1] != key) {
+                    keys[count++] = key;
+                }
+            }
+            return Arrays.copyOf(keys, count);
+        }
+
+        @Override
+        public StringBuilder getPlanSQL(StringBuilder builder) {
+            builder.append(index.getPlanSQL()).append(": ");
+            for (int i = 0, size = conditions.size(); i < size; i++) {
+                if (i > 0) {
+                    builder.append(" AND ");
+                }
+                builder.append(conditions.get(i).getSQL(HasSQL.TRACE_SQL_FLAGS | HasSQL.ADD_PLAN_INFORMATION));
+            }
+            return builder;
+        }
+
+    }
+
+    /**
+     * Union or intersection of keys.
+     */
+    private static final class Merge extends IndexMerge {
+
+        private final IndexMerge[] plans;
+
+        private final boolean intersection;
+
+        Merge(IndexMerge[] plans, boolean intersection) {
+            this.plans = plans;
+            this.intersection = intersection;
+        }
+
+        @Override
+        long[] findKeys(SessionLocal session) {
+            long[] keys = plans[0].findKeys(session);
+            for (int i = 1, l = plans.length; i < l; i++) {
+                if (intersection && keys.length == 0) {
+                    break;
+                }
+                long[] other = plans[i].findKeys(session);
+                keys = intersection ? intersect(keys, other) : unite(keys, other);
+            }
+            return keys;
+        }
+
+        private static long[] unite(long[] a, long[] b) {
+            int aLength = a.length, bLength = b.length;
+            long[] result = new long[aLength + bLength];
+            int i = 0, j = 0, count = 0;
+            while (i < aLength && j < bLength) {
+                long x = a[i], y = b[j];
+                if (x <= y) {
+                    result[count++] = x;
+                    i++;
+                    if (x == y) {
+                        j++;
+                    }
+                } else {
+                    result[count++] = y;
+                    j++;
+                }
+            }
+            while (i < aLength) {
+                result[count++] = a[i++];
+            }
+            while (j < bLength) {
+                result[count++] = b[j++];
+            }
+            return count == result.length ? result : Arrays.copyOf(result, count);
+        }
+
+        private static long[] intersect(long[] a, long[] b) {
+            int aLength = a.length, bLength = b.length;
+            long[] result = new long[Math.min(aLength, bLength)];
+            int i = 0, j = 0, count = 0;
+            while (i < aLength && j < bLength) {
+                long x = a[i], y = b[j];
+                if (x < y) {
+                    i++;
+                } else if (x > y) {
+                    j++;
+                } else {
+                    result[count++] = x;
+                    i++;
+                    j++;
+                }
+            }
+            return count == result.length ? result : Arrays.copyOf(result, count);
+        }
+
+        @Override
+        public StringBuilder getPlanSQL(StringBuilder builder) {
+            if (intersection) {
+                builder.append('(');
+            }
+            for (int i = 0, l = plans.length; i < l; i++) {
+                if (i > 0) {
+                    builder.append(intersection ? " AND " : "\n    OR ");
+                }
+                plans[i].getPlanSQL(builder);
+            }
+            if (intersection) {
+                builder.append(')');
+            }
+            return builder;
+        }
+
+    }
+
+    /**
+     * Cursor over rows with the specified keys.
+     */
+    private static final class KeyCursor implements Cursor {
+
+        private final SessionLocal session;
+
+        private final Table table;
+
+        private final long[] keys;
+
+        private int index = -1;
+
+        private Row row;
+
+        KeyCursor(SessionLocal session, Table table, long[] keys) {
+            this.session = session;
+            this.table = table;
+            this.keys = keys;
+        }
+
+        @Override
+        public Row get() {
+            if (row == null && index >= 0 && index < keys.length) {
+                row = table.getRow(session, keys[index]);
+            }
+            return row;
+        }
+
+        @Override
+        public SearchRow getSearchRow() {
+            return get();
+        }
+
+        @Override
+        public boolean next() {
+            row = null;
+            return ++index < keys.length;
+        }
+
+        @Override
+        public boolean previous() {
+            throw DbException.getInternalError(toString());
+        }
+
+    }
+
+}
@@ -0,0 +1,293 @@
+/*
+ * Copyright 2004-2025 H2 Group. Multiple-Licensed under the MPL 2.0,
+ * and the EPL 1.0 (https://h2database.com/html/license.html).
+ * Initial Developer: H2 Group
+ */
+package org.h2.index;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import org.h2.engine.DbObject;
+import org.h2.engine.SessionLocal;
+import org.h2.expression.Expression;
+import org.h2.expression.ExpressionColumn;
+import org.h2.expression.ExpressionVisitor;
+import org.h2.expression.condition.Comparison;
+import org.h2.expression.condition.ConditionAndOr;
+import org.h2.expression.condition.ConditionAndOrN;
+import org.h2.expression.condition.NullPredicate;
+import org.h2.message.DbException;
+import org.h2.result.Row;
+import org.h2.table.Column;
+import org.h2.table.Table;
+import org.h2.table.TableFilter;
+import org.h2.value.Value;
+import org.h2.value.ValueNull;
+
+/**
+ * The predicate of a partial index. Only rows for which the predicate is true
+ * are stored in a partial index, so such index may only be used by queries
+ * whose conditions imply the predicate.
+ */
+public final class IndexPredicate {
+
+    private final Expression expression;
+
+    private final TableFilter filter;
+
+    /**
+     * Comparisons of columns with constants, one for each simple part of the
+     * predicate, or {@code null} if the predicate has parts which can't be
+     * checked against conditions of queries.
+     */
+    private final ArrayList<IndexCondition> conditions;
+
+    /**
+     * Columns from IS NOT NULL parts of the predicate.
+     */
+    private final ArrayList<Column> notNullColumns;
+
+    /**
+     * Creates a new predicate of a partial index.
+     *
+     * @param session the session
+     * @param table the table
+     * @param expression the condition from the WHERE clause
+     */
+    public IndexPredicate(SessionLocal session, Table table, Expression expression) {
+        TableFilter filter = new TableFilter(session, table, null, false, null, 0, null);
+        expression.mapColumns(filter, 0, Expression.MAP_INITIAL);
+        expression = expression.optimize(session);
+        if (!expression.isEverything(ExpressionVisitor.DETERMINISTIC_VISITOR)) {
+            throw DbException.getUnsupportedException("non-deterministic index condition " + expression.getTraceSQL());
+        }
+        HashSet<DbObject> dependencies = new HashSet<>();
+        expression.isEverything(ExpressionVisitor.getDependenciesVisitor(dependencies));
+        for (DbObject object : dependencies) {
+            if (object instanceof Table && object != table) {
+                throw DbException.getUnsupportedException("index condition " + expression.getTraceSQL()
+                        + " with reference to another table");
+            }
+        }
+        this.expression = expression;
+        this.filter = filter;
+        ArrayList<Expression> parts = new ArrayList<>();
+        addParts(expression, parts);
+        ArrayList<IndexCondition> conditions = new ArrayList<>();
+        ArrayList<Column> notNullColumns = new ArrayList<>();
+        List<IndexCondition> created = filter.getIndexConditions();
+        for (Expression part : parts) {
+            if (part.isConstant()) {
+                if (part.getBooleanValue(session)) {
+                    continue;
+                }
+                conditions = null;
+                break;
+            } else if (part instanceof NullPredicate) {
+                Expression e = part.getSubexpression(0);
+                if (e instanceof ExpressionColumn && ((NullPredicate) part).isNot()) {
+                    notNullColumns.add(((ExpressionColumn) e).getColumn());
+                    continue;
+                }
+            } else if (!(part instanceof Comparison || part instanceof ExpressionColumn)) {
+                conditions = null;
+                break;
+            }
+            int size = created.size();
+            part.createIndexConditions(session, filter);
+            if (created.size() != size + 1 || !isSimple(created.get(size))
+                    || part instanceof Comparison && !(part.getSubexpression(0) instanceof ExpressionColumn
+                            || part.getSubexpression(1) instanceof ExpressionColumn)) {
+                conditions = null;
+                break;
+            }
+            conditions.add(created.get(size));
+        }
+        this.conditions = conditions;
+        this.notNullColumns = notNullColumns;
+    }
+
+    private static void addParts(Expression e, ArrayList<Expression> parts) {
+        if (e instanceof ConditionAndOr && ((ConditionAndOr) e).getAndOrType() == ConditionAndOr.AND
+                || e instanceof ConditionAndOrN && ((ConditionAndOrN) e).getAndOrType() == ConditionAndOr.AND) {
+            for (int i = 0, l = e.getSubexpressionCount(); i < l; i++) {
+                addParts(e.getSubexpression(i), parts);
+            }
+        } else {
+            parts.add(e);
+        }
+    }
+
+    private static boolean isSimple(IndexCondition condition) {
+        if (condition.isCompoundColumns()) {
+            return false;
+        }
+        switch (condition.getCompareType()) {
+        case Comparison.EQUAL:
+        case Comparison.EQUAL_NULL_SAFE:
+        case Comparison.BIGGER:
+        case Comparison.BIGGER_EQUAL:
+        case Comparison.SMALLER:
+        case Comparison.SMALLER_EQUAL:
+            return condition.getExpression().isConstant();
+        default:
+            return false;
+        }
+    }
+
+    /**
+     * Returns the condition from the WHERE clause.
+     *
+     * @return the condition
+     */
+    public Expression getExpression() {
+        return expression;
+    }
+
+    /**
+     * Checks whether the specified row should be stored in the index.
+     *
+     * @param session the session
+     * @param row the row
+     * @return whether the predicate is true for the row
+     */
+    public boolean test(SessionLocal session, Row row) {
+        synchronized (filter) {
+            filter.set(row);
+            return expression.getBooleanValue(session);
+        }
+    }
+
+    /**
+     * Checks whether index conditions of the specified table filter imply this
+     * predicate, that means all rows selected by the filter are stored in the
+     * index.
+     *
+     * @param session the session
+     * @param tableFilter the table filter
+     * @return whether the index may be used for the table filter
+     */
+    public boolean isImpliedBy(SessionLocal session, TableFilter tableFilter) {
+        if (conditions == null) {
+            return false;
+        }
+        List<IndexCondition> queryConditions = tableFilter.getIndexConditions();
+        loop: for (IndexCondition condition : conditions) {
+            Column column = condition.getColumn();
+            Value value = condition.getExpression().getValue(session);
+            for (IndexCondition queryCondition : queryConditions) {
+                if (!queryCondition.isCompoundColumns() && queryCondition.getColumn() == column
+                        && implies(session, queryCondition, condition.getCompareType(), value)) {
+                    continue loop;
+                }
+            }
+            return false;
+        }
+        loop: for (Column column : notNullColumns) {
+            for (IndexCondition queryCondition : queryConditions) {
+                if (!queryCondition.isCompoundColumns() && queryCondition.getColumn() == column
+                        && rejectsNull(session, queryCondition)) {
+                    continue loop;
+                }
+            }
+            return false;
+        }
+        return true;
+    }
+
+    private static boolean implies(SessionLocal session, IndexCondition queryCondition, int compareType,
+            Value value) {
+        int queryCompareType = queryCondition.getCompareType();
+        switch (queryCompareType) {
+        case Comparison.EQUAL:
+        case Comparison.EQUAL_NULL_SAFE: {
+            Expression e = queryCondition.getExpression();
+            return e.isConstant() && test(session, e.getValue(session), compareType, value);
+        }
+        case Comparison.IN_LIST:
+            for (Expression e : queryCondition.getExpressionList()) {
+                if (!e.isConstant() || !test(session, e.getValue(session), compareType, value)) {
+                    return false;
+                }
+            }
+            return true;
+        case Comparison.BIGGER:
+        case Comparison.BIGGER_EQUAL:
+            if (compareType != Comparison.BIGGER && compareType != Comparison.BIGGER_EQUAL) {
+                return false;
+            }
+            break;
+        case Comparison.SMALLER:
+        case Comparison.SMALLER_EQUAL:
+            if (compareType != Comparison.SMALLER && compareType != Comparison.SMALLER_EQUAL) {
+                return false;
+            }
+            break;
+        default:
+            return false;
+        }
+        Expression e = queryCondition.getExpression();
+        if (!e.isConstant()) {
+            return false;
+        }
+        Value v = e.getValue(session);
+        int cmp = session.compareWithNull(v, value, false);
+        if (cmp == Integer.MIN_VALUE) {
+            return false;
+        }
+        if (compareType == Comparison.SMALLER || compareType == Comparison.SMALLER_EQUAL) {
+            cmp = -cmp;
+        }
+        // x > v or x >= v implies x > value if v > value, the same for x >= value
+        // x > value also implies x > value and x >= value
+        return cmp > 0 || cmp == 0 && (compareType == Comparison.BIGGER_EQUAL
+                || compareType == Comparison.SMALLER_EQUAL || queryCompareType == compareType);
+    }
+
+    private static boolean test(SessionLocal session, Value v, int compareType, Value value) {
+        if (compareType == Comparison.EQUAL_NULL_SAFE) {
+            return session.areEqual(v, value);
+        }
+        int cmp = session.compareWithNull(v, value, compareType == Comparison.EQUAL);
+        if (cmp == Integer.MIN_VALUE) {
+            return false;
+        }
+        switch (compareType) {
+        case Comparison.EQUAL:
+            return cmp == 0;
+        case Comparison.BIGGER:
+            return cmp > 0;
+        case Comparison.BIGGER_EQUAL:
+            return cmp >= 0;
+        case Comparison.SMALLER:
+            return cmp < 0;
+        case Comparison.SMALLER_EQUAL:
+            return cmp <= 0;
+        default:
+            return false;
+        }
+    }
+
+    private static boolean rejectsNull(SessionLocal session, IndexCondition queryCondition) {
+        switch (queryCondition.getCompareType()) {
+        case Comparison.EQUAL:
+        case Comparison.BIGGER:
+        case Comparison.BIGGER_EQUAL:
+        case Comparison.SMALLER:
+        case Comparison.SMALLER_EQUAL:
+        case Comparison.IN_LIST:
+        case Comparison.IN_ARRAY:
+        case Comparison.IN_QUERY:
+            return true;
+        case Comparison.EQUAL_NULL_SAFE: {
+            Expression e = queryCondition.getExpression();
+            return e.isConstant() && e.getValue(session) != ValueNull.INSTANCE;
+        }
+        default:
+            return false;
+        }
+    }
+
+}
@@ -14,9 +14,11 @@
  */
 public class IndexType {
 
-    private boolean primaryKey, persistent, hash, scan, spatial;
+    private boolean primaryKey, persistent, hash, scan, spatial, fullText;
     private boolean belongsToConstraint;
     private NullsDistinct nullsDistinct;
+    private int keyColumnCount;
+    private IndexPredicate predicate;
 
     /**
      * Create a primary key index.
@@ -80,6 +82,19 @@ public static IndexType createNonUnique(boolean persistent, boolean hash,
         return type;
     }
 
+    /**
+     * Create a full text index.
+     *
+     * @param persistent if the index is persistent
+     * @return the index type
+     */
+    public static IndexType createFullText(boolean persistent) {
+        IndexType type = new IndexType();
+        type.persistent = persistent;
+        type.fullText = true;
+        return type;
+    }
+
     /**
      * Create a scan pseudo-index.
      *
@@ -112,6 +127,48 @@ public boolean getBelongsToConstraint() {
         return belongsToConstraint;
     }
 
+    /**
+     * Sets the count of key columns of a non-unique index with included
+     * columns. Remaining columns of such index are only stored in the index to
+     * read them without a lookup in the primary index.
+     *
+     * @param keyColumnCount the count of key columns, or 0 if all columns are
+     *            key columns
+     */
+    public void setKeyColumnCount(int keyColumnCount) {
+        this.keyColumnCount = keyColumnCount;
+    }
+
+    /**
+     * Returns the count of key columns of a non-unique index with included
+     * columns.
+     *
+     * @return the count of key columns, or 0 if all columns are key columns
+     *         or if this is not a non-unique index
+     */
+    public int getKeyColumnCount() {
+        return keyColumnCount;
+    }
+
+    /**
+     * Sets the predicate of a partial index.
+     *
+     * @param predicate the predicate
+     */
+    public void setPredicate(IndexPredicate predicate) {
+        this.predicate = predicate;
+    }
+
+    /**
+     * Returns the predicate of a partial index. Only rows for which the
+     * predicate is true are stored in a partial index.
+     *
+     * @return the predicate, or {@code null} if all rows are indexed
+     */
+    public IndexPredicate getPredicate() {
+        return predicate;
+    }
+
     /**
      * Is this a hash index?
      *
@@ -130,6 +187,15 @@ public boolean isSpatial() {
         return spatial;
     }
 
+    /**
+     * Is this a full text index?
+     *
+     * @return true if it is a full text index
+     */
+    public boolean isFullText() {
+        return fullText;
+    }
+
     /**
      * Is this index persistent?
      *
@@ -183,6 +249,9 @@ public String getSQL(boolean addNullsDistinct) {
             if (spatial) {
                 builder.append("SPATIAL ");
             }
+            if (fullText) {
+                builder.append("FULLTEXT ");
+            }
             builder.append("INDEX");
         }
         return builder.toString();
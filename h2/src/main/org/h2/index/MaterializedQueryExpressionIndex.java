@@ -0,0 +1,192 @@
+/*
+ * Copyright 2004-2025 H2 Group. Multiple-Licensed under the MPL 2.0,
+ * and the EPL 1.0 (https://h2database.com/html/license.html).
+ * Initial Developer: H2 Group
+ */
+package org.h2.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.h2.command.query.AllColumnsForPlan;
+import org.h2.command.query.Query;
+import org.h2.engine.SessionLocal;
+import org.h2.expression.Parameter;
+import org.h2.message.DbException;
+import org.h2.result.ResultInterface;
+import org.h2.result.Row;
+import org.h2.result.SearchRow;
+import org.h2.result.SortOrder;
+import org.h2.table.CTE;
+import org.h2.table.Column;
+import org.h2.table.IndexColumn;
+import org.h2.table.TableFilter;
+
+/**
+ * An index of a materialized common table expression. The query of the
+ * common table expression is evaluated only once during each execution of the
+ * query with the WITH clause, its rows are shared by all references. When the
+ * rows fit into memory, they are sorted by the columns with conditions on the
+ * first lookup, and the lookups use binary search.
+ */
+public final class MaterializedQueryExpressionIndex extends QueryExpressionIndex {
+
+    /**
+     * Materialized rows of the common table expression sorted by the index
+     * columns, or {@code null}.
+     */
+    private Row[] sortedRows;
+
+    /**
+     * The materialized rows {@link #sortedRows} were created from.
+     */
+    private Row[] sortedFrom;
+
+    /**
+     * Creates a new instance of an index of a materialized common table
+     * expression.
+     *
+     * @param table
+     *            the common table expression
+     * @param querySQL
+     *            the query SQL
+     * @param originalParameters
+     *            the original parameters
+     * @param session
+     *            the session
+     * @param masks
+     *            the masks
+     */
+    public MaterializedQueryExpressionIndex(CTE table, String querySQL, ArrayList<Parameter> originalParameters,
+            SessionLocal session, int[] masks) {
+        super(table, querySQL, originalParameters);
+        Query q = session.prepareQueryExpression(querySQL, table.getQueryScope());
+        q.setNeverLazy(true);
+        // the materialized result is owned by the common table expression
+        q.disableCache();
+        q.preparePlan();
+        query = q;
+        if (masks != null) {
+            initIndexColumns(masks);
+            int count = columnIds.length;
+            columns = new Column[count];
+            for (int i = 0; i < count; i++) {
+                columns[i] = indexColumns[i].column;
+            }
+        } else {
+            indexColumns = new IndexColumn[0];
+            columnIds = new int[0];
+        }
+    }
+
+    @Override
+    public boolean isExpired() {
+        return false;
+    }
+
+    @Override
+    public String getPlanSQL() {
+        return "MATERIALIZED " + super.getPlanSQL();
+    }
+
+    @Override
+    public double getCost(SessionLocal session, int[] masks, TableFilter[] filters, int filter, SortOrder sortOrder,
+            AllColumnsForPlan allColumnsSet, boolean isSelectCommand) {
+        double cost = query.getCost();
+        if (columnIds.length > 0) {
+            // the query is evaluated only once, lookups use binary search
+            cost = 2d + Math.log(cost + 1d) / Math.log(2d);
+        }
+        return cost;
+    }
+
+    @Override
+    public Cursor find(SessionLocal session, SearchRow first, SearchRow last, boolean reverse) {
+        assert !reverse;
+        CTE cte = (CTE) table;
+        setOriginalParameters(session, query.getParameters());
+        cte.materialize(session, query);
+        Row[] rows = cte.getMaterializedRows();
+        if (rows == null) {
+            ResultInterface result = cte.getMaterializedResult(session);
+            if (result == null) {
+                result = query.query(0);
+            }
+            return new QueryExpressionCursor(this, result, first, last);
+        }
+        if (columnIds.length == 0) {
+            return new MaterializedCursor(rows, 0, null);
+        }
+        if (sortedFrom != rows) {
+            Row[] sorted = rows.clone();
+            Arrays.sort(sorted, this::compareRows);
+            sortedRows = sorted;
+            sortedFrom = rows;
+        }
+        return new MaterializedCursor(sortedRows, first != null ? lowerBound(sortedRows, first) : 0, last);
+    }
+
+    private int lowerBound(Row[] rows, SearchRow first) {
+        int l = 0, r = rows.length;
+        while (l < r) {
+            int m = (l + r) >>> 1;
+            if (compareRows(rows[m], first) < 0) {
+                l = m + 1;
+            } else {
+                r = m;
+            }
+        }
+        return l;
+    }
+
+    /**
+     * The cursor over materialized rows.
+     */
+    private final class MaterializedCursor implements Cursor {
+
+        private final Row[] rows;
+
+        private final SearchRow last;
+
+        private int index;
+
+        private Row current;
+
+        MaterializedCursor(Row[] rows, int index, SearchRow last) {
+            this.rows = rows;
+            this.index = index;
+            this.last = last;
+        }
+
+        @Override
+        public Row get() {
+            return current;
+        }
+
+        @Override
+        public SearchRow getSearchRow() {
+            return current;
+        }
+
+        @Override
+        public boolean next() {
+            if (index < rows.length) {
+                Row row = rows[index++];
+                if (last == null || compareRows(row, last) <= 0) {
+                    current = row;
+                    return true;
+                }
+                index = rows.length;
+            }
+            current = null;
+            return false;
+        }
+
+        @Override
+        public boolean previous() {
+            throw DbException.getInternalError(toString());
+        }
+
+    }
+
+}
@@ -0,0 +1,33 @@
+/*
+ * Copyright 2004-2025 H2 Group. Multiple-Licensed under the MPL 2.0,
+ * and the EPL 1.0 (https://h2database.com/html/license.html).
+ * Initial Developer: H2 Group
+ */
+package org.h2.index;
+
+import org.h2.engine.SessionLocal;
+import org.h2.result.SearchRow;
+
+/**
+ * A spatial index that can return rows in order of distance from a geometry
+ * (k-nearest-neighbor search).
+ */
+public interface NearestNeighborIndex extends SpatialIndex {
+
+    /**
+     * Create a cursor to iterate over the rows in ascending order of distance
+     * between bounding boxes of their indexed geometries and the specified
+     * geometry. If no intersection is specified, rows with NULL or empty
+     * geometries are returned before or after all other rows.
+     *
+     * @param session the session
+     * @param point the row with the geometry to measure the distance from
+     * @param intersection the geometry which values should intersect with, or
+     *            null for anything
+     * @param nullsFirst whether rows with NULL or empty geometries should be
+     *            returned first
+     * @return the cursor to iterate over the results
+     */
+    Cursor findNearest(SessionLocal session, SearchRow point, SearchRow intersection, boolean nullsFirst);
+
+}
@@ -13,7 +13,9 @@
 import org.h2.message.DbException;
 import org.h2.result.Row;
 import org.h2.table.Column;
+import org.h2.table.IndexColumn;
 import org.h2.table.QueryExpressionTable;
+import org.h2.value.Value;
 
 /**
  * This object represents a virtual index for a query expression.
@@ -35,6 +37,86 @@ public abstract class QueryExpressionIndex extends Index {
 
     public abstract boolean isExpired();
 
+    /**
+     * Reconstructs the index columns from the masks. Columns with equality
+     * conditions are placed first, columns with range conditions after them.
+     *
+     * @param masks
+     *            the masks
+     */
+    final void initIndexColumns(int[] masks) {
+        int indexColumnCount = 0;
+        for (int mask : masks) {
+            if (mask != 0) {
+                indexColumnCount++;
+            }
+        }
+        indexColumns = new IndexColumn[indexColumnCount];
+        columnIds = new int[indexColumnCount];
+        for (int type = 0, indexColumnId = 0; type < 2; type++) {
+            for (int i = 0; i < masks.length; i++) {
+                int mask = masks[i];
+                if (mask == 0) {
+                    continue;
+                }
+                if (type == 0) {
+                    if ((mask & IndexCondition.EQUALITY) == 0) {
+                        // the first columns need to be equality conditions
+                        continue;
+                    }
+                } else {
+                    if ((mask & IndexCondition.EQUALITY) != 0) {
+                        // after that only range conditions
+                        continue;
+                    }
+                }
+                Column column = table.getColumn(i);
+                indexColumns[indexColumnId] = new IndexColumn(column);
+                columnIds[indexColumnId] = column.getColumnId();
+                indexColumnId++;
+            }
+        }
+    }
+
+    /**
+     * Copies values of the original parameters to the parameters of the
+     * query.
+     *
+     * @param session
+     *            the session
+     * @param paramList
+     *            the parameters of the query
+     */
+    final void setOriginalParameters(SessionLocal session, ArrayList<Parameter> paramList) {
+        if (originalParameters != null) {
+            for (Parameter orig : originalParameters) {
+                if (orig != null) {
+                    setParameter(paramList, orig.getIndex(), orig.getValue(session));
+                }
+            }
+        }
+    }
+
+    /**
+     * Sets the value of the specified parameter of the query.
+     *
+     * @param paramList
+     *            the parameters of the query
+     * @param x
+     *            the index of the parameter
+     * @param v
+     *            the value
+     */
+    static void setParameter(ArrayList<Parameter> paramList, int x, Value v) {
+        if (x >= paramList.size()) {
+            // the parameter may be optimized away as in
+            // select * from (select null as x) where x=1;
+            return;
+        }
+        Parameter param = paramList.get(x);
+        param.setValue(v);
+    }
+
     @Override
     public String getPlanSQL() {
         return query == null ? null : query.getPlanSQL(TRACE_SQL_FLAGS | ADD_PLAN_INFORMATION);
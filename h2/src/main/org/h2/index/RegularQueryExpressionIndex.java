@@ -15,8 +15,8 @@
 import org.h2.expression.condition.Comparison;
 import org.h2.result.SearchRow;
 import org.h2.result.SortOrder;
+import org.h2.table.CTE;
 import org.h2.table.Column;
-import org.h2.table.IndexColumn;
 import org.h2.table.QueryExpressionTable;
 import org.h2.table.TableFilter;
 import org.h2.util.IntArray;
@@ -68,13 +68,11 @@ private Query addConditions(QueryExpressionTable table, String querySQL, ArrayLi
         // (for example: paramColumnIndex {0, 0} mean
         // param[0] is column 0, and param[1] is also column 0)
         IntArray paramColumnIndex = new IntArray();
-        int indexColumnCount = 0;
         for (int i = 0; i < masks.length; i++) {
             int mask = masks[i];
             if (mask == 0) {
                 continue;
             }
-            indexColumnCount++;
             // the number of parameters depends on the mask;
             // for range queries it is 2: >= x AND <= y
             // but bitMask could also be 7 (=, and <=, and >=)
@@ -112,32 +110,7 @@ private Query addConditions(QueryExpressionTable table, String querySQL, ArrayLi
         }
         columns = columnList.toArray(new Column[0]);
 
-        // reconstruct the index columns from the masks
-        this.indexColumns = new IndexColumn[indexColumnCount];
-        this.columnIds = new int[indexColumnCount];
-        for (int type = 0, indexColumnId = 0; type < 2; type++) {
-            for (int i = 0; i < masks.length; i++) {
-                int mask = masks[i];
-                if (mask == 0) {
-                    continue;
-                }
-                if (type == 0) {
-                    if ((mask & IndexCondition.EQUALITY) == 0) {
-                        // the first columns need to be equality conditions
-                        continue;
-                    }
-                } else {
-                    if ((mask & IndexCondition.EQUALITY) != 0) {
-                        // after that only range conditions
-                        continue;
-                    }
-                }
-                Column column = table.getColumn(i);
-                indexColumns[indexColumnId] = new IndexColumn(column);
-                columnIds[indexColumnId] = column.getColumnId();
-                indexColumnId++;
-            }
-        }
+        initIndexColumns(masks);
         String sql = q.getPlanSQL(DEFAULT_SQL_FLAGS);
         if (!sql.equals(querySQL)) {
             q = session.prepareQueryExpression(sql, table.getQueryScope());
@@ -147,8 +120,13 @@ private Query addConditions(QueryExpressionTable table, String querySQL, ArrayLi
 
     @Override
     public boolean isExpired() {
-        return table.getTopQuery() == null
-                && System.nanoTime() - evaluatedAt > Constants.VIEW_COST_CACHE_MAX_AGE * 1_000_000L;
+        if (table.getTopQuery() != null) {
+            return false;
+        }
+        // a common table expression becomes materialized when its second
+        // reference is parsed after planning of the first one
+        return System.nanoTime() - evaluatedAt > Constants.VIEW_COST_CACHE_MAX_AGE * 1_000_000L
+                || table instanceof CTE && ((CTE) table).isMaterialized();
     }
 
     @Override
@@ -171,15 +149,7 @@ public Cursor findByGeometry(SessionLocal session, SearchRow first, SearchRow la
 
     private Cursor find(SessionLocal session, SearchRow first, SearchRow last, SearchRow intersection) {
         ArrayList<Parameter> paramList = query.getParameters();
-        if (originalParameters != null) {
-            for (Parameter orig : originalParameters) {
-                if (orig != null) {
-                    int idx = orig.getIndex();
-                    Value value = orig.getValue(session);
-                    setParameter(paramList, idx, value);
-                }
-            }
-        }
+        setOriginalParameters(session, paramList);
         int len;
         if (first != null) {
             len = first.getColumnCount();
@@ -209,14 +179,4 @@ private Cursor find(SessionLocal session, SearchRow first, SearchRow last, Searc
         return new QueryExpressionCursor(this, query.query(0), first, last);
     }
 
-    private static void setParameter(ArrayList<Parameter> paramList, int x, Value v) {
-        if (x >= paramList.size()) {
-            // the parameter may be optimized away as in
-            // select * from (select null as x) where x=1;
-            return;
-        }
-        Parameter param = paramList.get(x);
-        param.setValue(v);
-    }
-
 }
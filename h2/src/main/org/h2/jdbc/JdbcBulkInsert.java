@@ -0,0 +1,78 @@
+/*
+ * Copyright 2004-2025 H2 Group. Multiple-Licensed under the MPL 2.0,
+ * and the EPL 1.0 (https://h2database.com/html/license.html).
+ * Initial Developer: H2 Group
+ */
+package org.h2.jdbc;
+
+import java.sql.SQLException;
+import java.util.Iterator;
+
+/**
+ * This interface contains additional methods of H2 embedded connections for
+ * inserting many rows without SQL statements. It can be obtained with
+ * {@code connection.unwrap(JdbcBulkInsert.class)}.
+ *
+ * <p>
+ * All rows are inserted by one command: the table is locked once, and in the
+ * auto-commit mode the rows are committed together. If insertion of some row
+ * fails, none of the rows is inserted. Constraints, defaults, and triggers are
+ * applied to each row as in the INSERT statement. Schema, table, and column
+ * names are case sensitive and are used as is. These methods aren't supported
+ * by remote connections.
+ * </p>
+ */
+public interface JdbcBulkInsert {
+
+    /**
+     * Inserts rows with values from column arrays.
+     *
+     * <p>
+     * Element {@code i} of {@code values} is the array of values of column
+     * {@code i}. Arrays of primitive types {@code boolean[]}, {@code byte[]},
+     * {@code short[]}, {@code int[]}, {@code long[]}, {@code float[]}, and
+     * {@code double[]} are supported, NULL values may be passed in other
+     * arrays, such as {@code Object[]}, as {@code null} elements.
+     * </p>
+     *
+     * @param schema
+     *            the schema name, or {@code null} for the current schema
+     * @param table
+     *            the table name
+     * @param columns
+     *            the column names, or {@code null} for all visible columns
+     * @param values
+     *            the arrays with values of columns, arrays must have at least
+     *            {@code rowCount} elements
+     * @param rowCount
+     *            the number of rows to insert
+     * @return the number of inserted rows
+     * @throws SQLException
+     *             if the table or some column is not found, if arrays are
+     *             invalid, if some row can't be inserted, or if the
+     *             connection is closed
+     */
+    long insert(String schema, String table, String[] columns, Object[] values, int rowCount)
+            throws SQLException;
+
+    /**
+     * Inserts rows from the specified iterator. Each row is an array with
+     * values of columns. The iterator is read only once.
+     *
+     * @param schema
+     *            the schema name, or {@code null} for the current schema
+     * @param table
+     *            the table name
+     * @param columns
+     *            the column names, or {@code null} for all visible columns
+     * @param rows
+     *            the rows to insert
+     * @return the number of inserted rows
+     * @throws SQLException
+     *             if the table or some column is not found, if some row has a
+     *             wrong number of values or can't be inserted, or if the
+     *             connection is closed
+     */
+    long insert(String schema, String table, String[] columns, Iterator<Object[]> rows) throws SQLException;
+
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2004-2025 H2 Group. Multiple-Licensed under the MPL 2.0,
+ * and the EPL 1.0 (https://h2database.com/html/license.html).
+ * Initial Developer: H2 Group
+ */
+package org.h2.jdbc;
+
+import java.sql.SQLException;
+import java.util.BitSet;
+
+/**
+ * This interface contains additional methods of H2 result sets for reading
+ * many rows at once. It can be obtained with
+ * {@code resultSet.unwrap(JdbcBulkResultSet.class)}.
+ */
+public interface JdbcBulkResultSet {
+
+    /**
+     * Returns whether the value of the specified column in the current row is
+     * NULL.
+     *
+     * @param columnIndex
+     *            the column index (1, 2, ...)
+     * @return whether the value is NULL
+     * @throws SQLException
+     *             if the column is not found or if the result set is closed
+     */
+    boolean isNull(int columnIndex) throws SQLException;
+
+    /**
+     * Moves the cursor forward by up to the specified number of rows and
+     * copies values of the specified columns of these rows into arrays. After
+     * this method the cursor is on the last copied row.
+     *
+     * <p>
+     * Element {@code i} of {@code columns} is the array for values of column
+     * {@code i + 1}, or {@code null} if this column isn't needed. Arrays of
+     * primitive types {@code boolean[]}, {@code byte[]}, {@code short[]},
+     * {@code int[]}, {@code long[]}, {@code float[]}, and {@code double[]} are
+     * supported. NULL values are stored in them as zeroes or {@code false}.
+     * Arrays of other types receive objects as from
+     * {@code getObject(columnIndex, componentType)}, and {@code Object[]}
+     * arrays receive objects as from {@code getObject(columnIndex)}.
+     * </p>
+     *
+     * @param maxRows
+     *            the maximum number of rows to copy, arrays must have at least
+     *            this length
+     * @param columns
+     *            the arrays for values of columns
+     * @param nulls
+     *            the bit sets for flags of NULL values of columns, element
+     *            {@code i} is for column {@code i + 1}; {@code null} or
+     *            missing elements mean that NULL flags of the column aren't
+     *            needed
+     * @return the number of copied rows, {@code 0} if there are no more rows
+     * @throws SQLException
+     *             if arrays are invalid, or a value can't be converted, or if
+     *             the result set is closed
+     */
+    int fetch(int maxRows, Object[] columns, BitSet[] nulls) throws SQLException;
+
+}
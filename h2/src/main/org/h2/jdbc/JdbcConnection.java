@@ -26,7 +26,9 @@
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Properties;
 import java.util.concurrent.Executor;
@@ -50,11 +52,18 @@
 import org.h2.result.ResultInterface;
 import org.h2.util.CloseWatcher;
 import org.h2.util.TimeZoneProvider;
+import org.h2.util.Utils;
 import org.h2.value.CompareMode;
 import org.h2.value.Value;
+import org.h2.value.ValueBigint;
+import org.h2.value.ValueBoolean;
+import org.h2.value.ValueDouble;
 import org.h2.value.ValueInteger;
 import org.h2.value.ValueNull;
+import org.h2.value.ValueReal;
+import org.h2.value.ValueSmallint;
 import org.h2.value.ValueTimestampTimeZone;
+import org.h2.value.ValueTinyint;
 import org.h2.value.ValueToObjectConverter;
 import org.h2.value.ValueVarbinary;
 import org.h2.value.ValueVarchar;
@@ -69,7 +78,7 @@
  * should be used.
  * </p>
  */
-public class JdbcConnection extends TraceObject implements Connection, CastDataProvider {
+public class JdbcConnection extends TraceObject implements Connection, JdbcBulkInsert, CastDataProvider {
 
     private static final String NUM_SERVERS = "numServers";
     private static final String PREFIX_SERVER = "server";
@@ -1825,6 +1834,128 @@ public String getSchema() throws SQLException {
         }
     }
 
+    /**
+     * Inserts rows with values from column arrays with one command.
+     *
+     * @param schema the schema name, or {@code null} for the current schema
+     * @param table the table name
+     * @param columns the column names, or {@code null} for all visible columns
+     * @param values the arrays with values of columns
+     * @param rowCount the number of rows to insert
+     * @return the number of inserted rows
+     * @throws SQLException if the table or some column is not found, if arrays
+     *             are invalid, if some row can't be inserted, or if the
+     *             connection is closed
+     * @see JdbcBulkInsert#insert(String, String, String[], Object[], int)
+     */
+    @Override
+    public long insert(String schema, String table, String[] columns, Object[] values, int rowCount)
+            throws SQLException {
+        try {
+            if (isDebugEnabled()) {
+                debugCode("insert(" + quote(schema) + ", " + quote(table) + ", " + quoteArray(columns)
+                        + ", values, " + rowCount + ')');
+            }
+            checkClosed();
+            if (rowCount < 0) {
+                throw DbException.getInvalidValueException("rowCount", rowCount);
+            }
+            Utils.getColumnArrayTypes(values, rowCount, false, "values");
+            int count = values.length;
+            return session.insertRows(schema, table, columns, new Iterator<Value[]>() {
+
+                private int row;
+
+                @Override
+                public boolean hasNext() {
+                    return row < rowCount;
+                }
+
+                @Override
+                public Value[] next() {
+                    if (row >= rowCount) {
+                        throw new NoSuchElementException();
+                    }
+                    Value[] r = new Value[count];
+                    for (int i = 0; i < count; i++) {
+                        r[i] = getArrayValue(values[i], row);
+                    }
+                    row++;
+                    return r;
+                }
+
+            });
+        } catch (Exception e) {
+            throw logAndConvert(e);
+        }
+    }
+
+    /**
+     * Inserts rows from the specified iterator with one command.
+     *
+     * @param schema the schema name, or {@code null} for the current schema
+     * @param table the table name
+     * @param columns the column names, or {@code null} for all visible columns
+     * @param rows the rows to insert
+     * @return the number of inserted rows
+     * @throws SQLException if the table or some column is not found, if some
+     *             row has a wrong number of values or can't be inserted, or if
+     *             the connection is closed
+     * @see JdbcBulkInsert#insert(String, String, String[], Iterator)
+     */
+    @Override
+    public long insert(String schema, String table, String[] columns, Iterator<Object[]> rows)
+            throws SQLException {
+        try {
+            if (isDebugEnabled()) {
+                debugCode("insert(" + quote(schema) + ", " + quote(table) + ", " + quoteArray(columns)
+                        + ", rows)");
+            }
+            checkClosed();
+            return session.insertRows(schema, table, columns, new Iterator<Value[]>() {
+
+                @Override
+                public boolean hasNext() {
+                    return rows.hasNext();
+                }
+
+                @Override
+                public Value[] next() {
+                    Object[] row = rows.next();
+                    int count = row.length;
+                    Value[] r = new Value[count];
+                    for (int i = 0; i < count; i++) {
+                        r[i] = ValueToObjectConverter.objectToValue(session, row[i], Value.UNKNOWN);
+                    }
+                    return r;
+                }
+
+            });
+        } catch (Exception e) {
+            throw logAndConvert(e);
+        }
+    }
+
+    private Value getArrayValue(Object array, int index) {
+        if (array instanceof int[]) {
+            return ValueInteger.get(((int[]) array)[index]);
+        } else if (array instanceof long[]) {
+            return ValueBigint.get(((long[]) array)[index]);
+        } else if (array instanceof double[]) {
+            return ValueDouble.get(((double[]) array)[index]);
+        } else if (array instanceof float[]) {
+            return ValueReal.get(((float[]) array)[index]);
+        } else if (array instanceof boolean[]) {
+            return ValueBoolean.get(((boolean[]) array)[index]);
+        } else if (array instanceof short[]) {
+            return ValueSmallint.get(((short[]) array)[index]);
+        } else if (array instanceof byte[]) {
+            return ValueTinyint.get(((byte[]) array)[index]);
+        } else {
+            return ValueToObjectConverter.objectToValue(session, ((Object[]) array)[index], Value.UNKNOWN);
+        }
+    }
+
     /**
      * [Not supported]
      *
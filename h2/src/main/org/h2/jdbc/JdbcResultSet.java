@@ -25,6 +25,7 @@
 import java.sql.Statement;
 import java.sql.Time;
 import java.sql.Timestamp;
+import java.util.BitSet;
 import java.util.Calendar;
 import java.util.HashMap;
 import java.util.Map;
@@ -40,6 +41,7 @@
 import org.h2.util.IOUtils;
 import org.h2.util.LegacyDateTimeUtils;
 import org.h2.util.StringUtils;
+import org.h2.util.Utils;
 import org.h2.value.CompareMode;
 import org.h2.value.DataType;
 import org.h2.value.Value;
@@ -74,7 +76,7 @@
  * changes are visible, but not own inserts and deletes.
  * </p>
  */
-public final class JdbcResultSet extends TraceObject implements ResultSet {
+public final class JdbcResultSet extends TraceObject implements ResultSet, JdbcBulkResultSet {
 
     private final boolean scrollable;
     private final boolean updatable;
@@ -3568,11 +3570,15 @@ private Value get(int columnIndex) {
      */
     public Value getInternal(int columnIndex) {
         checkOnValidRow();
+        return getCurrentRow()[columnIndex - 1];
+    }
+
+    private Value[] getCurrentRow() {
         Value[] list;
         if (patchedRows == null || (list = patchedRows.get(result.getRowId())) == null) {
             list = result.currentRow();
         }
-        return list[columnIndex - 1];
+        return list;
     }
 
     private void update(int columnIndex, Value v) {
@@ -4177,6 +4183,99 @@ public boolean isWrapperFor(Class<?> iface) throws SQLException {
         return iface != null && iface.isAssignableFrom(getClass());
     }
 
+    /**
+     * Returns whether the value of the specified column in the current row is
+     * NULL.
+     *
+     * @param columnIndex (1,2,...)
+     * @return whether the value is NULL
+     * @throws SQLException if the column is not found or if the result set is
+     *             closed
+     */
+    @Override
+    public boolean isNull(int columnIndex) throws SQLException {
+        try {
+            debugCodeCall("isNull", columnIndex);
+            return get(checkColumnIndex(columnIndex)) == ValueNull.INSTANCE;
+        } catch (Exception e) {
+            throw logAndConvert(e);
+        }
+    }
+
+    /**
+     * Moves the cursor forward by up to the specified number of rows and
+     * copies values of the specified columns of these rows into arrays.
+     *
+     * @param maxRows the maximum number of rows to copy
+     * @param columns the arrays for values of columns
+     * @param nulls the bit sets for flags of NULL values of columns, or
+     *            {@code null}
+     * @return the number of copied rows, {@code 0} if there are no more rows
+     * @throws SQLException if arrays are invalid, or a value can't be
+     *             converted, or if the result set is closed
+     * @see JdbcBulkResultSet#fetch(int, Object[], BitSet[])
+     */
+    @Override
+    public int fetch(int maxRows, Object[] columns, BitSet[] nulls) throws SQLException {
+        try {
+            if (isDebugEnabled()) {
+                debugCode("fetch(" + maxRows + ", columns, nulls)");
+            }
+            checkClosed();
+            if (maxRows < 0) {
+                throw DbException.getInvalidValueException("maxRows", maxRows);
+            }
+            int count = columns.length;
+            if (count > columnCount) {
+                throw DbException.getInvalidValueException("columns.length", count);
+            }
+            Class<?>[] types = Utils.getColumnArrayTypes(columns, maxRows, true, "columns");
+            BitSet[] nullBits = new BitSet[count];
+            if (nulls != null) {
+                System.arraycopy(nulls, 0, nullBits, 0, Math.min(count, nulls.length));
+            }
+            int rows = 0;
+            while (rows < maxRows && nextRow()) {
+                Value[] row = getCurrentRow();
+                for (int i = 0; i < count; i++) {
+                    Class<?> type = types[i];
+                    if (type != null) {
+                        Value v = row[i];
+                        boolean isNull = v == ValueNull.INSTANCE;
+                        BitSet bits = nullBits[i];
+                        if (bits != null) {
+                            bits.set(rows, isNull);
+                        }
+                        Object array = columns[i];
+                        if (!type.isPrimitive()) {
+                            ((Object[]) array)[rows] = type == Object.class
+                                    ? ValueToObjectConverter.valueToDefaultObject(v, conn, true)
+                                    : ValueToObjectConverter.valueToObject(type, v, conn);
+                        } else if (type == int.class) {
+                            ((int[]) array)[rows] = isNull ? 0 : v.getInt();
+                        } else if (type == long.class) {
+                            ((long[]) array)[rows] = isNull ? 0L : v.getLong();
+                        } else if (type == double.class) {
+                            ((double[]) array)[rows] = isNull ? 0d : v.getDouble();
+                        } else if (type == float.class) {
+                            ((float[]) array)[rows] = isNull ? 0f : v.getFloat();
+                        } else if (type == boolean.class) {
+                            ((boolean[]) array)[rows] = !isNull && v.getBoolean();
+                        } else if (type == short.class) {
+                            ((short[]) array)[rows] = isNull ? 0 : v.getShort();
+                        } else {
+                            ((byte[]) array)[rows] = isNull ? 0 : v.getByte();
+                        }
+                    }
+                }
+                rows++;
+            }
+            return rows;
+        } catch (Exception e) {
+            throw logAndConvert(e);
+        }
+    }
+
     /**
      * Returns a column value as a Java object of the specified type.
      *
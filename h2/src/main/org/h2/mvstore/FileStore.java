@@ -214,6 +214,12 @@
 
     protected final boolean recoveryMode;
 
+    /**
+     * Whether values of leaf pages are deserialized only when they are
+     * accessed.
+     */
+    private final boolean lazyLeafPages;
+
     public static final int PIPE_LENGTH = 3;
 
 
@@ -221,6 +227,7 @@
 
     protected FileStore(Map<String, Object> config) {
         recoveryMode = config.containsKey("recoveryMode");
+        lazyLeafPages = config.containsKey("lazyLeafPages");
         autoCompactFillRate = DataUtils.getConfigParam(config, "autoCompactFillRate", 90);
         CacheLongKeyLIRS.Config cc = null;
         int mb = DataUtils.getConfigParam(config, "cacheSize", 16);
@@ -1973,7 +1980,7 @@ <K,V> Page<K,V> readPage(MVMap<K,V> map, long pos) {
                         buff = buff.slice();
                     }
                     try {
-                        page = Page.read(buff, pos, map);
+                        page = Page.read(buff, pos, map, lazyLeafPages && alreadySaved);
                     } catch (MVStoreException e) {
                         exception = e;
                     } catch (Exception e) {
@@ -1990,6 +1990,19 @@ final int evaluateMemoryForValues(V[] storage, int count) {
         return MemoryEstimator.estimateMemory(avgValSize, valueType, storage, count);
     }
 
+    /**
+     * Estimate memory used by values that were not read yet.
+     *
+     * @param count the number of values
+     * @return the estimated memory, or -1 if it cannot be estimated
+     */
+    final int estimateMemoryForValues(int count) {
+        if (avgValSize == null) {
+            return -1;
+        }
+        return MemoryEstimator.estimateMemory(avgValSize, count);
+    }
+
     private static <T> int calculateMemory(DataType<T> keyType, T[] storage, int count) {
         int mem = count * MEMORY_POINTER;
         for (int i = 0; i < count; i++) {
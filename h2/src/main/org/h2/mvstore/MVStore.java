@@ -1933,6 +1933,17 @@ public Builder recoveryMode() {
             return set("recoveryMode", 1);
         }
 
+        /**
+         * Deserialize values of leaf pages read from the file only when they
+         * are accessed. Keys are always deserialized. This reduces the cost of
+         * point lookups in pages that are not in the cache yet.
+         *
+         * @return this
+         */
+        public Builder lazyLeafPages() {
+            return set("lazyLeafPages", 1);
+        }
+
         /**
          * Set the read cache size in MB. The default is 16 MB.
          *
@@ -14,6 +14,7 @@
 import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 import org.h2.compress.Compressor;
 import org.h2.mvstore.FileStore.PageSerializationManager;
+import org.h2.mvstore.type.DataType;
 import org.h2.util.Utils;
 
 /**
@@ -253,13 +254,15 @@ static <K,V> V get(Page<K,V> p, K key) {
      * @param buff ByteBuffer containing serialized page info
      * @param pos the position
      * @param map the map
+     * @param lazy whether values of a leaf page may be deserialized only when
+     *            they are accessed
      * @return the page
      */
-    static <K,V> Page<K,V> read(ByteBuffer buff, long pos, MVMap<K,V> map) {
+    static <K,V> Page<K,V> read(ByteBuffer buff, long pos, MVMap<K,V> map, boolean lazy) {
         boolean leaf = (DataUtils.getPageType(pos) & 1) == PAGE_TYPE_LEAF;
         Page<K,V> p = leaf ? new Leaf<>(map) : new NonLeaf<>(map);
         p.pos = pos;
-        p.read(buff);
+        p.read(buff, lazy);
         return p;
     }
 
@@ -378,6 +381,7 @@ protected void dump(StringBuilder buff) {
      * @return a mutable copy of this page
      */
     public final Page<K,V> copy() {
+        readFully();
         Page<K,V> newPage = clone();
         newPage.pos = 0;
         newPage.pageNo = -1;
@@ -578,8 +582,10 @@ public void remove(int index) {
      * Read the page from the buffer.
      *
      * @param buff the buffer to read from
+     * @param lazy whether values of a leaf page may be deserialized only when
+     *            they are accessed
      */
-    private void read(ByteBuffer buff) {
+    private void read(ByteBuffer buff, boolean lazy) {
         int chunkId = DataUtils.getPageChunkId(pos);
         int offset = DataUtils.getPageOffset(pos);
 
@@ -655,7 +661,7 @@ private void read(ByteBuffer buff) {
                     buff.arrayOffset(), l);
         }
         map.getKeyType().read(buff, keys, keyCount);
-        if (isLeaf()) {
+        if (isLeaf() && !(lazy && readPayLoadLazily(buff, !compressed))) {
             readPayLoad(buff);
         }
         diskSpaceUsed = pageLength;
@@ -669,6 +675,24 @@ private void read(ByteBuffer buff) {
      */
     protected abstract void readPayLoad(ByteBuffer buff);
 
+    /**
+     * Prepare the page payload to be read from the buffer when it is
+     * accessed.
+     *
+     * @param buff the buffer
+     * @param shared whether the buffer may be reused after this method
+     * @return whether the payload will be read later, if {@code false},
+     *         nothing was read from the buffer
+     */
+    protected boolean readPayLoadLazily(ByteBuffer buff, boolean shared) {
+        return false;
+    }
+
+    /**
+     * Read the rest of the payload if it was not read yet.
+     */
+    protected abstract void readFully();
+
     public final boolean isSaved() {
         return DataUtils.isPageSaved(pos);
     }
@@ -1340,6 +1364,9 @@ protected void readPayLoad(ByteBuffer buff) {
             totalCount = total;
         }
 
+        @Override
+        protected void readFully() {}
+
         @Override
         protected void writeValues(WriteBuffer buff) {}
 
@@ -1468,12 +1495,34 @@ public void dump(StringBuilder buff) {
          */
         private V[] values;
 
+        /**
+         * The buffer with serialized values that were not read yet, or null.
+         */
+        private ByteBuffer valuesBuffer;
+
+        /**
+         * The state of reading of values from the buffer.
+         */
+        private int readState;
+
+        /**
+         * The number of values that were read from the buffer, or
+         * Integer.MAX_VALUE if all values were read.
+         */
+        private volatile int readCount = Integer.MAX_VALUE;
+
+        /**
+         * The estimated memory used by values that were not read yet.
+         */
+        private int lazyMemory;
+
         Leaf(MVMap<K,V> map) {
             super(map);
         }
 
         private Leaf(MVMap<K,V> map, Leaf<K,V> source) {
             super(map, source);
+            source.readFully();
             this.values = source.values;
         }
 
@@ -1504,9 +1553,35 @@ public long getChildPagePos(int index) {
 
         @Override
         public V getValue(int index) {
+            if (index >= readCount) {
+                readValues(index + 1);
+            }
             return values == null ? null : values[index];
         }
 
+        private synchronized void readValues(int count) {
+            int n = readCount;
+            if (n >= count) {
+                return;
+            }
+            DataType<V> valueType = map.getValueType();
+            try {
+                for (; n < count; n++) {
+                    values[n] = valueType.readNext(valuesBuffer, readState);
+                }
+            } catch (MVStoreException e) {
+                throw e;
+            } catch (Exception e) {
+                throw DataUtils.newMVStoreException(DataUtils.ERROR_FILE_CORRUPT,
+                        "Unable to read the page at position 0x{0}", Long.toHexString(getPos()), e);
+            }
+            if (n == getKeyCount()) {
+                valuesBuffer = null;
+                n = Integer.MAX_VALUE;
+            }
+            readCount = n;
+        }
+
         @Override
         public Page<K,V> split(int at) {
             assert !isSaved();
@@ -1638,8 +1713,41 @@ protected void readPayLoad(ByteBuffer buff) {
             map.getValueType().read(buff, values, getKeyCount());
         }
 
+        @Override
+        protected boolean readPayLoadLazily(ByteBuffer buff, boolean shared) {
+            int keyCount = getKeyCount();
+            int memory = map.estimateMemoryForValues(keyCount);
+            if (memory < 0) {
+                return false;
+            }
+            int state = map.getValueType().startRead(buff, keyCount);
+            if (state < 0) {
+                return false;
+            }
+            if (shared) {
+                byte[] bytes = new byte[buff.remaining()];
+                buff.get(bytes);
+                buff = ByteBuffer.wrap(bytes);
+            }
+            memory += MEMORY_OBJECT + MEMORY_ARRAY + buff.capacity();
+            values = createValueStorage(keyCount);
+            valuesBuffer = buff;
+            readState = state;
+            lazyMemory = memory;
+            readCount = 0;
+            return true;
+        }
+
+        @Override
+        protected void readFully() {
+            if (readCount != Integer.MAX_VALUE) {
+                readValues(getKeyCount());
+            }
+        }
+
         @Override
         protected void writeValues(WriteBuffer buff) {
+            readFully();
             map.getValueType().write(buff, values, getKeyCount());
         }
 
@@ -1664,8 +1772,8 @@ public int getRawChildPageCount() {
         @Override
         protected int calculateMemory() {
 //*
-            return super.calculateMemory() + PAGE_LEAF_MEMORY +
-                    (values == null ? 0 : map.evaluateMemoryForValues(values, getKeyCount()));
+            return super.calculateMemory() + PAGE_LEAF_MEMORY + (values == null ? 0
+                    : readCount != Integer.MAX_VALUE ? lazyMemory : map.evaluateMemoryForValues(values, getKeyCount()));
 /*/
             int keyCount = getKeyCount();
             int mem = super.calculateMemory() + PAGE_LEAF_MEMORY + keyCount * MEMORY_POINTER;
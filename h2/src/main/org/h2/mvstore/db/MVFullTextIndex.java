@@ -0,0 +1,550 @@
+/*
+ * Copyright 2004-2025 H2 Group. Multiple-Licensed under the MPL 2.0,
+ * and the EPL 1.0 (https://h2database.com/html/license.html).
+ * Initial Developer: H2 Group
+ */
+package org.h2.mvstore.db;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.h2.api.ErrorCode;
+import org.h2.command.query.AllColumnsForPlan;
+import org.h2.engine.Constants;
+import org.h2.engine.Database;
+import org.h2.engine.SessionLocal;
+import org.h2.fulltext.FullTextQuery;
+import org.h2.index.Cursor;
+import org.h2.index.FullTextIndex;
+import org.h2.index.IndexCondition;
+import org.h2.index.IndexType;
+import org.h2.message.DbException;
+import org.h2.mvstore.MVMap;
+import org.h2.mvstore.MVStoreException;
+import org.h2.mvstore.tx.Transaction;
+import org.h2.mvstore.tx.TransactionMap;
+import org.h2.mvstore.tx.TransactionMap.TMIterator;
+import org.h2.result.Row;
+import org.h2.result.SearchRow;
+import org.h2.result.SortOrder;
+import org.h2.table.IndexColumn;
+import org.h2.table.TableFilter;
+import org.h2.util.Bits;
+import org.h2.util.IntArray;
+import org.h2.value.DataType;
+import org.h2.value.Value;
+import org.h2.value.ValueInteger;
+import org.h2.value.ValueNull;
+import org.h2.value.ValueVarbinary;
+import org.h2.value.VersionedValue;
+
+/**
+ * A full text index stored in a MVStore. This is an inverted index: for each
+ * word of the indexed text there is a posting with the key of the row and
+ * positions of the word in the text. Positions are stored as delta-encoded
+ * variable size integers. Rows matching a query are returned in descending
+ * order of their BM25 relevance.
+ *
+ * All data is stored in a single map with (word, row key) binary keys.
+ * Lengths of indexed texts are stored with an empty word, it can't appear in
+ * the text.
+ */
+public final class MVFullTextIndex extends MVIndex<Value, Value> implements FullTextIndex {
+
+    /**
+     * The BM25 term frequency saturation parameter.
+     */
+    private static final double K1 = 1.2d;
+
+    /**
+     * The BM25 length normalization parameter.
+     */
+    private static final double B = 0.75d;
+
+    private static final byte[] DOCUMENT = { };
+
+    /**
+     * The multi-value table.
+     */
+    private final MVTable mvTable;
+
+    private final TransactionMap<Value, Value> dataMap;
+
+    /**
+     * Approximate number of indexed texts and their total length in words for
+     * BM25 scoring. They are not adjusted on rollback, and are computed again
+     * when the index is opened.
+     */
+    private long documentCount, totalLength;
+
+    private boolean statisticsValid;
+
+    /**
+     * Constructor.
+     *
+     * @param db the database
+     * @param table the table instance
+     * @param id the index id
+     * @param indexName the index name
+     * @param columns the indexed columns (only one character string column
+     *            allowed)
+     * @param indexType the index type (only full text index)
+     */
+    public MVFullTextIndex(Database db, MVTable table, int id, String indexName, IndexColumn[] columns,
+            IndexType indexType) {
+        super(table, id, indexName, columns, 0, indexType);
+        if (columns.length != 1) {
+            throw DbException.getUnsupportedException("Can only index one column");
+        }
+        IndexColumn col = columns[0];
+        if (!DataType.isCharacterStringType(col.column.getType().getValueType())) {
+            throw DbException.getUnsupportedException(
+                    "Full text index on non-character column, " + col.column.getCreateSQL());
+        }
+        this.mvTable = table;
+        String mapName = "index." + getId();
+        ValueDataType type = new ValueDataType(db, null);
+        Transaction t = mvTable.getTransactionBegin();
+        dataMap = t.openMap(mapName, type, type);
+        dataMap.map.setVolatile(!table.isPersistData() || !indexType.isPersistent());
+        if (!db.isStarting()) {
+            dataMap.clear();
+        }
+        t.commit();
+    }
+
+    @Override
+    public void addRowsToBuffer(List<Row> rows, String bufferName) {
+        throw DbException.getInternalError();
+    }
+
+    @Override
+    public void addBufferedRows(List<String> bufferNames) {
+        throw DbException.getInternalError();
+    }
+
+    @Override
+    public void close(SessionLocal session) {
+        // ok
+    }
+
+    @Override
+    public void add(SessionLocal session, Row row) {
+        Value v = row.getValue(columnIds[0]);
+        if (v == ValueNull.INSTANCE) {
+            return;
+        }
+        ArrayList<String> words = FullTextQuery.tokenize(v.getString());
+        HashMap<String, IntArray> positions = new HashMap<>();
+        for (int i = 0, l = words.size(); i < l; i++) {
+            positions.computeIfAbsent(words.get(i), k -> new IntArray()).add(i);
+        }
+        TransactionMap<Value, Value> map = getMap(session);
+        long key = row.getKey();
+        try {
+            for (Map.Entry<String, IntArray> entry : positions.entrySet()) {
+                map.put(getKey(getWord(entry.getKey()), key),
+                        ValueVarbinary.getNoCopy(encodePositions(entry.getValue())));
+            }
+            map.put(getKey(DOCUMENT, key), ValueInteger.get(words.size()));
+        } catch (MVStoreException e) {
+            throw mvTable.convertException(e);
+        }
+        updateStatistics(1, words.size());
+    }
+
+    @Override
+    public void remove(SessionLocal session, Row row) {
+        Value v = row.getValue(columnIds[0]);
+        if (v == ValueNull.INSTANCE) {
+            return;
+        }
+        TransactionMap<Value, Value> map = getMap(session);
+        long key = row.getKey();
+        try {
+            Value length = map.remove(getKey(DOCUMENT, key));
+            if (length == null) {
+                StringBuilder builder = new StringBuilder();
+                getSQL(builder, TRACE_SQL_FLAGS).append(": ").append(key);
+                throw DbException.get(ErrorCode.ROW_NOT_FOUND_WHEN_DELETING_1, builder.toString());
+            }
+            for (String word : new HashSet<>(FullTextQuery.tokenize(v.getString()))) {
+                map.remove(getKey(getWord(word), key));
+            }
+            updateStatistics(-1, -length.getInt());
+        } catch (MVStoreException e) {
+            throw mvTable.convertException(e);
+        }
+    }
+
+    @Override
+    public void update(SessionLocal session, Row oldRow, Row newRow) {
+        if (oldRow.getKey() != newRow.getKey()
+                || !Objects.equals(oldRow.getValue(columnIds[0]), newRow.getValue(columnIds[0]))) {
+            super.update(session, oldRow, newRow);
+        }
+    }
+
+    @Override
+    public Cursor find(SessionLocal session, SearchRow first, SearchRow last, boolean reverse) {
+        // the index can only be used for full text search
+        return mvTable.getScanIndex(session).find(session, null, null, false);
+    }
+
+    @Override
+    public Cursor findByText(SessionLocal session, FullTextQuery query) {
+        String[] words = query.getWords();
+        int wordCount = words.length;
+        if (wordCount == 0) {
+            return new FullTextCursor(session, mvTable, new long[0]);
+        }
+        TransactionMap<Value, Value> map = getMap(session);
+        long[][] keys = new long[wordCount][];
+        byte[][][] positions = new byte[wordCount][][];
+        int rarest = 0;
+        for (int i = 0; i < wordCount; i++) {
+            if (!readPostings(map, words[i], keys, positions, i)) {
+                return new FullTextCursor(session, mvTable, new long[0]);
+            }
+            if (keys[i].length < keys[rarest].length) {
+                rarest = i;
+            }
+        }
+        long n, total;
+        synchronized (this) {
+            if (!statisticsValid) {
+                readStatistics(map);
+            }
+            n = documentCount;
+            total = totalLength;
+        }
+        double averageLength = n > 0 ? Math.max((double) total / n, 1d) : 1d;
+        double[] idf = new double[wordCount];
+        for (int i = 0; i < wordCount; i++) {
+            long df = keys[i].length;
+            long docs = Math.max(n, df);
+            idf[i] = Math.log(1d + (docs - df + 0.5d) / (df + 0.5d));
+        }
+        long[] candidates = keys[rarest];
+        int candidateCount = candidates.length;
+        long[] result = new long[candidateCount];
+        double[] scores = new double[candidateCount];
+        int resultCount = 0;
+        int[] found = new int[wordCount];
+        List<String> wordList = Arrays.asList(words);
+        loop: for (long key : candidates) {
+            for (int i = 0; i < wordCount; i++) {
+                int j = Arrays.binarySearch(keys[i], key);
+                if (j < 0) {
+                    continue loop;
+                }
+                found[i] = j;
+            }
+            if (!matchesPhrases(query, wordList, positions, found)) {
+                continue;
+            }
+            Value length = map.get(getKey(DOCUMENT, key));
+            double norm = K1 * (1d - B + B * (length != null ? length.getInt() : averageLength) / averageLength);
+            double score = 0d;
+            for (int i = 0; i < wordCount; i++) {
+                int tf = getPositionCount(positions[i][found[i]]);
+                score += idf[i] * tf * (K1 + 1d) / (tf + norm);
+            }
+            result[resultCount] = key;
+            scores[resultCount++] = score;
+        }
+        Integer[] order = new Integer[resultCount];
+        for (int i = 0; i < resultCount; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> {
+            int c = Double.compare(scores[b], scores[a]);
+            return c != 0 ? c : Long.compare(result[a], result[b]);
+        });
+        long[] sorted = new long[resultCount];
+        for (int i = 0; i < resultCount; i++) {
+            sorted[i] = result[order[i]];
+        }
+        return new FullTextCursor(session, mvTable, sorted);
+    }
+
+    private static boolean readPostings(TransactionMap<Value, Value> map, String word, long[][] keys,
+            byte[][][] positions, int index) {
+        byte[] w = getWord(word);
+        TMIterator<Value, Value, Map.Entry<Value, Value>> it = map.entryIterator(getKey(w, Long.MIN_VALUE),
+                getKey(w, Long.MAX_VALUE));
+        long[] k = new long[16];
+        byte[][] p = new byte[16][];
+        int count = 0;
+        for (Map.Entry<Value, Value> entry; (entry = it.fetchNext()) != null;) {
+            if (count == k.length) {
+                k = Arrays.copyOf(k, count * 2);
+                p = Arrays.copyOf(p, count * 2);
+            }
+            k[count] = getRowKey(entry.getKey().getBytesNoCopy());
+            p[count++] = entry.getValue().getBytesNoCopy();
+        }
+        keys[index] = Arrays.copyOf(k, count);
+        positions[index] = Arrays.copyOf(p, count);
+        return count > 0;
+    }
+
+    private static boolean matchesPhrases(FullTextQuery query, List<String> words, byte[][][] positions,
+            int[] found) {
+        for (String[] clause : query.getClauses()) {
+            int length = clause.length;
+            if (length < 2) {
+                continue;
+            }
+            int[][] p = new int[length][];
+            for (int i = 0; i < length; i++) {
+                int w = words.indexOf(clause[i]);
+                p[i] = decodePositions(positions[w][found[w]]);
+            }
+            boolean matches = false;
+            loop: for (int start : p[0]) {
+                for (int i = 1; i < length; i++) {
+                    if (Arrays.binarySearch(p[i], start + i) < 0) {
+                        continue loop;
+                    }
+                }
+                matches = true;
+                break;
+            }
+            if (!matches) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private synchronized void updateStatistics(long documents, long length) {
+        if (statisticsValid) {
+            documentCount += documents;
+            totalLength += length;
+        }
+    }
+
+    private void readStatistics(TransactionMap<Value, Value> map) {
+        TMIterator<Value, Value, Map.Entry<Value, Value>> it = map.entryIterator(getKey(DOCUMENT, Long.MIN_VALUE),
+                getKey(DOCUMENT, Long.MAX_VALUE));
+        long count = 0, length = 0;
+        for (Map.Entry<Value, Value> entry; (entry = it.fetchNext()) != null;) {
+            count++;
+            length += entry.getValue().getInt();
+        }
+        documentCount = count;
+        totalLength = length;
+        statisticsValid = true;
+    }
+
+    private static byte[] getWord(String word) {
+        return word.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Create a key of the map. The key consists of UTF-8 representation of the
+     * word, a zero byte, and the row key with inverted sign bit in big-endian
+     * order, so unsigned comparison of keys orders them by words and then by
+     * row keys. Words can't contain zero characters.
+     *
+     * @param word the word
+     * @param key the row key
+     * @return the key of the map
+     */
+    private static Value getKey(byte[] word, long key) {
+        int l = word.length;
+        byte[] buff = Arrays.copyOf(word, l + 9);
+        Bits.LONG_VH_BE.set(buff, l + 1, key ^ Long.MIN_VALUE);
+        return ValueVarbinary.getNoCopy(buff);
+    }
+
+    private static long getRowKey(byte[] buff) {
+        return (long) Bits.LONG_VH_BE.get(buff, buff.length - 8) ^ Long.MIN_VALUE;
+    }
+
+    /**
+     * Encode ascending positions as variable size deltas.
+     *
+     * @param positions the positions
+     * @return the encoded positions
+     */
+    static byte[] encodePositions(IntArray positions) {
+        byte[] buff = new byte[positions.size() * 5];
+        int length = 0;
+        for (int i = 0, l = positions.size(), last = 0; i < l; i++) {
+            int p = positions.get(i), x = p - last;
+            last = p;
+            while ((x & ~0x7f) != 0) {
+                buff[length++] = (byte) (x & 0x7f | 0x80);
+                x >>>= 7;
+            }
+            buff[length++] = (byte) x;
+        }
+        return Arrays.copyOf(buff, length);
+    }
+
+    /**
+     * Decode positions encoded with {@link #encodePositions(IntArray)}.
+     *
+     * @param buff the encoded positions
+     * @return the positions
+     */
+    static int[] decodePositions(byte[] buff) {
+        int[] positions = new int[getPositionCount(buff)];
+        for (int i = 0, j = 0, last = 0; i < buff.length; j++) {
+            int x = 0;
+            for (int shift = 0;; shift += 7) {
+                int b = buff[i++];
+                x |= (b & 0x7f) << shift;
+                if (b >= 0) {
+                    break;
+                }
+            }
+            positions[j] = last += x;
+        }
+        return positions;
+    }
+
+    private static int getPositionCount(byte[] buff) {
+        int count = 0;
+        for (byte b : buff) {
+            if (b >= 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public MVTable getTable() {
+        return mvTable;
+    }
+
+    @Override
+    public double getCost(SessionLocal session, int[] masks, TableFilter[] filters, int filter,
+            SortOrder sortOrder, AllColumnsForPlan allColumnsSet, boolean isSelectCommand) {
+        // Never use full text index without full text search condition
+        if (masks == null || (masks[columnIds[0]] & IndexCondition.FULLTEXT_MATCH) == 0) {
+            return Long.MAX_VALUE;
+        }
+        long rowCount = mvTable.getRowCountApproximation(session) + Constants.COST_ROW_OFFSET;
+        long cost = 10 * (2 + rowCount / 10);
+        if (sortOrder != null) {
+            cost += 100 + rowCount / 10;
+        }
+        return cost;
+    }
+
+    @Override
+    public void remove(SessionLocal session) {
+        TransactionMap<Value, Value> map = getMap(session);
+        if (!map.isClosed()) {
+            Transaction t = session.getTransaction();
+            t.removeMap(map);
+        }
+    }
+
+    @Override
+    public void truncate(SessionLocal session) {
+        TransactionMap<Value, Value> map = getMap(session);
+        map.clear();
+        synchronized (this) {
+            statisticsValid = false;
+        }
+    }
+
+    @Override
+    public boolean needRebuild() {
+        try {
+            return dataMap.sizeAsLongMax() == 0;
+        } catch (MVStoreException e) {
+            throw DbException.get(ErrorCode.OBJECT_CLOSED, e);
+        }
+    }
+
+    @Override
+    public long getRowCount(SessionLocal session) {
+        TMIterator<Value, Value, Value> it = getMap(session).keyIterator(getKey(DOCUMENT, Long.MIN_VALUE),
+                getKey(DOCUMENT, Long.MAX_VALUE));
+        long count = 0;
+        while (it.fetchNext() != null) {
+            count++;
+        }
+        return count;
+    }
+
+    @Override
+    public long getRowCountApproximation(SessionLocal session) {
+        return mvTable.getRowCountApproximation(session);
+    }
+
+    /**
+     * Get the map to store the data.
+     *
+     * @param session the session
+     * @return the map
+     */
+    private TransactionMap<Value, Value> getMap(SessionLocal session) {
+        if (session == null) {
+            return dataMap;
+        }
+        Transaction t = session.getTransaction();
+        return dataMap.getInstance(t);
+    }
+
+    @Override
+    public MVMap<Value, VersionedValue<Value>> getMVMap() {
+        return dataMap.map;
+    }
+
+    /**
+     * A cursor over rows with the specified keys.
+     */
+    private static final class FullTextCursor implements Cursor {
+
+        private final SessionLocal session;
+        private final MVTable mvTable;
+        private final long[] keys;
+        private int index = -1;
+        private Row row;
+
+        FullTextCursor(SessionLocal session, MVTable mvTable, long[] keys) {
+            this.session = session;
+            this.mvTable = mvTable;
+            this.keys = keys;
+        }
+
+        @Override
+        public Row get() {
+            if (row == null && index >= 0 && index < keys.length) {
+                row = mvTable.getRow(session, keys[index]);
+            }
+            return row;
+        }
+
+        @Override
+        public SearchRow getSearchRow() {
+            return get();
+        }
+
+        @Override
+        public boolean next() {
+            row = null;
+            return ++index < keys.length;
+        }
+
+        @Override
+        public boolean previous() {
+            throw DbException.getUnsupportedException("previous");
+        }
+
+    }
+
+}
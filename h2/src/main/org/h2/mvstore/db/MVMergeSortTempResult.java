@@ -0,0 +1,249 @@
+/*
+ * Copyright 2004-2025 H2 Group. Multiple-Licensed under the MPL 2.0,
+ * and the EPL 1.0 (https://h2database.com/html/license.html).
+ * Initial Developer: H2 Group
+ */
+package org.h2.mvstore.db;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.PriorityQueue;
+
+import org.h2.engine.Database;
+import org.h2.expression.Expression;
+import org.h2.message.DbException;
+import org.h2.mvstore.Cursor;
+import org.h2.mvstore.MVMap;
+import org.h2.mvstore.MVMap.Builder;
+import org.h2.mvstore.type.LongDataType;
+import org.h2.result.ResultExternal;
+import org.h2.result.RowFactory.DefaultRowFactory;
+import org.h2.result.SortOrder;
+import org.h2.value.Value;
+import org.h2.value.ValueRow;
+
+/**
+ * Sorted temporary result without DISTINCT.
+ *
+ * <p>
+ * Rows are collected into runs. Each run is sorted in memory, possibly in
+ * parallel, and written sequentially into an own map of the temporary store.
+ * Sorted runs are merged lazily when rows are read. Unlike
+ * {@link MVSortedTempResult} this result never inserts rows into a B-tree in
+ * random order.
+ * </p>
+ */
+class MVMergeSortTempResult extends MVTempResult {
+
+    /**
+     * Cursor over a sorted run.
+     */
+    private static final class RunCursor {
+
+        /**
+         * The number of the run, used to keep the order of equal rows.
+         */
+        final int run;
+
+        private final Cursor<Long, ValueRow> cursor;
+
+        /**
+         * The current row.
+         */
+        Value[] current;
+
+        RunCursor(int run, Cursor<Long, ValueRow> cursor) {
+            this.run = run;
+            this.cursor = cursor;
+        }
+
+        boolean next() {
+            if (!cursor.hasNext()) {
+                current = null;
+                return false;
+            }
+            cursor.next();
+            current = cursor.getValue().getList();
+            return true;
+        }
+
+    }
+
+    /**
+     * Sort order.
+     */
+    private final SortOrder sort;
+
+    /**
+     * Data type of rows in runs.
+     */
+    private final ValueDataType rowType;
+
+    /**
+     * The maximum number of rows in a run created from separately added rows.
+     */
+    private final int runSize;
+
+    /**
+     * Written sorted runs.
+     */
+    private final ArrayList<MVMap<Long, ValueRow>> runs;
+
+    /**
+     * Rows added with {@link #addRow(Value[])} and not yet written into a run.
+     */
+    private ArrayList<Value[]> buffer;
+
+    /**
+     * Cursors over remaining runs for the {@link #next()} method.
+     */
+    private PriorityQueue<RunCursor> queue;
+
+    /**
+     * Creates a shallow copy of the result.
+     *
+     * @param parent
+     *                   parent result
+     */
+    private MVMergeSortTempResult(MVMergeSortTempResult parent) {
+        super(parent);
+        this.sort = parent.sort;
+        this.rowType = parent.rowType;
+        this.runSize = parent.runSize;
+        this.runs = parent.runs;
+        this.rowCount = parent.rowCount;
+    }
+
+    /**
+     * Creates a new sorted temporary result.
+     *
+     * @param database
+     *            database
+     * @param expressions
+     *            column expressions
+     * @param visibleColumnCount
+     *            count of visible columns
+     * @param resultColumnCount
+     *            the number of columns including visible columns and additional
+     *            virtual columns for ORDER BY clause
+     * @param sort
+     *            sort order
+     */
+    MVMergeSortTempResult(Database database, Expression[] expressions, int visibleColumnCount,
+            int resultColumnCount, SortOrder sort) {
+        super(database, expressions, visibleColumnCount, resultColumnCount);
+        this.sort = sort;
+        rowType = new ValueDataType(database, new int[resultColumnCount]);
+        rowType.setRowFactory(DefaultRowFactory.INSTANCE.createRowFactory(database, database.getCompareMode(),
+                database, expressions, null, false));
+        runSize = Math.max(database.getMaxMemoryRows(), 1);
+        runs = new ArrayList<>();
+    }
+
+    @Override
+    public int addRow(Value[] values) {
+        assert parent == null;
+        if (buffer == null) {
+            buffer = new ArrayList<>();
+        }
+        buffer.add(values);
+        if (buffer.size() >= runSize) {
+            flush();
+        }
+        return ++rowCount;
+    }
+
+    @Override
+    public int addRows(Collection<Value[]> rows) {
+        assert parent == null;
+        flush();
+        writeRun(rows.toArray(new Value[0][]));
+        rowCount += rows.size();
+        return rowCount;
+    }
+
+    private void flush() {
+        if (buffer != null && !buffer.isEmpty()) {
+            writeRun(buffer.toArray(new Value[0][]));
+            buffer = null;
+        }
+    }
+
+    private void writeRun(Value[][] rows) {
+        int length = rows.length;
+        if (length == 0) {
+            return;
+        }
+        // Arrays.parallelSort() is stable and uses all available processors
+        // for large runs
+        Arrays.parallelSort(rows, sort);
+        MVMap<Long, ValueRow> map = store.openMap("run" + runs.size(),
+                new MVMap.Builder<Long, ValueRow>().keyType(LongDataType.INSTANCE).valueType(rowType)
+                        .singleWriter());
+        for (int i = 0; i < length; i++) {
+            map.append((long) i, ValueRow.get(rows[i]));
+            rows[i] = null;
+        }
+        runs.add(map);
+    }
+
+    @Override
+    public boolean contains(Value[] values) {
+        throw DbException.getUnsupportedException("contains()");
+    }
+
+    @Override
+    public synchronized ResultExternal createShallowCopy() {
+        if (parent != null) {
+            return parent.createShallowCopy();
+        }
+        if (closed) {
+            return null;
+        }
+        flush();
+        childCount++;
+        return new MVMergeSortTempResult(this);
+    }
+
+    @Override
+    public Value[] next() {
+        PriorityQueue<RunCursor> queue = this.queue;
+        if (queue == null) {
+            if (parent == null) {
+                flush();
+            }
+            int count = runs.size();
+            this.queue = queue = new PriorityQueue<>(Math.max(count, 1), (a, b) -> {
+                int comp = sort.compare(a.current, b.current);
+                return comp != 0 ? comp : Integer.compare(a.run, b.run);
+            });
+            for (int i = 0; i < count; i++) {
+                RunCursor c = new RunCursor(i, runs.get(i).cursor(null));
+                if (c.next()) {
+                    queue.add(c);
+                }
+            }
+        }
+        RunCursor c = queue.poll();
+        if (c == null) {
+            return null;
+        }
+        Value[] row = c.current;
+        if (c.next()) {
+            queue.add(c);
+        }
+        return row;
+    }
+
+    @Override
+    public int removeRow(Value[] values) {
+        throw DbException.getUnsupportedException("removeRow()");
+    }
+
+    @Override
+    public void reset() {
+        queue = null;
+    }
+
+}
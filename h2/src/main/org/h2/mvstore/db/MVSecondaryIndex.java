@@ -15,6 +15,7 @@
 import org.h2.engine.Database;
 import org.h2.engine.SessionLocal;
 import org.h2.index.Cursor;
+import org.h2.index.IndexPredicate;
 import org.h2.index.IndexType;
 import org.h2.index.SingleRowCursor;
 import org.h2.message.DbException;
@@ -46,10 +47,16 @@ public final class MVSecondaryIndex extends MVIndex<SearchRow, Value> {
     private final MVTable                         mvTable;
     private final TransactionMap<SearchRow,Value> dataMap;
 
+    /**
+     * The predicate of a partial index, or {@code null}.
+     */
+    private final IndexPredicate                  predicate;
+
     public MVSecondaryIndex(Database db, MVTable table, int id, String indexName,
                 IndexColumn[] columns, int uniqueColumnCount, IndexType indexType) {
         super(table, id, indexName, columns, uniqueColumnCount, indexType);
         this.mvTable = table;
+        predicate = indexType.getPredicate();
         if (!database.isStarting()) {
             checkIndexColumnTypes(columns);
         }
@@ -176,6 +183,9 @@ public void close(SessionLocal session) {
 
     @Override
     public void add(SessionLocal session, Row row) {
+        if (predicate != null && !predicate.test(session, row)) {
+            return;
+        }
         TransactionMap<SearchRow,Value> map = getMap(session);
         SearchRow key = convertToKey(row, null);
         boolean checkRequired = needsUniqueCheck(row);
@@ -229,6 +239,9 @@ private void checkUnique(boolean repeatableRead, TransactionMap<SearchRow,Value>
 
     @Override
     public void remove(SessionLocal session, Row row) {
+        if (predicate != null && !predicate.test(session, row)) {
+            return;
+        }
         SearchRow searchRow = convertToKey(row, null);
         TransactionMap<SearchRow,Value> map = getMap(session);
         try {
@@ -246,7 +259,8 @@ public void remove(SessionLocal session, Row row) {
     public void update(SessionLocal session, Row oldRow, Row newRow) {
         SearchRow searchRowOld = convertToKey(oldRow, null);
         SearchRow searchRowNew = convertToKey(newRow, null);
-        if (!rowsAreEqual(searchRowOld, searchRowNew)) {
+        if (!rowsAreEqual(searchRowOld, searchRowNew)
+                || predicate != null && predicate.test(session, oldRow) != predicate.test(session, newRow)) {
             super.update(session, oldRow, newRow);
         }
     }
@@ -276,6 +290,16 @@ private Cursor find(SessionLocal session, SearchRow first, boolean bigger, Searc
         return new MVStoreCursor(session, getMap(session).keyIterator(min, max, reverse), mvTable);
     }
 
+    @Override
+    public boolean canSkipScan() {
+        return true;
+    }
+
+    @Override
+    public Cursor findSkipScan(SessionLocal session, SearchRow first, SearchRow last, boolean reverse) {
+        return new SkipScanCursor(session, getMap(session), first, last, reverse);
+    }
+
     private SearchRow convertToKey(SearchRow r, Boolean minMax) {
         if (r == null) {
             return null;
@@ -390,6 +414,93 @@ public MVMap<SearchRow,VersionedValue<Value>> getMVMap() {
         return dataMap.map;
     }
 
+    /**
+     * A cursor for skip scan. It seeks to each distinct value of the first
+     * column of the index and iterates over rows with that value within the
+     * specified bounds.
+     */
+    private final class SkipScanCursor implements Cursor {
+
+        private final SessionLocal session;
+        private final TransactionMap<SearchRow, Value> map;
+        private final SearchRow first, last;
+        private final boolean reverse;
+        private Value prefix;
+        private MVStoreCursor cursor;
+        private boolean done;
+
+        SkipScanCursor(SessionLocal session, TransactionMap<SearchRow, Value> map, SearchRow first,
+                SearchRow last, boolean reverse) {
+            this.session = session;
+            this.map = map;
+            this.first = first;
+            this.last = last;
+            this.reverse = reverse;
+        }
+
+        @Override
+        public Row get() {
+            return cursor != null ? cursor.get() : null;
+        }
+
+        @Override
+        public SearchRow getSearchRow() {
+            return cursor != null ? cursor.getSearchRow() : null;
+        }
+
+        @Override
+        public boolean next() {
+            while (!done) {
+                if (cursor != null) {
+                    if (cursor.next()) {
+                        return true;
+                    }
+                    cursor = null;
+                }
+                nextPrefix();
+            }
+            return false;
+        }
+
+        private void nextPrefix() {
+            int firstColumn = columnIds[0];
+            SearchRow key;
+            if (prefix == null) {
+                key = reverse ? map.lastKey() : map.firstKey();
+            } else {
+                SearchRow seek = getRowFactory().createRow();
+                seek.setValue(firstColumn, prefix);
+                // all rows with the current prefix are before (or after) it
+                seek.setKey(reverse ? Long.MIN_VALUE : Long.MAX_VALUE);
+                key = reverse ? map.lowerKey(seek) : map.higherKey(seek);
+            }
+            if (key == null) {
+                done = true;
+                return;
+            }
+            prefix = key.getValue(firstColumn);
+            SearchRow min = withPrefix(first, reverse);
+            SearchRow max = withPrefix(last, !reverse);
+            cursor = new MVStoreCursor(session, map.keyIterator(min, max, reverse), mvTable);
+        }
+
+        private SearchRow withPrefix(SearchRow r, boolean minMax) {
+            SearchRow row = getRowFactory().createRow();
+            if (r != null) {
+                row.copyFrom(r);
+            }
+            row.setValue(columnIds[0], prefix);
+            row.setKey(minMax ? Long.MAX_VALUE : Long.MIN_VALUE);
+            return row;
+        }
+
+        @Override
+        public boolean previous() {
+            throw DbException.getUnsupportedException("previous");
+        }
+
+    }
+
     /**
      * A cursor.
      */
@@ -12,6 +12,7 @@
 
 import java.util.Iterator;
 import java.util.List;
+import java.util.PriorityQueue;
 import org.h2.api.ErrorCode;
 import org.h2.command.query.AllColumnsForPlan;
 import org.h2.engine.Database;
@@ -19,14 +20,16 @@
 import org.h2.index.Cursor;
 import org.h2.index.IndexCondition;
 import org.h2.index.IndexType;
-import org.h2.index.SpatialIndex;
+import org.h2.index.NearestNeighborIndex;
 import org.h2.message.DbException;
 import org.h2.mvstore.MVMap;
 import org.h2.mvstore.MVStoreException;
 import org.h2.mvstore.Page;
 import org.h2.mvstore.rtree.MVRTreeMap;
+import org.h2.mvstore.rtree.MVRTreeMap.NearestRTreeCursor;
 import org.h2.mvstore.rtree.MVRTreeMap.RTreeCursor;
 import org.h2.mvstore.rtree.Spatial;
+import org.h2.mvstore.rtree.SpatialDataType;
 import org.h2.mvstore.tx.Transaction;
 import org.h2.mvstore.tx.TransactionMap;
 import org.h2.mvstore.tx.VersionedValueType;
@@ -36,6 +39,7 @@
 import org.h2.table.Column;
 import org.h2.table.IndexColumn;
 import org.h2.table.TableFilter;
+import org.h2.util.geometry.GeometryUtils;
 import org.h2.value.Value;
 import org.h2.value.ValueGeometry;
 import org.h2.value.ValueNull;
@@ -48,7 +52,7 @@
  * @author Noel Grandin
  * @author Nicolas Fortin, Atelier SIG, IRSTV FR CNRS 24888
  */
-public final class MVSpatialIndex extends MVIndex<Spatial, Value> implements SpatialIndex {
+public final class MVSpatialIndex extends MVIndex<Spatial, Value> implements NearestNeighborIndex {
 
     /**
      * The multi-value table.
@@ -213,6 +217,25 @@ public Cursor findByGeometry(SessionLocal session, SearchRow first, SearchRow la
         return new MVStoreCursor(session, it, mvTable);
     }
 
+    @Override
+    public Cursor findNearest(SessionLocal session, SearchRow point, SearchRow intersection, boolean nullsFirst) {
+        Value v = point.getValue(columnIds[0]);
+        double[] envelope = v == ValueNull.INSTANCE ? null : v.convertToGeometry(null).getEnvelopeNoCopy();
+        if (envelope == null) {
+            // all distances are NULL, the order does not matter
+            return intersection != null ? findByGeometry(session, null, null, false, intersection)
+                    : mvTable.getScanIndex(session).find(session, null, null, false);
+        }
+        NearestCursor cursor = new NearestCursor(spatialMap.getRootPage(), envelope,
+                intersection != null ? getKey(intersection) : null, (SpatialDataType) spatialMap.getKeyType());
+        TransactionMap<Spatial, Value> map = getMap(session);
+        // NULL and empty geometries aren't indexed, the table needs to be
+        // scanned for them only if it has more rows than the index
+        boolean hasNulls = intersection == null && mvTable.getRowCount(session) > map.sizeAsLong();
+        return new NearestMVStoreCursor(session, map, cursor, mvTable, columnIds[0], envelope, hasNulls,
+                nullsFirst);
+    }
+
     /**
      * Returns the minimum bounding box that encloses all keys.
      *
@@ -449,6 +472,160 @@ public Spatial next() {
         }
     }
 
+    /**
+     * A cursor for k-nearest-neighbor search. Keys store envelopes rounded to
+     * float values, so their bounds are widened by one ulp to get a distance
+     * that is never larger than the distance of the exact envelope.
+     */
+    private static final class NearestCursor extends NearestRTreeCursor<VersionedValue<Value>> {
+
+        private final double[] envelope;
+
+        private final Spatial intersection;
+
+        private final SpatialDataType keyType;
+
+        NearestCursor(Page<Spatial,VersionedValue<Value>> root, double[] envelope, Spatial intersection,
+                SpatialDataType keyType) {
+            super(root);
+            this.envelope = envelope;
+            this.intersection = intersection;
+            this.keyType = keyType;
+        }
+
+        @Override
+        protected double getDistance(boolean leaf, Spatial key) {
+            if (key.isNull()) {
+                return Double.POSITIVE_INFINITY;
+            }
+            double dx = getGap(Math.nextDown(key.min(0)), Math.nextUp(key.max(0)), envelope[MIN_X], envelope[MAX_X]);
+            double dy = getGap(Math.nextDown(key.min(1)), Math.nextUp(key.max(1)), envelope[MIN_Y], envelope[MAX_Y]);
+            return Math.sqrt(dx * dx + dy * dy);
+        }
+
+        private static double getGap(double min1, double max1, double min2, double max2) {
+            return max1 < min2 ? min2 - max1 : max2 < min1 ? min1 - max2 : 0d;
+        }
+
+        @Override
+        protected boolean check(boolean leaf, Spatial key) {
+            return intersection == null || keyType.isOverlap(key, intersection);
+        }
+
+    }
+
+    /**
+     * A cursor that returns rows in the order of exact distance of their
+     * envelopes. Rows are buffered until the lower bound of distance of
+     * remaining keys is not smaller than the distance of the buffered row.
+     */
+    private static final class NearestMVStoreCursor implements Cursor {
+
+        private final SessionLocal session;
+        private final TransactionMap<Spatial, Value> map;
+        private final NearestCursor it;
+        private final MVTable mvTable;
+        private final int columnId;
+        private final double[] envelope;
+        private final PriorityQueue<NearestRow> buffer = new PriorityQueue<>();
+        private final boolean nullsFirst;
+        private boolean hasNulls;
+        private Cursor nullCursor;
+        private Row row;
+
+        NearestMVStoreCursor(SessionLocal session, TransactionMap<Spatial, Value> map, NearestCursor it,
+                MVTable mvTable, int columnId, double[] envelope, boolean hasNulls, boolean nullsFirst) {
+            this.session = session;
+            this.map = map;
+            this.it = it;
+            this.mvTable = mvTable;
+            this.columnId = columnId;
+            this.envelope = envelope;
+            this.hasNulls = hasNulls;
+            this.nullsFirst = nullsFirst;
+        }
+
+        @Override
+        public Row get() {
+            return row;
+        }
+
+        @Override
+        public SearchRow getSearchRow() {
+            return row;
+        }
+
+        @Override
+        public boolean next() {
+            if (nullsFirst && nextNull()) {
+                return true;
+            }
+            for (;;) {
+                NearestRow r = buffer.peek();
+                if (r != null && r.distance <= it.peekDistance()) {
+                    row = buffer.poll().row;
+                    return true;
+                }
+                if (!it.hasNext()) {
+                    break;
+                }
+                Spatial key = it.next();
+                if (map.containsKey(key)) {
+                    Row candidate = mvTable.getRow(session, key.getId());
+                    double[] env = candidate.getValue(columnId).convertToGeometry(null).getEnvelopeNoCopy();
+                    buffer.add(new NearestRow(GeometryUtils.distance(env, envelope), candidate));
+                }
+            }
+            if (!nullsFirst && nextNull()) {
+                return true;
+            }
+            row = null;
+            return false;
+        }
+
+        private boolean nextNull() {
+            if (hasNulls) {
+                if (nullCursor == null) {
+                    nullCursor = mvTable.getScanIndex(session).find(session, null, null, false);
+                }
+                while (nullCursor.next()) {
+                    Row candidate = nullCursor.get();
+                    Value v = candidate.getValue(columnId);
+                    if (v == ValueNull.INSTANCE || v.convertToGeometry(null).getEnvelopeNoCopy() == null) {
+                        row = candidate;
+                        return true;
+                    }
+                }
+                hasNulls = false;
+            }
+            return false;
+        }
+
+        @Override
+        public boolean previous() {
+            throw DbException.getUnsupportedException("previous");
+        }
+
+    }
+
+    private static final class NearestRow implements Comparable<NearestRow> {
+
+        final double distance;
+
+        final Row row;
+
+        NearestRow(double distance, Row row) {
+            this.distance = distance;
+            this.row = row;
+        }
+
+        @Override
+        public int compareTo(NearestRow o) {
+            return Double.compare(distance, o.distance);
+        }
+
+    }
+
     /**
      * A cursor for getBounds() method.
      */
@@ -11,6 +11,11 @@
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import org.h2.api.DatabaseEventListener;
@@ -24,11 +29,13 @@
 import org.h2.engine.SysProperties;
 import org.h2.index.Cursor;
 import org.h2.index.Index;
+import org.h2.index.IndexPredicate;
 import org.h2.index.IndexType;
 import org.h2.message.DbException;
 import org.h2.message.Trace;
 import org.h2.mode.DefaultNullOrdering;
 import org.h2.mvstore.DataUtils;
+import org.h2.mvstore.MVStore;
 import org.h2.mvstore.MVStoreException;
 import org.h2.mvstore.tx.Transaction;
 import org.h2.mvstore.tx.TransactionStore;
@@ -37,6 +44,7 @@
 import org.h2.result.SortOrder;
 import org.h2.table.Column;
 import org.h2.table.IndexColumn;
+import org.h2.table.MaterializedView;
 import org.h2.table.Table;
 import org.h2.table.TableBase;
 import org.h2.table.TableType;
@@ -331,6 +339,11 @@ public Row getRow(SessionLocal session, long key) {
         return primaryIndex.getRow(session, key);
     }
 
+    @Override
+    public boolean canGetRowByKey() {
+        return true;
+    }
+
     @Override
     public Index addIndex(SessionLocal session, String indexName, int indexId, IndexColumn[] cols,
             int uniqueColumnCount, IndexType indexType, boolean create, String indexComment) {
@@ -359,6 +372,8 @@ public Index addIndex(SessionLocal session, String indexName, int indexId, Index
         } else if (indexType.isSpatial()) {
             index = new MVSpatialIndex(session.getDatabase(), this, indexId,
                     indexName, cols, uniqueColumnCount, indexType);
+        } else if (indexType.isFullText()) {
+            index = new MVFullTextIndex(session.getDatabase(), this, indexId, indexName, cols, indexType);
         } else {
             index = new MVSecondaryIndex(session.getDatabase(), this, indexId,
                     indexName, cols, uniqueColumnCount, indexType);
@@ -382,7 +397,8 @@ public Index addIndex(SessionLocal session, String indexName, int indexId, Index
 
     private void rebuildIndex(SessionLocal session, MVIndex<?,?> index, String indexName) {
         try {
-            if (!session.getDatabase().isPersistent() || index instanceof MVSpatialIndex) {
+            if (!session.getDatabase().isPersistent() || index instanceof MVSpatialIndex
+                    || index instanceof MVFullTextIndex) {
                 // in-memory
                 rebuildIndexBuffered(session, index);
             } else {
@@ -411,6 +427,8 @@ private void rebuildIndexBlockMerge(SessionLocal session, MVIndex<?,?> index) {
         // this should use relatively few write operations.
         // A possible optimization is: change the buffer size from "row count"
         // to "amount of memory", and buffer index keys instead of rows.
+        // Blocks are sorted and written by background threads if there is
+        // more than one block, while this thread continues to read the rows.
         Index scan = getScanIndex(session);
         long remaining = scan.getRowCount(session);
         long total = remaining;
@@ -419,37 +437,119 @@ private void rebuildIndexBlockMerge(SessionLocal session, MVIndex<?,?> index) {
         Store store = session.getDatabase().getStore();
 
         int bufferSize = (int) Math.min(total, database.getMaxMemoryRows() / 2);
+        int threads = database.getSettings().createIndexThreads;
+        ExecutorService executor = null;
+        if (threads > 1 && total > bufferSize) {
+            // the same amount of rows in memory in all blocks
+            bufferSize = Math.max(bufferSize / threads, 1);
+            executor = Executors.newFixedThreadPool(threads, r -> {
+                Thread t = new Thread(r, "H2 create index " + index.getName());
+                t.setDaemon(true);
+                return t;
+            });
+        }
+        ArrayDeque<Future<?>> pending = new ArrayDeque<>();
         ArrayList<Row> buffer = new ArrayList<>(bufferSize);
         String n = getName() + ':' + index.getName();
         ArrayList<String> bufferNames = Utils.newSmallArrayList();
-        while (cursor.next()) {
-            Row row = cursor.get();
-            buffer.add(row);
-            database.setProgress(DatabaseEventListener.STATE_CREATE_INDEX, n, i++, total);
-            if (buffer.size() >= bufferSize) {
-                sortRows(buffer, index);
-                String mapName = store.nextTemporaryMapName();
-                index.addRowsToBuffer(buffer, mapName);
-                bufferNames.add(mapName);
-                buffer.clear();
+        IndexPredicate predicate = index.getIndexType().getPredicate();
+        try {
+            try {
+                while (cursor.next()) {
+                    Row row = cursor.get();
+                    if (predicate == null || predicate.test(session, row)) {
+                        buffer.add(row);
+                    }
+                    database.setProgress(DatabaseEventListener.STATE_CREATE_INDEX, n, i++, total);
+                    if (buffer.size() >= bufferSize) {
+                        String mapName = store.nextTemporaryMapName();
+                        bufferNames.add(mapName);
+                        addRowsToBuffer(buffer, index, mapName, executor, pending, threads);
+                        buffer = new ArrayList<>(bufferSize);
+                    }
+                    remaining--;
+                }
+                if (!bufferNames.isEmpty()) {
+                    String mapName = store.nextTemporaryMapName();
+                    bufferNames.add(mapName);
+                    addRowsToBuffer(buffer, index, mapName, executor, pending, threads);
+                    while (!pending.isEmpty()) {
+                        awaitBuffer(pending.poll());
+                    }
+                    index.addBufferedRows(bufferNames);
+                } else {
+                    addRowsToIndex(session, buffer, index);
+                }
+            } finally {
+                if (executor != null) {
+                    for (Future<?> f; (f = pending.poll()) != null;) {
+                        f.cancel(false);
+                    }
+                    // blocks that are already being sorted may still be
+                    // written to their temporary maps
+                    executor.shutdown();
+                    try {
+                        executor.awaitTermination(1, TimeUnit.DAYS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
             }
-            remaining--;
-        }
-        sortRows(buffer, index);
-        if (!bufferNames.isEmpty()) {
-            String mapName = store.nextTemporaryMapName();
-            index.addRowsToBuffer(buffer, mapName);
-            bufferNames.add(mapName);
-            buffer.clear();
-            index.addBufferedRows(bufferNames);
-        } else {
-            addRowsToIndex(session, buffer, index);
+        } catch (Throwable e) {
+            MVStore mvStore = store.getMvStore();
+            for (String mapName : bufferNames) {
+                try {
+                    mvStore.removeMap(mapName);
+                } catch (Throwable nested) {
+                    e.addSuppressed(nested);
+                }
+            }
+            throw DbException.convert(e);
         }
         if (remaining != 0) {
             throw DbException.getInternalError("rowcount remaining=" + remaining + ' ' + getName());
         }
     }
 
+    /**
+     * Sorts the rows and writes them to a temporary map, in a background
+     * thread if an executor is specified.
+     *
+     * @param buffer the rows
+     * @param index the index
+     * @param mapName the name of the temporary map
+     * @param executor the executor, or {@code null}
+     * @param pending the blocks that are sorted or written by the executor
+     * @param threads the number of threads of the executor
+     */
+    private static void addRowsToBuffer(ArrayList<Row> buffer, MVIndex<?,?> index, String mapName,
+            ExecutorService executor, ArrayDeque<Future<?>> pending, int threads) {
+        if (executor == null) {
+            sortRows(buffer, index);
+            index.addRowsToBuffer(buffer, mapName);
+            return;
+        }
+        // limit the number of blocks in memory
+        while (pending.size() >= threads) {
+            awaitBuffer(pending.poll());
+        }
+        pending.add(executor.submit(() -> {
+            sortRows(buffer, index);
+            index.addRowsToBuffer(buffer, mapName);
+        }));
+    }
+
+    private static void awaitBuffer(Future<?> future) {
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw DbException.convert(e);
+        } catch (ExecutionException e) {
+            throw DbException.convert(e.getCause());
+        }
+    }
+
     private void rebuildIndexBuffered(SessionLocal session, Index index) {
         Index scan = getScanIndex(session);
         long remaining = scan.getRowCount(session);
@@ -491,6 +591,7 @@ public void removeRow(SessionLocal session, Row row) {
             }
             throw DbException.convert(e);
         }
+        rowChanged(row, null);
         syncLastModificationIdWithDatabase();
         analyzeIfRequired(session);
     }
@@ -502,6 +603,9 @@ public long truncate(SessionLocal session) {
             Index index = indexes.get(i);
             index.truncate(session);
         }
+        for (MaterializedView view : getDependentMaterializedViews()) {
+            view.invalidateChanges();
+        }
         syncLastModificationIdWithDatabase();
         if (changesUntilAnalyze != null) {
             changesUntilAnalyze.set(nextAnalyze);
@@ -525,6 +629,7 @@ public void addRow(SessionLocal session, Row row) {
             }
             throw DbException.convert(e);
         }
+        rowChanged(null, row);
         syncLastModificationIdWithDatabase();
         analyzeIfRequired(session);
     }
@@ -546,6 +651,7 @@ public void updateRow(SessionLocal session, Row oldRow, Row newRow) {
             }
             throw DbException.convert(e);
         }
+        rowChanged(oldRow, newRow);
         syncLastModificationIdWithDatabase();
         analyzeIfRequired(session);
     }
@@ -559,6 +665,18 @@ public Row lockRow(SessionLocal session, Row row, int timeoutMillis) {
         return lockedRow;
     }
 
+    /**
+     * Notifies dependent materialized views about a changed row.
+     *
+     * @param oldRow the old row, or {@code null} for an insert
+     * @param newRow the new row, or {@code null} for a delete
+     */
+    private void rowChanged(Row oldRow, Row newRow) {
+        for (MaterializedView view : getDependentMaterializedViews()) {
+            view.rowChanged(this, oldRow, newRow);
+        }
+    }
+
     private void analyzeIfRequired(SessionLocal session) {
         if (changesUntilAnalyze != null) {
             if (changesUntilAnalyze.decrementAndGet() == 0) {
@@ -941,7 +1059,7 @@ private static IndexColumn[] prepareColumns(Database database, IndexColumn[] col
             for (IndexColumn c : cols) {
                 c.column.setPrimaryKey(true);
             }
-        } else if (!indexType.isSpatial()) {
+        } else if (!indexType.isSpatial() && !indexType.isFullText()) {
             int i = 0, l = cols.length;
             while (i < l && (cols[i].sortType & (SortOrder.NULLS_FIRST | SortOrder.NULLS_LAST)) != 0) {
                 i++;
@@ -79,9 +79,12 @@ public void close() throws Exception {
      */
     public static ResultExternal of(Database database, Expression[] expressions, boolean distinct,
             int[] distinctIndexes, int visibleColumnCount, int resultColumnCount, SortOrder sort) {
-        return distinct || distinctIndexes != null || sort != null
-                ? new MVSortedTempResult(database, expressions, distinct, distinctIndexes, visibleColumnCount,
-                        resultColumnCount, sort)
+        if (distinct || distinctIndexes != null) {
+            return new MVSortedTempResult(database, expressions, distinct, distinctIndexes, visibleColumnCount,
+                    resultColumnCount, sort);
+        }
+        return sort != null
+                ? new MVMergeSortTempResult(database, expressions, visibleColumnCount, resultColumnCount, sort)
                 : new MVPlainTempResult(database, expressions, visibleColumnCount, resultColumnCount);
     }
 
@@ -14,6 +14,7 @@
 import org.h2.mvstore.type.BasicDataType;
 import org.h2.mvstore.type.MetaType;
 import org.h2.mvstore.type.StatefulDataType;
+import org.h2.result.PrimitiveRow;
 import org.h2.result.RowFactory;
 import org.h2.result.SearchRow;
 import org.h2.store.DataHandler;
@@ -146,12 +147,22 @@ public int getMemory(SearchRow row) {
     @Override
     public SearchRow read(ByteBuffer buff) {
         RowFactory rowFactory = valueDataType.getRowFactory();
-        SearchRow row = rowFactory.createRow();
+        SearchRow row = indexes == null ? rowFactory.createPrimitiveRow() : null;
+        if (row == null) {
+            row = rowFactory.createRow();
+        }
         if (storeKeys) {
             row.setKey(DataUtils.readVarLong(buff));
         }
         TypeInfo[] columnTypes = rowFactory.getColumnTypes();
-        if (indexes == null) {
+        if (indexes == null && row instanceof PrimitiveRow) {
+            PrimitiveRow primitiveRow = (PrimitiveRow) row;
+            for (int i = 0, columnCount = row.getColumnCount(); i < columnCount; i++) {
+                if (!valueDataType.readPrimitive(buff, primitiveRow, i)) {
+                    row.setValue(i, valueDataType.readValue(buff, columnTypes[i]));
+                }
+            }
+        } else if (indexes == null) {
             int columnCount = row.getColumnCount();
             for (int i = 0; i < columnCount; i++) {
                 row.setValue(i, valueDataType.readValue(buff, columnTypes != null ? columnTypes[i] : null));
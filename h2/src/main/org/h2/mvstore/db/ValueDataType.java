@@ -27,6 +27,7 @@
 import org.h2.mvstore.type.DataType;
 import org.h2.mvstore.type.MetaType;
 import org.h2.mvstore.type.StatefulDataType;
+import org.h2.result.PrimitiveRow;
 import org.h2.result.RowFactory;
 import org.h2.result.SearchRow;
 import org.h2.result.SortOrder;
@@ -772,6 +773,131 @@ Value readValue(ByteBuffer buff, TypeInfo columnType) {
         }
     }
 
+    /**
+     * Reads a value of a column with a fixed-width data type directly into the
+     * row without creation of a {@link Value} object.
+     *
+     * @param buff the source buffer
+     * @param row the row
+     * @param index the column index
+     * @return whether the value was read, if {@code false} is returned the
+     *         position of the buffer isn't changed
+     */
+    boolean readPrimitive(ByteBuffer buff, PrimitiveRow row, int index) {
+        int columnType = row.getPrimitiveType(index);
+        if (columnType == Value.UNKNOWN) {
+            return false;
+        }
+        int position = buff.position();
+        int type = buff.get(position) & 255;
+        int valueType;
+        switch (type) {
+        case NULL:
+            buff.get();
+            row.setNull(index);
+            return true;
+        case BOOLEAN_TRUE:
+        case BOOLEAN_FALSE:
+            valueType = Value.BOOLEAN;
+            break;
+        case INT_NEG:
+        case INTEGER:
+            valueType = Value.INTEGER;
+            break;
+        case BIGINT_NEG:
+        case BIGINT:
+            valueType = Value.BIGINT;
+            break;
+        case TINYINT:
+            valueType = Value.TINYINT;
+            break;
+        case SMALLINT:
+            valueType = Value.SMALLINT;
+            break;
+        case REAL_0_1:
+        case REAL_0_1 + 1:
+        case REAL:
+            valueType = Value.REAL;
+            break;
+        case DOUBLE_0_1:
+        case DOUBLE_0_1 + 1:
+        case DOUBLE:
+            valueType = Value.DOUBLE;
+            break;
+        case DATE:
+            valueType = Value.DATE;
+            break;
+        case TIME:
+            valueType = Value.TIME;
+            break;
+        case TIMESTAMP:
+            valueType = Value.TIMESTAMP;
+            break;
+        default:
+            if (type >= INT_0_15 && type < INT_0_15 + 16) {
+                valueType = Value.INTEGER;
+            } else if (type >= BIGINT_0_7 && type < BIGINT_0_7 + 8) {
+                valueType = Value.BIGINT;
+            } else {
+                return false;
+            }
+        }
+        if (valueType != columnType) {
+            return false;
+        }
+        buff.get();
+        switch (type) {
+        case BOOLEAN_TRUE:
+            row.setLong(index, 1L);
+            break;
+        case BOOLEAN_FALSE:
+            row.setLong(index, 0L);
+            break;
+        case INT_NEG:
+            row.setLong(index, -readVarInt(buff));
+            break;
+        case INTEGER:
+            row.setLong(index, readVarInt(buff));
+            break;
+        case BIGINT_NEG:
+            row.setLong(index, -readVarLong(buff));
+            break;
+        case BIGINT:
+        case DATE:
+            row.setLong(index, readVarLong(buff));
+            break;
+        case TINYINT:
+            row.setLong(index, buff.get());
+            break;
+        case SMALLINT:
+            row.setLong(index, buff.getShort());
+            break;
+        case REAL_0_1:
+        case REAL_0_1 + 1:
+            row.setLong(index, Float.floatToRawIntBits(type - REAL_0_1));
+            break;
+        case REAL:
+            row.setLong(index, Integer.reverse(readVarInt(buff)));
+            break;
+        case DOUBLE_0_1:
+        case DOUBLE_0_1 + 1:
+            row.setLong(index, Double.doubleToRawLongBits(type - DOUBLE_0_1));
+            break;
+        case DOUBLE:
+            row.setLong(index, Long.reverse(readVarLong(buff)));
+            break;
+        case TIME:
+            row.setLong(index, readTimestampTime(buff));
+            break;
+        case TIMESTAMP:
+            row.setTimestamp(index, readVarLong(buff), readTimestampTime(buff));
+            break;
+        default:
+            row.setLong(index, type >= BIGINT_0_7 ? type - BIGINT_0_7 : type - INT_0_15);
+        }
+        return true;
+    }
+
     private LobDataDatabase readLobDataDatabase(ByteBuffer buff) {
         int tableId = readVarInt(buff);
         long lobId = readVarLong(buff);
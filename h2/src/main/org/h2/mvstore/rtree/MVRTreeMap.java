@@ -9,6 +9,7 @@
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.PriorityQueue;
 
 import org.h2.mvstore.CursorPos;
 import org.h2.mvstore.MVMap;
@@ -69,6 +70,19 @@ public RTreeCursor<V> findContainedKeys(Spatial x) {
         return new ContainsRTreeCursor<>(getRootPage(), x, keyType);
     }
 
+    /**
+     * Iterate over all keys in ascending order of their minimum distance to
+     * the given object (best-first k-nearest-neighbor search). Only the pages
+     * needed to produce the keys actually read are visited, so reading only
+     * the first few keys is fast even for large maps.
+     *
+     * @param x the object to measure the distance from
+     * @return the iterator
+     */
+    public NearestRTreeCursor<V> findNearestKeys(Spatial x) {
+        return new MinDistanceRTreeCursor<>(getRootPage(), x, keyType);
+    }
+
     private boolean contains(Page<Spatial,V> p, int index, Spatial key) {
         return keyType.contains(p.getKey(index), key);
     }
@@ -573,6 +587,136 @@ protected boolean check(boolean leaf, Spatial key, Spatial test) {
         }
     }
 
+    /**
+     * A cursor to iterate over the keys in ascending order of their distance
+     * from some object. The distance of a node must never be larger than the
+     * distance of any key stored below that node.
+     */
+    public abstract static class NearestRTreeCursor<V> implements Iterator<Spatial> {
+
+        private final PriorityQueue<Entry<V>> queue = new PriorityQueue<>();
+        private Spatial current;
+        private double currentDistance;
+        private boolean initialized;
+
+        protected NearestRTreeCursor(Page<Spatial,V> root) {
+            queue.add(new Entry<>(0d, null, root));
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (!initialized) {
+                fetchNext();
+                initialized = true;
+            }
+            return current != null;
+        }
+
+        @Override
+        public Spatial next() {
+            if (!hasNext()) {
+                return null;
+            }
+            Spatial c = current;
+            fetchNext();
+            return c;
+        }
+
+        /**
+         * Get the distance of the key that will be returned by the next call
+         * to {@link #next()}. No key returned later has a smaller distance.
+         *
+         * @return the distance, or {@link Double#POSITIVE_INFINITY} if there
+         *         are no more keys
+         */
+        public double peekDistance() {
+            return hasNext() ? currentDistance : Double.POSITIVE_INFINITY;
+        }
+
+        /**
+         * Fetch the next entry if there is one.
+         */
+        void fetchNext() {
+            Entry<V> e;
+            while ((e = queue.poll()) != null) {
+                Page<Spatial,V> p = e.page;
+                if (p == null) {
+                    current = e.key;
+                    currentDistance = e.distance;
+                    return;
+                }
+                boolean leaf = p.isLeaf();
+                for (int i = 0, keyCount = p.getKeyCount(); i < keyCount; i++) {
+                    Spatial key = p.getKey(i);
+                    if (check(leaf, key)) {
+                        double distance = getDistance(leaf, key);
+                        queue.add(leaf ? new Entry<>(distance, key, null)
+                                : new Entry<>(distance, null, p.getChildPage(i)));
+                    }
+                }
+            }
+            current = null;
+        }
+
+        /**
+         * Get the distance of a given key.
+         *
+         * @param leaf if the key is from a leaf page
+         * @param key the stored key
+         * @return the distance
+         */
+        protected abstract double getDistance(boolean leaf, Spatial key);
+
+        /**
+         * Check whether a given key or the keys below it should be returned at
+         * all.
+         *
+         * @param leaf if the key is from a leaf page
+         * @param key the stored key
+         * @return true if the key should be considered
+         */
+        protected boolean check(boolean leaf, Spatial key) {
+            return true;
+        }
+
+        private static final class Entry<V> implements Comparable<Entry<V>> {
+
+            final double distance;
+
+            final Spatial key;
+
+            final Page<Spatial,V> page;
+
+            Entry(double distance, Spatial key, Page<Spatial,V> page) {
+                this.distance = distance;
+                this.key = key;
+                this.page = page;
+            }
+
+            @Override
+            public int compareTo(Entry<V> o) {
+                return Double.compare(distance, o.distance);
+            }
+
+        }
+    }
+
+    private static final class MinDistanceRTreeCursor<V> extends NearestRTreeCursor<V> {
+        private final Spatial test;
+        private final SpatialDataType keyType;
+
+        MinDistanceRTreeCursor(Page<Spatial,V> root, Spatial test, SpatialDataType keyType) {
+            super(root);
+            this.test = test;
+            this.keyType = keyType;
+        }
+
+        @Override
+        protected double getDistance(boolean leaf, Spatial key) {
+            return keyType.getMinDistance(key, test);
+        }
+    }
+
     @Override
     public String getType() {
         return "rtree";
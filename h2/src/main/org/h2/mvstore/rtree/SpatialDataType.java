@@ -147,6 +147,34 @@ public boolean isOverlap(Spatial a, Spatial b) {
         return true;
     }
 
+    /**
+     * Get the minimum Euclidean distance between two objects. The distance of
+     * overlapping objects is 0.
+     *
+     * @param a the first object
+     * @param b the second object
+     * @return the distance, or {@link Double#POSITIVE_INFINITY} if one of the
+     *         objects is null
+     */
+    public double getMinDistance(Spatial a, Spatial b) {
+        if (a.isNull() || b.isNull()) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double sum = 0;
+        for (int i = 0; i < dimensions; i++) {
+            double d;
+            if (a.max(i) < b.min(i)) {
+                d = (double) b.min(i) - a.max(i);
+            } else if (a.min(i) > b.max(i)) {
+                d = (double) a.min(i) - b.max(i);
+            } else {
+                continue;
+            }
+            sum += d * d;
+        }
+        return Math.sqrt(sum);
+    }
+
     /**
      * Increase the bounds in the given spatial object.
      *
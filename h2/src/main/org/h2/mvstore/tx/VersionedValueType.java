@@ -64,6 +64,20 @@ public void read(ByteBuffer buff, Object storage, int len) {
         }
     }
 
+    @Override
+    public int startRead(ByteBuffer buff, int len) {
+        // values that are read all at once are not worth reading one by one
+        if (valueType.startRead(buff, len) < 0) {
+            return -1;
+        }
+        return buff.get();
+    }
+
+    @Override
+    public VersionedValue<T> readNext(ByteBuffer buff, int state) {
+        return state == 0 ? VersionedValueCommitted.getInstance(valueType.read(buff)) : read(buff);
+    }
+
     @Override
     public VersionedValue<T> read(ByteBuffer buff) {
         long operationId = DataUtils.readVarLong(buff);
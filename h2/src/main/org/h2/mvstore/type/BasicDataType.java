@@ -75,6 +75,16 @@ public void read(ByteBuffer buff, Object storage, int len) {
         }
     }
 
+    @Override
+    public int startRead(ByteBuffer buff, int len) {
+        return 0;
+    }
+
+    @Override
+    public T readNext(ByteBuffer buff, int state) {
+        return read(buff);
+    }
+
     @Override
     public int hashCode() {
         return getClass().getName().hashCode();
@@ -8,6 +8,7 @@
 import java.nio.ByteBuffer;
 import java.util.Comparator;
 
+import org.h2.mvstore.DataUtils;
 import org.h2.mvstore.WriteBuffer;
 
 /**
@@ -84,6 +85,34 @@
      */
     void read(ByteBuffer buff, Object storage, int len);
 
+    /**
+     * Start reading a list of objects written with
+     * {@link #write(WriteBuffer, Object, int)} one by one. Nothing is read
+     * from the buffer if this method returns -1. The default implementation
+     * always returns -1.
+     *
+     * @param buff the source buffer
+     * @param len the number of objects
+     * @return the state to pass to {@link #readNext(ByteBuffer, int)}, or -1
+     *         if the objects should be read all at once
+     */
+    default int startRead(ByteBuffer buff, int len) {
+        return -1;
+    }
+
+    /**
+     * Read the next object of a list.
+     *
+     * @param buff the source buffer
+     * @param state the state returned by {@link #startRead(ByteBuffer, int)}
+     * @return the object
+     * @throws UnsupportedOperationException if
+     *         {@link #startRead(ByteBuffer, int)} isn't supported
+     */
+    default T readNext(ByteBuffer buff, int state) {
+        throw DataUtils.newUnsupportedOperationException("readNext");
+    }
+
     /**
      * Create storage object of array type to hold values
      *
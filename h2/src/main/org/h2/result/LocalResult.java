@@ -7,6 +7,7 @@
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.PriorityQueue;
 import java.util.TreeMap;
 
 import org.h2.engine.Database;
@@ -75,6 +76,17 @@ public static LocalResult forTable(SessionLocal session, Table table) {
     private boolean fetchPercent;
     private SortOrder withTiesSortOrder;
     private boolean limitsWereApplied;
+    /**
+     * The first rows of a sorted result with the last row on the top, or
+     * {@code null} if all rows should be kept.
+     */
+    private PriorityQueue<Value[]> topRows;
+    private int topRowCount;
+    /**
+     * Rows equal to the last of the first rows, or {@code null} if tied rows
+     * aren't needed.
+     */
+    private ArrayList<Value[]> tiedRows;
     private ResultExternal external;
     private boolean distinct;
     private int[] distinctIndexes;
@@ -200,6 +212,25 @@ public void setSortOrder(SortOrder sort) {
         this.sort = sort;
     }
 
+    /**
+     * Limits the number of rows kept by this sorted result. Only the specified
+     * number of first rows according to the sort order, and optionally rows
+     * tied with the last of them, are kept; other rows are discarded
+     * immediately. This method should be called after the sort order is set
+     * and before rows are added, it has no effect on distinct results.
+     *
+     * @param count the number of first rows, including rows before OFFSET
+     * @param withTies whether rows tied with the last row should be kept
+     */
+    public void setTopRowCount(int count, boolean withTies) {
+        if (sort != null && !isAnyDistinct() && count > 0) {
+            SortOrder sort = this.sort;
+            topRows = new PriorityQueue<>(Math.min(count, 1024) + 1, (a, b) -> sort.compare(b, a));
+            topRowCount = count;
+            tiedRows = withTies ? new ArrayList<>() : null;
+        }
+    }
+
     /**
      * Remove duplicate rows.
      */
@@ -440,6 +471,8 @@ private void addRowInternal(Value... values) {
             } else {
                 rowCount = external.addRow(values);
             }
+        } else if (topRows != null) {
+            addTopRow(values);
         } else {
             rows.add(values);
             rowCount++;
@@ -449,6 +482,54 @@ private void addRowInternal(Value... values) {
         }
     }
 
+    private void addTopRow(Value[] values) {
+        PriorityQueue<Value[]> queue = topRows;
+        if (queue.size() < topRowCount) {
+            queue.add(values);
+        } else {
+            Value[] last = queue.peek();
+            int cmp = sort.compare(values, last);
+            if (cmp >= 0) {
+                if (cmp == 0 && tiedRows != null) {
+                    tiedRows.add(values);
+                    rowCount++;
+                    if (rowCount > maxMemoryRows) {
+                        stopTopRows();
+                    }
+                }
+                return;
+            }
+            queue.poll();
+            queue.add(values);
+            if (tiedRows != null) {
+                if (sort.compare(last, queue.peek()) == 0) {
+                    tiedRows.add(last);
+                } else {
+                    tiedRows.clear();
+                }
+            }
+        }
+        rowCount = queue.size() + (tiedRows != null ? tiedRows.size() : 0);
+        if (rowCount > maxMemoryRows) {
+            stopTopRows();
+        }
+    }
+
+    /**
+     * Moves the kept rows to the external result when there are too many rows
+     * tied with the last of them. Next rows are added to the result as if the
+     * number of rows wasn't limited.
+     */
+    private void stopTopRows() {
+        rows.addAll(topRows);
+        if (tiedRows != null) {
+            rows.addAll(tiedRows);
+            tiedRows = null;
+        }
+        topRows = null;
+        addRowsToDisk();
+    }
+
     private void addRowsToDisk() {
         if (external == null) {
             createExternalResult();
@@ -466,6 +547,14 @@ public int getVisibleColumnCount() {
      * This method is called after all rows have been added.
      */
     public void done() {
+        if (topRows != null) {
+            rows = new ArrayList<>(topRows);
+            if (tiedRows != null) {
+                rows.addAll(tiedRows);
+                tiedRows = null;
+            }
+            topRows = null;
+        }
         if (external != null) {
             addRowsToDisk();
         } else {
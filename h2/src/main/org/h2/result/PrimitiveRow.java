@@ -0,0 +1,363 @@
+/*
+ * Copyright 2004-2025 H2 Group. Multiple-Licensed under the MPL 2.0,
+ * and the EPL 1.0 (https://h2database.com/html/license.html).
+ * Initial Developer: H2 Group
+ */
+package org.h2.result;
+
+import org.h2.engine.Constants;
+import org.h2.message.DbException;
+import org.h2.value.TypeInfo;
+import org.h2.value.Value;
+import org.h2.value.ValueBigint;
+import org.h2.value.ValueBoolean;
+import org.h2.value.ValueDate;
+import org.h2.value.ValueDouble;
+import org.h2.value.ValueInteger;
+import org.h2.value.ValueNull;
+import org.h2.value.ValueReal;
+import org.h2.value.ValueSmallint;
+import org.h2.value.ValueTime;
+import org.h2.value.ValueTimestamp;
+import org.h2.value.ValueTinyint;
+
+/**
+ * A row of a table read from the storage. Values of columns with fixed-width
+ * data types are packed into a single {@code long[]} array with a null bitmap
+ * and {@link Value} objects for them are created only when they are requested.
+ * Values of other columns are stored as usual.
+ */
+public final class PrimitiveRow extends Row {
+
+    /**
+     * Layout of rows of a table.
+     */
+    public static final class Layout {
+
+        /**
+         * Returns a layout for rows with columns of the specified data types.
+         *
+         * @param columnTypes
+         *            the data types of columns
+         * @return the layout, or {@code null} if there are no columns with
+         *         fixed-width data types
+         */
+        public static Layout get(TypeInfo[] columnTypes) {
+            int columnCount = columnTypes.length;
+            int[] types = new int[columnCount];
+            int[] slots = new int[columnCount];
+            int bitmapWords = (columnCount + 63) >>> 6, slot = bitmapWords;
+            boolean hasObjects = false;
+            for (int i = 0; i < columnCount; i++) {
+                int type = columnTypes[i].getValueType();
+                switch (type) {
+                case Value.BOOLEAN:
+                case Value.TINYINT:
+                case Value.SMALLINT:
+                case Value.INTEGER:
+                case Value.BIGINT:
+                case Value.REAL:
+                case Value.DOUBLE:
+                case Value.DATE:
+                case Value.TIME:
+                    slots[i] = slot++;
+                    break;
+                case Value.TIMESTAMP:
+                    slots[i] = slot;
+                    slot += 2;
+                    break;
+                default:
+                    type = Value.UNKNOWN;
+                    hasObjects = true;
+                }
+                types[i] = type;
+            }
+            if (slot == bitmapWords) {
+                return null;
+            }
+            return new Layout(types, slots, slot, hasObjects);
+        }
+
+        final int[] types;
+
+        final int[] slots;
+
+        final int dataLength;
+
+        final boolean hasObjects;
+
+        private Layout(int[] types, int[] slots, int dataLength, boolean hasObjects) {
+            this.types = types;
+            this.slots = slots;
+            this.dataLength = dataLength;
+            this.hasObjects = hasObjects;
+        }
+
+        /**
+         * Creates a new row with this layout.
+         *
+         * @return the new row
+         */
+        public PrimitiveRow createRow() {
+            return new PrimitiveRow(this);
+        }
+
+    }
+
+    private final Layout layout;
+
+    /**
+     * The null bitmap followed by packed values of columns.
+     */
+    private final long[] data;
+
+    /**
+     * Values of columns with other data types, or values that replace the
+     * packed ones, or {@code null}.
+     */
+    private Value[] objects;
+
+    private int memory = MEMORY_CALCULATE;
+
+    PrimitiveRow(Layout layout) {
+        this.layout = layout;
+        data = new long[layout.dataLength];
+        if (layout.hasObjects) {
+            objects = new Value[layout.types.length];
+        }
+    }
+
+    /**
+     * Returns the data type of the column if its value can be stored without
+     * a {@link Value} object.
+     *
+     * @param index
+     *            the column index
+     * @return the data type, or {@link Value#UNKNOWN}
+     */
+    public int getPrimitiveType(int index) {
+        return layout.types[index];
+    }
+
+    /**
+     * Sets the NULL value of the column.
+     *
+     * @param index
+     *            the column index
+     */
+    public void setNull(int index) {
+        if (layout.types[index] == Value.UNKNOWN) {
+            objects[index] = ValueNull.INSTANCE;
+        } else {
+            data[index >>> 6] |= 1L << index;
+            clearObject(index);
+        }
+    }
+
+    /**
+     * Sets the packed value of a column with a fixed-width data type other
+     * than TIMESTAMP. Values of floating point types are passed as their raw
+     * bits, values of BOOLEAN as 0 or 1, values of DATE as date values, and
+     * values of TIME as nanoseconds since midnight.
+     *
+     * @param index
+     *            the column index
+     * @param value
+     *            the packed value
+     */
+    public void setLong(int index, long value) {
+        data[index >>> 6] &= ~(1L << index);
+        data[layout.slots[index]] = value;
+        clearObject(index);
+    }
+
+    /**
+     * Sets the value of a TIMESTAMP column.
+     *
+     * @param index
+     *            the column index
+     * @param dateValue
+     *            the date value
+     * @param timeNanos
+     *            nanoseconds since midnight
+     */
+    public void setTimestamp(int index, long dateValue, long timeNanos) {
+        data[index >>> 6] &= ~(1L << index);
+        int slot = layout.slots[index];
+        data[slot] = dateValue;
+        data[slot + 1] = timeNanos;
+        clearObject(index);
+    }
+
+    private void clearObject(int index) {
+        if (objects != null) {
+            objects[index] = null;
+        }
+    }
+
+    @Override
+    public int getColumnCount() {
+        return layout.types.length;
+    }
+
+    @Override
+    public boolean isNull(int index) {
+        if (objects != null) {
+            Value v = objects[index];
+            if (v != null) {
+                return v == ValueNull.INSTANCE;
+            }
+        }
+        return layout.types[index] != Value.UNKNOWN && (data[index >>> 6] & 1L << index) != 0L;
+    }
+
+    @Override
+    public Value getValue(int index) {
+        if (index == ROWID_INDEX) {
+            return ValueBigint.get(key);
+        }
+        if (objects != null) {
+            Value v = objects[index];
+            if (v != null) {
+                return v;
+            }
+        }
+        int type = layout.types[index];
+        if (type == Value.UNKNOWN) {
+            return null;
+        }
+        if ((data[index >>> 6] & 1L << index) != 0L) {
+            return ValueNull.INSTANCE;
+        }
+        long v = data[layout.slots[index]];
+        switch (type) {
+        case Value.BOOLEAN:
+            return ValueBoolean.get(v != 0L);
+        case Value.TINYINT:
+            return ValueTinyint.get((byte) v);
+        case Value.SMALLINT:
+            return ValueSmallint.get((short) v);
+        case Value.INTEGER:
+            return ValueInteger.get((int) v);
+        case Value.BIGINT:
+            return ValueBigint.get(v);
+        case Value.REAL:
+            return ValueReal.get(Float.intBitsToFloat((int) v));
+        case Value.DOUBLE:
+            return ValueDouble.get(Double.longBitsToDouble(v));
+        case Value.DATE:
+            return ValueDate.fromDateValue(v);
+        case Value.TIME:
+            return ValueTime.fromNanos(v);
+        case Value.TIMESTAMP:
+            return ValueTimestamp.fromDateValueAndNanos(v, data[layout.slots[index] + 1]);
+        default:
+            throw DbException.getInternalError("type=" + type);
+        }
+    }
+
+    @Override
+    public void setValue(int index, Value v) {
+        if (index == ROWID_INDEX) {
+            key = v.getLong();
+            return;
+        }
+        memory = MEMORY_CALCULATE;
+        int type = layout.types[index];
+        if (v == null || type == Value.UNKNOWN || v.getValueType() != type) {
+            if (v == ValueNull.INSTANCE && type != Value.UNKNOWN) {
+                setNull(index);
+            } else {
+                if (objects == null) {
+                    objects = new Value[layout.types.length];
+                }
+                objects[index] = v;
+            }
+            return;
+        }
+        switch (type) {
+        case Value.BOOLEAN:
+            setLong(index, v.getBoolean() ? 1L : 0L);
+            break;
+        case Value.TINYINT:
+        case Value.SMALLINT:
+        case Value.INTEGER:
+        case Value.BIGINT:
+            setLong(index, v.getLong());
+            break;
+        case Value.REAL:
+            setLong(index, Float.floatToRawIntBits(v.getFloat()));
+            break;
+        case Value.DOUBLE:
+            setLong(index, Double.doubleToRawLongBits(v.getDouble()));
+            break;
+        case Value.DATE:
+            setLong(index, ((ValueDate) v).getDateValue());
+            break;
+        case Value.TIME:
+            setLong(index, ((ValueTime) v).getNanos());
+            break;
+        case Value.TIMESTAMP: {
+            ValueTimestamp t = (ValueTimestamp) v;
+            setTimestamp(index, t.getDateValue(), t.getTimeNanos());
+            break;
+        }
+        default:
+            throw DbException.getInternalError("type=" + type);
+        }
+    }
+
+    @Override
+    public int getMemory() {
+        if (memory != MEMORY_CALCULATE) {
+            return memory;
+        }
+        int m = Constants.MEMORY_ROW + Constants.MEMORY_ARRAY + data.length * 8;
+        if (objects != null) {
+            m += Constants.MEMORY_ARRAY + objects.length * Constants.MEMORY_POINTER;
+            for (Value v : objects) {
+                if (v != null) {
+                    m += v.getMemory();
+                }
+            }
+        }
+        return memory = m;
+    }
+
+    @Override
+    public Value[] getValueList() {
+        int columnCount = layout.types.length;
+        Value[] values = new Value[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            values[i] = getValue(i);
+        }
+        return values;
+    }
+
+    @Override
+    public boolean hasSharedData(Row other) {
+        return other == this;
+    }
+
+    @Override
+    public void copyFrom(SearchRow source) {
+        setKey(source.getKey());
+        for (int i = 0, l = layout.types.length; i < l; i++) {
+            setValue(i, source.getValue(i));
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("( /* key:").append(key).append(" */ ");
+        for (int i = 0, length = layout.types.length; i < length; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            Value v = getValue(i);
+            builder.append(v == null ? "null" : v.getTraceSQL());
+        }
+        return builder.append(')').toString();
+    }
+
+}
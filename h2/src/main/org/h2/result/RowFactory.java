@@ -66,6 +66,18 @@ public RowFactory createRowFactory(CastDataProvider provider, CompareMode compar
      */
     public abstract SearchRow createRow();
 
+    /**
+     * Create a new row for values of all columns read from the storage. Values
+     * of columns with fixed-width data types are set in such rows without
+     * creation of {@link Value} objects.
+     *
+     * @return the created row, or {@code null} if this factory doesn't create
+     *         such rows
+     */
+    public PrimitiveRow createPrimitiveRow() {
+        return null;
+    }
+
     public abstract RowDataType getRowDataType();
 
     public abstract int[] getIndexes();
@@ -86,6 +98,7 @@ public static final class DefaultRowFactory extends RowFactory {
         private final int[]       indexes;
         private TypeInfo[]        columnTypes;
         private final int[]       map;
+        private final PrimitiveRow.Layout primitiveLayout;
 
         public static final DefaultRowFactory INSTANCE = new DefaultRowFactory();
 
@@ -106,6 +119,7 @@ private DefaultRowFactory(RowDataType dataType, int columnCount, int[] indexes,
                 }
             }
             this.columnTypes = columnTypes;
+            primitiveLayout = indexes == null && columnTypes != null ? PrimitiveRow.Layout.get(columnTypes) : null;
         }
 
         @Override
@@ -179,6 +193,11 @@ public SearchRow createRow() {
             }
         }
 
+        @Override
+        public PrimitiveRow createPrimitiveRow() {
+            return primitiveLayout != null ? primitiveLayout.createRow() : null;
+        }
+
         @Override
         public RowDataType getRowDataType() {
             return dataType;
@@ -12,10 +12,14 @@
 import org.h2.engine.SessionLocal;
 import org.h2.expression.Parameter;
 import org.h2.index.QueryExpressionIndex;
+import org.h2.index.MaterializedQueryExpressionIndex;
 import org.h2.index.RecursiveIndex;
 import org.h2.index.RegularQueryExpressionIndex;
 import org.h2.result.ResultInterface;
+import org.h2.result.Row;
 import org.h2.util.ParserUtil;
+import org.h2.value.Value;
+import org.h2.value.ValueNull;
 
 /**
  * A common table expression.
@@ -27,15 +31,35 @@ public final class CTE extends QueryExpressionTable {
     private final QueryScope queryScope;
     private final ArrayList<Parameter> originalParameters;
 
+    /**
+     * {@code TRUE} for {@code MATERIALIZED}, {@code FALSE} for
+     * {@code NOT MATERIALIZED}, {@code null} if not specified.
+     */
+    private final Boolean materialized;
+
+    private int referenceCount;
+
     private ResultInterface recursiveResult;
 
+    /**
+     * Rows of the materialized common table expression, or {@code null}.
+     */
+    private Row[] materializedRows;
+
+    /**
+     * Result of the materialized common table expression with too many rows
+     * to be kept in memory, or {@code null}.
+     */
+    private ResultInterface materializedResult;
+
     public CTE(String name, Query query, String querySQL, ArrayList<Parameter> params, Column[] columnTemplates,
-            SessionLocal session, boolean recursive, QueryScope queryScope) {
+            SessionLocal session, boolean recursive, Boolean materialized, QueryScope queryScope) {
         super(session.getDatabase().getMainSchema(), 0, name);
         setTemporary(true);
         this.queryScope = queryScope;
         this.querySQL = querySQL;
         this.recursive = recursive;
+        this.materialized = materialized;
         this.originalParameters = params;
         tables = new ArrayList<>(query.getTables());
         setColumns(initColumns(session, columnTemplates, query, false, true));
@@ -44,8 +68,13 @@ public CTE(String name, Query query, String querySQL, ArrayList<Parameter> param
 
     @Override
     protected QueryExpressionIndex createIndex(SessionLocal session, int[] masks) {
-        return recursive ? new RecursiveIndex(this, querySQL, originalParameters, session)
-                : new RegularQueryExpressionIndex(this, querySQL, originalParameters, session, masks);
+        if (recursive) {
+            return new RecursiveIndex(this, querySQL, originalParameters, session);
+        }
+        if (isMaterialized()) {
+            return new MaterializedQueryExpressionIndex(this, querySQL, originalParameters, session, masks);
+        }
+        return new RegularQueryExpressionIndex(this, querySQL, originalParameters, session, masks);
     }
 
     @Override
@@ -94,6 +123,114 @@ public boolean isDeterministic() {
         return super.isDeterministic();
     }
 
+    /**
+     * Returns the materialization mode specified in the definition of this
+     * common table expression.
+     *
+     * @return {@code TRUE} for {@code MATERIALIZED}, {@code FALSE} for
+     *         {@code NOT MATERIALIZED}, or {@code null}
+     */
+    public Boolean getMaterialized() {
+        return materialized;
+    }
+
+    /**
+     * Registers a reference to this common table expression from its query
+     * or from other common table expressions of the same WITH clause.
+     */
+    public void addReference() {
+        referenceCount++;
+    }
+
+    /**
+     * Returns whether this common table expression should be evaluated only
+     * once during each execution of its query. By default, deterministic
+     * non-recursive common table expressions referenced more than once are
+     * materialized.
+     *
+     * @return whether this common table expression should be materialized
+     */
+    public boolean isMaterialized() {
+        if (recursive) {
+            return false;
+        }
+        if (materialized != null) {
+            return materialized;
+        }
+        return referenceCount > 1 && isDeterministic();
+    }
+
+    /**
+     * Evaluates the specified query of this common table expression if it
+     * wasn't evaluated yet during the current execution of the query with
+     * the WITH clause.
+     *
+     * @param session
+     *            the session
+     * @param query
+     *            the prepared query of this common table expression
+     */
+    public void materialize(SessionLocal session, Query query) {
+        if (materializedRows != null || materializedResult != null) {
+            return;
+        }
+        ResultInterface result = query.query(0);
+        long rowCount = result.getRowCount();
+        if (rowCount > session.getDatabase().getMaxMemoryRows()) {
+            materializedResult = result;
+            return;
+        }
+        Row[] rows = new Row[(int) rowCount];
+        for (int i = 0; result.next(); i++) {
+            Value[] values = result.currentRow();
+            Row row = getTemplateRow();
+            for (int j = 0, len = row.getColumnCount(); j < len; j++) {
+                row.setValue(j, j < values.length ? values[j] : ValueNull.INSTANCE);
+            }
+            rows[i] = row;
+        }
+        result.close();
+        materializedRows = rows;
+    }
+
+    /**
+     * Returns the rows of this materialized common table expression.
+     *
+     * @return the rows, or {@code null} if there are too many rows to keep
+     *         them in memory
+     */
+    public Row[] getMaterializedRows() {
+        return materializedRows;
+    }
+
+    /**
+     * Returns a copy of the result of this materialized common table
+     * expression with too many rows to keep them in memory.
+     *
+     * @param session
+     *            the session
+     * @return a copy of the result, or {@code null} if it can't be copied
+     */
+    public ResultInterface getMaterializedResult(SessionLocal session) {
+        ResultInterface result = materializedResult.createShallowCopy(session);
+        if (result != null) {
+            result.reset();
+        }
+        return result;
+    }
+
+    /**
+     * Discards the materialized rows. This method is called before each
+     * execution of the query with the WITH clause.
+     */
+    public void resetMaterialized() {
+        materializedRows = null;
+        if (materializedResult != null) {
+            materializedResult.close();
+            materializedResult = null;
+        }
+    }
+
     public void setRecursiveResult(ResultInterface value) {
         if (recursiveResult != null) {
             recursiveResult.close();
@@ -5,13 +5,21 @@
  */
 package org.h2.table;
 
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
+import org.h2.command.Prepared;
 import org.h2.command.query.AllColumnsForPlan;
 import org.h2.command.query.Query;
+import org.h2.command.query.Select;
 import org.h2.engine.DbObject;
 import org.h2.engine.SessionLocal;
+import org.h2.expression.Expression;
+import org.h2.expression.ExpressionColumn;
+import org.h2.expression.ExpressionVisitor;
 import org.h2.index.Index;
 import org.h2.index.IndexType;
 import org.h2.message.DbException;
@@ -19,16 +27,59 @@
 import org.h2.result.SortOrder;
 import org.h2.schema.Schema;
 import org.h2.util.StringUtils;
+import org.h2.value.Value;
+import org.h2.value.ValueRow;
 
 /**
  * A materialized view.
  */
 public class MaterializedView extends Table {
 
+    /**
+     * The maximum number of tracked keys of changed rows, if there are more
+     * changes the next refresh is a full one.
+     */
+    private static final int MAX_CHANGED_KEYS = 100_000;
+
+    /**
+     * The minimum number of keys of changed rows for a full refresh. If there
+     * are more changes and they affect a significant part of the view (see
+     * {@link #FULL_REFRESH_DIVISOR}), a full refresh is faster.
+     */
+    private static final int MIN_CHANGED_KEYS_FOR_FULL_REFRESH = 1_000;
+
+    /**
+     * A full refresh is used when the number of changed keys is larger than
+     * the number of rows in the view divided by this value.
+     */
+    private static final int FULL_REFRESH_DIVISOR = 4;
+
     private Table table;
     private String querySQL;
     private Query query;
 
+    /**
+     * The base table, or {@code null} if incremental refresh is not supported.
+     */
+    private Table baseTable;
+
+    /**
+     * The ids of base table columns with values of the key of the view rows.
+     */
+    private int[] baseKeyColumns;
+
+    /**
+     * The columns of the underlying table with values of the key.
+     */
+    private Column[] keyColumns;
+
+    /**
+     * The keys of view rows which may be affected by changes in the base
+     * table since the last refresh, or {@code null} if these changes aren't
+     * known and a full refresh is required.
+     */
+    private volatile Set<ValueRow> changedKeys;
+
     public MaterializedView(Schema schema, int id, String name, Table table, Query query, String querySQL) {
         super(schema, id, name, false, true);
         this.table = table;
@@ -40,6 +91,231 @@ public void replace(Table table, Query query, String querySQL) {
         this.table = table;
         this.query = query;
         this.querySQL = querySQL;
+        changedKeys = null;
+    }
+
+    private void initKeyColumns() {
+        ArrayList<Column> columns = getKeyColumns(query);
+        if (columns == null) {
+            baseTable = null;
+            baseKeyColumns = null;
+            keyColumns = null;
+            return;
+        }
+        int size = columns.size();
+        int[] baseKeyColumns = new int[size];
+        Column[] keyColumns = new Column[size];
+        ArrayList<Expression> expressions = query.getExpressions();
+        Column[] tableColumns = table.getColumns();
+        for (int i = 0; i < size; i++) {
+            Column column = columns.get(i);
+            baseKeyColumns[i] = column.getColumnId();
+            for (int j = 0, l = query.getColumnCount(); j < l; j++) {
+                Expression e = expressions.get(j).getNonAliasExpression();
+                if (e instanceof ExpressionColumn && ((ExpressionColumn) e).getColumn() == column) {
+                    keyColumns[i] = tableColumns[j];
+                    break;
+                }
+            }
+        }
+        baseTable = columns.get(0).getTable();
+        this.baseKeyColumns = baseKeyColumns;
+        this.keyColumns = keyColumns;
+    }
+
+    /**
+     * Returns the base table of a query of a materialized view if this view
+     * may be refreshed incrementally.
+     *
+     * @param query the query
+     * @return the base table, or {@code null}
+     */
+    public static Table getIncrementalRefreshBaseTable(Query query) {
+        ArrayList<Column> columns = getKeyColumns(query);
+        return columns != null ? columns.get(0).getTable() : null;
+    }
+
+    /**
+     * Returns columns of the base table which values identify the rows of
+     * the view. Each of them is selected by the query without modifications.
+     * For grouped queries these are the grouping columns, for other queries
+     * these are the primary key columns of the base table.
+     *
+     * @param query the query
+     * @return the columns, or {@code null} if the query is not a simple query
+     *         over a single table
+     */
+    private static ArrayList<Column> getKeyColumns(Query query) {
+        if (!(query instanceof Select)) {
+            return null;
+        }
+        Select select = (Select) query;
+        TableFilter filter = select.getTopTableFilter();
+        if (filter == null || filter.getJoin() != null || filter.getNestedJoin() != null
+                || select.isAnyDistinct() || select.isWindowQuery() || select.getQualify() != null
+                || select.getOffset() != null || select.getFetch() != null) {
+            return null;
+        }
+        Table base = filter.getTable();
+        if (base.getTableType() != TableType.TABLE || base.isView()
+                || !select.isEverything(ExpressionVisitor.DETERMINISTIC_VISITOR)) {
+            return null;
+        }
+        HashSet<DbObject> dependencies = new HashSet<>();
+        select.isEverything(ExpressionVisitor.getDependenciesVisitor(dependencies));
+        for (DbObject object : dependencies) {
+            if (object instanceof Table && object != base) {
+                return null;
+            }
+        }
+        ArrayList<Expression> expressions = select.getExpressions();
+        int visible = select.getColumnCount();
+        ArrayList<Column> columns = new ArrayList<>();
+        if (select.isGroupQuery()) {
+            int[] groupIndex = select.getGroupIndex();
+            if (groupIndex == null) {
+                return null;
+            }
+            for (int i : groupIndex) {
+                if (i >= visible) {
+                    return null;
+                }
+                Expression e = expressions.get(i).getNonAliasExpression();
+                if (!(e instanceof ExpressionColumn)) {
+                    return null;
+                }
+                Column column = ((ExpressionColumn) e).getColumn();
+                if (column.getTable() != base) {
+                    return null;
+                }
+                columns.add(column);
+            }
+        } else {
+            Index primaryKey = base.findPrimaryKey();
+            if (primaryKey == null) {
+                return null;
+            }
+            loop: for (Column column : primaryKey.getColumns()) {
+                for (int i = 0; i < visible; i++) {
+                    Expression e = expressions.get(i).getNonAliasExpression();
+                    if (e instanceof ExpressionColumn && ((ExpressionColumn) e).getColumn() == column) {
+                        columns.add(column);
+                        continue loop;
+                    }
+                }
+                return null;
+            }
+        }
+        return columns.isEmpty() ? null : columns;
+    }
+
+    /**
+     * Returns the columns of the underlying table with values of the keys
+     * returned by {@link #takeChangedKeys(SessionLocal)}.
+     *
+     * @return the key columns
+     */
+    public Column[] getKeyColumns() {
+        return keyColumns;
+    }
+
+    /**
+     * Returns the keys of view rows which may be affected by changes in the
+     * base table since the last refresh and starts tracking of new changes.
+     * The base table should be locked exclusively.
+     *
+     * @param session the session
+     * @return the keys, or {@code null} if a full refresh is required or
+     *         is faster
+     */
+    public synchronized Set<ValueRow> takeChangedKeys(SessionLocal session) {
+        Set<ValueRow> keys = changedKeys;
+        if (keys != null) {
+            int size = keys.size();
+            if (size > MIN_CHANGED_KEYS_FOR_FULL_REFRESH
+                    && size > table.getRowCountApproximation(session) / FULL_REFRESH_DIVISOR) {
+                return null;
+            }
+            changedKeys = ConcurrentHashMap.newKeySet();
+        }
+        return keys;
+    }
+
+    /**
+     * Starts tracking of changes in the base table after the full refresh.
+     * The base table should be locked exclusively.
+     */
+    public synchronized void resetChanges() {
+        initKeyColumns();
+        changedKeys = baseTable != null ? ConcurrentHashMap.newKeySet() : null;
+    }
+
+    /**
+     * Discards the tracked changes, the next refresh will be a full one.
+     */
+    public void invalidateChanges() {
+        changedKeys = null;
+    }
+
+    /**
+     * Remembers a change in the base table.
+     *
+     * @param source the changed table
+     * @param oldRow the old row, or {@code null} for an insert
+     * @param newRow the new row, or {@code null} for a delete
+     */
+    public void rowChanged(Table source, Row oldRow, Row newRow) {
+        Set<ValueRow> keys = changedKeys;
+        if (keys != null && source == baseTable) {
+            if (oldRow != null) {
+                keys.add(getKey(oldRow));
+            }
+            if (newRow != null) {
+                keys.add(getKey(newRow));
+            }
+            if (keys.size() > MAX_CHANGED_KEYS) {
+                changedKeys = null;
+            }
+        }
+    }
+
+    private ValueRow getKey(Row row) {
+        int[] columns = baseKeyColumns;
+        int length = columns.length;
+        Value[] values = new Value[length];
+        for (int i = 0; i < length; i++) {
+            values[i] = row.getValue(columns[i]);
+        }
+        return ValueRow.get(values);
+    }
+
+    /**
+     * Re-compiles the query of the view if some of its tables were dropped or
+     * replaced, for example, by ALTER TABLE. Tracked changes are discarded in
+     * such case and the next refresh is a full one.
+     *
+     * @param session the session
+     */
+    public void recompileIfRequired(SessionLocal session) {
+        HashSet<Table> tables = query.getTables();
+        for (Table t : tables) {
+            if (!t.isValid()) {
+                Prepared p = session.prepare(querySQL, false, false, null);
+                if (!(p instanceof Query)) {
+                    throw DbException.getSyntaxError(querySQL, 0);
+                }
+                Query newQuery = (Query) p;
+                for (Table old : tables) {
+                    old.removeDependentMaterializedView(this);
+                }
+                for (Table table : newQuery.getTables()) {
+                    table.addDependentMaterializedView(this);
+                }
+                query = newQuery;
+                invalidateChanges();
+                return;
+            }
+        }
     }
 
     public Table getUnderlyingTable() {
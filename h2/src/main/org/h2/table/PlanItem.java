@@ -6,6 +6,7 @@
 package org.h2.table;
 
 import org.h2.index.Index;
+import org.h2.index.IndexMerge;
 
 /**
  * The plan item describes the index to be used, and the estimated cost when
@@ -20,9 +21,19 @@ public class PlanItem {
 
     private int[] masks;
     private Index index;
+    private IndexMerge indexMerge;
     private PlanItem joinPlan;
     private PlanItem nestedJoinPlan;
 
+    /**
+     * Returns the estimated cost.
+     *
+     * @return the cost
+     */
+    public double getCost() {
+        return cost;
+    }
+
     void setMasks(int[] masks) {
         this.masks = masks;
     }
@@ -39,6 +50,14 @@ public Index getIndex() {
         return index;
     }
 
+    void setIndexMerge(IndexMerge indexMerge) {
+        this.indexMerge = indexMerge;
+    }
+
+    IndexMerge getIndexMerge() {
+        return indexMerge;
+    }
+
     PlanItem getJoinPlan() {
         return joinPlan;
     }
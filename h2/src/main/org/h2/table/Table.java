@@ -26,6 +26,7 @@
 import org.h2.engine.SessionLocal;
 import org.h2.expression.ExpressionVisitor;
 import org.h2.index.Index;
+import org.h2.index.IndexPredicate;
 import org.h2.index.IndexType;
 import org.h2.message.DbException;
 import org.h2.message.Trace;
@@ -183,6 +184,16 @@ public Row getRow(SessionLocal session, long key) {
         return null;
     }
 
+    /**
+     * Check whether rows of this table can be read by their keys with
+     * {@link #getRow(SessionLocal, long)}.
+     *
+     * @return true if they can
+     */
+    public boolean canGetRowByKey() {
+        return false;
+    }
+
     /**
      * Returns whether this table is insertable.
      *
@@ -589,6 +600,10 @@ public void removeChildrenAndResources(SessionLocal session) {
             Constraint constraint = constraints.remove(0);
             database.removeSchemaObject(session, constraint);
         }
+        for (MaterializedView view : dependentMaterializedViews) {
+            // changes in a table that replaces this one aren't tracked
+            view.invalidateChanges();
+        }
         for (Right right : database.getAllRights()) {
             if (right.getGrantedObject() == this) {
                 database.removeDatabaseObject(session, right);
@@ -631,7 +646,14 @@ public void dropMultipleColumnsConstraintsAndIndexes(SessionLocal session, Array
         HashSet<Index> indexesToDrop = new HashSet<>();
         for (Index index : getIndexes()) {
             if (index.getCreateSQL() != null) {
-                Boolean partiallyCovered = isPartiallyCovered(columnSetToDrop, Arrays.asList(index.getColumns()));
+                List<Column> columns = Arrays.asList(index.getColumns());
+                IndexPredicate predicate = index.getIndexType().getPredicate();
+                if (predicate != null) {
+                    HashSet<Column> set = new HashSet<>(columns);
+                    predicate.getExpression().isEverything(ExpressionVisitor.getColumnsVisitor(set, this));
+                    columns = new ArrayList<>(set);
+                }
+                Boolean partiallyCovered = isPartiallyCovered(columnSetToDrop, columns);
                 if (partiallyCovered == null) { // fully covered
                     indexesToDrop.add(index);
                 } else if (partiallyCovered) {
@@ -860,6 +882,11 @@ public PlanItem getBestPlanItem(SessionLocal session, int[] masks,
                 if (index == scanIndex || isIndexExcludedByHints(indexHints, index)) {
                     continue;
                 }
+                IndexPredicate predicate = index.getIndexType().getPredicate();
+                if (predicate != null && (filters == null || !predicate.isImpliedBy(session, filters[filter]))) {
+                    // partial index doesn't contain all rows of the query
+                    continue;
+                }
 
                 double cost = index.getCost(session, masks, filters, filter,
                         sortOrder, allColumnsSet, isSelectCommand);
@@ -1300,6 +1327,9 @@ public Index getIndexForColumn(Column column,
             if (needFindNext && !index.canFindNext()) {
                 continue;
             }
+            if (index.getIndexType().getPredicate() != null) {
+                continue;
+            }
             // choose the minimal covering index with the needed first
             // column to work consistently with execution plan from
             // Optimizer
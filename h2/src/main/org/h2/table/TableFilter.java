@@ -20,9 +20,11 @@
 import org.h2.expression.Expression;
 import org.h2.expression.condition.Comparison;
 import org.h2.expression.condition.ConditionAndOr;
+import org.h2.expression.condition.ConditionAndOrN;
 import org.h2.index.Index;
 import org.h2.index.IndexCondition;
 import org.h2.index.IndexCursor;
+import org.h2.index.IndexMerge;
 import org.h2.message.DbException;
 import org.h2.result.Row;
 import org.h2.result.SearchRow;
@@ -73,6 +75,13 @@ public class TableFilter implements ColumnResolver {
     private final IndexHints indexHints;
     private int[] masks;
     private int scanCount;
+    private int lookupCount;
+
+    /**
+     * The approximate row count of the table when the plan was selected, or
+     * -1 if it is not known.
+     */
+    private long plannedRowCount = -1L;
     private boolean evaluatable;
 
     /**
@@ -90,6 +99,19 @@ public class TableFilter implements ColumnResolver {
      */
     private final ArrayList<IndexCondition> indexConditions = Utils.newSmallArrayList();
 
+    /**
+     * Index conditions of OR conditions which may be evaluated with lookups
+     * in several indexes: for each OR condition, a list of index conditions
+     * for each its alternative.
+     */
+    private ArrayList<ArrayList<ArrayList<IndexCondition>>> orIndexConditions;
+
+    /**
+     * Whether index conditions of an alternative of OR condition are being
+     * created.
+     */
+    private boolean creatingOrIndexConditions;
+
     /**
      * Additional conditions that can't be used for index lookup, but for row
      * filter for this table (ID=ID, NAME LIKE '%X%')
@@ -130,6 +152,22 @@ public class TableFilter implements ColumnResolver {
     private ArrayList<Column> commonJoinColumnsToExclude;
     private boolean foundOne;
     private Expression fullCondition;
+
+    /**
+     * The geometry used for k-nearest-neighbor search, or {@code null}.
+     */
+    private Expression nearestPoint;
+
+    /**
+     * Whether skip scan is used.
+     */
+    private boolean skipScan;
+
+    /**
+     * The plan of lookups in several indexes, or {@code null}.
+     */
+    private IndexMerge indexMerge;
+
     private final int hashCode;
     private final int orderInFrom;
 
@@ -220,32 +258,7 @@ public PlanItem getBestPlanItem(SessionLocal s, TableFilter[] filters, int filte
             item1.cost = item1.getIndex().getCost(s, null, filters, filter,
                     sortOrder, allColumnsSet, isSelectCommand);
         }
-        int len = table.getColumns().length;
-        int[] masks = new int[len];
-        for (IndexCondition condition : indexConditions) {
-            if (condition.isEvaluatable()) {
-                if (condition.isAlwaysFalse()) {
-                    masks = null;
-                    break;
-                }
-                if (condition.isCompoundColumns()) {
-                    // Set the op mask in case of compound columns as well.
-                    Column[] columns = condition.getColumns();
-                    for (Column column : columns) {
-                        int id = column.getColumnId();
-                        if (id >= 0) {
-                            masks[id] |= condition.getMask(indexConditions);
-                        }
-                    }
-                }
-                else {
-                    int id = condition.getColumn().getColumnId();
-                    if (id >= 0) {
-                        masks[id] |= condition.getMask(indexConditions);
-                    }
-                }
-            }
-        }
+        int[] masks = getMasks(indexConditions);
         PlanItem item = table.getBestPlanItem(s, masks, filters, filter, sortOrder, allColumnsSet, isSelectCommand);
         item.setMasks(masks);
         // The more index conditions, the earlier the table.
@@ -256,6 +269,13 @@ public PlanItem getBestPlanItem(SessionLocal s, TableFilter[] filters, int filte
         if (item1 != null && item1.cost < item.cost) {
             item = item1;
         }
+        if (orIndexConditions != null && masks != null && table.canGetRowByKey()) {
+            PlanItem mergeItem = getIndexMergePlanItem(s, filters, filter, allColumnsSet, isSelectCommand);
+            if (mergeItem != null && mergeItem.cost < item.cost) {
+                mergeItem.setMasks(masks);
+                item = mergeItem;
+            }
+        }
 
         if (nestedJoin != null) {
             setEvaluatable(true);
@@ -277,6 +297,138 @@ public PlanItem getBestPlanItem(SessionLocal s, TableFilter[] filters, int filte
         return item;
     }
 
+    private int[] getMasks(ArrayList<IndexCondition> conditions) {
+        int len = table.getColumns().length;
+        int[] masks = new int[len];
+        for (IndexCondition condition : conditions) {
+            if (condition.isEvaluatable()) {
+                if (condition.isAlwaysFalse()) {
+                    return null;
+                }
+                if (condition.isCompoundColumns()) {
+                    // Set the op mask in case of compound columns as well.
+                    Column[] columns = condition.getColumns();
+                    for (Column column : columns) {
+                        int id = column.getColumnId();
+                        if (id >= 0) {
+                            masks[id] |= condition.getMask(conditions);
+                        }
+                    }
+                }
+                else {
+                    int id = condition.getColumn().getColumnId();
+                    if (id >= 0) {
+                        masks[id] |= condition.getMask(conditions);
+                    }
+                }
+            }
+        }
+        return masks;
+    }
+
+    /**
+     * Get the plan item which finds rows with lookups in several indexes for
+     * alternatives of one of OR conditions and reads rows by their keys.
+     *
+     * @return the plan item, or {@code null} if there is no such plan
+     */
+    private PlanItem getIndexMergePlanItem(SessionLocal s, TableFilter[] filters, int filter,
+            AllColumnsForPlan allColumnsSet, boolean isSelectCommand) {
+        PlanItem best = null;
+        loop: for (ArrayList<ArrayList<IndexCondition>> alternatives : orIndexConditions) {
+            int count = alternatives.size();
+            IndexMerge[] plans = new IndexMerge[count];
+            double cost = 0;
+            for (int i = 0; i < count; i++) {
+                ArrayList<IndexCondition> conditions = getEvaluatable(alternatives.get(i));
+                PlanItem item = getLookupPlanItem(s, conditions, filters, filter, allColumnsSet, isSelectCommand);
+                if (item == null) {
+                    continue loop;
+                }
+                Index index = item.getIndex();
+                IndexMerge plan = IndexMerge.lookup(index, getUsable(conditions, index, true));
+                // Conditions on columns that aren't in the index may be used
+                // with another index, if it is more selective
+                ArrayList<IndexCondition> remaining = getUsable(conditions, index, false);
+                if (!remaining.isEmpty()) {
+                    PlanItem other = getLookupPlanItem(s, remaining, filters, filter, allColumnsSet,
+                            isSelectCommand);
+                    if (other != null && other.cost < item.cost) {
+                        Index otherIndex = other.getIndex();
+                        plan = IndexMerge.intersection(plan,
+                                IndexMerge.lookup(otherIndex, getUsable(remaining, otherIndex, true)));
+                    }
+                }
+                plans[i] = plan;
+                cost += item.cost;
+            }
+            if (best == null || cost < best.cost) {
+                best = new PlanItem();
+                best.cost = cost;
+                best.setIndex(table.getScanIndex(s));
+                best.setIndexMerge(IndexMerge.union(plans));
+            }
+        }
+        return best;
+    }
+
+    private PlanItem getLookupPlanItem(SessionLocal s, ArrayList<IndexCondition> conditions, TableFilter[] filters,
+            int filter, AllColumnsForPlan allColumnsSet, boolean isSelectCommand) {
+        if (conditions.isEmpty()) {
+            return null;
+        }
+        int[] masks = getMasks(conditions);
+        if (masks == null) {
+            return null;
+        }
+        // Rows must also satisfy other index conditions of this filter,
+        // they may be used for partial indexes
+        int size = indexConditions.size();
+        indexConditions.addAll(conditions);
+        PlanItem item;
+        try {
+            item = table.getBestPlanItem(s, masks, filters, filter, null, allColumnsSet, isSelectCommand);
+        } finally {
+            indexConditions.subList(size, indexConditions.size()).clear();
+        }
+        Index index = item.getIndex();
+        if (index.getIndexType().isScan() || index.isFindUsingFullTableScan()
+                || getUsable(conditions, index, true).isEmpty()) {
+            return null;
+        }
+        return item;
+    }
+
+    private static ArrayList<IndexCondition> getEvaluatable(ArrayList<IndexCondition> conditions) {
+        ArrayList<IndexCondition> list = Utils.newSmallArrayList();
+        for (IndexCondition condition : conditions) {
+            if (condition.isEvaluatable()) {
+                list.add(condition);
+            }
+        }
+        return list;
+    }
+
+    private static ArrayList<IndexCondition> getUsable(ArrayList<IndexCondition> conditions, Index index,
+            boolean usable) {
+        ArrayList<IndexCondition> list = Utils.newSmallArrayList();
+        for (IndexCondition condition : conditions) {
+            boolean b;
+            if (condition.isCompoundColumns()) {
+                b = IndexCursor.canUseIndexForIn(index, condition.getColumns());
+            } else {
+                int columnIndex = index.getColumnIndex(condition.getColumn());
+                b = columnIndex == 0 || columnIndex > 0 && condition.getCompareType() != Comparison.IN_LIST
+                        && condition.getCompareType() != Comparison.IN_ARRAY
+                        && condition.getCompareType() != Comparison.IN_QUERY;
+            }
+            if (b == usable) {
+                list.add(condition);
+            }
+        }
+        return list;
+    }
+
     /**
      * Set what plan item (index, cost, masks) to use.
      *
@@ -290,6 +442,11 @@ public void setPlanItem(PlanItem item) {
         }
         setIndex(item.getIndex(), false);
         masks = item.getMasks();
+        plannedRowCount = table.canGetRowCount(session) ? table.getRowCountApproximation(session) : -1L;
+        indexMerge = item.getIndexMerge();
+        cursor.setIndexMerge(indexMerge);
+        skipScan = index.isSkipScanUseful(session, masks);
+        cursor.setSkipScan(skipScan);
         if (nestedJoin != null) {
             if (item.getNestedJoinPlan() != null) {
                 nestedJoin.setPlanItem(item.getNestedJoinPlan());
@@ -408,6 +565,7 @@ public void prepare() {
     public void startQuery(SessionLocal s) {
         this.session = s;
         scanCount = 0;
+        lookupCount = 0;
         if (nestedJoin != null) {
             nestedJoin.startQuery(s);
         }
@@ -416,6 +574,30 @@ public void startQuery(SessionLocal s) {
         }
     }
 
+    /**
+     * Checks whether the last execution of the query has read much more rows
+     * from the table of this filter or the joined filters than the table had
+     * when the plan was selected. It means that the table has grown after
+     * that and the plan may be outdated.
+     *
+     * @param ratio
+     *            the ratio between the average number of rows read for each
+     *            lookup and the planned row count to consider the plan as
+     *            outdated
+     * @return whether the plan may be outdated
+     */
+    public boolean isRowCountEstimateExceeded(int ratio) {
+        if (lookupCount > 0 && plannedRowCount >= 0L) {
+            // each lookup also makes one unsuccessful call to the cursor
+            long rows = (scanCount - lookupCount) / lookupCount;
+            if (rows > 1_000L && rows > plannedRowCount * ratio) {
+                return true;
+            }
+        }
+        return nestedJoin != null && nestedJoin.isRowCountEstimateExceeded(ratio)
+                || join != null && join.isRowCountEstimateExceeded(ratio);
+    }
+
     /**
      * Reset to the current position.
      */
@@ -439,6 +621,7 @@ public boolean next() {
         if (state == AFTER_LAST) {
             return false;
         } else if (state == BEFORE_FIRST) {
+            lookupCount++;
             cursor.find(session, indexConditions);
             if (!cursor.isAlwaysFalse()) {
                 if (nestedJoin != null) {
@@ -598,6 +781,64 @@ public void addIndexCondition(IndexCondition condition) {
         indexConditions.add(condition);
     }
 
+    /**
+     * Add an OR condition. If index conditions can be created for each its
+     * alternative, rows may be found with lookups in several indexes.
+     *
+     * @param condition the OR condition
+     */
+    public void addOrCondition(Expression condition) {
+        if (creatingOrIndexConditions) {
+            // nested OR conditions can't be used
+            return;
+        }
+        ArrayList<Expression> alternatives = new ArrayList<>();
+        addAlternatives(condition, alternatives);
+        ArrayList<ArrayList<IndexCondition>> list = new ArrayList<>(alternatives.size());
+        int size = indexConditions.size();
+        creatingOrIndexConditions = true;
+        try {
+            for (Expression e : alternatives) {
+                e.createIndexConditions(session, this);
+                ArrayList<IndexCondition> created = new ArrayList<>(indexConditions.subList(size,
+                        indexConditions.size()));
+                indexConditions.subList(size, indexConditions.size()).clear();
+                if (created.isEmpty()) {
+                    return;
+                }
+                list.add(created);
+            }
+        } finally {
+            creatingOrIndexConditions = false;
+            indexConditions.subList(size, indexConditions.size()).clear();
+        }
+        if (orIndexConditions == null) {
+            orIndexConditions = Utils.newSmallArrayList();
+        }
+        orIndexConditions.add(list);
+    }
+
+    private static void addAlternatives(Expression condition, ArrayList<Expression> alternatives) {
+        if (condition instanceof ConditionAndOr && ((ConditionAndOr) condition).getAndOrType() == ConditionAndOr.OR
+                || condition instanceof ConditionAndOrN
+                        && ((ConditionAndOrN) condition).getAndOrType() == ConditionAndOr.OR) {
+            for (int i = 0, l = condition.getSubexpressionCount(); i < l; i++) {
+                addAlternatives(condition.getSubexpression(i), alternatives);
+            }
+        } else {
+            alternatives.add(condition);
+        }
+    }
+
+    /**
+     * Get the index conditions of this table filter.
+     *
+     * @return the index conditions
+     */
+    public ArrayList<IndexCondition> getIndexConditions() {
+        return indexConditions;
+    }
+
     /**
      * Add a filter condition.
      *
@@ -818,7 +1059,14 @@ public StringBuilder getPlanSQL(StringBuilder builder, boolean isJoin, int sqlFl
             }
             builder.append(")");
         }
-        if (index != null && (sqlFlags & HasSQL.ADD_PLAN_INFORMATION) != 0) {
+        if (indexMerge != null && (sqlFlags & HasSQL.ADD_PLAN_INFORMATION) != 0) {
+            builder.append('\n');
+            StringBuilder planBuilder = indexMerge.getPlanSQL(new StringBuilder().append("/* INDEX MERGE: "));
+            if (planBuilder.indexOf("\n", 3) >= 0) {
+                planBuilder.append('\n');
+            }
+            StringUtils.indent(builder, planBuilder.append(" */").toString(), 4, false);
+        } else if (index != null && (sqlFlags & HasSQL.ADD_PLAN_INFORMATION) != 0) {
             builder.append('\n');
             StringBuilder planBuilder = new StringBuilder().append("/* ").append(index.getPlanSQL());
             if (!indexConditions.isEmpty()) {
@@ -831,6 +1079,13 @@ public StringBuilder getPlanSQL(StringBuilder builder, boolean isJoin, int sqlFl
                             HasSQL.TRACE_SQL_FLAGS | HasSQL.ADD_PLAN_INFORMATION));
                 }
             }
+            if (nearestPoint != null) {
+                planBuilder.append(indexConditions.isEmpty() ? ": " : "\n    ").append("NEAREST TO ");
+                nearestPoint.getUnenclosedSQL(planBuilder, HasSQL.TRACE_SQL_FLAGS | HasSQL.ADD_PLAN_INFORMATION);
+            }
+            if (skipScan) {
+                planBuilder.append(indexConditions.isEmpty() ? ": " : "\n    ").append("SKIP SCAN");
+            }
             if (planBuilder.indexOf("\n", 3) >= 0) {
                 planBuilder.append('\n');
             }
@@ -883,8 +1138,29 @@ public Index getIndex() {
     }
 
     public void setIndex(Index index, boolean reverse) {
+        // skip scan returns rows in order of the index, it can be kept
+        skipScan &= index == this.index;
         this.index = index;
+        nearestPoint = null;
+        indexMerge = null;
         cursor.setIndex(index, reverse);
+        cursor.setSkipScan(skipScan);
+    }
+
+    /**
+     * Use the current spatial index for k-nearest-neighbor search. Rows are
+     * returned in ascending order of distance between bounding boxes of the
+     * specified column and the specified geometry.
+     *
+     * @param column the indexed geometry column
+     * @param point the expression with the geometry to measure the distance
+     *            from
+     * @param nullsFirst whether rows with NULL or empty geometries should be
+     *            returned first
+     */
+    public void setNearestNeighborSearch(Column column, Expression point, boolean nullsFirst) {
+        nearestPoint = point;
+        cursor.setNearest(column, point, nullsFirst);
     }
 
     public void setUsed(boolean used) {
@@ -136,6 +136,20 @@ public static <T> int estimateMemory(AtomicLong stats, DataType<T> dataType, T[]
         return (getAverage(updatedStatsData) + MEMORY_POINTER) * count;
     }
 
+    /**
+     * Estimates memory size of the data set based on previous values only.
+     * @param stats AtomicLong holding statistical data about the estimated sequence
+     * @param count number of data items in the data set
+     * @return estimated size of the data set, or -1 if there are not enough previous values yet
+     */
+    public static int estimateMemory(AtomicLong stats, int count) {
+        long statsData = stats.get();
+        if ((statsData & INIT_BIT) == 0) {
+            return -1;
+        }
+        return (getAverage(statsData) + MEMORY_POINTER) * count;
+    }
+
     /**
      * Calculates percentage of how many times actual calculation happened (vs. estimation)
      * @param stats AtomicLong holding statistical data about the estimated sequence
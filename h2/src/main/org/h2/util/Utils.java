@@ -11,6 +11,7 @@
 import java.lang.management.GarbageCollectorMXBean;
 import java.lang.management.ManagementFactory;
 import java.lang.management.OperatingSystemMXBean;
+import java.lang.reflect.Array;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
@@ -27,6 +28,8 @@
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 
+import org.h2.message.DbException;
+
 /**
  * This utility class contains miscellaneous functions.
  */
@@ -571,6 +574,36 @@ public static Class<?> getNonPrimitiveClass(Class<?> clazz) {
         return clazz;
     }
 
+    /**
+     * Returns component types of arrays with values of columns. Arrays of
+     * {@code char} aren't supported.
+     *
+     * @param arrays the arrays with values of columns
+     * @param length the minimal length of each array
+     * @param allowNulls whether {@code null} elements are allowed, their
+     *            component types are {@code null}
+     * @param name the name of the argument for error messages
+     * @return the component types
+     * @throws DbException if some element is not a supported array or is too
+     *             short
+     */
+    public static Class<?>[] getColumnArrayTypes(Object[] arrays, int length, boolean allowNulls, String name) {
+        int count = arrays.length;
+        Class<?>[] types = new Class<?>[count];
+        for (int i = 0; i < count; i++) {
+            Object array = arrays[i];
+            if (array == null && allowNulls) {
+                continue;
+            }
+            Class<?> type = array != null ? array.getClass().getComponentType() : null;
+            if (type == null || type == char.class || Array.getLength(array) < length) {
+                throw DbException.getInvalidValueException(name + '[' + i + ']', array);
+            }
+            types[i] = type;
+        }
+        return types;
+    }
+
     /**
      * Parses the specified string to boolean value.
      *
@@ -410,6 +410,30 @@ public static boolean intersects(double[] envelope1, double[] envelope2) {
                 && envelope1[MIN_Y] <= envelope2[MAX_Y];
     }
 
+    /**
+     * Calculates the minimum Euclidean distance between two envelopes. The
+     * distance between intersecting envelopes is 0.
+     *
+     * @param envelope1
+     *            first envelope, or null
+     * @param envelope2
+     *            second envelope, or null
+     * @return distance between the specified envelopes, or {@code NaN} if one
+     *         of them is null
+     */
+    public static double distance(double[] envelope1, double[] envelope2) {
+        if (envelope1 == null || envelope2 == null) {
+            return Double.NaN;
+        }
+        double dx = gap(envelope1[MIN_X], envelope1[MAX_X], envelope2[MIN_X], envelope2[MAX_X]);
+        double dy = gap(envelope1[MIN_Y], envelope1[MAX_Y], envelope2[MIN_Y], envelope2[MAX_Y]);
+        return dx == 0d ? dy : dy == 0d ? dx : Math.sqrt(dx * dx + dy * dy);
+    }
+
+    private static double gap(double min1, double max1, double min2, double max2) {
+        return max1 < min2 ? min2 - max1 : max2 < min1 ? min1 - max2 : 0d;
+    }
+
     /**
      * Returns union of two envelopes. This method does not modify the specified
      * envelopes, but may return one of them as a result.
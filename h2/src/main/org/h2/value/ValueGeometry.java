@@ -216,6 +216,17 @@ public boolean intersectsBoundingBox(ValueGeometry r) {
         return GeometryUtils.intersects(getEnvelopeNoCopy(), r.getEnvelopeNoCopy());
     }
 
+    /**
+     * Get the minimum distance between the envelopes of this geometry and the
+     * other geometry.
+     *
+     * @param r the other geometry
+     * @return the distance, or {@code NaN} if one of the geometries is empty
+     */
+    public double getEnvelopeDistance(ValueGeometry r) {
+        return GeometryUtils.distance(getEnvelopeNoCopy(), r.getEnvelopeNoCopy());
+    }
+
     /**
      * Get the union.
      *
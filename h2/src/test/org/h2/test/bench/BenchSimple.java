@@ -75,6 +75,16 @@ public void runTest() throws SQLException {
         }
         db.end();
 
+        db.start(this, "Query (literals)");
+        // each statement is parsed and prepared again
+        // unless literals are replaced with parameters
+        for (int i = 0; i < records / 10; i++) {
+            prep = db.prepare("SELECT * FROM TEST WHERE ID=" + random.nextInt(records));
+            db.queryReadResult(prep);
+            prep.close();
+        }
+        db.end();
+
         db.start(this, "Update (sequential)");
         prep = db.prepare("UPDATE TEST SET NAME=? WHERE ID=?");
         for (int i = 0; i < records; i += 3) {
@@ -54,6 +54,7 @@ public void test() throws SQLException {
         testCloseConnectionDelete();
         testOrderGroup();
         testLimitBufferedResult();
+        testExternalMergeSort();
         deleteDb("bigResult");
     }
 
@@ -424,6 +425,54 @@ private void testLimitBufferedResult() throws SQLException {
         conn.close();
     }
 
+    private void testExternalMergeSort() throws SQLException {
+        deleteDb("bigResult");
+        Connection conn = getConnection("bigResult");
+        Statement stat = conn.createStatement();
+        int len = getSize(1000, 10000);
+        stat.execute("CREATE TABLE TEST(ID INT PRIMARY KEY, V INT) AS SELECT X, "
+                + "CASE WHEN MOD(X, 17) = 0 THEN NULL ELSE MOD(X * 7919, 101) END FROM SYSTEM_RANGE(1, " + len + ")");
+        stat.execute("SET MAX_MEMORY_ROWS " + (len / 10));
+        ResultSet rs = stat.executeQuery("SELECT V, ID FROM TEST ORDER BY V DESC NULLS FIRST, ID");
+        Integer lastV = Integer.MIN_VALUE;
+        int lastId = 0, count = 0;
+        while (rs.next()) {
+            int v = rs.getInt(1);
+            Integer currentV = rs.wasNull() ? null : v;
+            int id = rs.getInt(2);
+            if (lastV == null) {
+                assertTrue(currentV != null || id > lastId);
+            } else if (currentV == null) {
+                assertEquals(Integer.MIN_VALUE, lastV.intValue());
+            } else if (lastV != Integer.MIN_VALUE) {
+                assertTrue(currentV < lastV || currentV.equals(lastV) && id > lastId);
+            }
+            lastV = currentV;
+            lastId = id;
+            count++;
+        }
+        assertEquals(len, count);
+        stat = conn.createStatement(ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+        rs = stat.executeQuery("SELECT ID FROM TEST ORDER BY MOD(ID, 3), ID DESC");
+        for (int pass = 0; pass < 2; pass++) {
+            int[] last = { Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE };
+            int group = 0;
+            count = 0;
+            while (rs.next()) {
+                int id = rs.getInt(1);
+                int m = id % 3;
+                assertTrue(m >= group);
+                assertTrue(id < last[m]);
+                group = m;
+                last[m] = id;
+                count++;
+            }
+            assertEquals(len, count);
+            rs.beforeFirst();
+        }
+        conn.close();
+    }
+
     private void testOrderGroup() throws SQLException {
         deleteDb("bigResult");
         Connection conn = getConnection("bigResult");
@@ -54,6 +54,7 @@ public void test() throws Exception {
         testUuidPrimaryKey(false);
         testAutoAnalyze();
         testNativeFeatures();
+        testFullTextIndex();
         testTransaction(false);
         testCreateDropNative();
         testStreamLob();
@@ -122,6 +123,47 @@ private void testAutoAnalyze() throws SQLException {
         close(connList);
     }
 
+    private void testFullTextIndex() throws SQLException {
+        deleteDb("fullTextIndex");
+        Connection conn = getConnection("fullTextIndex");
+        Statement stat = conn.createStatement();
+        stat.execute("CREATE TABLE TEST(ID INT PRIMARY KEY, TEXT CLOB)");
+        stat.execute("CREATE FULLTEXT INDEX TEST_TEXT_IDX ON TEST(TEXT)");
+        stat.execute("INSERT INTO TEST VALUES (1, 'Water skiing needs balance and water'), "
+                + "(2, 'A train crosses the water'), (3, 'Cold storage for water, water and more water'), "
+                + "(4, 'Balance of the storage')");
+        stat.execute("INSERT INTO TEST SELECT X, 'word ' || X FROM SYSTEM_RANGE(5, 1000)");
+        assertResult("3", stat, "SELECT ID FROM TEST WHERE MATCH(TEXT) AGAINST('water') LIMIT 1");
+        assertResult("4", stat, "SELECT ID FROM TEST WHERE MATCH(TEXT) AGAINST('\"balance of\" storage')");
+        assertResult("500", stat, "SELECT ID FROM TEST WHERE MATCH(TEXT) AGAINST('WORD 500')");
+        ResultSet rs = stat.executeQuery("SELECT ID FROM TEST WHERE MATCH(TEXT) AGAINST('water')");
+        int[] expected = { 3, 1, 2 };
+        for (int id : expected) {
+            assertTrue(rs.next());
+            assertEquals(id, rs.getInt(1));
+        }
+        assertFalse(rs.next());
+        conn.setAutoCommit(false);
+        stat.execute("INSERT INTO TEST VALUES (1001, 'Skiing on water')");
+        stat.execute("DELETE FROM TEST WHERE ID = 2");
+        assertResult("1001", stat, "SELECT ID FROM TEST WHERE MATCH(TEXT) AGAINST('skiing on')");
+        assertResult(null, stat, "SELECT ID FROM TEST WHERE MATCH(TEXT) AGAINST('train')");
+        conn.rollback();
+        conn.setAutoCommit(true);
+        assertResult(null, stat, "SELECT ID FROM TEST WHERE MATCH(TEXT) AGAINST('skiing on')");
+        assertResult("2", stat, "SELECT ID FROM TEST WHERE MATCH(TEXT) AGAINST('train')");
+        if (!config.memory) {
+            conn.close();
+            conn = getConnection("fullTextIndex");
+            stat = conn.createStatement();
+            assertResult("2", stat, "SELECT ID FROM TEST WHERE MATCH(TEXT) AGAINST('train')");
+            assertResult("3", stat, "SELECT ID FROM TEST WHERE MATCH(TEXT) AGAINST('water') LIMIT 1");
+        }
+        stat.execute("DROP TABLE TEST");
+        conn.close();
+        deleteDb("fullTextIndex");
+    }
+
     private void testNativeFeatures() throws SQLException {
         deleteDb("fullTextNative");
         ArrayList<Connection> connList = new ArrayList<>();
@@ -18,6 +18,9 @@
 import java.util.concurrent.atomic.AtomicInteger;
 import org.h2.api.ErrorCode;
 import org.h2.command.query.Select;
+import org.h2.engine.SessionLocal;
+import org.h2.jdbc.JdbcConnection;
+import org.h2.mvstore.db.Store;
 import org.h2.test.TestBase;
 import org.h2.test.TestDb;
 import org.h2.tools.SimpleResultSet;
@@ -51,6 +54,8 @@ public void test() throws SQLException {
         testHashIndexOnMemoryTable();
         testErrorMessage();
         testDuplicateKeyException();
+        testParallelCreateIndex();
+        testPartialIndex();
         int to = config.lockTimeout;
         config.lockTimeout = 50000;
         try {
@@ -187,6 +192,72 @@ private void testErrorMessage(String... expected) throws SQLException {
         stat.execute("drop table test");
     }
 
+    private void testParallelCreateIndex() throws SQLException {
+        if (config.memory) {
+            return;
+        }
+        deleteDb("indexParallel");
+        try (Connection c = getConnection("indexParallel;CREATE_INDEX_THREADS=4")) {
+            Statement s = c.createStatement();
+            s.execute("SET MAX_MEMORY_ROWS 1000");
+            s.execute("CREATE TABLE TEST(ID INT PRIMARY KEY, V INT, W INT)");
+            s.execute("INSERT INTO TEST SELECT X, MOD(X * 7919, 10007), MOD(X, 10) FROM SYSTEM_RANGE(1, 10000)");
+            s.execute("CREATE UNIQUE INDEX TEST_V_IDX ON TEST(V)");
+            s.execute("CREATE INDEX TEST_W_IDX ON TEST(W)");
+            int expected = 0;
+            for (int i = 1; i <= 10_000; i++) {
+                int v = i * 7919 % 10007;
+                if (v >= 100 && v < 200) {
+                    expected++;
+                }
+            }
+            assertResult(Integer.toString(expected), s, "SELECT COUNT(*) FROM TEST WHERE V >= 100 AND V < 200");
+            assertResult("1000", s, "SELECT COUNT(*) FROM TEST WHERE W = 3");
+            assertResult("0", s, "SELECT COUNT(*) FROM (SELECT V, LAG(V) OVER (ORDER BY V) P FROM TEST) "
+                    + "WHERE V <= P");
+            assertThrows(ErrorCode.DUPLICATE_KEY_1, s).execute("CREATE UNIQUE INDEX TEST_W_U_IDX ON TEST(W)");
+            // fails while blocks are still being sorted and written
+            assertThrows(ErrorCode.DIVISION_BY_ZERO_1, s)
+                    .execute("CREATE INDEX TEST_V_P_IDX ON TEST(V) WHERE 1 / (ID - 9000) IS NOT NULL");
+            if (!config.networked) {
+                Store store = ((SessionLocal) ((JdbcConnection) c).getSession()).getDatabase().getStore();
+                for (String name : store.getMvStore().getMapNames()) {
+                    assertFalse(name, name.startsWith("temp."));
+                }
+            }
+            assertResult("0", s, "SELECT COUNT(*) FROM INFORMATION_SCHEMA.INDEXES WHERE INDEX_NAME = 'TEST_V_P_IDX'");
+        }
+        deleteDb("indexParallel");
+    }
+
+    private void testPartialIndex() throws SQLException {
+        deleteDb("indexPartial");
+        try (Connection c = getConnection("indexPartial")) {
+            Statement s = c.createStatement();
+            s.execute("SET MAX_MEMORY_ROWS 1000");
+            s.execute("CREATE TABLE TEST(ID INT PRIMARY KEY, V INT, OPEN BOOLEAN)");
+            s.execute("INSERT INTO TEST SELECT X, MOD(X, 100), MOD(X, 7) = 0 FROM SYSTEM_RANGE(1, 10000)");
+            s.execute("CREATE INDEX TEST_V_IDX ON TEST(V) WHERE OPEN");
+            s.execute("CREATE UNIQUE INDEX TEST_V_U_IDX ON TEST(V) WHERE OPEN AND ID < 100");
+            assertResult("14", s, "SELECT COUNT(*) FROM TEST WHERE OPEN AND V = 10");
+            assertResult("100", s, "SELECT COUNT(*) FROM TEST WHERE V = 10");
+        }
+        if (!config.memory) {
+            try (Connection c = getConnection("indexPartial")) {
+                Statement s = c.createStatement();
+                ResultSet rs = s.executeQuery("EXPLAIN SELECT ID FROM TEST WHERE OPEN AND V = 10");
+                rs.next();
+                assertContains(rs.getString(1), "TEST_V_IDX");
+                assertResult("14", s, "SELECT COUNT(*) FROM TEST WHERE OPEN AND V = 10");
+                s.execute("UPDATE TEST SET OPEN = NOT OPEN WHERE V = 10");
+                assertResult("86", s, "SELECT COUNT(*) FROM TEST WHERE OPEN AND V = 10");
+                assertThrows(ErrorCode.DUPLICATE_KEY_1, s).execute("UPDATE TEST SET V = 14, OPEN = TRUE WHERE ID = 15");
+                assertResult("86", s, "SELECT COUNT(*) FROM TEST USE INDEX (TEST_V_IDX) WHERE OPEN AND V = 10");
+            }
+        }
+        deleteDb("indexPartial");
+    }
+
     private void testDuplicateKeyException() throws SQLException {
         reconnect();
         stat.execute("create table test(id int primary key, name varchar(255))");
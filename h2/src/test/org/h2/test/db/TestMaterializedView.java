@@ -32,6 +32,9 @@ public static void main(String... a) throws Exception {
     public void test() throws SQLException {
         deleteDb("materializedview");
         test1();
+        testIncrementalRefresh();
+        testIncrementalRefreshAfterAlter();
+        testIncrementalRefreshCompositeKey();
         deleteDb("materializedview");
     }
 
@@ -65,4 +68,106 @@ private void test1() throws SQLException {
         conn.close();
     }
 
+    private void testIncrementalRefresh() throws SQLException {
+        Connection conn = getConnection("materializedview");
+        Statement stat = conn.createStatement();
+        stat.execute("create table test(id int primary key, g int, v int)");
+        stat.execute("insert into test select x, mod(x, 10), x from system_range(1, 1000)");
+        stat.execute("create materialized view test_sum as select g, sum(v) s, count(*) c, min(v) mi, max(v) ma"
+                + " from test where v > 5 group by g having count(*) > 1");
+        stat.execute("create materialized view test_rows as select id, v * 2 w from test where g = 1");
+        stat.execute("insert into test values (1001, 1, 5000), (1002, 11, 1), (1003, 11, 2)");
+        stat.execute("update test set v = v + 1 where id in (2, 3, 21)");
+        stat.execute("update test set g = 12 where id in (4, 14)");
+        stat.execute("delete from test where id in (31, 1000)");
+        conn.setAutoCommit(false);
+        stat.execute("update test set v = 100000 where id = 41");
+        stat.execute("update test set g = null where id = 51");
+        conn.rollback();
+        stat.execute("update test set g = null where id in (61, 62)");
+        conn.setAutoCommit(true);
+        stat.execute("refresh materialized view test_sum incremental");
+        stat.execute("refresh materialized view test_rows incremental");
+        assertEquals(11, count(stat, "test_sum"));
+        assertEquals(99, count(stat, "test_rows"));
+        assertSameContent(stat, "test_sum", "select g, sum(v) s, count(*) c, min(v) mi, max(v) ma"
+                + " from test where v > 5 group by g having count(*) > 1");
+        assertSameContent(stat, "test_rows", "select id, v * 2 w from test where g = 1");
+        // full refresh is used after truncation
+        stat.execute("truncate table test");
+        stat.execute("insert into test values (1, 1, 10), (2, 1, 20)");
+        stat.execute("refresh materialized view test_sum incremental");
+        assertSameContent(stat, "test_sum", "select g, sum(v) s, count(*) c, min(v) mi, max(v) ma"
+                + " from test where v > 5 group by g having count(*) > 1");
+        stat.execute("drop materialized view test_sum");
+        stat.execute("drop materialized view test_rows");
+        stat.execute("drop table test");
+        conn.close();
+    }
+
+    private void testIncrementalRefreshAfterAlter() throws SQLException {
+        Connection conn = getConnection("materializedview");
+        Statement stat = conn.createStatement();
+        stat.execute("create table b(id int primary key, v int)");
+        stat.execute("insert into b values (1, 10), (2, 20)");
+        stat.execute("create materialized view mp as select id, v from b");
+        // the base table is replaced with a new one
+        stat.execute("alter table b add column w int");
+        stat.execute("update b set v = 11 where id = 1");
+        stat.execute("insert into b values (3, 30, 0)");
+        stat.execute("refresh materialized view mp incremental");
+        assertEquals(3, count(stat, "mp"));
+        assertSameContent(stat, "mp", "select id, v from b");
+        // changes in the new base table are tracked
+        stat.execute("update b set v = 12 where id = 1");
+        stat.execute("delete from b where id = 2");
+        stat.execute("refresh materialized view mp incremental");
+        assertEquals(2, count(stat, "mp"));
+        assertSameContent(stat, "mp", "select id, v from b");
+        stat.execute("alter table b drop column w");
+        stat.execute("update b set v = 13 where id = 3");
+        stat.execute("refresh materialized view mp incremental");
+        assertSameContent(stat, "mp", "select id, v from b");
+        stat.execute("drop materialized view mp");
+        stat.execute("drop table b");
+        conn.close();
+    }
+
+    private void testIncrementalRefreshCompositeKey() throws SQLException {
+        Connection conn = getConnection("materializedview");
+        Statement stat = conn.createStatement();
+        stat.execute("create table test(id int primary key, a int, b varchar, v int)");
+        stat.execute("insert into test select x, mod(x, 1000), mod(x, 7), x from system_range(1, 10000)");
+        stat.execute("create materialized view test_ab as select a, b, sum(v) s from test group by a, b");
+        stat.execute("update test set b = null where id in (1, 2, 303)");
+        stat.execute("update test set a = null where id in (3, 404)");
+        stat.execute("update test set v = v + 1 where a = 7");
+        stat.execute("delete from test where a = 8 and b = '1'");
+        stat.execute("refresh materialized view test_ab incremental");
+        assertSameContent(stat, "test_ab", "select a, b, sum(v) s from test group by a, b");
+        // too many changed keys, full refresh is used
+        stat.execute("update test set v = v + 1 where a < 500");
+        stat.execute("refresh materialized view test_ab incremental");
+        assertSameContent(stat, "test_ab", "select a, b, sum(v) s from test group by a, b");
+        stat.execute("update test set b = null where a = 9");
+        stat.execute("refresh materialized view test_ab incremental");
+        assertSameContent(stat, "test_ab", "select a, b, sum(v) s from test group by a, b");
+        stat.execute("drop materialized view test_ab");
+        stat.execute("drop table test");
+        conn.close();
+    }
+
+    private int count(Statement stat, String view) throws SQLException {
+        ResultSet rs = stat.executeQuery("select count(*) from " + view);
+        rs.next();
+        return rs.getInt(1);
+    }
+
+    private void assertSameContent(Statement stat, String view, String query) throws SQLException {
+        ResultSet rs = stat.executeQuery("select count(*) from ((select * from " + view + " except " + query
+                + ") union all (" + query + " except select * from " + view + "))");
+        rs.next();
+        assertEquals(0, rs.getInt(1));
+    }
+
 }
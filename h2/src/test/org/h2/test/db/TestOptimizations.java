@@ -87,6 +87,7 @@ public void test() throws Exception {
         testIndexUseDespiteNullsFirst();
         testConvertOrToIn();
         testConditionAndOrDistributiveLaw();
+        testReplanOnGrownTable();
         deleteDb("optimizations");
     }
 
@@ -206,6 +207,19 @@ private void testLike() throws Exception {
         rs.next();
         // ensure the ID = 10 part is evaluated first
         assertContains(rs.getString(1), "PRIMARY_KEY_");
+        PreparedStatement prep = conn.prepareStatement("select count(*) from test where name like ?");
+        PreparedStatement prepScan = conn.prepareStatement(
+                "select count(*) from test use index () where name like ?");
+        for (String pattern : new String[] { "1%", "1", "%0", "_", "1_", "%", "" }) {
+            prep.setString(1, pattern);
+            prepScan.setString(1, pattern);
+            rs = prepScan.executeQuery();
+            rs.next();
+            int expected = rs.getInt(1);
+            rs = prep.executeQuery();
+            rs.next();
+            assertEquals(pattern, expected, rs.getInt(1));
+        }
         stat.execute("drop table test");
         conn.close();
     }
@@ -1326,6 +1340,50 @@ private void testConditionAndOrDistributiveLaw() throws SQLException {
         conn.close();
     }
 
+    private void testReplanOnGrownTable() throws SQLException {
+        deleteDb("optimizations");
+        Connection conn = getConnection("optimizations");
+        Statement stat = conn.createStatement();
+        stat.execute("CREATE TABLE A(ID INT PRIMARY KEY, X INT)");
+        stat.execute("CREATE TABLE B(ID INT PRIMARY KEY, X INT)");
+        stat.execute("INSERT INTO B VALUES (1, 0), (2, 0)");
+        PreparedStatement prep = conn.prepareStatement("SELECT A.ID, B.ID FROM A JOIN B ON A.X = B.X");
+        PreparedStatement explain = conn.prepareStatement(
+                "EXPLAIN ANALYZE SELECT A.ID, B.ID FROM A JOIN B ON A.X = B.X");
+        // the empty table A is selected as the outer table
+        assertFalse(prep.executeQuery().next());
+        assertContains(getPlan(explain), "FROM \"PUBLIC\".\"A\"");
+        stat.execute("INSERT INTO A SELECT X, 0 FROM SYSTEM_RANGE(1, 2000)");
+        assertReplanOnGrownTableResult(prep);
+        assertContains(getPlan(explain), "FROM \"PUBLIC\".\"A\"");
+        // the previous execution has read too many rows from the table A,
+        // now the smaller table B is the outer table
+        assertReplanOnGrownTableResult(prep);
+        assertContains(getPlan(explain), "FROM \"PUBLIC\".\"B\"");
+        conn.close();
+    }
+
+    private String getPlan(PreparedStatement explain) throws SQLException {
+        try (ResultSet rs = explain.executeQuery()) {
+            assertTrue(rs.next());
+            return rs.getString(1);
+        }
+    }
+
+    private void assertReplanOnGrownTableResult(PreparedStatement prep) throws SQLException {
+        HashSet<Integer> rows = new HashSet<>();
+        try (ResultSet rs = prep.executeQuery()) {
+            while (rs.next()) {
+                assertTrue(rows.add(rs.getInt(1) * 10 + rs.getInt(2)));
+            }
+        }
+        assertEquals(4000, rows.size());
+        for (int i = 1; i <= 2000; i++) {
+            assertTrue(rows.contains(i * 10 + 1));
+            assertTrue(rows.contains(i * 10 + 2));
+        }
+    }
+
     private void testConditionsStackOverflow() throws SQLException {
         deleteDb("optimizations");
         Connection conn = getConnection("optimizations");
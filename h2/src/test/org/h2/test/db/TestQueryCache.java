@@ -8,6 +8,7 @@
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.sql.Statement;
 
 import org.h2.api.ErrorCode;
@@ -33,6 +34,9 @@ public void test() throws Exception {
         deleteDb("queryCache");
         test1();
         testClearingCacheWithTableStructureChanges();
+        testQueryResultCache();
+        testQueryResultCacheSize();
+        testAutoParameterize();
         deleteDb("queryCache");
     }
 
@@ -107,4 +111,205 @@ private void testClearingCacheWithTableStructureChanges() throws Exception {
                     prepareStatement("SELECT * FROM TEST");
         }
     }
+
+    private void testQueryResultCache() throws Exception {
+        String url = "queryCache;QUERY_RESULT_CACHE_SIZE=1024";
+        try (Connection conn1 = getConnection(url); Connection conn2 = getConnection(url)) {
+            Statement stat1 = conn1.createStatement();
+            Statement stat2 = conn2.createStatement();
+            stat1.execute("CREATE TABLE TEST(ID INT PRIMARY KEY, V INT)");
+            stat1.execute("INSERT INTO TEST VALUES (1, 10), (2, 20)");
+            String query = "SELECT SUM(V) FROM TEST";
+            assertEquals(30, getInt(stat1, query));
+            long hits = getCacheHits(stat1);
+            assertEquals(30, getInt(stat2, query));
+            assertEquals(hits + 1, getCacheHits(stat1));
+            // uncommitted changes aren't visible to other sessions
+            conn2.setAutoCommit(false);
+            stat2.execute("UPDATE TEST SET V = 11 WHERE ID = 1");
+            assertEquals(31, getInt(stat2, query));
+            assertEquals(30, getInt(stat1, query));
+            conn2.commit();
+            conn2.setAutoCommit(true);
+            assertEquals(31, getInt(stat1, query));
+            hits = getCacheHits(stat1);
+            assertEquals(31, getInt(stat2, query));
+            assertEquals(hits + 1, getCacheHits(stat1));
+            // parameters are a part of the key
+            PreparedStatement prep1 = conn1.prepareStatement("SELECT V FROM TEST WHERE ID = ?");
+            PreparedStatement prep2 = conn2.prepareStatement("SELECT V FROM TEST WHERE ID = ?");
+            prep1.setInt(1, 1);
+            prep2.setInt(1, 2);
+            assertEquals(11, getInt(prep1));
+            assertEquals(20, getInt(prep2));
+            prep2.setInt(1, 1);
+            hits = getCacheHits(stat1);
+            assertEquals(11, getInt(prep2));
+            assertEquals(hits + 1, getCacheHits(stat1));
+            // results from local temporary tables aren't shared
+            stat1.execute("CREATE LOCAL TEMPORARY TABLE T(V INT)");
+            stat2.execute("CREATE LOCAL TEMPORARY TABLE T(V INT)");
+            stat1.execute("INSERT INTO T VALUES 1");
+            assertEquals(1, getInt(stat1, "SELECT COUNT(*) FROM T"));
+            assertEquals(0, getInt(stat2, "SELECT COUNT(*) FROM T"));
+            // schema changes invalidate cached results
+            stat1.execute("DROP TABLE TEST");
+            stat1.execute("CREATE TABLE TEST(ID INT PRIMARY KEY, V INT)");
+            assertEquals(0, getInt(stat2, "SELECT COUNT(*) FROM TEST"));
+            stat1.execute("DROP TABLE TEST");
+        }
+    }
+
+    private void testAutoParameterize() throws Exception {
+        try (Connection conn = getConnection("queryCache;AUTO_PARAMETERIZE=TRUE")) {
+            Statement stat = conn.createStatement();
+            stat.execute("CREATE TABLE TEST(ID INT PRIMARY KEY, NAME VARCHAR)");
+            stat.execute("INSERT INTO TEST VALUES (1, 'a')");
+            stat.execute("INSERT INTO TEST VALUES (2, 'b')");
+            assertEquals(1, stat.executeUpdate("INSERT INTO TEST VALUES (3, 'c')"));
+            stat.execute("SET QUERY_STATISTICS TRUE");
+            for (int i = 1; i <= 3; i++) {
+                try (ResultSet rs = stat.executeQuery("SELECT NAME FROM TEST WHERE ID = " + i)) {
+                    assertTrue(rs.next());
+                    assertEquals(String.valueOf((char) ('a' + i - 1)), rs.getString(1));
+                    assertFalse(rs.next());
+                }
+            }
+            assertEquals(2, getInt(stat, "SELECT COUNT(*) FROM TEST WHERE ID BETWEEN 2 AND 5"));
+            assertEquals(1, getInt(stat, "SELECT COUNT(*) FROM TEST WHERE ID BETWEEN 3 AND 5"));
+            assertEquals(2, getInt(stat, "SELECT COUNT(*) FROM TEST WHERE NAME LIKE 'a%' OR NAME = 'b'"));
+            // statements that differ only in literals share one command
+            try (ResultSet rs = stat.executeQuery("SELECT SQL_STATEMENT, EXECUTION_COUNT"
+                    + " FROM INFORMATION_SCHEMA.QUERY_STATISTICS WHERE SQL_STATEMENT LIKE 'SELECT%FROM TEST WHERE%'"
+                    + " ORDER BY SQL_STATEMENT")) {
+                assertTrue(rs.next());
+                assertEquals("SELECT COUNT(*) FROM TEST WHERE ID BETWEEN ?1 AND ?2", rs.getString(1).trim());
+                assertEquals(2, rs.getInt(2));
+                assertTrue(rs.next());
+                assertEquals("SELECT COUNT(*) FROM TEST WHERE NAME LIKE ?1 OR NAME = ?2", rs.getString(1).trim());
+                assertEquals(1, rs.getInt(2));
+                assertTrue(rs.next());
+                assertEquals("SELECT NAME FROM TEST WHERE ID = ?1", rs.getString(1).trim());
+                assertEquals(3, rs.getInt(2));
+                assertFalse(rs.next());
+            }
+            stat.execute("SET QUERY_STATISTICS FALSE");
+            // parameters that replace literals are not visible
+            PreparedStatement prep = conn.prepareStatement("SELECT ID FROM TEST WHERE ID > ? AND NAME <> 'b' ORDER BY ID");
+            assertEquals(1, prep.getParameterMetaData().getParameterCount());
+            prep.setInt(1, 0);
+            try (ResultSet rs = prep.executeQuery()) {
+                assertTrue(rs.next());
+                assertEquals(1, rs.getInt(1));
+                assertTrue(rs.next());
+                assertEquals(3, rs.getInt(1));
+                assertFalse(rs.next());
+            }
+            prep.setInt(1, 1);
+            assertEquals(3, getInt(prep));
+            // open commands aren't shared
+            PreparedStatement prep2 = conn.prepareStatement("SELECT ID FROM TEST WHERE ID > ? AND NAME <> 'a' ORDER BY ID");
+            prep2.setInt(1, 1);
+            assertEquals(2, getInt(prep2));
+            assertEquals(3, getInt(prep));
+            prep.close();
+            prep2.close();
+            // literals in select lists and in ORDER BY are not replaced
+            try (ResultSet rs = stat.executeQuery("SELECT 'x' || NAME, 2 FROM TEST WHERE ID = 2 ORDER BY 1")) {
+                assertEquals("'x' || NAME", rs.getMetaData().getColumnLabel(1));
+                assertEquals("2", rs.getMetaData().getColumnLabel(2));
+                assertTrue(rs.next());
+                assertEquals("xb", rs.getString(1));
+                assertEquals(2, rs.getInt(2));
+            }
+            assertEquals(1, stat.executeUpdate("UPDATE TEST SET NAME = 'd' WHERE ID = 3"));
+            assertEquals(1, stat.executeUpdate("DELETE FROM TEST WHERE NAME = 'd'"));
+            assertEquals(2, getInt(stat, "SELECT COUNT(*) FROM TEST WHERE ID < 10"));
+            // errors are reported for the original statement
+            try {
+                stat.executeQuery("SELECT * FROM TEST WHERE ID = 1 AND");
+                fail();
+            } catch (SQLException e) {
+                assertEquals(ErrorCode.SYNTAX_ERROR_2, e.getErrorCode());
+                assertContains(e.getMessage(), "ID = 1 AND");
+            }
+            stat.execute("DROP TABLE TEST");
+        }
+    }
+
+    private void testQueryResultCacheSize() throws Exception {
+        try (Connection conn = getConnection("queryCache;QUERY_RESULT_CACHE_SIZE=64")) {
+            Statement stat = conn.createStatement();
+            stat.execute("CREATE TABLE TEST(ID INT PRIMARY KEY, V VARCHAR)");
+            stat.execute("INSERT INTO TEST SELECT X, 'v' || X FROM SYSTEM_RANGE(1, 10000)");
+            // too large results aren't cached
+            for (String query : new String[] { "SELECT ID FROM TEST", "SELECT V FROM TEST",
+                    "SELECT V FROM TEST WHERE ID > 9000" }) {
+                getRowCount(stat, query);
+                long hits = getCacheHits(stat);
+                getRowCount(stat, query);
+                assertEquals(hits, getCacheHits(stat));
+            }
+            assertEquals(0, getCacheInfo(stat, "ENTRIES"));
+            // old entries are evicted, but the new one is kept
+            String first = null, last = null;
+            for (int i = 1; i < 100; i++) {
+                last = "SELECT ID, V FROM TEST WHERE ID BETWEEN " + i * 100 + " AND " + (i * 100 + 20);
+                if (first == null) {
+                    first = last;
+                }
+                assertEquals(21, getRowCount(stat, last));
+                long hits = getCacheHits(stat);
+                assertEquals(21, getRowCount(stat, last));
+                assertEquals(hits + 1, getCacheHits(stat));
+                assertTrue(getCacheInfo(stat, "MEMORY") <= 64);
+            }
+            long entries = getCacheInfo(stat, "ENTRIES");
+            assertTrue(entries > 0 && entries < 99);
+            long hits = getCacheHits(stat);
+            assertEquals(21, getRowCount(stat, last));
+            assertEquals(hits + 1, getCacheHits(stat));
+            assertEquals(21, getRowCount(stat, first));
+            assertEquals(hits + 1, getCacheHits(stat));
+            stat.execute("DROP TABLE TEST");
+        }
+    }
+
+    private static int getInt(Statement stat, String query) throws Exception {
+        try (ResultSet rs = stat.executeQuery(query)) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    private static int getRowCount(Statement stat, String query) throws Exception {
+        int count = 0;
+        try (ResultSet rs = stat.executeQuery(query)) {
+            while (rs.next()) {
+                rs.getString(rs.getMetaData().getColumnCount());
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static int getInt(PreparedStatement prep) throws Exception {
+        try (ResultSet rs = prep.executeQuery()) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    private static long getCacheHits(Statement stat) throws Exception {
+        return getCacheInfo(stat, "HITS");
+    }
+
+    private static long getCacheInfo(Statement stat, String name) throws Exception {
+        try (ResultSet rs = stat.executeQuery("SELECT SETTING_VALUE FROM INFORMATION_SCHEMA.SETTINGS"
+                + " WHERE SETTING_NAME = 'info.QUERY_RESULT_CACHE_" + name + '\'')) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
 }
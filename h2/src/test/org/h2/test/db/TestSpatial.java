@@ -6,6 +6,7 @@
 package org.h2.test.db;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Savepoint;
@@ -110,6 +111,7 @@ private void testSpatial() throws SQLException {
         testIndexUpdateNullGeometry();
         testInsertNull();
         testSpatialIndexWithOrder();
+        testNearestNeighbor();
     }
 
     private void testNaNs() {
@@ -1206,4 +1208,83 @@ private void testSpatialIndexWithOrder() throws SQLException {
         }
         deleteDb("spatial");
     }
+
+    private void testNearestNeighbor() throws SQLException {
+        deleteDb("spatial");
+        try (Connection conn = getConnection(URL)) {
+            Statement stat = conn.createStatement(), stat2 = conn.createStatement();
+            stat.execute("CREATE TABLE STORES(ID INT PRIMARY KEY, GEOM GEOMETRY)");
+            stat.execute("CREATE TABLE STORES_NO_INDEX(ID INT PRIMARY KEY, GEOM GEOMETRY)");
+            Random r = new Random(1);
+            try (PreparedStatement prep = conn.prepareStatement("INSERT INTO STORES VALUES (?, ?)")) {
+                for (int i = 0; i < 2000; i++) {
+                    prep.setInt(1, i);
+                    if (i % 100 == 0) {
+                        prep.setString(2, i % 200 == 0 ? null : "POINT EMPTY");
+                    } else if (i % 7 == 0) {
+                        double x = r.nextDouble() * 1000, y = r.nextDouble() * 1000;
+                        prep.setString(2, "POLYGON ((" + x + ' ' + y + ", " + (x + 5) + ' ' + y + ", " + (x + 5)
+                                + ' ' + (y + 3) + ", " + x + ' ' + y + "))");
+                    } else {
+                        prep.setString(2, "POINT (" + r.nextDouble() * 1000 + ' ' + r.nextDouble() * 1000 + ')');
+                    }
+                    prep.executeUpdate();
+                }
+            }
+            stat.execute("INSERT INTO STORES_NO_INDEX SELECT * FROM STORES");
+            stat.execute("CREATE SPATIAL INDEX STORES_GEOM_IDX ON STORES(GEOM)");
+            for (String nullOrdering : new String[] { " NULLS LAST", " NULLS FIRST", "" }) {
+                try (ResultSet rs = stat.executeQuery("EXPLAIN SELECT ID FROM STORES ORDER BY GEOM <-> 'POINT(500 500)'"
+                        + nullOrdering + " LIMIT 10")) {
+                    assertTrue(rs.next());
+                    String plan = rs.getString(1);
+                    assertContains(plan, "STORES_GEOM_IDX: NEAREST TO");
+                    assertContains(plan, "index sorted");
+                }
+            }
+            try (ResultSet rs = stat.executeQuery(
+                    "EXPLAIN SELECT ID FROM STORES ORDER BY GEOM <-> 'POINT(500 500)' DESC LIMIT 10")) {
+                assertTrue(rs.next());
+                assertFalse(rs.getString(1).contains("NEAREST TO"));
+            }
+            testNearestNeighbor(conn, r, " NULLS LAST");
+            testNearestNeighbor(conn, r, "");
+            try (ResultSet rs = stat.executeQuery("SELECT ID FROM STORES WHERE GEOM && 'POLYGON ((0 0, 100 0, "
+                    + "100 100, 0 100, 0 0))' ORDER BY 'POINT(0 0)' <-> GEOM NULLS LAST LIMIT 3");
+                    ResultSet rs2 = stat2.executeQuery("SELECT ID FROM STORES_NO_INDEX WHERE GEOM && 'POLYGON ((0 0, "
+                    + "100 0, 100 100, 0 100, 0 0))' ORDER BY 'POINT(0 0)' <-> GEOM NULLS LAST LIMIT 3")) {
+                while (rs2.next()) {
+                    assertTrue(rs.next());
+                    assertEquals(rs2.getInt(1), rs.getInt(1));
+                }
+                assertFalse(rs.next());
+            }
+        }
+        deleteDb("spatial");
+    }
+
+    private void testNearestNeighbor(Connection conn, Random r, String nullOrdering) throws SQLException {
+        try (PreparedStatement prep = conn.prepareStatement(
+                "SELECT ID, GEOM <-> ? D FROM STORES ORDER BY 2" + nullOrdering + ", 1 LIMIT ?");
+                PreparedStatement prep2 = conn.prepareStatement(
+                "SELECT ID, GEOM <-> ? D FROM STORES_NO_INDEX ORDER BY 2" + nullOrdering + ", 1 LIMIT ?")) {
+            for (int i = 0; i < 50; i++) {
+                String point = "POINT (" + r.nextInt(1100) + ' ' + r.nextInt(1100) + ')';
+                int limit = i == 0 ? 2000 : 1 + r.nextInt(30);
+                prep.setString(1, point);
+                prep.setInt(2, limit);
+                prep2.setString(1, point);
+                prep2.setInt(2, limit);
+                try (ResultSet rs = prep.executeQuery(); ResultSet rs2 = prep2.executeQuery()) {
+                    while (rs2.next()) {
+                        assertTrue(rs.next());
+                        assertEquals(rs2.getDouble(2), rs.getDouble(2));
+                        assertEquals(rs2.getInt(1), rs.getInt(1));
+                    }
+                    assertFalse(rs.next());
+                }
+            }
+        }
+    }
+
 }
@@ -11,12 +11,14 @@
 import java.sql.SQLClientInfoException;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.Arrays;
 import java.util.Properties;
 import java.util.TimeZone;
 
 import org.h2.api.ErrorCode;
 import org.h2.engine.Constants;
 import org.h2.engine.SysProperties;
+import org.h2.jdbc.JdbcBulkInsert;
 import org.h2.test.TestBase;
 import org.h2.test.TestDb;
 import org.h2.util.DateTimeUtils;
@@ -52,6 +54,7 @@ public void test() throws Exception {
         testLockTimeout();
         testIgnoreUnknownSettings();
         testTimeZone();
+        testBulkInsert();
     }
 
     private void testSetInternalProperty() throws SQLException {
@@ -391,6 +394,72 @@ private void testTimeZone() throws SQLException {
         }
     }
 
+    private void testBulkInsert() throws SQLException {
+        deleteDb("bulkInsert");
+        try (Connection conn = getConnection("bulkInsert")) {
+            Statement stat = conn.createStatement();
+            stat.execute("CREATE TABLE TEST(ID INT PRIMARY KEY, V BIGINT CHECK (V >= 0), "
+                    + "D DOUBLE, S VARCHAR, T INT DEFAULT 7)");
+            JdbcBulkInsert bulk = conn.unwrap(JdbcBulkInsert.class);
+            String[] columns = { "ID", "V", "D", "S" };
+            if (config.networked) {
+                assertThrows(ErrorCode.FEATURE_NOT_SUPPORTED_1, bulk).insert(null, "TEST", columns,
+                        new Object[] { new int[0], new long[0], new double[0], new Object[0] }, 0);
+                return;
+            }
+            assertEquals(3, bulk.insert(null, "TEST", columns, new Object[] { new int[] { 1, 2, 3, 4 },
+                    new long[] { 10, 20, 30, 40 }, new double[] { 1.5, 2.5, 3.5, 4.5 },
+                    new Object[] { "a", null, "c", "d" } }, 3));
+            assertEquals(2, bulk.insert("PUBLIC", "TEST", null,
+                    Arrays.asList(new Object[] { 4, 40L, null, "d", 1 }, new Object[] { "5", 50, 5, null, null })
+                    .iterator()));
+            try (ResultSet rs = stat.executeQuery("SELECT * FROM TEST ORDER BY ID")) {
+                assertResult(rs, 1, 10L, 1.5, "a", 7);
+                assertResult(rs, 2, 20L, 2.5, null, 7);
+                assertResult(rs, 3, 30L, 3.5, "c", 7);
+                assertResult(rs, 4, 40L, null, "d", 1);
+                assertResult(rs, 5, 50L, 5.0, null, null);
+                assertFalse(rs.next());
+            }
+            // the second row violates the constraint, nothing is inserted
+            assertThrows(ErrorCode.CHECK_CONSTRAINT_VIOLATED_1, bulk).insert(null, "TEST",
+                    new String[] { "ID", "V" }, new Object[] { new int[] { 6, 7 }, new long[] { 60, -1 } }, 2);
+            assertThrows(ErrorCode.DUPLICATE_KEY_1, bulk).insert(null, "TEST", new String[] { "ID" },
+                    Arrays.asList(new Object[] { 6 }, new Object[] { 1 }).iterator());
+            assertThrows(ErrorCode.COLUMN_COUNT_DOES_NOT_MATCH, bulk).insert(null, "TEST", new String[] { "ID" },
+                    Arrays.asList(new Object[] { 6 }, new Object[] { 7, 70 }).iterator());
+            assertSingleValue(stat, "SELECT COUNT(*) FROM TEST", 5);
+            assertThrows(ErrorCode.TABLE_OR_VIEW_NOT_FOUND_1, bulk).insert(null, "test", null,
+                    new Object[0], 0);
+            assertThrows(ErrorCode.COLUMN_NOT_FOUND_1, bulk).insert(null, "TEST", new String[] { "X" },
+                    new Object[] { new int[0] }, 0);
+            assertThrows(ErrorCode.DUPLICATE_COLUMN_NAME_1, bulk).insert(null, "TEST", new String[] { "ID", "ID" },
+                    new Object[] { new int[0], new int[0] }, 0);
+            assertThrows(ErrorCode.INVALID_VALUE_2, bulk).insert(null, "TEST", new String[] { "ID" },
+                    new Object[] { new int[1] }, 2);
+            assertThrows(ErrorCode.INVALID_VALUE_2, bulk).insert(null, "TEST", new String[] { "ID" },
+                    new Object[] { new char[2] }, 2);
+            conn.setAutoCommit(false);
+            assertEquals(1, bulk.insert(null, "TEST", new String[] { "ID" },
+                    new Object[] { new short[] { 6 } }, 1));
+            assertSingleValue(stat, "SELECT COUNT(*) FROM TEST", 6);
+            conn.rollback();
+            assertSingleValue(stat, "SELECT COUNT(*) FROM TEST", 5);
+            conn.setAutoCommit(true);
+        } finally {
+            deleteDb("bulkInsert");
+        }
+    }
+
+    private void assertResult(ResultSet rs, int id, Long v, Double d, String s, Integer t) throws SQLException {
+        assertTrue(rs.next());
+        assertEquals(id, rs.getInt(1));
+        assertEquals(v, rs.getObject(2));
+        assertEquals(d, rs.getObject(3));
+        assertEquals(s, rs.getString(4));
+        assertEquals(t, rs.getObject(5));
+    }
+
     private void checkTimeZone(String expected, Connection conn) throws SQLException {
         Statement stat = conn.createStatement();
         ResultSet rs = stat.executeQuery(
@@ -41,6 +41,7 @@
 import java.time.Period;
 import java.time.ZonedDateTime;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Calendar;
 import java.util.Collections;
 import java.util.GregorianCalendar;
@@ -50,6 +51,7 @@
 import org.h2.api.Interval;
 import org.h2.api.IntervalQualifier;
 import org.h2.engine.Constants;
+import org.h2.jdbc.JdbcBulkResultSet;
 import org.h2.test.TestBase;
 import org.h2.test.TestDb;
 import org.h2.util.IOUtils;
@@ -81,6 +83,7 @@ public void test() throws Exception {
         stat = conn.createStatement();
 
         testUnwrap();
+        testBulkFetch();
         testReuseSimpleResult();
         testUnsupportedOperations();
         testAmbiguousColumnNames();
@@ -138,6 +141,55 @@ private void testUnwrap() throws SQLException {
                 unwrap(Integer.class);
     }
 
+    private void testBulkFetch() throws SQLException {
+        ResultSet rs = stat.executeQuery("SELECT X, X * 10, CAST(X AS DOUBLE) / 4, NULLIF(X, 3), 'v' || X,"
+                + " X % 2 = 0, CAST(X AS NUMERIC(10, 1)) FROM SYSTEM_RANGE(1, 5)");
+        assertTrue(rs.isWrapperFor(JdbcBulkResultSet.class));
+        JdbcBulkResultSet bulk = rs.unwrap(JdbcBulkResultSet.class);
+        int[] i = new int[3];
+        long[] l = new long[3];
+        double[] d = new double[3];
+        int[] n = new int[3];
+        String[] v = new String[3];
+        boolean[] b = new boolean[3];
+        Object[] o = new Object[3];
+        BitSet nNulls = new BitSet();
+        Object[] columns = { i, l, d, n, v, b, o };
+        BitSet[] nulls = { null, null, null, nNulls };
+        assertEquals(3, bulk.fetch(3, columns, nulls));
+        assertEquals("[1, 2, 3]", Arrays.toString(i));
+        assertEquals("[10, 20, 30]", Arrays.toString(l));
+        assertEquals(0.75, d[2]);
+        assertEquals("[1, 2, 0]", Arrays.toString(n));
+        assertEquals("{2}", nNulls.toString());
+        assertEquals(new String[] { "v1", "v2", "v3" }, v);
+        assertTrue(!b[0] && b[1] && !b[2]);
+        assertEquals(new BigDecimal("3.0"), o[2]);
+        // the cursor is on the last fetched row
+        assertEquals(3, rs.getInt(1));
+        assertTrue(bulk.isNull(4));
+        assertTrue(rs.wasNull());
+        assertFalse(bulk.isNull(1));
+        BigDecimal[] decimals = new BigDecimal[3];
+        Arrays.fill(i, -1);
+        nNulls.set(5);
+        assertEquals(2, bulk.fetch(3, new Object[] { i, null, null, n, null, null, decimals }, nulls));
+        assertEquals("[4, 5, -1]", Arrays.toString(i));
+        assertEquals("{2, 5}", nNulls.toString());
+        assertEquals(new BigDecimal("5.0"), decimals[1]);
+        assertEquals(0, bulk.fetch(3, columns, null));
+        assertFalse(rs.next());
+        rs = stat.executeQuery("SELECT 1, 2");
+        JdbcBulkResultSet bulk2 = rs.unwrap(JdbcBulkResultSet.class);
+        assertThrows(ErrorCode.INVALID_VALUE_2, bulk2).fetch(1, new Object[] { new int[1], new int[1], null }, null);
+        assertThrows(ErrorCode.INVALID_VALUE_2, bulk2).fetch(2, new Object[] { new int[1] }, null);
+        assertThrows(ErrorCode.INVALID_VALUE_2, bulk2).fetch(1, new Object[] { 1 }, null);
+        assertThrows(ErrorCode.NO_DATA_AVAILABLE, bulk2).isNull(1);
+        assertEquals(1, bulk2.fetch(1, new Object[] { null, new short[1] }, null));
+        rs.close();
+        assertThrows(ErrorCode.OBJECT_CLOSED, bulk2).fetch(1, new Object[0], null);
+    }
+
     private void testReuseSimpleResult() throws SQLException {
         ResultSet rs = stat.executeQuery("select * from table(x int array=((1)))");
         while (rs.next()) {
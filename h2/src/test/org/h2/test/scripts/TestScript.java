@@ -162,7 +162,8 @@ public void test() throws Exception {
                 "merge", "mergeUsing", "replace", "script", "show", "update", "with" }) {
             testScript("dml/" + s + ".sql");
         }
-        for (String s : new String[] { "any_value", "any", "array_agg", "avg",
+        for (String s : new String[] { "any_value", "any", "approx_count_distinct", "approx_percentile", "array_agg",
+                "avg",
                 "bit_and_agg", "bit_or_agg", "bit_xor_agg",
                 "corr",
                 "count",
@@ -228,8 +229,8 @@ public void test() throws Exception {
         for (String s : new String[] { "comments", "identifiers" }) {
             testScript("parser/" + s + ".sql");
         }
-        for (String s : new String[] { "between", "distinct", "in", "like", "null", "quantified-comparison-with-array",
-                "type", "unique" }) {
+        for (String s : new String[] { "between", "distinct", "in", "like", "match", "null",
+                "quantified-comparison-with-array", "type", "unique" }) {
             testScript("predicates/" + s + ".sql");
         }
         for (String s : new String[] { "derived-column-names", "distinct", "joins", "query-optimisations", "select",
@@ -237,6 +238,13 @@ public void test() throws Exception {
             testScript("queries/" + s + ".sql");
         }
         testScript("other/two_phase_commit.sql");
+        testScript("other/include.sql");
+        testScript("other/partial_index.sql");
+        testScript("other/skip_scan.sql");
+        testScript("other/index_merge.sql");
+        testScript("other/semi_join.sql");
+        testScript("other/cte_materialized.sql");
+        testScript("other/compiled_expressions.sql");
         testScript("other/unique_include.sql");
 
         deleteDb("script");
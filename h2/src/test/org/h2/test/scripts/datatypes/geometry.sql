@@ -347,3 +347,80 @@ VALUES CAST(GEOMETRY 'SRID=10;MULTIPOINT EMPTY' AS GEOMETRY(MULTIPOINT, 10));
 > POINT EMPTY
 > SRID=10;MULTIPOINT EMPTY
 > rows: 2
+
+SELECT GEOMETRY 'POINT (0 0)' <-> GEOMETRY 'POINT (3 4)', GEOMETRY 'POINT (1 1)' <-> 'POLYGON ((0 0, 2 0, 2 2, 0 0))',
+    GEOMETRY 'LINESTRING (0 0, 1 1)' <-> GEOMETRY 'POINT (1 5)';
+> 5.0 0.0 4.0
+> --- --- ---
+> 5.0 0.0 4.0
+> rows: 1
+
+SELECT GEOMETRY 'POINT (0 0)' <-> NULL, GEOMETRY 'POINT (0 0)' <-> GEOMETRY 'POINT EMPTY';
+> NULL NULL
+> ---- ----
+> null null
+> rows: 1
+
+CREATE TABLE TEST(ID INT PRIMARY KEY, G GEOMETRY);
+> ok
+
+INSERT INTO TEST VALUES (1, 'POINT (1 1)'), (2, 'POINT (5 5)'), (3, NULL), (4, 'POINT (2 2)'), (5, 'POINT EMPTY');
+> update count: 5
+
+CREATE SPATIAL INDEX TEST_G_IDX ON TEST(G);
+> ok
+
+SELECT ID, G <-> 'POINT (6 6)' D FROM TEST ORDER BY G <-> 'POINT (6 6)' NULLS LAST FETCH FIRST 2 ROWS ONLY;
+> ID D
+> -- ------------------
+> 2  1.4142135623730951
+> 4  5.656854249492381
+> rows (ordered): 2
+
+SELECT ID FROM TEST ORDER BY G <-> 'POINT (0 0)' NULLS LAST, ID;
+> ID
+> --
+> 1
+> 4
+> 2
+> 3
+> 5
+> rows (ordered): 5
+
+EXPLAIN SELECT ID FROM TEST ORDER BY G <-> 'POINT (0 0)' NULLS LAST FETCH FIRST ROW ONLY;
+>> SELECT "ID" FROM "PUBLIC"."TEST" /* PUBLIC.TEST_G_IDX: NEAREST TO GEOMETRY 'POINT (0 0)' */ ORDER BY "G" <-> GEOMETRY 'POINT (0 0)' NULLS LAST FETCH FIRST ROW ONLY /* index sorted */
+
+SELECT ID FROM TEST ORDER BY G <-> 'POINT (0 0)', ID;
+> ID
+> --
+> 3
+> 5
+> 1
+> 4
+> 2
+> rows (ordered): 5
+
+SELECT ID FROM TEST ORDER BY G <-> 'POINT (6 6)' FETCH FIRST 3 ROWS ONLY;
+> ID
+> --
+> 3
+> 5
+> 2
+> rows (ordered): 3
+
+EXPLAIN SELECT ID FROM TEST ORDER BY G <-> 'POINT (0 0)' FETCH FIRST ROW ONLY;
+>> SELECT "ID" FROM "PUBLIC"."TEST" /* PUBLIC.TEST_G_IDX: NEAREST TO GEOMETRY 'POINT (0 0)' */ ORDER BY "G" <-> GEOMETRY 'POINT (0 0)' FETCH FIRST ROW ONLY /* index sorted */
+
+DELETE FROM TEST WHERE ID IN (3, 5);
+> update count: 2
+
+SELECT ID FROM TEST ORDER BY G <-> 'POINT (0 0)';
+> ID
+> --
+> 1
+> 4
+> 2
+> rows (ordered): 3
+
+DROP TABLE TEST;
+> ok
@@ -22,7 +22,10 @@ CREATE TABLE TEST(A INT, B INT, C INT);
 > ok
 
 CREATE INDEX TEST_IDX ON TEST(C) INCLUDE(B);
-> exception SYNTAX_ERROR_1
+> ok
+
+DROP INDEX TEST_IDX;
+> ok
 
 CREATE UNIQUE INDEX TEST_IDX ON TEST(C) INCLUDE(B);
 > ok
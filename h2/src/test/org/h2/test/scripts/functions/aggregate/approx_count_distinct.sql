@@ -0,0 +1,47 @@
+-- Copyright 2004-2025 H2 Group. Multiple-Licensed under the MPL 2.0,
+-- and the EPL 1.0 (https://h2database.com/html/license.html).
+-- Initial Developer: H2 Group
+--
+
+SELECT APPROX_COUNT_DISTINCT(V) FROM (VALUES 1, 2, 2, NULL, 3, 1) T(V);
+>> 3
+
+SELECT APPROX_COUNT_DISTINCT(V) FROM (VALUES 1, 2) T(V) WHERE FALSE;
+>> 0
+
+SELECT APPROX_COUNT_DISTINCT(V) FROM (VALUES CAST(NULL AS INT)) T(V);
+>> 0
+
+SELECT G, APPROX_COUNT_DISTINCT(V), APPROX_COUNT_DISTINCT(V) FILTER (WHERE V > 'a') FROM (VALUES
+    (1, 'a'), (1, 'b'), (1, 'a'), (2, 'A'), (2, 'a'), (3, NULL)) T(G, V) GROUP BY G ORDER BY G;
+> G APPROX_COUNT_DISTINCT(V) APPROX_COUNT_DISTINCT(V) FILTER (WHERE V > 'a')
+> - ------------------------ -----------------------------------------------
+> 1 2                        1
+> 2 2                        0
+> 3 0                        0
+> rows (ordered): 3
+
+SELECT APPROX_COUNT_DISTINCT(V) FROM (VALUES 1.0, 1.00, 2.5, 2.50, 0.0, -0.0) T(V);
+>> 3
+
+SELECT X, APPROX_COUNT_DISTINCT(MOD(X, 3)) OVER (ORDER BY X) FROM SYSTEM_RANGE(1, 5);
+> X APPROX_COUNT_DISTINCT(MOD(X, 3)) OVER (ORDER BY X)
+> - --------------------------------------------------
+> 1 1
+> 2 2
+> 3 3
+> 4 3
+> 5 3
+> rows: 5
+
+SELECT APPROX_COUNT_DISTINCT(X) BETWEEN 97000 AND 103000 A,
+    APPROX_COUNT_DISTINCT(MOD(X, 50000)) BETWEEN 48500 AND 51500 B,
+    APPROX_COUNT_DISTINCT('V' || MOD(X, 20000)) BETWEEN 19400 AND 20600 C
+    FROM SYSTEM_RANGE(1, 100000);
+> A    B    C
+> ---- ---- ----
+> TRUE TRUE TRUE
+> rows: 1
+
+SELECT APPROX_COUNT_DISTINCT(*) FROM TEST;
+> exception SYNTAX_ERROR_2
@@ -0,0 +1,51 @@
+-- Copyright 2004-2025 H2 Group. Multiple-Licensed under the MPL 2.0,
+-- and the EPL 1.0 (https://h2database.com/html/license.html).
+-- Initial Developer: H2 Group
+--
+
+SELECT APPROX_PERCENTILE(V, 0.5), PERCENTILE_DISC(0.5) WITHIN GROUP (ORDER BY V) FROM (VALUES 4, 1, NULL, 3, 2) T(V);
+> APPROX_PERCENTILE(V, 0.5) PERCENTILE_DISC(0.5) WITHIN GROUP (ORDER BY V)
+> ------------------------- ----------------------------------------------
+> 2                         2
+> rows: 1
+
+SELECT APPROX_PERCENTILE(V, 0), APPROX_PERCENTILE(V, 0.7), APPROX_PERCENTILE(V, 1) FROM (VALUES 4, 1, 3, 2) T(V);
+> APPROX_PERCENTILE(V, 0) APPROX_PERCENTILE(V, 0.7) APPROX_PERCENTILE(V, 1)
+> ----------------------- ------------------------- -----------------------
+> 1                       3                         4
+> rows: 1
+
+SELECT APPROX_PERCENTILE(V, NULL) FROM (VALUES 1, 2) T(V);
+>> null
+
+SELECT APPROX_PERCENTILE(V, 0.5) FROM (VALUES 1, 2) T(V) WHERE FALSE;
+>> null
+
+SELECT APPROX_PERCENTILE(V, 1.5) FROM (VALUES 1, 2) T(V);
+> exception INVALID_VALUE_2
+
+SELECT G, APPROX_PERCENTILE(V, 0.5) FROM (VALUES (1, DATE '2020-01-01'), (1, DATE '2020-01-03'),
+    (1, DATE '2020-01-02'), (2, DATE '2021-01-01')) T(G, V) GROUP BY G ORDER BY G;
+> G APPROX_PERCENTILE(V, 0.5)
+> - -------------------------
+> 1 2020-01-02
+> 2 2021-01-01
+> rows (ordered): 2
+
+SELECT X, APPROX_PERCENTILE(X, 0.5) OVER (ORDER BY X) FROM SYSTEM_RANGE(1, 4);
+> X APPROX_PERCENTILE(X, 0.5) OVER (ORDER BY X)
+> - -------------------------------------------
+> 1 1
+> 2 1
+> 3 2
+> 4 2
+> rows: 4
+
+SELECT APPROX_PERCENTILE(X, 0) = 1 A, APPROX_PERCENTILE(X, 0.5) BETWEEN 48000 AND 52000 B,
+    APPROX_PERCENTILE(X, 0.99) BETWEEN 98000 AND 100000 C, APPROX_PERCENTILE(X, 1) = 100000 D,
+    APPROX_PERCENTILE(MOD(X * 7919, 100000), 0.25) BETWEEN 23000 AND 27000 E
+    FROM SYSTEM_RANGE(1, 100000);
+> A    B    C    D    E
+> ---- ---- ---- ---- ----
+> TRUE TRUE TRUE TRUE TRUE
+> rows: 1
@@ -0,0 +1,92 @@
+-- Copyright 2004-2025 H2 Group. Multiple-Licensed under the MPL 2.0,
+-- and the EPL 1.0 (https://h2database.com/html/license.html).
+-- Initial Developer: H2 Group
+--
+
+CREATE TABLE TEST(ID INT PRIMARY KEY, A INT, B BIGINT, C TINYINT);
+> ok
+
+INSERT INTO TEST VALUES (1, 1, 10, 1), (2, NULL, 20, 2), (3, 3, NULL, 100), (4, 4, 40, 127), (5, 5, 0, -128);
+> update count: 5
+
+SELECT ID FROM TEST WHERE A + 1 > 2 AND B < 50 ORDER BY ID;
+> ID
+> --
+> 4
+> 5
+> rows (ordered): 2
+
+SELECT ID FROM TEST WHERE A > 2 OR B >= 20 ORDER BY ID;
+> ID
+> --
+> 2
+> 3
+> 4
+> 5
+> rows (ordered): 4
+
+SELECT ID FROM TEST WHERE NOT (A = 1) ORDER BY ID;
+> ID
+> --
+> 3
+> 4
+> 5
+> rows (ordered): 3
+
+SELECT ID FROM TEST WHERE NOT (A = 1 OR B = 20) ORDER BY ID;
+> ID
+> --
+> 4
+> 5
+> rows (ordered): 2
+
+SELECT ID FROM TEST WHERE A <> 1 AND A <> 3 AND A <> 5 ORDER BY ID;
+> ID
+> --
+> 4
+> rows (ordered): 1
+
+SELECT ID, A * 2 + B, B - C, C * 2 FROM TEST WHERE ID <= 3 ORDER BY ID;
+> ID (A * 2) + B B - C C * 2
+> -- ----------- ----- -----
+> 1  12          9     2
+> 2  null        18    4
+> 3  null        null  200
+> rows (ordered): 3
+
+INSERT INTO TEST VALUES (6, 2147483647, 60, 0);
+> update count: 1
+
+SELECT A + 1 FROM TEST WHERE ID = 6;
+> exception NUMERIC_VALUE_OUT_OF_RANGE_1
+
+SELECT ID FROM TEST WHERE A + 1 > 0 ORDER BY ID;
+> exception NUMERIC_VALUE_OUT_OF_RANGE_1
+
+SELECT ID FROM TEST WHERE ID = 5 AND A / B = 1;
+> exception DIVISION_BY_ZERO_1
+
+SELECT ID FROM TEST WHERE ID < 5 AND A / B = 0 ORDER BY ID;
+> ID
+> --
+> 1
+> 4
+> rows (ordered): 2
+
+SELECT ID FROM TEST WHERE ID = 5 AND C / CAST(-1 AS TINYINT) > 0;
+> exception NUMERIC_VALUE_OUT_OF_RANGE_1
+
+SELECT ID FROM TEST WHERE C + C > 100 AND ID < 4 ORDER BY ID;
+> exception NUMERIC_VALUE_OUT_OF_RANGE_1
+
+SET @V = 3;
+> ok
+
+SELECT ID FROM TEST WHERE A = @V;
+> ID
+> --
+> 3
+> rows: 1
+
+DROP TABLE TEST;
+> ok
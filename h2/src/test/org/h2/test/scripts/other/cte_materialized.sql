@@ -0,0 +1,81 @@
+-- Copyright 2004-2025 H2 Group. Multiple-Licensed under the MPL 2.0,
+-- and the EPL 1.0 (https://h2database.com/html/license.html).
+-- Initial Developer: H2 Group
+--
+
+CREATE TABLE TEST(ID INT PRIMARY KEY, V INT) AS SELECT X, MOD(X, 10) FROM SYSTEM_RANGE(1, 1000);
+> ok
+
+WITH C AS (SELECT V, COUNT(*) N FROM TEST GROUP BY V) SELECT A.V, B.N FROM C A JOIN C B ON A.V = B.V ORDER BY A.V;
+> V N
+> - ---
+> 0 100
+> 1 100
+> 2 100
+> 3 100
+> 4 100
+> 5 100
+> 6 100
+> 7 100
+> 8 100
+> 9 100
+> rows (ordered): 10
+
+EXPLAIN WITH C AS (SELECT V, COUNT(*) N FROM TEST GROUP BY V) SELECT A.V, B.N FROM C A JOIN C B ON A.V = B.V;
+>> WITH "C"("V", "N") AS ( SELECT "V", COUNT(*) AS "N" FROM "PUBLIC"."TEST" GROUP BY "V" ) SELECT "A"."V", "B"."N" FROM "C" "A" /* MATERIALIZED SELECT V, COUNT(*) AS N FROM PUBLIC.TEST /* PUBLIC.TEST.tableScan */ GROUP BY V */ INNER JOIN "C" "B" /* MATERIALIZED SELECT V, COUNT(*) AS N FROM PUBLIC.TEST /* PUBLIC.TEST.tableScan */ GROUP BY V: V = A.V */ ON 1=1 WHERE "A"."V" = "B"."V"
+
+EXPLAIN WITH C AS NOT MATERIALIZED (SELECT V, COUNT(*) N FROM TEST GROUP BY V) SELECT A.V, B.N FROM C A JOIN C B ON A.V = B.V;
+>> WITH "C"("V", "N") AS NOT MATERIALIZED ( SELECT "V", COUNT(*) AS "N" FROM "PUBLIC"."TEST" GROUP BY "V" ) SELECT "A"."V", "B"."N" FROM "C" "A" /* SELECT V, COUNT(*) AS N FROM PUBLIC.TEST /* PUBLIC.TEST.tableScan */ GROUP BY V */ INNER JOIN "C" "B" /* SELECT V, COUNT(*) AS N FROM PUBLIC.TEST /* PUBLIC.TEST.tableScan */ WHERE V IS NOT DISTINCT FROM ?1 GROUP BY V: V = A.V */ ON 1=1 WHERE "A"."V" = "B"."V"
+
+EXPLAIN WITH C AS (SELECT * FROM TEST) SELECT * FROM C WHERE ID = 5;
+>> WITH "C"("ID", "V") AS ( SELECT "PUBLIC"."TEST"."ID", "PUBLIC"."TEST"."V" FROM "PUBLIC"."TEST" ) SELECT "C"."ID", "C"."V" FROM "C" "C" /* SELECT PUBLIC.TEST.ID, PUBLIC.TEST.V FROM PUBLIC.TEST /* PUBLIC.PRIMARY_KEY_2: ID IS NOT DISTINCT FROM ?1 */ WHERE PUBLIC.TEST.ID IS NOT DISTINCT FROM ?1: ID = 5 */ WHERE "ID" = 5
+
+EXPLAIN WITH C AS MATERIALIZED (SELECT * FROM TEST) SELECT * FROM C WHERE ID = 5;
+>> WITH "C"("ID", "V") AS MATERIALIZED ( SELECT "PUBLIC"."TEST"."ID", "PUBLIC"."TEST"."V" FROM "PUBLIC"."TEST" ) SELECT "C"."ID", "C"."V" FROM "C" "C" /* MATERIALIZED SELECT PUBLIC.TEST.ID, PUBLIC.TEST.V FROM PUBLIC.TEST /* PUBLIC.TEST.tableScan */: ID = 5 */ WHERE "ID" = 5
+
+WITH C AS MATERIALIZED (SELECT * FROM TEST) SELECT * FROM C WHERE ID = 5;
+> ID V
+> -- -
+> 5  5
+> rows: 1
+
+WITH C AS (SELECT * FROM TEST WHERE ID <= 20), D AS (SELECT * FROM C WHERE V < 2)
+SELECT C.ID, D.ID FROM C JOIN D ON C.V = D.V AND C.ID < D.ID ORDER BY C.ID;
+> ID ID
+> -- --
+> 1  11
+> 10 20
+> rows (ordered): 2
+
+WITH C AS (SELECT * FROM TEST WHERE ID <= 20) SELECT A.ID FROM C A JOIN C B ON A.ID = B.ID + 19;
+>> 20
+
+WITH C AS (SELECT * FROM TEST WHERE ID <= 20) SELECT COUNT(*) FROM C A JOIN C B ON A.V = B.V AND B.ID > A.ID;
+>> 10
+
+WITH C AS (SELECT * FROM TEST WHERE ID <= 20) SELECT COUNT(*) FROM C A JOIN C B ON A.V = B.V AND B.ID <= A.ID;
+>> 30
+
+WITH C AS MATERIALIZED (SELECT RAND() R) SELECT COUNT(*) FROM C A JOIN C B ON A.R = B.R;
+>> 1
+
+WITH C AS NOT MATERIALIZED (SELECT RAND() R) SELECT COUNT(*) FROM C A JOIN C B ON A.R = B.R;
+>> 0
+
+CREATE VIEW V AS WITH C AS MATERIALIZED (SELECT * FROM TEST) SELECT * FROM C WHERE ID = 5;
+> ok
+
+SELECT VIEW_DEFINITION FROM INFORMATION_SCHEMA.VIEWS WHERE TABLE_NAME = 'V';
+>> WITH "C"("ID", "V") AS MATERIALIZED ( SELECT "PUBLIC"."TEST"."ID", "PUBLIC"."TEST"."V" FROM "PUBLIC"."TEST" ) SELECT "C"."ID", "C"."V" FROM "C" "C" WHERE "ID" = 5
+
+TABLE V;
+> ID V
+> -- -
+> 5  5
+> rows: 1
+
+DROP VIEW V;
+> ok
+
+DROP TABLE TEST;
+> ok
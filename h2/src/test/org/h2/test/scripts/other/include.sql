@@ -0,0 +1,87 @@
+-- Copyright 2004-2025 H2 Group. Multiple-Licensed under the MPL 2.0,
+-- and the EPL 1.0 (https://h2database.com/html/license.html).
+-- Initial Developer: H2 Group
+--
+
+CREATE TABLE TEST(ID INT PRIMARY KEY, A INT, B INT, C INT);
+> ok
+
+CREATE INDEX TEST_IDX_A ON TEST(A);
+> ok
+
+CREATE INDEX TEST_IDX_A_B ON TEST(A) INCLUDE(B);
+> ok
+
+INSERT INTO TEST VALUES (1, 10, 100, 1000), (2, 10, 101, 1001), (3, 11, 102, 1002), (4, 10, 103, NULL);
+> update count: 4
+
+SELECT INDEX_NAME, INDEX_TYPE_NAME FROM INFORMATION_SCHEMA.INDEXES WHERE INDEX_NAME = 'TEST_IDX_A_B';
+> INDEX_NAME   INDEX_TYPE_NAME
+> ------------ ---------------
+> TEST_IDX_A_B INDEX
+> rows: 1
+
+SELECT COLUMN_NAME, ORDINAL_POSITION, IS_UNIQUE FROM INFORMATION_SCHEMA.INDEX_COLUMNS
+    WHERE INDEX_NAME = 'TEST_IDX_A_B' ORDER BY ORDINAL_POSITION;
+> COLUMN_NAME ORDINAL_POSITION IS_UNIQUE
+> ----------- ---------------- ---------
+> A           1                FALSE
+> B           2                FALSE
+> rows (ordered): 2
+
+SELECT DB_OBJECT_SQL('INDEX', 'PUBLIC', 'TEST_IDX_A_B');
+>> CREATE INDEX "PUBLIC"."TEST_IDX_A_B" ON "PUBLIC"."TEST"("A" NULLS FIRST) INCLUDE("B" NULLS FIRST)
+
+EXPLAIN SELECT B FROM TEST WHERE A = 10;
+>> SELECT "B" FROM "PUBLIC"."TEST" /* PUBLIC.TEST_IDX_A_B: A = 10 */ WHERE "A" = 10
+
+EXPLAIN SELECT ID, B FROM TEST WHERE A = 10;
+>> SELECT "ID", "B" FROM "PUBLIC"."TEST" /* PUBLIC.TEST_IDX_A_B: A = 10 */ WHERE "A" = 10
+
+EXPLAIN SELECT A FROM TEST WHERE A = 10;
+>> SELECT "A" FROM "PUBLIC"."TEST" /* PUBLIC.TEST_IDX_A: A = 10 */ WHERE "A" = 10
+
+EXPLAIN SELECT C FROM TEST WHERE A = 10;
+>> SELECT "C" FROM "PUBLIC"."TEST" /* PUBLIC.TEST_IDX_A: A = 10 */ WHERE "A" = 10
+
+SELECT ID, B FROM TEST WHERE A = 10;
+> ID B
+> -- ---
+> 1  100
+> 2  101
+> 4  103
+> rows: 3
+
+SELECT B, C FROM TEST WHERE A = 10;
+> B   C
+> --- ----
+> 100 1000
+> 101 1001
+> 103 null
+> rows: 3
+
+UPDATE TEST SET B = 200 WHERE ID = 1;
+> update count: 1
+
+SELECT ID, B FROM TEST WHERE A = 10 AND B > 101;
+> ID B
+> -- ---
+> 1  200
+> 4  103
+> rows: 2
+
+DELETE FROM TEST WHERE ID = 4;
+> update count: 1
+
+SELECT ID, B FROM TEST WHERE A = 10;
+> ID B
+> -- ---
+> 1  200
+> 2  101
+> rows: 2
+
+CREATE SPATIAL INDEX TEST_IDX_S ON TEST(A) INCLUDE(B);
+> exception SYNTAX_ERROR_1
+
+DROP TABLE TEST;
+> ok
@@ -0,0 +1,56 @@
+-- Copyright 2004-2025 H2 Group. Multiple-Licensed under the MPL 2.0,
+-- and the EPL 1.0 (https://h2database.com/html/license.html).
+-- Initial Developer: H2 Group
+--
+
+CREATE TABLE TEST(ID INT PRIMARY KEY, A INT, B INT, C INT) AS SELECT X, MOD(X, 1000), X / 3, MOD(X, 7) FROM SYSTEM_RANGE(1, 10000);
+> ok
+
+CREATE INDEX TEST_A_IDX ON TEST(A);
+> ok
+
+CREATE INDEX TEST_B_IDX ON TEST(B);
+> ok
+
+EXPLAIN SELECT ID FROM TEST WHERE A = 5 OR B = 7;
+>> SELECT "ID" FROM "PUBLIC"."TEST" /* INDEX MERGE: PUBLIC.TEST_A_IDX: A = 5 OR PUBLIC.TEST_B_IDX: B = 7 */ WHERE ("A" = 5) OR ("B" = 7)
+
+SELECT ID FROM TEST WHERE A = 5 OR B = 7;
+> ID
+> ----
+> 1005
+> 2005
+> 21
+> 22
+> 23
+> 3005
+> 4005
+> 5
+> 5005
+> 6005
+> 7005
+> 8005
+> 9005
+> rows: 13
+
+SELECT COUNT(*) FROM TEST WHERE A = 5 OR B BETWEEN 7 AND 8 OR ID = 3;
+>> 17
+
+SELECT ID FROM TEST WHERE (A = 5 AND B = 1668) OR B = 7 OR ID = 21;
+> ID
+> ----
+> 21
+> 22
+> 23
+> 5005
+> rows: 4
+
+-- column C has no index
+EXPLAIN SELECT ID FROM TEST WHERE A = 5 OR C = 2;
+>> SELECT "ID" FROM "PUBLIC"."TEST" /* PUBLIC.TEST.tableScan */ WHERE ("A" = 5) OR ("C" = 2)
+
+SELECT COUNT(*) FROM TEST WHERE A = 5 OR C = 2;
+>> 1438
+
+DROP TABLE TEST;
+> ok
@@ -0,0 +1,130 @@
+-- Copyright 2004-2025 H2 Group. Multiple-Licensed under the MPL 2.0,
+-- and the EPL 1.0 (https://h2database.com/html/license.html).
+-- Initial Developer: H2 Group
+--
+
+CREATE TABLE TEST(ID INT PRIMARY KEY, STATUS VARCHAR(10), A INT, B INT);
+> ok
+
+INSERT INTO TEST VALUES (1, 'OPEN', 10, 1), (2, 'CLOSED', 10, 2), (3, 'OPEN', 11, 3), (4, 'CLOSED', 11, NULL),
+    (5, 'OPEN', 12, NULL);
+> update count: 5
+
+CREATE INDEX TEST_OPEN_A_IDX ON TEST(A) WHERE STATUS = 'OPEN';
+> ok
+
+SELECT DB_OBJECT_SQL('INDEX', 'PUBLIC', 'TEST_OPEN_A_IDX');
+>> CREATE INDEX "PUBLIC"."TEST_OPEN_A_IDX" ON "PUBLIC"."TEST"("A" NULLS FIRST) WHERE "STATUS" = 'OPEN'
+
+EXPLAIN SELECT ID FROM TEST WHERE STATUS = 'OPEN' AND A = 10;
+>> SELECT "ID" FROM "PUBLIC"."TEST" /* PUBLIC.TEST_OPEN_A_IDX: A = 10 */ WHERE ("STATUS" = 'OPEN') AND ("A" = 10)
+
+EXPLAIN SELECT ID FROM TEST WHERE A = 10;
+>> SELECT "ID" FROM "PUBLIC"."TEST" /* PUBLIC.TEST.tableScan */ WHERE "A" = 10
+
+EXPLAIN SELECT ID FROM TEST WHERE STATUS = 'CLOSED' AND A = 10;
+>> SELECT "ID" FROM "PUBLIC"."TEST" /* PUBLIC.TEST.tableScan */ WHERE ("STATUS" = 'CLOSED') AND ("A" = 10)
+
+SELECT ID FROM TEST WHERE STATUS = 'OPEN' AND A = 10;
+>> 1
+
+SELECT ID FROM TEST WHERE A = 10;
+> ID
+> --
+> 1
+> 2
+> rows: 2
+
+SELECT ID FROM TEST WHERE STATUS = 'OPEN' ORDER BY A;
+> ID
+> --
+> 1
+> 3
+> 5
+> rows (ordered): 3
+
+SELECT MIN(A), MAX(A) FROM TEST;
+> MIN(A) MAX(A)
+> ------ ------
+> 10     12
+> rows: 1
+
+UPDATE TEST SET STATUS = 'OPEN' WHERE ID = 2;
+> update count: 1
+
+UPDATE TEST SET STATUS = 'CLOSED' WHERE ID = 1;
+> update count: 1
+
+UPDATE TEST SET A = 12 WHERE ID = 3;
+> update count: 1
+
+SELECT ID FROM TEST WHERE STATUS = 'OPEN' AND A = 10;
+>> 2
+
+SELECT ID FROM TEST WHERE STATUS = 'OPEN' AND A = 12;
+> ID
+> --
+> 3
+> 5
+> rows: 2
+
+DELETE FROM TEST WHERE ID = 5;
+> update count: 1
+
+SELECT ID FROM TEST WHERE STATUS = 'OPEN' AND A > 9;
+> ID
+> --
+> 2
+> 3
+> rows: 2
+
+DROP INDEX TEST_OPEN_A_IDX;
+> ok
+
+CREATE INDEX TEST_A_IDX ON TEST(A) WHERE A > 10 AND B IS NOT NULL;
+> ok
+
+EXPLAIN SELECT ID FROM TEST WHERE A > 10 AND B = 3;
+>> SELECT "ID" FROM "PUBLIC"."TEST" /* PUBLIC.TEST_A_IDX: A > 10 */ WHERE ("A" > 10) AND ("B" = 3)
+
+EXPLAIN SELECT ID FROM TEST WHERE A = 11 AND B > 0;
+>> SELECT "ID" FROM "PUBLIC"."TEST" /* PUBLIC.TEST_A_IDX: A = 11 */ WHERE ("A" = 11) AND ("B" > 0)
+
+EXPLAIN SELECT ID FROM TEST WHERE A >= 10 AND B = 3;
+>> SELECT "ID" FROM "PUBLIC"."TEST" /* PUBLIC.TEST.tableScan */ WHERE ("A" >= 10) AND ("B" = 3)
+
+EXPLAIN SELECT ID FROM TEST WHERE A = 11;
+>> SELECT "ID" FROM "PUBLIC"."TEST" /* PUBLIC.TEST.tableScan */ WHERE "A" = 11
+
+SELECT ID FROM TEST WHERE A = 12 AND B > 0;
+>> 3
+
+ALTER TABLE TEST DROP COLUMN B;
+> exception COLUMN_IS_REFERENCED_1
+
+DROP INDEX TEST_A_IDX;
+> ok
+
+CREATE UNIQUE INDEX TEST_UNIQUE_A_IDX ON TEST(A) WHERE STATUS = 'OPEN';
+> ok
+
+INSERT INTO TEST VALUES (6, 'CLOSED', 12, NULL);
+> update count: 1
+
+INSERT INTO TEST VALUES (7, 'OPEN', 12, NULL);
+> exception DUPLICATE_KEY_1
+
+ALTER TABLE TEST ADD CONSTRAINT TEST_A_UNIQUE UNIQUE(A);
+> exception DUPLICATE_KEY_1
+
+CREATE INDEX TEST_IDX ON TEST(A) WHERE RAND() > 0.5;
+> exception FEATURE_NOT_SUPPORTED_1
+
+CREATE INDEX TEST_IDX ON TEST(A) WHERE ID IN (SELECT 1 FROM DUAL);
+> exception FEATURE_NOT_SUPPORTED_1
+
+CREATE SPATIAL INDEX TEST_IDX ON TEST(A) WHERE A > 0;
+> exception SYNTAX_ERROR_1
+
+DROP TABLE TEST;
+> ok
@@ -0,0 +1,77 @@
+-- Copyright 2004-2025 H2 Group. Multiple-Licensed under the MPL 2.0,
+-- and the EPL 1.0 (https://h2database.com/html/license.html).
+-- Initial Developer: H2 Group
+--
+
+CREATE TABLE ORDERS(ID INT PRIMARY KEY, CUSTOMER VARCHAR, C INT) AS SELECT X, 'C' || MOD(X, 3), MOD(X, 4) FROM SYSTEM_RANGE(1, 10);
+> ok
+
+CREATE TABLE SHIPMENTS(ID INT PRIMARY KEY, ORDER_ID BIGINT, CUSTOMER VARCHAR, Q INT) AS
+    SELECT X, X * 2, 'C' || MOD(X * 2, 3), MOD(X, 3) FROM SYSTEM_RANGE(1, 4);
+> ok
+
+INSERT INTO SHIPMENTS VALUES (5, NULL, NULL, 1), (6, 2, 'C2', NULL), (7, 3, 'C1', 3);
+> update count: 3
+
+EXPLAIN SELECT ID FROM ORDERS O WHERE NOT EXISTS(SELECT * FROM SHIPMENTS S WHERE S.ORDER_ID = O.ID);
+>> SELECT "ID" FROM "PUBLIC"."ORDERS" "O" /* PUBLIC.ORDERS.tableScan */ WHERE NOT EXISTS( SELECT "S"."ID", "S"."ORDER_ID", "S"."CUSTOMER", "S"."Q" FROM "PUBLIC"."SHIPMENTS" "S" /* PUBLIC.SHIPMENTS.tableScan */ WHERE "S"."ORDER_ID" = "O"."ID") /* hash anti join: S.ORDER_ID = O.ID */
+
+SELECT ID FROM ORDERS O WHERE NOT EXISTS(SELECT * FROM SHIPMENTS S WHERE S.ORDER_ID = O.ID);
+> ID
+> --
+> 1
+> 10
+> 5
+> 7
+> 9
+> rows: 5
+
+SELECT ID FROM ORDERS O WHERE EXISTS(SELECT * FROM SHIPMENTS S WHERE S.ORDER_ID = O.ID AND S.Q > 0);
+> ID
+> --
+> 2
+> 3
+> 4
+> 8
+> rows: 4
+
+SELECT ID FROM ORDERS O WHERE EXISTS(SELECT * FROM SHIPMENTS S WHERE O.ID = S.ORDER_ID AND O.CUSTOMER = S.CUSTOMER);
+> ID
+> --
+> 2
+> 4
+> 6
+> 8
+> rows: 4
+
+SELECT ID, C IN (SELECT Q FROM SHIPMENTS S WHERE S.ORDER_ID = O.ID) IN_Q,
+    C NOT IN (SELECT Q FROM SHIPMENTS S WHERE S.ORDER_ID = O.ID) NOT_IN_Q FROM ORDERS O ORDER BY ID;
+> ID IN_Q  NOT_IN_Q
+> -- ----- --------
+> 1  FALSE TRUE
+> 2  null  null
+> 3  TRUE  FALSE
+> 4  FALSE TRUE
+> 5  FALSE TRUE
+> 6  FALSE TRUE
+> 7  FALSE TRUE
+> 8  FALSE TRUE
+> 9  FALSE TRUE
+> 10 FALSE TRUE
+> rows (ordered): 10
+
+-- correlation with a non-equality condition
+EXPLAIN SELECT ID FROM ORDERS O WHERE EXISTS(SELECT * FROM SHIPMENTS S WHERE S.ORDER_ID > O.ID);
+>> SELECT "ID" FROM "PUBLIC"."ORDERS" "O" /* PUBLIC.ORDERS.tableScan */ WHERE EXISTS( SELECT "S"."ID", "S"."ORDER_ID", "S"."CUSTOMER", "S"."Q" FROM "PUBLIC"."SHIPMENTS" "S" /* PUBLIC.SHIPMENTS.tableScan */ WHERE "S"."ORDER_ID" > "O"."ID")
+
+CREATE VIEW V AS SELECT ID FROM ORDERS O WHERE NOT EXISTS(SELECT * FROM SHIPMENTS S WHERE S.ORDER_ID = O.ID);
+> ok
+
+SELECT COUNT(*) FROM V;
+>> 5
+
+DROP VIEW V;
+> ok
+
+DROP TABLE ORDERS, SHIPMENTS;
+> ok
@@ -0,0 +1,64 @@
+-- Copyright 2004-2025 H2 Group. Multiple-Licensed under the MPL 2.0,
+-- and the EPL 1.0 (https://h2database.com/html/license.html).
+-- Initial Developer: H2 Group
+--
+
+CREATE TABLE TEST(ID INT PRIMARY KEY, TENANT INT, C INT) AS SELECT X, MOD(X, 5), X / 5 FROM SYSTEM_RANGE(1, 10000);
+> ok
+
+INSERT INTO TEST VALUES (20001, NULL, 7);
+> update count: 1
+
+CREATE INDEX TEST_TENANT_C_IDX ON TEST(TENANT, C);
+> ok
+
+CREATE INDEX TEST_ID_C_IDX ON TEST(ID, C);
+> ok
+
+ANALYZE;
+> ok
+
+-- skip scan isn't useful when the first column has many distinct values
+EXPLAIN SELECT ID FROM TEST USE INDEX (TEST_ID_C_IDX) WHERE C = 7;
+>> SELECT "ID" FROM "PUBLIC"."TEST" USE INDEX ("TEST_ID_C_IDX") /* PUBLIC.TEST_ID_C_IDX: C = 7 */ WHERE "C" = 7
+
+EXPLAIN SELECT ID FROM TEST WHERE C = 7;
+>> SELECT "ID" FROM "PUBLIC"."TEST" /* PUBLIC.TEST_TENANT_C_IDX: C = 7 SKIP SCAN */ WHERE "C" = 7
+
+SELECT ID, TENANT FROM TEST WHERE C = 7;
+> ID    TENANT
+> ----- ------
+> 20001 null
+> 35    0
+> 36    1
+> 37    2
+> 38    3
+> 39    4
+> rows: 6
+
+SELECT COUNT(*) FROM TEST WHERE C BETWEEN 10 AND 20;
+>> 55
+
+SELECT TENANT, C FROM TEST WHERE C > 1998 ORDER BY TENANT DESC, C DESC;
+> TENANT C
+> ------ ----
+> 4      1999
+> 3      1999
+> 2      1999
+> 1      1999
+> 0      2000
+> 0      1999
+> rows (ordered): 6
+
+EXPLAIN SELECT TENANT, C FROM TEST WHERE C > 1998 ORDER BY TENANT DESC, C DESC;
+>> SELECT "TENANT", "C" FROM "PUBLIC"."TEST" /* PUBLIC.TEST_TENANT_C_IDX: C > 1998 SKIP SCAN */ WHERE "C" > 1998 ORDER BY 1 DESC, 2 DESC /* index sorted */
+
+-- conditions on the first column don't need skip scan
+EXPLAIN SELECT ID FROM TEST WHERE TENANT = 1 AND C = 7;
+>> SELECT "ID" FROM "PUBLIC"."TEST" /* PUBLIC.TEST_TENANT_C_IDX: TENANT = 1 AND C = 7 */ WHERE ("TENANT" = 1) AND ("C" = 7)
+
+SELECT ID FROM TEST WHERE TENANT = 1 AND C = 7;
+>> 36
+
+DROP TABLE TEST;
+> ok
@@ -212,3 +212,34 @@ SELECT ID FROM (SELECT * FROM TEST) WHERE V NOT LIKE 'a%';
 
 DROP TABLE TEST;
 > ok
+
+CREATE TABLE T(ID INT PRIMARY KEY, NAME VARCHAR);
+> ok
+
+CREATE INDEX T_NAME_IDX ON T(NAME);
+> ok
+
+INSERT INTO T VALUES (1, 'apple'), (2, 'apricot'), (3, 'banana'), (4, 'a_b'), (5, 'axb'), (6, 'cherry');
+> update count: 6
+
+CREATE TABLE P(ID INT PRIMARY KEY, P VARCHAR, E VARCHAR) AS VALUES (1, 'ap%', '\'), (2, '%an%', '\'), (3, 'a!_%', '!'),
+    (4, 'cherry', '\'), (5, NULL, '\'), (6, 'a_b', '\');
+> ok
+
+EXPLAIN SELECT P.ID, T.ID FROM P JOIN T ON T.NAME LIKE P.P ESCAPE P.E;
+>> SELECT "P"."ID", "T"."ID" FROM "PUBLIC"."P" /* PUBLIC.P.tableScan */ INNER JOIN "PUBLIC"."T" /* PUBLIC.T_NAME_IDX: NAME LIKE P.P ESCAPE P.E */ ON 1=1 WHERE "T"."NAME" LIKE "P"."P" ESCAPE "P"."E"
+
+SELECT P.ID, T.ID FROM P JOIN T ON T.NAME LIKE P.P ESCAPE P.E ORDER BY 1, 2;
+> ID ID
+> -- --
+> 1  1
+> 1  2
+> 2  3
+> 3  4
+> 4  6
+> 6  4
+> 6  5
+> rows (ordered): 7
+
+DROP TABLE P, T;
+> ok
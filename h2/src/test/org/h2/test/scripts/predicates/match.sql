@@ -0,0 +1,130 @@
+-- Copyright 2004-2025 H2 Group. Multiple-Licensed under the MPL 2.0,
+-- and the EPL 1.0 (https://h2database.com/html/license.html).
+-- Initial Developer: H2 Group
+--
+
+SELECT MATCH('The quick brown fox') AGAINST('fox QUICK');
+>> TRUE
+
+SELECT MATCH('The quick brown fox') AGAINST('fox dog');
+>> FALSE
+
+SELECT MATCH('The quick brown fox') AGAINST('"quick brown"');
+>> TRUE
+
+SELECT MATCH('The quick brown fox') AGAINST('"brown quick"');
+>> FALSE
+
+SELECT MATCH('The quick brown fox') AGAINST('');
+>> FALSE
+
+SELECT MATCH(NULL) AGAINST('fox');
+>> null
+
+SELECT MATCH('The quick brown fox') AGAINST(NULL);
+>> null
+
+CREATE TABLE TEST(ID INT PRIMARY KEY, TEXT VARCHAR);
+> ok
+
+INSERT INTO TEST VALUES
+    (1, 'The quick brown fox jumps over the lazy dog'),
+    (2, 'A lazy dog sleeps'),
+    (3, 'Brown bread and brown butter'),
+    (4, NULL),
+    (5, 'dog dog dog, a dog''s dog');
+> update count: 5
+
+SELECT ID FROM TEST WHERE MATCH(TEXT) AGAINST('dog') ORDER BY ID;
+> ID
+> --
+> 1
+> 2
+> 5
+> rows (ordered): 3
+
+EXPLAIN SELECT ID FROM TEST WHERE MATCH(TEXT) AGAINST('dog');
+>> SELECT "ID" FROM "PUBLIC"."TEST" /* PUBLIC.TEST.tableScan */ WHERE MATCH("TEXT") AGAINST('dog')
+
+CREATE FULLTEXT INDEX TEST_TEXT_IDX ON TEST(TEXT);
+> ok
+
+SELECT INDEX_TYPE_NAME FROM INFORMATION_SCHEMA.INDEXES WHERE INDEX_NAME = 'TEST_TEXT_IDX';
+>> FULLTEXT INDEX
+
+EXPLAIN SELECT ID FROM TEST WHERE MATCH(TEXT) AGAINST('dog');
+>> SELECT "ID" FROM "PUBLIC"."TEST" /* PUBLIC.TEST_TEXT_IDX: MATCH(TEXT) AGAINST('dog') */ WHERE MATCH("TEXT") AGAINST('dog')
+
+SELECT ID FROM TEST WHERE MATCH(TEXT) AGAINST('dog');
+> ID
+> --
+> 1
+> 2
+> 5
+> rows: 3
+
+SELECT ID FROM TEST WHERE MATCH(TEXT) AGAINST('lazy dog') ORDER BY ID;
+> ID
+> --
+> 1
+> 2
+> rows (ordered): 2
+
+SELECT ID FROM TEST WHERE MATCH(TEXT) AGAINST('"lazy dog" sleeps');
+>> 2
+
+SELECT ID FROM TEST WHERE MATCH(TEXT) AGAINST('"dog lazy"');
+> ID
+> --
+> rows: 0
+
+SELECT ID FROM TEST WHERE MATCH(TEXT) AGAINST('brown') AND ID > 1;
+>> 3
+
+UPDATE TEST SET TEXT = 'A lazy cat sleeps' WHERE ID = 2;
+> update count: 1
+
+SELECT ID FROM TEST WHERE MATCH(TEXT) AGAINST('sleeps');
+>> 2
+
+SELECT ID FROM TEST WHERE MATCH(TEXT) AGAINST('lazy dog') ORDER BY ID;
+>> 1
+
+DELETE FROM TEST WHERE ID = 1;
+> update count: 1
+
+SELECT ID FROM TEST WHERE MATCH(TEXT) AGAINST('lazy');
+>> 2
+
+SELECT ID FROM TEST WHERE MATCH(TEXT) AGAINST(?);
+{
+'dog'
+>> 5
+'CAT'
+>> 2
+};
+> update count: 0
+
+CREATE INDEX TEST_ID_IDX ON TEST(ID);
+> ok
+
+CREATE FULLTEXT INDEX TEST_ID_FT_IDX ON TEST(ID);
+> exception FEATURE_NOT_SUPPORTED_1
+
+CREATE UNIQUE FULLTEXT INDEX TEST_IDX ON TEST(TEXT);
+> exception SYNTAX_ERROR_2
+
+DROP TABLE TEST;
+> ok
+
+CREATE ALIAS MATCH FOR 'java.lang.Math.abs(int)';
+> ok
+
+SELECT MATCH(-5);
+>> 5
+
+SELECT 1 WHERE MATCH((-2) * 3) = 6 AND MATCH(1) < 2;
+>> 1
+
+DROP ALIAS MATCH;
+> ok
@@ -1049,8 +1049,8 @@ EXPLAIN
 WITH TEST(ID) AS (VALUES 1)
 SELECT * FROM TEST A INNER JOIN TEST B ON TRUE LEFT OUTER JOIN TEST C ON C.ID = A.ID;
 > PLAN
-> -------------------------------------------------------------------------------------------------------------------------------------------------------------------------------------------------------------------------
-> WITH "TEST"("ID") AS ( VALUES (1) ) SELECT "A"."ID", "B"."ID", "C"."ID" FROM "TEST" "A" /* VALUES (1) */ INNER JOIN "TEST" "B" /* VALUES (1) */ ON 1=1 LEFT OUTER JOIN "TEST" "C" /* VALUES (1) */ ON "C"."ID" = "A"."ID"
+> ---------------------------------------------------------------------------------------------------------------------------------------------------------------------------------------------------------------------------------------------------------------------------
+> WITH "TEST"("ID") AS ( VALUES (1) ) SELECT "A"."ID", "B"."ID", "C"."ID" FROM "TEST" "A" /* MATERIALIZED VALUES (1) */ INNER JOIN "TEST" "B" /* MATERIALIZED VALUES (1) */ ON 1=1 LEFT OUTER JOIN "TEST" "C" /* MATERIALIZED VALUES (1): ID = A.ID */ ON "C"."ID" = "A"."ID"
 > rows: 1
 
 -- Column A.ID cannot be referenced from this part of the query
@@ -1096,3 +1096,49 @@ FROM A;
 > - ------------------------------------------------------------------------
 > 1 1
 > rows: 1
+
+CREATE TABLE F(ID INT PRIMARY KEY, A INT, B INT, C INT, D INT, E INT, G INT, H INT, I INT)
+    AS SELECT X, MOD(X, 10), MOD(X, 11), MOD(X, 12), MOD(X, 13), MOD(X, 14), MOD(X, 15), MOD(X, 16), MOD(X, 17)
+    FROM SYSTEM_RANGE(1, 1000);
+> ok
+
+CREATE INDEX F_A ON F(A);
+> ok
+
+CREATE TABLE DA(ID INT CONSTRAINT DA_PK PRIMARY KEY, V INT) AS SELECT X, X FROM SYSTEM_RANGE(0, 9);
+> ok
+
+CREATE TABLE DB(ID INT CONSTRAINT DB_PK PRIMARY KEY) AS SELECT X FROM SYSTEM_RANGE(0, 10);
+> ok
+
+CREATE TABLE DC(ID INT CONSTRAINT DC_PK PRIMARY KEY) AS SELECT X FROM SYSTEM_RANGE(0, 11);
+> ok
+
+CREATE TABLE DD(ID INT CONSTRAINT DD_PK PRIMARY KEY) AS SELECT X FROM SYSTEM_RANGE(0, 12);
+> ok
+
+CREATE TABLE DE(ID INT CONSTRAINT DE_PK PRIMARY KEY) AS SELECT X FROM SYSTEM_RANGE(0, 13);
+> ok
+
+CREATE TABLE DG(ID INT CONSTRAINT DG_PK PRIMARY KEY) AS SELECT X FROM SYSTEM_RANGE(0, 14);
+> ok
+
+CREATE TABLE DH(ID INT CONSTRAINT DH_PK PRIMARY KEY) AS SELECT X FROM SYSTEM_RANGE(0, 15);
+> ok
+
+CREATE TABLE DI(ID INT CONSTRAINT DI_PK PRIMARY KEY) AS SELECT X FROM SYSTEM_RANGE(0, 16);
+> ok
+
+SELECT COUNT(*) FROM DB, DC, DD, DE, DG, DH, DI, F, DA WHERE F.A = DA.ID AND F.B = DB.ID AND F.C = DC.ID
+    AND F.D = DD.ID AND F.E = DE.ID AND F.G = DG.ID AND F.H = DH.ID AND F.I = DI.ID AND DA.V = 3;
+>> 100
+
+EXPLAIN SELECT COUNT(*) FROM DB, DC, DD, DE, DG, DH, DI, F, DA WHERE F.A = DA.ID AND F.B = DB.ID AND F.C = DC.ID
+    AND F.D = DD.ID AND F.E = DE.ID AND F.G = DG.ID AND F.H = DH.ID AND F.I = DI.ID AND DA.V = 3;
+>> SELECT COUNT(*) FROM "PUBLIC"."DA" /* PUBLIC.DA.tableScan */ /* WHERE DA.V = 3 */ INNER JOIN "PUBLIC"."F" /* PUBLIC.F_A: A = DA.ID */ ON 1=1 /* WHERE F.A = DA.ID */ INNER JOIN "PUBLIC"."DB" /* PUBLIC.PRIMARY_KEY_87: ID = F.B */ ON 1=1 /* WHERE F.B = DB.ID */ INNER JOIN "PUBLIC"."DC" /* PUBLIC.PRIMARY_KEY_87F: ID = F.C */ ON 1=1 /* WHERE F.C = DC.ID */ INNER JOIN "PUBLIC"."DD" /* PUBLIC.PRIMARY_KEY_88: ID = F.D */ ON 1=1 /* WHERE F.D = DD.ID */ INNER JOIN "PUBLIC"."DE" /* PUBLIC.PRIMARY_KEY_881: ID = F.E */ ON 1=1 /* WHERE F.E = DE.ID */ INNER JOIN "PUBLIC"."DG" /* PUBLIC.PRIMARY_KEY_883: ID = F.G */ ON 1=1 /* WHERE F.G = DG.ID */ INNER JOIN "PUBLIC"."DH" /* PUBLIC.PRIMARY_KEY_884: ID = F.H */ ON 1=1 /* WHERE F.H = DH.ID */ INNER JOIN "PUBLIC"."DI" /* PUBLIC.PRIMARY_KEY_885: ID = F.I */ ON 1=1 WHERE ("DA"."V" = 3) AND ("F"."C" = "DC"."ID") AND ("F"."D" = "DD"."ID") AND ("F"."E" = "DE"."ID") AND ("F"."G" = "DG"."ID") AND ("F"."H" = "DH"."ID") AND ("F"."I" = "DI"."ID") AND ("F"."A" = "DA"."ID") AND ("F"."B" = "DB"."ID")
+
+SELECT COUNT(*) FROM DA, DB WHERE DA.V < 2;
+>> 22
+
+DROP TABLE F, DA, DB, DC, DD, DE, DG, DH, DI;
+> ok
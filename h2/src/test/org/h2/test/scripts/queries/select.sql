@@ -1289,3 +1289,56 @@ SELECT * FROM TEST WHERE A >= 2 ORDER BY A DESC;
 
 DROP TABLE TEST;
 > ok
+
+SET MAX_MEMORY_ROWS = 1000;
+> ok
+
+CREATE TABLE TEST(ID INT PRIMARY KEY, V INT) AS SELECT X, MOD(X * 7919, 100) FROM SYSTEM_RANGE(1, 1000);
+> ok
+
+SELECT ID, V FROM TEST ORDER BY V DESC, ID OFFSET 2 ROWS FETCH NEXT 3 ROWS ONLY;
+> ID  V
+> --- --
+> 221 99
+> 321 99
+> 421 99
+> rows (ordered): 3
+
+SELECT COUNT(*) FROM (SELECT V FROM TEST ORDER BY V DESC FETCH FIRST 5 ROWS WITH TIES);
+>> 10
+
+SELECT COUNT(*), MIN(V), MAX(V) FROM (SELECT V FROM TEST ORDER BY V DESC OFFSET 12 ROWS FETCH NEXT 5 ROWS WITH TIES);
+> COUNT(*) MIN(V) MAX(V)
+> -------- ------ ------
+> 8        98     98
+> rows: 1
+
+SELECT COUNT(*) FROM ((SELECT V FROM TEST) UNION ALL (SELECT V FROM TEST) ORDER BY V FETCH FIRST 3 ROWS WITH TIES);
+>> 20
+
+SELECT V, COUNT(*) FROM TEST GROUP BY V ORDER BY COUNT(*), V DESC FETCH FIRST 2 ROWS ONLY;
+> V  COUNT(*)
+> -- --------
+> 99 10
+> 98 10
+> rows (ordered): 2
+
+SET MAX_MEMORY_ROWS = 8;
+> ok
+
+SELECT COUNT(*), MIN(ID), MAX(ID), MIN(V) FROM (SELECT ID, V FROM TEST ORDER BY V DESC FETCH FIRST 5 ROWS WITH TIES);
+> COUNT(*) MIN(ID) MAX(ID) MIN(V)
+> -------- ------- ------- ------
+> 10       21      921     99
+> rows: 1
+
+SELECT ID, V FROM TEST ORDER BY V DESC, ID OFFSET 2 ROWS FETCH NEXT 3 ROWS ONLY;
+> ID  V
+> --- --
+> 221 99
+> 321 99
+> 421 99
+> rows (ordered): 3
+
+DROP TABLE TEST;
+> ok
@@ -230,3 +230,91 @@ SELECT SUM(A) OVER (ORDER BY A, B RANGE BETWEEN UNBOUNDED PRECEDING AND 1 FOLLOW
 
 SELECT SUM(A) OVER (GROUPS BETWEEN UNBOUNDED PRECEDING AND 1 FOLLOWING) S FROM VALUES (1, 2) T(A, B);
 > exception SYNTAX_ERROR_2
+
+SELECT I, V, COUNT(V) OVER W C, SUM(V) OVER W S, AVG(V) OVER W A, MIN(V) OVER W MI, MAX(V) OVER W MA
+    FROM (VALUES (1, 4), (2, NULL), (3, 2), (4, 7), (5, 2), (6, 1), (7, NULL), (8, 5)) T(I, V)
+    WINDOW W AS (ORDER BY I ROWS BETWEEN 2 PRECEDING AND 1 FOLLOWING) ORDER BY I;
+> I V    C S  A                  MI MA
+> - ---- - -- ------------------ -- --
+> 1 4    1 4  4.0                4  4
+> 2 null 2 6  3.0                2  4
+> 3 2    3 13 4.333333333333333  2  7
+> 4 7    3 11 3.6666666666666665 2  7
+> 5 2    4 12 3.0                1  7
+> 6 1    3 10 3.3333333333333335 1  7
+> 7 null 3 8  2.6666666666666665 1  5
+> 8 5    2 6  3.0                1  5
+> rows (ordered): 8
+
+SELECT I,
+    SUM(I) OVER (ORDER BY I ROWS BETWEEN 1 FOLLOWING AND 2 FOLLOWING) F,
+    MAX(I) OVER (ORDER BY I ROWS BETWEEN 3 PRECEDING AND 2 PRECEDING) P,
+    SUM(I) OVER (ORDER BY I ROWS BETWEEN O PRECEDING AND O FOLLOWING) V
+    FROM (VALUES (1, 0), (2, 2), (3, 0), (4, 1), (5, 0)) T(I, O) ORDER BY I;
+> I F    P    V
+> - ---- ---- --
+> 1 5    null 1
+> 2 7    null 10
+> 3 9    1    3
+> 4 5    2    12
+> 5 null 3    5
+> rows (ordered): 5
+
+SELECT V, SUM(V) OVER (ORDER BY V ROWS BETWEEN 1 PRECEDING AND CURRENT ROW) S
+    FROM (VALUES 1.5, 2.25, 0.5, 3.0) T(V) ORDER BY V;
+> V    S
+> ---- ----
+> 0.5  0.5
+> 1.5  2.0
+> 2.25 3.75
+> 3.0  5.25
+> rows (ordered): 4
+
+CREATE TABLE TEST(ID INT PRIMARY KEY, ACC INT, TS INT, V INT);
+> ok
+
+INSERT INTO TEST VALUES (1, 1, 10, 5), (2, 2, 10, 3), (3, 1, 20, 2), (4, NULL, 5, 1), (5, 2, 30, 7), (6, 1, 30, 4),
+    (7, 3, 10, 6);
+> update count: 7
+
+CREATE INDEX TEST_ACC_TS_IDX ON TEST(ACC, TS);
+> ok
+
+EXPLAIN SELECT ACC, TS, ROW_NUMBER() OVER (PARTITION BY ACC ORDER BY TS) RN, SUM(V) OVER (PARTITION BY ACC) S
+    FROM TEST;
+>> SELECT "ACC", "TS", ROW_NUMBER() OVER (PARTITION BY "ACC" ORDER BY "TS") AS "RN", SUM("V") OVER (PARTITION BY "ACC") AS "S" FROM "PUBLIC"."TEST" /* PUBLIC.TEST_ACC_TS_IDX */ /* window partition sorted */
+
+SELECT ACC, TS, ROW_NUMBER() OVER (PARTITION BY ACC ORDER BY TS) RN, SUM(V) OVER (PARTITION BY ACC) S FROM TEST;
+> ACC  TS RN S
+> ---- -- -- --
+> 1    10 1  11
+> 1    20 2  11
+> 1    30 3  11
+> 2    10 1  10
+> 2    30 2  10
+> 3    10 1  6
+> null 5  1  1
+> rows: 7
+
+SELECT ACC, TS, V FROM TEST QUALIFY ROW_NUMBER() OVER (PARTITION BY ACC ORDER BY TS DESC) = 1;
+> ACC  TS V
+> ---- -- -
+> 1    30 4
+> 2    30 7
+> 3    10 6
+> null 5  1
+> rows: 4
+
+SELECT ACC, TS, ROW_NUMBER() OVER (PARTITION BY ACC ORDER BY TS) RN FROM TEST FETCH FIRST 3 ROWS ONLY;
+> ACC  TS RN
+> ---- -- --
+> 1    10 1
+> 1    20 2
+> null 5  1
+> rows: 3
+
+EXPLAIN SELECT ACC, ROW_NUMBER() OVER (PARTITION BY ACC ORDER BY TS), RANK() OVER (PARTITION BY V ORDER BY TS) FROM TEST;
+>> SELECT "ACC", ROW_NUMBER() OVER (PARTITION BY "ACC" ORDER BY "TS"), RANK() OVER (PARTITION BY "V" ORDER BY "TS") FROM "PUBLIC"."TEST" /* PUBLIC.TEST_ACC_TS_IDX */
+
+DROP TABLE TEST;
+> ok
@@ -55,6 +55,7 @@ public void test() {
         testSimple();
         testRandom();
         testRandomFind();
+        testFindNearest();
     }
 
     private void testRemoveAll() {
@@ -367,6 +368,39 @@ private void testRandomFind() {
         }
     }
 
+    private void testFindNearest() {
+        try (MVStore s = openStore(null)) {
+            MVRTreeMap<Integer> m = s.openMap("data", new MVRTreeMap.Builder<>());
+            Random rand = new Random(1);
+            int size = 2000;
+            float[] xs = new float[size], ys = new float[size];
+            for (int id = 0; id < size; id++) {
+                float x = rand.nextInt(1000), y = rand.nextInt(1000);
+                xs[id] = x;
+                ys[id] = y;
+                m.put(new SpatialKey(id, x, x, y, y), id);
+            }
+            for (int i = 0; i < 100; i++) {
+                float x = rand.nextInt(1000), y = rand.nextInt(1000);
+                MVRTreeMap.NearestRTreeCursor<Integer> it = m.findNearestKeys(new SpatialKey(0, x, x, y, y));
+                double last = 0;
+                int count = 0;
+                while (it.hasNext()) {
+                    double expected = it.peekDistance();
+                    Spatial k = it.next();
+                    int id = (int) k.getId();
+                    double dx = xs[id] - x, dy = ys[id] - y;
+                    assertEquals(Math.sqrt(dx * dx + dy * dy), expected);
+                    assertTrue(expected >= last);
+                    last = expected;
+                    count++;
+                }
+                assertEquals(size, count);
+                assertEquals(Double.POSITIVE_INFINITY, it.peekDistance());
+            }
+        }
+    }
+
     private void testRandom(boolean quadraticSplit) {
         String fileName = getBaseDir() + "/" + getTestName();
         FileUtils.delete(fileName);
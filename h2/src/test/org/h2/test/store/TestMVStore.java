@@ -32,6 +32,7 @@
 import org.h2.store.fs.FilePath;
 import org.h2.store.fs.FileUtils;
 import org.h2.test.TestBase;
+import org.h2.util.Task;
 import org.h2.util.Utils;
 
 /**
@@ -61,6 +62,7 @@ public void test() throws Exception {
         testEntrySet();
         testCompressEmptyPage();
         testCompressed();
+        testLazyLeafPages();
         testFileFormatExample();
         testMaxChunkLength();
         testCacheInfo();
@@ -264,6 +266,67 @@ private void testCompressed() {
         }
     }
 
+    private void testLazyLeafPages() throws Exception {
+        String fileName = getBaseDir() + "/" + getTestName();
+        for (int level = 0; level <= 1; level++) {
+            FileUtils.delete(fileName);
+            MVStore.Builder builder = new MVStore.Builder().fileName(fileName);
+            if (level == 1) {
+                builder.compress();
+            }
+            try (MVStore s = builder.open()) {
+                MVMap<Integer, String> map = s.openMap("data");
+                for (int i = 0; i < 10_000; i++) {
+                    map.put(i, "value " + i);
+                }
+            }
+            try (MVStore s = new MVStore.Builder().fileName(fileName).lazyLeafPages().cacheSize(1).open()) {
+                MVMap<Integer, String> map = s.openMap("data");
+                Random r = new Random(level);
+                for (int i = 0; i < 10_000; i++) {
+                    int key = r.nextInt(10_000);
+                    assertEquals("value " + key, map.get(key));
+                }
+                Task[] tasks = new Task[4];
+                for (int t = 0; t < tasks.length; t++) {
+                    int seed = t;
+                    tasks[t] = new Task() {
+                        @Override
+                        public void call() {
+                            Random random = new Random(seed);
+                            for (int i = 0; i < 10_000; i++) {
+                                int key = random.nextInt(10_000);
+                                assertEquals("value " + key, map.get(key));
+                            }
+                        }
+                    }.execute();
+                }
+                for (Task task : tasks) {
+                    task.get();
+                }
+                int count = 0;
+                for (Map.Entry<Integer, String> e : map.entrySet()) {
+                    assertEquals("value " + e.getKey(), e.getValue());
+                    count++;
+                }
+                assertEquals(10_000, count);
+                for (int i = 0; i < 10_000; i += 3) {
+                    map.put(i, "new " + i);
+                }
+                for (int i = 1; i < 10_000; i += 3) {
+                    map.remove(i);
+                }
+            }
+            try (MVStore s = new MVStore.Builder().fileName(fileName).lazyLeafPages().open()) {
+                MVMap<Integer, String> map = s.openMap("data");
+                for (int i = 0; i < 10_000; i++) {
+                    String expected = i % 3 == 0 ? "new " + i : i % 3 == 1 ? null : "value " + i;
+                    assertEquals(expected, map.get(i));
+                }
+            }
+        }
+    }
+
     private void testFileFormatExample() {
         String fileName = getBaseDir() + "/" + getTestName();
         FileUtils.delete(fileName);
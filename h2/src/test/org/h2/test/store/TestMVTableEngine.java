@@ -98,6 +98,8 @@ public void test() throws Exception {
         testReuseDiskSpace();
 */
         testDataTypes();
+        testPrimitiveColumns();
+        testLazyLeafPages();
 //        testSimple();
 //        if (!config.travis) {
 //            testReverseDeletePerformance();
@@ -1117,6 +1119,90 @@ private void testReuseDiskSpace() throws Exception {
         }
     }
 
+    private void testLazyLeafPages() throws Exception {
+        if (config.memory) {
+            return;
+        }
+        deleteDb(getTestName());
+        try (Connection conn = getConnection(getTestName())) {
+            Statement stat = conn.createStatement();
+            stat.execute("create table test(id int primary key, v varchar, d double)");
+            stat.execute("insert into test select x, 'v' || x, x * 0.5 from system_range(1, 20000)");
+        }
+        try (Connection conn = getConnection(getTestName() + ";LAZY_LEAF_PAGES=TRUE;CACHE_SIZE=64")) {
+            Statement stat = conn.createStatement();
+            PreparedStatement prep = conn.prepareStatement("select v, d from test where id = ?");
+            for (int i = 1; i <= 20000; i += 997) {
+                prep.setInt(1, i);
+                ResultSet rs = prep.executeQuery();
+                assertTrue(rs.next());
+                assertEquals("v" + i, rs.getString(1));
+                assertEquals(i / 2d, rs.getDouble(2));
+            }
+            stat.execute("update test set v = 'u' where id = 10000");
+            assertSingleValue(stat, "select count(*) from test where v like 'v%'", 19999);
+            ResultSet rs = stat.executeQuery("select sum(id) from test");
+            assertTrue(rs.next());
+            assertEquals(200010000L, rs.getLong(1));
+        }
+    }
+
+    private void testPrimitiveColumns() throws Exception {
+        if (config.memory) {
+            return;
+        }
+        deleteDb(getTestName());
+        Connection conn = getConnection(getTestName());
+        Statement stat = conn.createStatement();
+        stat.execute("create table test(id int primary key, bo boolean, i int, bi bigint, re real, do double, "
+                + "da date, ti time(9), ts timestamp, vc varchar)");
+        stat.execute("insert into test values(1, true, -2147483648, 9223372036854775807, cast('NaN' as real), "
+                + "-0.0, date '-1000-02-28', time '23:59:59.999999999', timestamp '9999-12-31 23:59:59.999999', "
+                + "'a')");
+        stat.execute("insert into test values(2, null, null, null, null, null, null, null, null, null)");
+        stat.execute("insert into test values(3, false, 1, -1, 1.5, 'Infinity', date '2000-01-01', "
+                + "time '00:00:00', timestamp '1970-01-01 00:00:00', null)");
+        conn.close();
+        conn = getConnection(getTestName());
+        stat = conn.createStatement();
+        stat.execute("update test set i = i + 1, vc = 'b' where id = 3");
+        stat.execute("alter table test add column x int default 5");
+        conn.close();
+        conn = getConnection(getTestName());
+        stat = conn.createStatement();
+        ResultSet rs = stat.executeQuery("select * from test order by id");
+        assertTrue(rs.next());
+        assertTrue(rs.getBoolean(2));
+        assertEquals(Integer.MIN_VALUE, rs.getInt(3));
+        assertEquals(Long.MAX_VALUE, rs.getLong(4));
+        assertTrue(Float.isNaN(rs.getFloat(5)));
+        assertEquals(0d, rs.getDouble(6));
+        assertEquals("-1000-02-28", rs.getString(7));
+        assertEquals("23:59:59.999999999", rs.getString(8));
+        assertEquals("9999-12-31 23:59:59.999999", rs.getString(9));
+        assertEquals("a", rs.getString(10));
+        assertEquals(5, rs.getInt(11));
+        assertTrue(rs.next());
+        for (int i = 2; i <= 10; i++) {
+            assertNull(rs.getObject(i));
+        }
+        assertTrue(rs.next());
+        assertFalse(rs.getBoolean(2));
+        assertEquals(2, rs.getInt(3));
+        assertEquals(-1L, rs.getLong(4));
+        assertEquals(1.5f, rs.getFloat(5));
+        assertEquals(Double.POSITIVE_INFINITY, rs.getDouble(6));
+        assertEquals("2000-01-01", rs.getString(7));
+        assertEquals("00:00:00", rs.getString(8));
+        assertEquals("1970-01-01 00:00:00", rs.getString(9));
+        assertEquals("b", rs.getString(10));
+        assertFalse(rs.next());
+        rs = stat.executeQuery("select count(*) from test where i is null and bo is null and ts is null");
+        rs.next();
+        assertEquals(1, rs.getInt(1));
+        conn.close();
+    }
+
     private void testDataTypes() throws Exception {
         deleteDb(getTestName());
         String dbName = getTestName() + ";MV_STORE=TRUE";
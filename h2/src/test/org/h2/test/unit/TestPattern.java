@@ -28,6 +28,7 @@ public static void main(String... a) throws Exception {
     public void test() {
         testCompareModeReuse();
         testPattern();
+        testPatternWithManyWildcards();
     }
 
     private void testCompareModeReuse() {
@@ -55,6 +56,33 @@ private void testPattern() {
             String value = getRandomValue();
             test(comp, value, pattern);
         }
+        for (int i = 0; i < 10000; i++) {
+            test(comp, getRandomString("AB_%\\", 20), getRandomString("AB_%", 8));
+        }
+    }
+
+    private void testPatternWithManyWildcards() {
+        CompareMode mode = CompareMode.getInstance(null, 0);
+        CompareLike comp = new CompareLike(mode, "\\", null, false, false, null, null, CompareLike.LikeType.LIKE);
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 100_000; i++) {
+            builder.append('a');
+        }
+        String value = builder.toString();
+        // exponential with backtracking
+        assertFalse(comp.test("%a%a%a%a%a%a%a%a%a%a%b", value, '\\'));
+        assertTrue(comp.test("a%a_a%a%a", value, '\\'));
+        assertFalse(comp.test("%a%a%a%a%a%a%a%a%a%a%b%", value + 'c', '\\'));
+        assertTrue(comp.test("%a%a%a%a%a%a%a%a%a%a%c", value + 'c', '\\'));
+    }
+
+    private static String getRandomString(String chars, int maxLength) {
+        StringBuilder buff = new StringBuilder();
+        int len = (int) (Math.random() * maxLength);
+        for (int i = 0; i < len; i++) {
+            buff.append(chars.charAt((int) (Math.random() * chars.length())));
+        }
+        return buff.toString();
     }
 
     private void test(CompareLike comp, String value, String pattern) {